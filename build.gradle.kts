@@ -22,6 +22,32 @@ configurations {
     }
 }
 
+// JMH 基准测试与压测源码集，依赖主代码及其运行时依赖
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+    create("loadtest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations {
+    listOf("jmh", "loadtest").forEach { name ->
+        named("${name}Implementation") {
+            extendsFrom(configurations.implementation.get())
+        }
+        named("${name}RuntimeOnly") {
+            extendsFrom(configurations.runtimeOnly.get())
+        }
+        named("${name}CompileOnly") {
+            extendsFrom(configurations.compileOnly.get())
+        }
+    }
+}
+
 repositories {
     mavenCentral()
     maven { url = uri("https://repo.spring.io/milestone") }
@@ -34,6 +60,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-aop")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     // Spring Security
     implementation("org.springframework.boot:spring-boot-starter-security")
@@ -73,11 +100,14 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-core")
     implementation("com.fasterxml.jackson.core:jackson-annotations")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 
     // Commons
     implementation("org.apache.commons:commons-lang3:3.18.0")
     implementation("commons-codec:commons-codec:1.16.0")
     implementation("cn.hutool:hutool-all:5.8.40")
+    implementation("it.unimi.dsi:fastutil-core:8.5.15")
 
     // Lombok
     compileOnly("org.projectlombok:lombok:1.18.30")
@@ -96,6 +126,16 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
     testImplementation("org.mybatis.spring.boot:mybatis-spring-boot-starter-test:3.0.0")
+
+    // JMH Benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhAnnotationProcessor"("org.projectlombok:lombok:1.18.30")
+
+    // Load Test Stand-ins
+    "loadtestImplementation"("com.h2database:h2")
+    "loadtestImplementation"("com.github.codemonstur:embedded-redis:1.4.3")
+    "loadtestAnnotationProcessor"("org.projectlombok:lombok:1.18.30")
 }
 
 tasks.withType<KotlinCompile> {
@@ -130,6 +170,49 @@ tasks.compileJava {
     )
 }
 
+// 运行基准测试：gradle jmh，可通过 -PjmhArgs="JwtTokenUtil -wi 2 -i 3" 传入 JMH 参数
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "运行 JMH 基准测试，结果写入 build/reports/jmh/results.json"
+    dependsOn(tasks.named("jmhClasses"))
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    doFirst { resultFile.parentFile.mkdirs() }
+    args(
+        listOf("-rf", "json", "-rff", resultFile.path, "-jvmArgsAppend", "--enable-preview") +
+            (project.findProperty("jmhArgs") as String?)?.split(" ")?.filter { it.isNotBlank() }.orEmpty()
+    )
+}
+
+// 运行压测：gradle loadTest，可通过 -PloadTestArgs="--poetry=20000 --duration=60" 传入压测参数
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "使用内嵌替身启动应用并运行压测场景，报告写入 build/reports/loadtest/report.json"
+    dependsOn(tasks.named("loadtestClasses"))
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "com.sakura.poetry.loadtest.LoadTestRunner"
+    val reportFile = layout.buildDirectory.file("reports/loadtest/report.json").get().asFile
+    args(
+        listOf("--report=${reportFile.path}") +
+            (project.findProperty("loadTestArgs") as String?)?.split(" ")?.filter { it.isNotBlank() }.orEmpty()
+    )
+}
+
+// 聊天压测：gradle chatLoad，对已启动的服务运行，可通过 -PchatLoadArgs="--url=http://localhost:8080 --clients=2000" 传入参数
+tasks.register<JavaExec>("chatLoad") {
+    group = "verification"
+    description = "对已启动的服务建立大量 WebSocket 连接并发送聊天流量，报告写入 build/reports/chatload/report.json"
+    dependsOn(tasks.named("loadtestClasses"))
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "com.sakura.poetry.loadtest.chat.ChatLoadGenerator"
+    val reportFile = layout.buildDirectory.file("reports/chatload/report.json").get().asFile
+    args(
+        listOf("--report=${reportFile.path}") +
+            (project.findProperty("chatLoadArgs") as String?)?.split(" ")?.filter { it.isNotBlank() }.orEmpty()
+    )
+}
+
 // Jar 配置
 tasks.jar {
     enabled = false
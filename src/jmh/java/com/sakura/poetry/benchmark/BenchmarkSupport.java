@@ -0,0 +1,35 @@
+package com.sakura.poetry.benchmark;
+
+import java.lang.reflect.Field;
+
+/**
+ * 基准测试辅助方法
+ * 
+ * <p>被测组件依赖 Spring 注入配置，基准测试不启动容器，通过反射直接设置字段。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 设置私有字段
+     * 
+     * @param target 目标对象
+     * @param name 字段名
+     * @param value 字段值
+     */
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("无法设置字段: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sakura.poetry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sakura.poetry.websocket.model.ChatMessage;
+import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.websocket.protocol.BinaryChatCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 聊天帧编解码基准测试
+ *
+ * <p>对比JSON与二进制帧编码、解码私聊消息和心跳的耗时，二进制解码写入重复使用的消息对象。
+ * 各格式的帧字节数在初始化时打印到标准输出。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatFrameCodecBenchmark {
+
+    @Param({"private_chat", "heartbeat"})
+    public String message;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ChatMessage chatMessage;
+
+    private String json;
+
+    private byte[] binary;
+
+    private final ChatMessage target = new ChatMessage();
+
+    @Setup
+    public void setup() throws IOException {
+        if ("heartbeat".equals(message)) {
+            chatMessage = new ChatMessage(MessageType.HEARTBEAT, null, "pong");
+        } else {
+            chatMessage = new ChatMessage(MessageType.PRIVATE_CHAT, 10001L, "床前明月光，疑是地上霜。举头望明月，低头思故乡。");
+            chatMessage.setMessageId(149156016246292480L);
+            chatMessage.setReceiverId(10002L);
+            chatMessage.setSeq(1024L);
+        }
+        chatMessage.setTimestamp(LocalDateTime.of(2025, 9, 3, 12, 0));
+        json = objectMapper.writeValueAsString(chatMessage);
+        binary = BinaryChatCodec.encode(chatMessage);
+        System.out.printf("%n[chat frame] message=%s json=%d bytes binary=%d bytes%n",
+                message, json.getBytes(StandardCharsets.UTF_8).length, binary.length);
+    }
+
+    @Benchmark
+    public String encodeJson() throws IOException {
+        return objectMapper.writeValueAsString(chatMessage);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryChatCodec.encode(chatMessage);
+    }
+
+    @Benchmark
+    public ChatMessage decodeJson() throws IOException {
+        return objectMapper.readValue(json, ChatMessage.class);
+    }
+
+    @Benchmark
+    public ChatMessage decodeBinary() {
+        return BinaryChatCodec.decode(ByteBuffer.wrap(binary), target);
+    }
+}
@@ -0,0 +1,74 @@
+package com.sakura.poetry.benchmark;
+
+import com.sakura.poetry.websocket.model.ChatMessage;
+import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.websocket.service.ChatService;
+import com.sakura.poetry.websocket.util.MessageIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 聊天历史查询基准测试
+ * 
+ * <p>按已存储的消息总量测量私聊与群聊历史查询的耗时。查询的私聊会话（用户1与用户2）和群组1各占已存储消息的十分之一，
+ * 其余消息分散在其他会话中。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatServiceBenchmark {
+
+    private static final int USERS = 100;
+
+    private static final int GROUPS = 20;
+
+    @Param({"1000", "50000"})
+    public int storedMessages;
+
+    private ChatService chatService;
+
+    @Setup
+    public void setup() {
+        chatService = new ChatService();
+        MessageIdGenerator messageIdGenerator = new MessageIdGenerator();
+        messageIdGenerator.init();
+        BenchmarkSupport.setField(chatService, "messageIdGenerator", messageIdGenerator);
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < storedMessages; i++) {
+            boolean probe = i % 10 < 2;
+            ChatMessage message = new ChatMessage();
+            message.setSenderId(probe ? (long) (i & 1) + 1 : (long) (i % USERS) + 3);
+            message.setContent("消息" + i);
+            message.setTimestamp(base.plusSeconds(i));
+            if ((i & 1) == 0) {
+                message.setType(MessageType.PRIVATE_CHAT);
+                message.setReceiverId(probe ? 2L : (long) ((i / USERS) % USERS) + 3);
+                chatService.savePrivateMessage(message);
+            } else {
+                message.setType(MessageType.GROUP_CHAT);
+                message.setGroupId(probe ? 1L : (long) (i % GROUPS) + 2);
+                chatService.saveGroupMessage(message);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ChatMessage> getPrivateChatHistory() {
+        return chatService.getPrivateChatHistory(1L, 2L, null, 50);
+    }
+
+    @Benchmark
+    public List<ChatMessage> getGroupChatHistory() {
+        return chatService.getGroupChatHistory(1L, null, 50);
+    }
+}
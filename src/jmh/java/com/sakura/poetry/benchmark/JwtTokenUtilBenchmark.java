@@ -0,0 +1,57 @@
+package com.sakura.poetry.benchmark;
+
+import com.sakura.poetry.security.JwtTokenUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT令牌生成与解析基准测试
+ * 
+ * <p>每个经过认证的HTTP请求都会解析并校验一次令牌。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenUtil = new JwtTokenUtil();
+        BenchmarkSupport.setField(jwtTokenUtil, "secret", "poetry-app-benchmark-secret-key-0123456789abcdef");
+        BenchmarkSupport.setField(jwtTokenUtil, "expiration", 604800L);
+        BenchmarkSupport.setField(jwtTokenUtil, "refreshExpiration", 2592000L);
+        token = jwtTokenUtil.generateToken(10001L, "libai", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(10001L, "libai", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtTokenUtil.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtTokenUtil.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtTokenUtil.validateToken(token, "libai");
+    }
+}
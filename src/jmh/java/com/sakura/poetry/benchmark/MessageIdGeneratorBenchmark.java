@@ -0,0 +1,43 @@
+package com.sakura.poetry.benchmark;
+
+import com.sakura.poetry.websocket.util.MessageIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 消息ID生成基准测试
+ * 
+ * <p>测量单线程和多线程竞争下的ID生成吞吐量。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageIdGeneratorBenchmark {
+
+    private MessageIdGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new MessageIdGenerator();
+        generator.init();
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long nextIdContended() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sakura.poetry.benchmark;
+
+import com.sakura.poetry.utils.MinioUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件内容类型推断基准测试
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinioUtilBenchmark {
+
+    private static final String[] FILE_NAMES = {
+            "avatar.JPG", "poetry-cover.webp", "collection.xlsx", "archive.tar.gz",
+            "notes.txt", "README", "scan.pdf", "slides.pptx"
+    };
+
+    private int index;
+
+    @Benchmark
+    public String getContentType() {
+        index = (index + 1) & 7;
+        return MinioUtil.getContentType(FILE_NAMES[index]);
+    }
+}
@@ -0,0 +1,116 @@
+package com.sakura.poetry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.entity.Poetry;
+import com.sakura.poetry.entity.enums.ContentFormatEnum;
+import com.sakura.poetry.entity.enums.PoetryStatusEnum;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 响应编码基准测试
+ *
+ * <p>对比JSON、CBOR、Smile序列化带长篇正文、译文、赏析的诗词列表的耗时，以及叠加gzip后的耗时。
+ * 各编码的原始字节数与gzip后字节数在初始化时打印到标准输出。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    private static final String CONTENT = "君不见黄河之水天上来，奔流到海不复回。君不见高堂明镜悲白发，朝如青丝暮成雪。"
+            + "人生得意须尽欢，莫使金樽空对月。天生我材必有用，千金散尽还复来。";
+
+    private static final String TRANSLATION = "你难道没有看见吗？那黄河之水从天上奔腾而来，波涛翻滚直奔东海，再也没有回来。"
+            + "你难道没有看见吗？高堂上的明镜里映照着苍苍白发，早上还是满头青丝，到了晚上就变得如雪一般。";
+
+    private static final String APPRECIATION = "此诗为李白长安放还以后所作，思想内容非常深沉，艺术表现非常成熟。"
+            + "诗人借酒消愁，抒发了怀才不遇的愤懑，同时又表现出对自身价值的自信和对人生的乐观。"
+            + "全诗气势豪迈，感情奔放，语言流畅，具有很强的感染力。";
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1", "20"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+
+    private Result<Object> result;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .timeZone("GMT+8");
+        objectMapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        List<Poetry> poetryList = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Poetry poetry = new Poetry()
+                    .setTitle("将进酒" + i)
+                    .setPoetId(1L)
+                    .setDynastyId(4L)
+                    .setCategoryId(2L)
+                    .setContent(CONTENT)
+                    .setContentFormat(ContentFormatEnum.ORIGINAL)
+                    .setTranslation(TRANSLATION)
+                    .setAppreciation(APPRECIATION)
+                    .setTags("饮酒,豪放")
+                    .setWordCount(CONTENT.length())
+                    .setVerseCount(8)
+                    .setViewCount(1000L + i)
+                    .setLikeCount(100L)
+                    .setCollectCount(10L)
+                    .setCommentCount(5L)
+                    .setStatus(PoetryStatusEnum.PUBLISHED)
+                    .setPublishTime(LocalDateTime.of(2025, 9, 3, 12, 0));
+            poetry.setId((long) i + 1);
+            poetryList.add(poetry);
+        }
+        result = Result.success(listSize == 1 ? poetryList.get(0) : poetryList);
+
+        byte[] raw = serialize();
+        System.out.printf("%n[payload] format=%s listSize=%d raw=%d bytes gzip=%d bytes%n",
+                format, listSize, raw.length, gzip(raw).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(result));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+package com.sakura.poetry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.entity.Poetry;
+import com.sakura.poetry.entity.enums.ContentFormatEnum;
+import com.sakura.poetry.entity.enums.PoetryStatusEnum;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 诗词列表响应序列化基准测试
+ * 
+ * <p>ObjectMapper 配置与 application.yml 中的 spring.jackson 一致。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+
+    private Result<List<Poetry>> result;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .timeZone("GMT+8")
+                .build();
+        List<Poetry> poetryList = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Poetry poetry = new Poetry()
+                    .setTitle("静夜思" + i)
+                    .setPoetId(1L)
+                    .setDynastyId(4L)
+                    .setCategoryId(2L)
+                    .setContent("床前明月光，疑是地上霜。举头望明月，低头思故乡。")
+                    .setContentFormat(ContentFormatEnum.ORIGINAL)
+                    .setTranslation("明亮的月光洒在床前的窗户纸上，好像地上泛起了一层霜。")
+                    .setTags("思乡,月亮")
+                    .setWordCount(20)
+                    .setVerseCount(4)
+                    .setViewCount(1000L + i)
+                    .setLikeCount(100L)
+                    .setCollectCount(10L)
+                    .setCommentCount(5L)
+                    .setStatus(PoetryStatusEnum.PUBLISHED)
+                    .setPublishTime(LocalDateTime.of(2025, 9, 3, 12, 0));
+            poetry.setId((long) i + 1);
+            poetryList.add(poetry);
+        }
+        result = Result.success(poetryList);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
@@ -0,0 +1,90 @@
+package com.sakura.poetry.benchmark;
+
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.cluster.ChatClusterRouter;
+import com.sakura.poetry.websocket.manager.MemoryChatReadStateManager;
+import com.sakura.poetry.websocket.manager.GroupMembershipIndex;
+import com.sakura.poetry.websocket.manager.IdleSessionReaper;
+import com.sakura.poetry.websocket.manager.WebSocketSessionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket会话管理器基准测试
+ * 
+ * <p>按在线人数测量会话查找与群发开销，使用不写网络的桩会话。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketSessionManagerBenchmark {
+
+    private static final long GROUP_ID = 1L;
+
+    private static final String MESSAGE = "{\"type\":\"GROUP_CHAT\",\"groupId\":1,\"content\":\"床前明月光\"}";
+
+    @Param({"100", "10000"})
+    public int onlineUsers;
+
+    @Param({"50"})
+    public int groupSize;
+
+    private WebSocketSessionManager sessionManager;
+
+    private long probeUserId;
+
+    private String probeSessionId;
+
+    @Setup
+    public void setup() {
+        sessionManager = new WebSocketSessionManager();
+        BenchmarkSupport.setField(sessionManager, "sendTimeLimit", 10000);
+        BenchmarkSupport.setField(sessionManager, "sendBufferSizeLimit", 524288);
+        BenchmarkSupport.setField(sessionManager, "webSocketMetrics", new WebSocketMetrics(new SimpleMeterRegistry()));
+        // 未注入节点间通道的集群路由器处于关闭状态，空闲回收器未启用
+        BenchmarkSupport.setField(sessionManager, "clusterRouter", new ChatClusterRouter());
+        BenchmarkSupport.setField(sessionManager, "readStateManager", new MemoryChatReadStateManager());
+        BenchmarkSupport.setField(sessionManager, "membershipIndex", new GroupMembershipIndex());
+        BenchmarkSupport.setField(sessionManager, "idleSessionReaper", new IdleSessionReaper());
+        sessionManager.init();
+        for (long userId = 1; userId <= onlineUsers; userId++) {
+            WebSocketSession session = new StubWebSocketSession("session-" + userId);
+            sessionManager.addSession(session, userId, "user" + userId, "user" + userId);
+            if (userId <= groupSize) {
+                sessionManager.addGroupMember(GROUP_ID, userId);
+            }
+        }
+        probeUserId = onlineUsers / 2;
+        probeSessionId = "session-" + probeUserId;
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionManager.destroy();
+    }
+
+    @Benchmark
+    public WebSocketSession getSessionByUserId() {
+        return sessionManager.getSessionByUserId(probeUserId);
+    }
+
+    @Benchmark
+    public Long getUserIdBySessionId() {
+        return sessionManager.getUserIdBySessionId(probeSessionId);
+    }
+
+    @Benchmark
+    public void sendMessageToGroup() {
+        sessionManager.sendMessageToGroup(GROUP_ID, MESSAGE);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sakura.poetry.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单个接口的延迟统计
+ * 
+ * <p>保存全部成功请求的延迟样本，结束后排序计算分位数。压测规模下样本量在百万级以内，
+ * 直接保存原始样本比直方图更简单且没有精度损失。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long[] samples = new long[1024];
+
+    private int count;
+
+    private long errors;
+
+    private long firstStartNanos = Long.MAX_VALUE;
+
+    private long lastEndNanos;
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * 记录一次请求
+     * 
+     * @param startNanos 开始时间
+     * @param endNanos 结束时间
+     * @param success 是否成功
+     */
+    public void record(long startNanos, long endNanos, boolean success) {
+        lock.lock();
+        try {
+            firstStartNanos = Math.min(firstStartNanos, startNanos);
+            lastEndNanos = Math.max(lastEndNanos, endNanos);
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = endNanos - startNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 汇总为报告条目，延迟单位为毫秒
+     * 
+     * @return 报告条目
+     */
+    public Map<String, Object> summarize() {
+        lock.lock();
+        try {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            double elapsedSeconds = lastEndNanos > firstStartNanos ? (lastEndNanos - firstStartNanos) / 1e9 : 0;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("endpoint", endpoint);
+            summary.put("requests", count + errors);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", elapsedSeconds > 0 ? round((count + errors) / elapsedSeconds) : 0);
+            summary.put("meanMillis", count > 0 ? round(Arrays.stream(sorted).average().orElse(0) / 1e6) : 0);
+            summary.put("p50Millis", percentile(sorted, 0.50));
+            summary.put("p90Millis", percentile(sorted, 0.90));
+            summary.put("p99Millis", percentile(sorted, 0.99));
+            summary.put("maxMillis", count > 0 ? round(sorted[count - 1] / 1e6) : 0);
+            return summary;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
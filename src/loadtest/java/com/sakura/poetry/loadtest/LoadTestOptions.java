@@ -0,0 +1,113 @@
+package com.sakura.poetry.loadtest;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 压测参数
+ * 
+ * <p>通过命令行 {@code --name=value} 传入，未指定的参数使用默认值。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+public class LoadTestOptions {
+
+    /**
+     * 合成诗词数量
+     */
+    private int poetry = 5000;
+
+    /**
+     * 合成诗人数量
+     */
+    private int poets = 200;
+
+    /**
+     * 合成用户数量，点赞和聊天场景从中取用户
+     */
+    private int users = 200;
+
+    /**
+     * 每个HTTP场景的持续时间（秒）
+     */
+    private int duration = 15;
+
+    /**
+     * HTTP场景的并发客户端数
+     */
+    private int concurrency = 32;
+
+    /**
+     * 聊天房间数
+     */
+    private int chatRooms = 5;
+
+    /**
+     * 每个聊天房间的客户端数
+     */
+    private int chatClients = 10;
+
+    /**
+     * 每个聊天客户端发送的消息数
+     */
+    private int chatMessages = 50;
+
+    /**
+     * 嵌入式 Redis 端口，0 表示随机端口；端口已被占用时直接连接已有的 Redis，
+     * 多个压测进程指定同一端口即可共享 Redis 组成聊天集群
+     */
+    private int redisPort;
+
+    /**
+     * 依次执行的场景
+     */
+    private List<String> scenarios = List.of("hot-list", "search", "like-storm", "upload", "chat");
+
+    /**
+     * 报告文件
+     */
+    private Path report = Paths.get("build/reports/loadtest/report.json");
+
+    /**
+     * 解析命令行参数
+     * 
+     * @param args 命令行参数
+     * @return 压测参数
+     */
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为 --name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "poetry" -> options.setPoetry(Integer.parseInt(value));
+                case "poets" -> options.setPoets(Integer.parseInt(value));
+                case "users" -> options.setUsers(Integer.parseInt(value));
+                case "duration" -> options.setDuration(Integer.parseInt(value));
+                case "concurrency" -> options.setConcurrency(Integer.parseInt(value));
+                case "chat-rooms" -> options.setChatRooms(Integer.parseInt(value));
+                case "chat-clients" -> options.setChatClients(Integer.parseInt(value));
+                case "chat-messages" -> options.setChatMessages(Integer.parseInt(value));
+                case "scenarios" -> options.setScenarios(Arrays.stream(value.split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toList());
+                case "redis-port" -> options.setRedisPort(Integer.parseInt(value));
+                case "report" -> options.setReport(Paths.get(value));
+                default -> throw new IllegalArgumentException("未知参数: " + name);
+            }
+        }
+        // 聊天场景每个客户端、点赞场景每个并发线程各占一个用户
+        options.setUsers(Math.max(options.getUsers(),
+                Math.max(options.getConcurrency(), options.getChatRooms() * options.getChatClients())));
+        return options;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sakura.poetry.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 压测报告
+ * 
+ * <p>按场景与接口汇总延迟与吞吐量，输出为JSON。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class LoadTestReport {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private final Map<String, List<String>> scenarioEndpoints = new LinkedHashMap<>();
+
+    private final LoadTestOptions options;
+
+    public LoadTestReport(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 获取场景下某个接口的统计
+     * 
+     * @param scenario 场景名
+     * @param endpoint 接口名，如 {@code GET /api/poetry/hot/{limit}}
+     * @return 接口统计
+     */
+    public EndpointStats endpoint(String scenario, String endpoint) {
+        return stats.computeIfAbsent(scenario + " " + endpoint, key -> {
+            synchronized (scenarioEndpoints) {
+                scenarioEndpoints.computeIfAbsent(scenario, s -> new ArrayList<>()).add(endpoint);
+            }
+            return new EndpointStats(endpoint);
+        });
+    }
+
+    /**
+     * 写出报告
+     * 
+     * @param file 报告文件
+     * @return 报告内容
+     * @throws IOException 写入失败
+     */
+    public Map<String, Object> write(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("poetry", options.getPoetry());
+        parameters.put("poets", options.getPoets());
+        parameters.put("users", options.getUsers());
+        parameters.put("durationSeconds", options.getDuration());
+        parameters.put("concurrency", options.getConcurrency());
+        parameters.put("chatRooms", options.getChatRooms());
+        parameters.put("chatClients", options.getChatClients());
+        parameters.put("chatMessages", options.getChatMessages());
+        report.put("options", parameters);
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        scenarioEndpoints.forEach((scenario, endpoints) -> {
+            List<Map<String, Object>> results = endpoints.stream()
+                    .map(endpoint -> stats.get(scenario + " " + endpoint).summarize())
+                    .toList();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("scenario", scenario);
+            entry.put("endpoints", results);
+            scenarios.add(entry);
+        });
+        report.put("scenarios", scenarios);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return report;
+    }
+}
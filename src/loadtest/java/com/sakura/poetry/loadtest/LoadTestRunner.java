@@ -0,0 +1,197 @@
+package com.sakura.poetry.loadtest;
+
+import com.sakura.poetry.ThePoetryAppServerApplication;
+import com.sakura.poetry.loadtest.scenario.Scenario;
+import com.sakura.poetry.loadtest.scenario.ScenarioContext;
+import com.sakura.poetry.loadtest.standin.CorpusSeeder;
+import com.sakura.poetry.loadtest.standin.H2ScriptRunner;
+import com.sakura.poetry.loadtest.standin.InMemoryS3Server;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测入口
+ * 
+ * <p>在一个 JVM 内启动全部依赖的替身（H2 MySQL 兼容模式数据库、嵌入式 Redis、内存 S3），
+ * 灌入合成语料，以随机端口启动应用，依次执行所选场景，最后输出 JSON 报告。</p>
+ * 
+ * <p>运行方式：{@code ./gradlew loadTest -PloadTestArgs="--duration=30 --concurrency=64"}</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:poetry_app_loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=TIME,VALUE,YEAR;DB_CLOSE_DELAY=-1";
+
+    private static final String JDBC_USER = "sa";
+
+    private static final String IP_DATABASE = "ip2region/ip2region.xdb";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode = 0;
+        RedisServer redis = null;
+        ConfigurableApplicationContext application = null;
+        try (InMemoryS3Server s3 = new InMemoryS3Server(freePort())) {
+            s3.start();
+            int redisPort = options.getRedisPort() > 0 ? options.getRedisPort() : freePort();
+            redis = startRedis(redisPort);
+            prepareDatabase(options);
+            provideIpDatabaseIfMissing();
+
+            int managementPort = freePort();
+            application = new SpringApplicationBuilder(ThePoetryAppServerApplication.class)
+                    .run(applicationArguments(s3.getEndpoint(), redisPort, managementPort));
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            log.warn("应用已启动，端口 {}，管理端口 {}", port, managementPort);
+
+            LoadTestReport report = new LoadTestReport(options);
+            ScenarioContext context = new ScenarioContext("http://127.0.0.1:" + port, options, report);
+            for (String name : options.getScenarios()) {
+                Scenario scenario = ScenarioContext.scenario(name);
+                log.warn("执行场景 {}", name);
+                try {
+                    scenario.run(context);
+                } catch (Exception e) {
+                    log.error("场景 {} 执行失败", name, e);
+                    exitCode = 1;
+                }
+            }
+
+            Map<String, Object> summary = report.write(options.getReport());
+            printSummary(summary);
+            log.warn("报告已写入 {}", options.getReport().toAbsolutePath());
+        } catch (Exception e) {
+            log.error("压测失败", e);
+            exitCode = 1;
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (redis != null) {
+                stopRedis(redis);
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * 建表、导入基础数据并灌入合成语料
+     */
+    private static void prepareDatabase(LoadTestOptions options) throws Exception {
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, JDBC_USER, "")) {
+            H2ScriptRunner.run(connection, "db/schema.sql");
+            H2ScriptRunner.run(connection, "db/data.sql");
+            new CorpusSeeder(connection).seed(options.getPoets(), options.getPoetry(), options.getUsers());
+        }
+    }
+
+    /**
+     * 以命令行参数覆盖应用配置（优先级高于 application.yml），使其连接到各个替身
+     */
+    private static String[] applicationArguments(String s3Endpoint, int redisPort, int managementPort) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("server.address", "127.0.0.1");
+        // 独立管理端口上的 Prometheus 端点免登录，供 chatLoad 采集服务端指标
+        properties.put("management.server.port", managementPort);
+        properties.put("management.server.address", "127.0.0.1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.url", JDBC_URL);
+        properties.put("spring.datasource.username", JDBC_USER);
+        properties.put("spring.datasource.password", "");
+        // wall 过滤器按 MySQL 语法校验，H2 的元数据查询会被拦截
+        properties.put("spring.datasource.druid.filters", "stat");
+        properties.put("spring.datasource.druid.validation-query", "SELECT 1");
+        properties.put("spring.data.redis.host", "127.0.0.1");
+        properties.put("spring.data.redis.port", redisPort);
+        properties.put("minio.endpoint", s3Endpoint);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.sakura.poetry", "WARN");
+        return properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * 仓库未附带 ip2region.xdb 时应用无法启动；此时在线程上下文类加载器中补一个空的占位文件，
+     * 压测场景不涉及 IP 解析，解析接口会返回空结果
+     */
+    private static void provideIpDatabaseIfMissing() throws IOException {
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        if (parent.getResource(IP_DATABASE) != null) {
+            return;
+        }
+        Path root = Files.createTempDirectory("loadtest-resources");
+        Path placeholder = root.resolve(IP_DATABASE);
+        Files.createDirectories(placeholder.getParent());
+        Files.createFile(placeholder);
+        root.toFile().deleteOnExit();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[]{root.toUri().toURL()}, parent));
+        log.warn("classpath 中缺少 {}，已使用空占位文件", IP_DATABASE);
+    }
+
+    /**
+     * 启动嵌入式 Redis；端口已被其他压测进程占用时启动失败，仅告警并连接已有的 Redis
+     */
+    private static RedisServer startRedis(int port) {
+        try {
+            RedisServer redis = new RedisServer(port);
+            redis.start();
+            return redis;
+        } catch (Exception e) {
+            log.warn("嵌入式 Redis 启动失败，继续执行: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void stopRedis(RedisServer redis) {
+        try {
+            redis.stop();
+        } catch (Exception e) {
+            log.warn("嵌入式 Redis 停止失败: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> summary) {
+        System.out.printf("%-12s %-62s %8s %6s %9s %8s %8s %8s%n",
+                "scenario", "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        for (Map<String, Object> scenario : (List<Map<String, Object>>) summary.get("scenarios")) {
+            for (Map<String, Object> endpoint : (List<Map<String, Object>>) scenario.get("endpoints")) {
+                System.out.printf("%-12s %-62s %8s %6s %9s %8s %8s %8s%n", scenario.get("scenario"),
+                        endpoint.get("endpoint"), endpoint.get("requests"), endpoint.get("errors"),
+                        endpoint.get("throughputPerSecond"), endpoint.get("p50Millis"),
+                        endpoint.get("p99Millis"), endpoint.get("maxMillis"));
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.sakura.poetry.loadtest.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.loadtest.EndpointStats;
+import com.sakura.poetry.websocket.model.ChatMessage;
+import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.websocket.nio.ChatDeflateExtension;
+import com.sakura.poetry.websocket.protocol.BinaryChatCodec;
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+import com.sakura.poetry.websocket.protocol.ChatProtocol;
+import lombok.extern.slf4j.Slf4j;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.handshake.ServerHandshake;
+import org.java_websocket.protocols.IProtocol;
+import org.java_websocket.protocols.Protocol;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 聊天压测客户端
+ *
+ * <p>基于 Java-WebSocket 的单个连接。连接建立以服务端推送的 {@code CONNECT} 消息为准；
+ * 收到带 {@link DeliveryTracker#CONTENT_PREFIX} 前缀的私聊、群聊消息时交给 {@link DeliveryTracker} 记录投递延迟，
+ * 收到心跳回复时记录往返耗时。</p>
+ *
+ * <p>使用二进制帧时握手请求 {@code poetry-chat.bin.v1} 子协议，消息以 {@link BinaryChatCodec} 编码，
+ * 收到的帧解码到同一个消息对象中。开启压缩时与浏览器一样请求 permessage-deflate 并保留压缩上下文。</p>
+ *
+ * <p>经SockJS传输连接时按SockJS协议收发：发送的消息包装为JSON字符串数组，收到的 {@code a[...]} 帧逐条处理，
+ * 打开帧 {@code o} 和服务端心跳帧 {@code h} 忽略。</p>
+ *
+ * <p>{@code receivedBytes} 统计收到的消息负载（解压后），套接字实际读写的字节数（含握手、帧头，压缩后）
+ * 由 {@link WireCountingSocketFactory} 创建的套接字统计，两者之比即为压缩效果。</p>
+ *
+ * <p>关闭了 Java-WebSocket 自带的连接丢失检测，该检测为每个连接单独启动一个定时线程，
+ * 连接数上千时线程开销过大，存活检测由应用层心跳承担。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public final class ChatLoadClient extends WebSocketClient {
+
+    private static final byte[] HEARTBEAT_FRAME = BinaryChatCodec.encode(heartbeatMessage());
+
+    private final ObjectMapper objectMapper;
+
+    private final long userId;
+
+    private final DeliveryTracker tracker;
+
+    private final EndpointStats heartbeat;
+
+    private final LongAdder errorFrames;
+
+    private final LongAdder unexpectedCloses;
+
+    private final LongAdder receivedBytes;
+
+    private final boolean binary;
+
+    private final boolean sockJs;
+
+    /**
+     * 二进制帧的解码目标，只在连接的读线程上使用
+     */
+    private final ChatMessage received = new ChatMessage();
+
+    private final CountDownLatch connected = new CountDownLatch(1);
+
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private volatile int closeCode;
+
+    private volatile long heartbeatSentNanos;
+
+    private volatile boolean stopping;
+
+    public ChatLoadClient(URI uri, boolean binary, boolean sockJs, boolean deflate, ObjectMapper objectMapper, long userId,
+                          DeliveryTracker tracker, EndpointStats heartbeat, LongAdder errorFrames,
+                          LongAdder unexpectedCloses, LongAdder receivedBytes, WireCountingSocketFactory socketFactory) {
+        super(uri, new Draft_6455(
+                deflate ? List.<IExtension>of(new ChatDeflateExtension(0, true, Integer.MAX_VALUE)) : List.of(),
+                binary ? List.<IProtocol>of(new Protocol(ChatProtocol.BINARY.getSubProtocol())) : List.of(new Protocol(""))));
+        this.binary = binary;
+        this.sockJs = sockJs;
+        this.objectMapper = objectMapper;
+        this.userId = userId;
+        this.tracker = tracker;
+        this.heartbeat = heartbeat;
+        this.errorFrames = errorFrames;
+        this.unexpectedCloses = unexpectedCloses;
+        this.receivedBytes = receivedBytes;
+        setConnectionLostTimeout(0);
+        setTcpNoDelay(true);
+        setSocketFactory(socketFactory);
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public CountDownLatch getConnected() {
+        return connected;
+    }
+
+    public CountDownLatch getClosed() {
+        return closed;
+    }
+
+    public int getCloseCode() {
+        return closeCode;
+    }
+
+    /**
+     * 发送私聊消息
+     *
+     * @param receiverId 接收者用户ID
+     */
+    public void sendPrivate(long receiverId) {
+        long id = tracker.register(false, 1);
+        if (binary) {
+            ChatMessage message = new ChatMessage(MessageType.PRIVATE_CHAT, userId, DeliveryTracker.CONTENT_PREFIX + id);
+            message.setReceiverId(receiverId);
+            sendBinary(id, message);
+            return;
+        }
+        send(id, "{\"type\":\"PRIVATE_CHAT\",\"senderId\":" + userId + ",\"receiverId\":" + receiverId
+                + ",\"content\":\"" + DeliveryTracker.CONTENT_PREFIX + id + "\"}");
+    }
+
+    /**
+     * 发送群聊消息
+     *
+     * @param groupId 群组ID
+     * @param receivers 除自己外在线的群成员数
+     */
+    public void sendGroup(long groupId, int receivers) {
+        long id = tracker.register(true, receivers);
+        if (binary) {
+            ChatMessage message = new ChatMessage(MessageType.GROUP_CHAT, userId, DeliveryTracker.CONTENT_PREFIX + id);
+            message.setGroupId(groupId);
+            sendBinary(id, message);
+            return;
+        }
+        send(id, "{\"type\":\"GROUP_CHAT\",\"senderId\":" + userId + ",\"groupId\":" + groupId
+                + ",\"content\":\"" + DeliveryTracker.CONTENT_PREFIX + id + "\"}");
+    }
+
+    /**
+     * 发送心跳，上一次心跳未收到回复时不再发送
+     */
+    public void sendHeartbeat() {
+        if (!isOpen() || heartbeatSentNanos != 0) {
+            return;
+        }
+        heartbeatSentNanos = System.nanoTime();
+        try {
+            if (binary) {
+                send(HEARTBEAT_FRAME);
+            } else {
+                sendText("{\"type\":\"HEARTBEAT\",\"content\":\"ping\"}");
+            }
+        } catch (Exception e) {
+            heartbeatSentNanos = 0;
+        }
+    }
+
+    /**
+     * 标记为主动关闭，之后的断开不计为异常断开
+     */
+    public void stop() {
+        stopping = true;
+        close();
+    }
+
+    /**
+     * 发送一条压缩前为 {@code bytes} 字节的空白文本消息，用于检查服务端对解压后大小的限制，之后的断开不计为异常断开
+     *
+     * @param bytes 压缩前的字节数
+     */
+    public void sendDeflateBomb(int bytes) throws JsonProcessingException {
+        stopping = true;
+        sendText(" ".repeat(bytes));
+    }
+
+    private void send(long id, String frame) {
+        if (!isOpen()) {
+            tracker.cancel(id);
+            return;
+        }
+        try {
+            sendText(frame);
+        } catch (Exception e) {
+            tracker.cancel(id);
+        }
+    }
+
+    /**
+     * 发送文本消息，SockJS传输时包装为只含一条消息的JSON字符串数组
+     */
+    private void sendText(String frame) throws JsonProcessingException {
+        send(sockJs ? objectMapper.writeValueAsString(List.of(frame)) : frame);
+    }
+
+    /**
+     * 发送二进制消息，客户端不发送时间和状态
+     */
+    private void sendBinary(long id, ChatMessage message) {
+        message.setTimestamp(null);
+        message.setStatus(null);
+        if (!isOpen()) {
+            tracker.cancel(id);
+            return;
+        }
+        try {
+            send(BinaryChatCodec.encode(message));
+        } catch (Exception e) {
+            tracker.cancel(id);
+        }
+    }
+
+    @Override
+    public void onOpen(ServerHandshake handshake) {
+        // 以服务端的CONNECT消息作为连接就绪的标志
+    }
+
+    @Override
+    public void onMessage(String text) {
+        long receivedNanos = System.nanoTime();
+        receivedBytes.add(ChatFrame.utf8Length(text));
+        if (!sockJs) {
+            onTextMessage(text, receivedNanos);
+            return;
+        }
+        // SockJS帧：o 打开，h 心跳，a 消息数组，c 关闭
+        if (text.isEmpty() || text.charAt(0) != 'a') {
+            return;
+        }
+        try {
+            for (JsonNode message : objectMapper.readTree(text.substring(1))) {
+                onTextMessage(message.asText(), receivedNanos);
+            }
+        } catch (Exception e) {
+            log.warn("解析SockJS帧失败: {}", e.getMessage());
+        }
+    }
+
+    private void onTextMessage(String text, long receivedNanos) {
+        try {
+            JsonNode message = objectMapper.readTree(text);
+            onChatMessage(message.path("type").asText(), message.path("senderId").asLong(),
+                    message.path("content").asText(), receivedNanos);
+        } catch (Exception e) {
+            log.warn("解析聊天消息失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(ByteBuffer bytes) {
+        long receivedNanos = System.nanoTime();
+        receivedBytes.add(bytes.remaining());
+        try {
+            BinaryChatCodec.decode(bytes, received);
+            Long senderId = received.getSenderId();
+            onChatMessage(received.getType().name(), senderId != null ? senderId : 0,
+                    received.getContent() != null ? received.getContent() : "", receivedNanos);
+        } catch (Exception e) {
+            log.warn("解析二进制聊天消息失败: {}", e.getMessage());
+        }
+    }
+
+    private void onChatMessage(String type, long senderId, String content, long receivedNanos) {
+        switch (type) {
+            case "CONNECT" -> connected.countDown();
+            case "PRIVATE_CHAT", "GROUP_CHAT" -> {
+                if (content.startsWith(DeliveryTracker.CONTENT_PREFIX) && senderId != userId) {
+                    tracker.delivered(Long.parseLong(content.substring(DeliveryTracker.CONTENT_PREFIX.length())),
+                            receivedNanos);
+                }
+            }
+            case "HEARTBEAT" -> {
+                long sentAt = heartbeatSentNanos;
+                if (sentAt != 0) {
+                    heartbeat.record(sentAt, receivedNanos, true);
+                    heartbeatSentNanos = 0;
+                }
+            }
+            case "ERROR" -> errorFrames.increment();
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void onClose(int code, String reason, boolean remote) {
+        if (!stopping) {
+            unexpectedCloses.increment();
+        }
+        closeCode = code;
+        closed.countDown();
+    }
+
+    @Override
+    public void onError(Exception ex) {
+        if (!stopping) {
+            log.debug("WebSocket错误: {}", ex.getMessage());
+        }
+    }
+
+    private static ChatMessage heartbeatMessage() {
+        ChatMessage message = new ChatMessage(MessageType.HEARTBEAT, null, "ping");
+        message.setTimestamp(null);
+        message.setStatus(null);
+        return message;
+    }
+}
@@ -0,0 +1,480 @@
+package com.sakura.poetry.loadtest.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sakura.poetry.loadtest.EndpointStats;
+import com.sakura.poetry.websocket.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 聊天压测与浸泡测试工具
+ *
+ * <p>独立于应用运行，对已启动的服务建立大量带令牌的 WebSocket 连接，按配置的速率发送私聊、群聊和心跳，
+ * 结束后输出投递延迟分位数、丢失率和服务端发送缓冲积压，报告写入 {@code build/reports/chatload/report.json}。</p>
+ *
+ * <p>流程：获取令牌（登录或本地签发）→ 按 {@code connect-rate} 建立连接 → 通过 REST 接口创建群组 →
+ * 每 10 毫秒按累计速率发送消息 → 停止发送并等待在途消息 → 关闭连接并写出报告。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public class ChatLoadGenerator {
+
+    /**
+     * 发送节拍（毫秒）
+     */
+    private static final long TICK_MILLIS = 10;
+
+    private final ChatLoadOptions options;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final DeliveryTracker tracker = new DeliveryTracker();
+
+    private final EndpointStats login = new EndpointStats("POST /api/auth/login");
+
+    private final EndpointStats connect = new EndpointStats("WS connect");
+
+    private final EndpointStats heartbeat = new EndpointStats("WS heartbeat round trip");
+
+    private final LongAdder errorFrames = new LongAdder();
+
+    private final LongAdder unexpectedCloses = new LongAdder();
+
+    private final LongAdder receivedBytes = new LongAdder();
+
+    private final LongAdder wireReceivedBytes = new LongAdder();
+
+    private final LongAdder wireSentBytes = new LongAdder();
+
+    private final WireCountingSocketFactory socketFactory = new WireCountingSocketFactory(wireReceivedBytes, wireSentBytes);
+
+    private final ServerMetricsSampler sampler;
+
+    private final List<ChatLoadClient> clients = new ArrayList<>();
+
+    private final List<ChatGroupLoad> groups = new ArrayList<>();
+
+    private int connectedClients;
+
+    private Map<String, Object> trafficStartSample;
+
+    private Map<String, Object> trafficEndSample;
+
+    private Map<String, Object> deflateBomb;
+
+    private ChatLoadGenerator(ChatLoadOptions options) {
+        this.options = options;
+        this.sampler = new ServerMetricsSampler(httpClient, options.metricsEndpoint());
+    }
+
+    public static void main(String[] args) {
+        int exitCode = 0;
+        try {
+            new ChatLoadGenerator(ChatLoadOptions.parse(args)).run();
+        } catch (Exception e) {
+            log.error("聊天压测失败", e);
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private void run() throws Exception {
+        log.warn("聊天压测开始: {} 个连接，目标 {}", options.getClients(), options.webSocketUrl());
+        List<Credential> credentials = credentials();
+        // 建立连接前采样一次，作为线程数和堆占用的对照
+        sampler.sample(tracker.inFlight());
+        connectAll(credentials);
+        createGroups(credentials);
+        trafficStartSample = sampler.sample(tracker.inFlight());
+
+        sendTraffic();
+        drain();
+
+        for (ChatLoadClient client : clients) {
+            client.stop();
+        }
+        checkDeflateBomb(credentials.get(0));
+        Map<String, Object> report = writeReport();
+        printSummary(report);
+        log.warn("报告已写入 {}", options.getReport().toAbsolutePath());
+    }
+
+    /**
+     * 获取每个客户端的用户ID和令牌
+     */
+    private List<Credential> credentials() throws Exception {
+        List<Credential> credentials = new ArrayList<>(options.getClients());
+        if (options.getJwtSecret() != null) {
+            JwtUtil.setJwtConfig(options.getJwtSecret(), TimeUnit.DAYS.toMillis(1));
+            // 创建群组需要经过Spring Security认证，仍以第一个用户登录获取令牌
+            Credential rest = login(options.getUserOffset());
+            credentials.add(rest);
+            for (int i = 1; i < options.getClients(); i++) {
+                long userId = options.getUserIdOffset() + i;
+                credentials.add(new Credential(userId,
+                        JwtUtil.generateToken(userId, options.getUserPrefix() + (options.getUserOffset() + i))));
+            }
+            return credentials;
+        }
+
+        Semaphore permits = new Semaphore(options.getLoginConcurrency());
+        List<Future<Credential>> futures = new ArrayList<>(options.getClients());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.getClients(); i++) {
+                int userIndex = options.getUserOffset() + i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return login(userIndex);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        for (Future<Credential> future : futures) {
+            credentials.add(future.get());
+        }
+        log.warn("已登录 {} 个用户", credentials.size());
+        return credentials;
+    }
+
+    private Credential login(int userIndex) throws Exception {
+        String username = options.getUserPrefix() + userIndex;
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", options.getPassword()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.getUrl() + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        JsonNode response = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        boolean success = response.path("code").asInt() == 200;
+        login.record(start, System.nanoTime(), success);
+        if (!success) {
+            throw new IllegalStateException("登录失败: " + username + ", " + response.path("message").asText());
+        }
+        JsonNode data = response.path("data");
+        return new Credential(data.path("userId").asLong(), data.path("accessToken").asText());
+    }
+
+    /**
+     * 按连接速率建立全部连接，再等待服务端确认
+     */
+    private void connectAll(List<Credential> credentials) throws Exception {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, options.getConnectRate());
+        long[] started = new long[credentials.size()];
+        long next = System.nanoTime();
+        for (int i = 0; i < credentials.size(); i++) {
+            Credential credential = credentials.get(i);
+            String token = URLEncoder.encode(credential.token(), StandardCharsets.UTF_8);
+            ChatLoadClient client = new ChatLoadClient(URI.create(options.webSocketUrl(i) + "?token=" + token),
+                    options.isBinary(), options.isSockJs(), options.isDeflate(), objectMapper, credential.userId(), tracker, heartbeat,
+                    errorFrames, unexpectedCloses, receivedBytes, socketFactory);
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            next += intervalNanos;
+            started[i] = System.nanoTime();
+            client.connect();
+            clients.add(client);
+        }
+        for (int i = 0; i < clients.size(); i++) {
+            ChatLoadClient client = clients.get(i);
+            boolean connected = client.getConnected().await(30, TimeUnit.SECONDS);
+            connect.record(started[i], connected ? System.nanoTime() : started[i], connected);
+            if (connected) {
+                connectedClients++;
+            }
+        }
+        log.warn("已建立 {} / {} 个连接", connectedClients, clients.size());
+    }
+
+    /**
+     * 按相邻客户端划分群组，由每组第一个成员通过REST接口创建，创建者即群主并自动加入
+     */
+    private void createGroups(List<Credential> credentials) throws Exception {
+        if (options.getGroups() <= 0 || options.getGroupRate() <= 0) {
+            return;
+        }
+        for (int g = 0; g < options.getGroups(); g++) {
+            List<Integer> members = new ArrayList<>(options.getGroupSize());
+            List<Long> memberIds = new ArrayList<>(options.getGroupSize());
+            for (int m = 0; m < options.getGroupSize(); m++) {
+                int index = (g * options.getGroupSize() + m) % clients.size();
+                members.add(index);
+                memberIds.add(clients.get(index).getUserId());
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(options.getUrl()
+                            + "/api/chat/groups?groupName=loadtest-" + g))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + credentials.get(members.get(0)).token())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(memberIds)))
+                    .build();
+            JsonNode response = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            if (response.path("code").asInt() != 200) {
+                throw new IllegalStateException("创建群组失败: " + response.path("message").asText());
+            }
+            groups.add(new ChatGroupLoad(response.path("data").path("groupId").asLong(), members));
+        }
+        log.warn("已创建 {} 个群组，每组 {} 人", groups.size(), options.getGroupSize());
+    }
+
+    /**
+     * 在持续时间内按节拍发送私聊、群聊和心跳
+     */
+    private void sendTraffic() throws InterruptedException {
+        int n = clients.size();
+        double tickSeconds = TICK_MILLIS / 1000.0;
+        double privatePerTick = options.getPrivateRate() * n * tickSeconds;
+        double groupPerTick = groups.isEmpty() ? 0 : options.getGroupRate() * n * tickSeconds;
+        double heartbeatPerTick = options.getHeartbeatInterval() > 0 ? n * tickSeconds / options.getHeartbeatInterval() : 0;
+        double[] owed = new double[3];
+        int[] heartbeatCursor = new int[1];
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                tick(privatePerTick, groupPerTick, heartbeatPerTick, owed, heartbeatCursor);
+            } catch (Exception e) {
+                // 异常会终止周期任务，记录后继续下一拍
+                log.warn("发送节拍异常: {}", e.getMessage());
+            }
+        }, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::progress, options.getSampleInterval(), options.getSampleInterval(),
+                TimeUnit.SECONDS);
+
+        TimeUnit.SECONDS.sleep(options.getDuration());
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 单个节拍：累计应发条数，发送其中的整数部分
+     */
+    private void tick(double privatePerTick, double groupPerTick, double heartbeatPerTick,
+                      double[] owed, int[] heartbeatCursor) {
+        int n = clients.size();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        owed[0] += privatePerTick;
+        for (; owed[0] >= 1; owed[0]--) {
+            int from = random.nextInt(n);
+            int to = (from + 1 + random.nextInt(n - 1)) % n;
+            clients.get(from).sendPrivate(clients.get(to).getUserId());
+        }
+        owed[1] += groupPerTick;
+        for (; owed[1] >= 1; owed[1]--) {
+            ChatGroupLoad group = groups.get(random.nextInt(groups.size()));
+            ChatLoadClient sender = clients.get(group.members().get(random.nextInt(group.members().size())));
+            sender.sendGroup(group.groupId(), group.onlineReceivers(clients, sender));
+        }
+        owed[2] += heartbeatPerTick;
+        for (; owed[2] >= 1; owed[2]--) {
+            clients.get(heartbeatCursor[0]++ % n).sendHeartbeat();
+        }
+    }
+
+    /**
+     * 停止发送后等待在途消息送达
+     */
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getDrainTimeout());
+        while (tracker.inFlight() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        trafficEndSample = sampler.sample(tracker.inFlight());
+        if (tracker.inFlight() > 0) {
+            log.warn("{} 份消息在 {} 秒内未送达，计为丢失", tracker.inFlight(), options.getDrainTimeout());
+        }
+    }
+
+    /**
+     * 以第一个用户新建一条连接，发送一条压缩后很小、解压后超过服务端上限的消息，记录服务端的关闭码，期望为 1009。
+     * 在其余连接关闭后执行，额外的会话不会顶替压测中的会话
+     */
+    private void checkDeflateBomb(Credential credential) throws Exception {
+        if (options.getDeflateBombBytes() <= 0) {
+            return;
+        }
+        LongAdder wireSent = new LongAdder();
+        String token = URLEncoder.encode(credential.token(), StandardCharsets.UTF_8);
+        ChatLoadClient client = new ChatLoadClient(URI.create(options.webSocketUrl(0) + "?token=" + token),
+                false, options.isSockJs(), true, objectMapper, credential.userId(), tracker,
+                new EndpointStats("WS heartbeat round trip"), new LongAdder(), new LongAdder(), new LongAdder(),
+                new WireCountingSocketFactory(new LongAdder(), wireSent));
+        client.connect();
+        if (!client.getConnected().await(30, TimeUnit.SECONDS)) {
+            client.close();
+            throw new IllegalStateException("解压上限检查的连接未能建立");
+        }
+        long start = System.nanoTime();
+        long handshakeBytes = wireSent.sum();
+        client.sendDeflateBomb(options.getDeflateBombBytes());
+        boolean closed = client.getClosed().await(30, TimeUnit.SECONDS);
+        deflateBomb = new LinkedHashMap<>();
+        deflateBomb.put("inflatedBytes", options.getDeflateBombBytes());
+        deflateBomb.put("wireSentBytes", wireSent.sum() - handshakeBytes);
+        deflateBomb.put("closeCode", closed ? client.getCloseCode() : null);
+        deflateBomb.put("closeMillis", closed ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) : null);
+        if (!closed) {
+            client.close();
+        }
+        log.warn("解压上限检查: 压缩前 {} 字节的消息以 {} 字节发出，服务端关闭码 {}", options.getDeflateBombBytes(),
+                deflateBomb.get("wireSentBytes"), deflateBomb.get("closeCode"));
+    }
+
+    private void progress() {
+        long open = clients.stream().filter(ChatLoadClient::isOpen).count();
+        Map<String, Object> sample = sampler.sample(tracker.inFlight());
+        log.warn("在线 {} / {}，在途 {}，服务端发送缓冲 {} 字节", open, clients.size(), tracker.inFlight(),
+                sample != null ? sample.get("sendBufferBytes") : "-");
+    }
+
+    private Map<String, Object> writeReport() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("url", options.webSocketUrl());
+        parameters.put("transport", options.getTransport());
+        parameters.put("protocol", options.getProtocol());
+        parameters.put("deflate", options.isDeflate());
+        parameters.put("deflateBombBytes", options.getDeflateBombBytes());
+        parameters.put("clients", options.getClients());
+        parameters.put("connectRate", options.getConnectRate());
+        parameters.put("durationSeconds", options.getDuration());
+        parameters.put("privateRate", options.getPrivateRate());
+        parameters.put("groupRate", options.getGroupRate());
+        parameters.put("heartbeatIntervalSeconds", options.getHeartbeatInterval());
+        parameters.put("groups", groups.size());
+        parameters.put("groupSize", options.getGroupSize());
+        parameters.put("tokens", options.getJwtSecret() != null ? "signed" : "login");
+        report.put("options", parameters);
+
+        Map<String, Object> connections = new LinkedHashMap<>();
+        connections.put("requested", clients.size());
+        connections.put("connected", connectedClients);
+        connections.put("unexpectedCloses", unexpectedCloses.sum());
+        connections.put("errorFrames", errorFrames.sum());
+        connections.put("receivedBytes", receivedBytes.sum());
+        connections.put("wireReceivedBytes", wireReceivedBytes.sum());
+        connections.put("wireSentBytes", wireSentBytes.sum());
+        report.put("connections", connections);
+        report.put("endpoints", List.of(login.summarize(), connect.summarize(),
+                tracker.getPrivateDelivery().summarize(), tracker.getGroupDelivery().summarize(),
+                heartbeat.summarize()));
+        Map<String, Object> delivery = tracker.summarize();
+        Map<String, Object> server = sampler.summarize();
+        if (trafficStartSample != null && trafficEndSample != null) {
+            // 发送与等待阶段服务端消耗的CPU时间，每CPU秒投递数不受压测机与服务端争用CPU的影响
+            double cpuSeconds = (double) trafficEndSample.get("cpuSeconds") - (double) trafficStartSample.get("cpuSeconds");
+            server.put("trafficCpuSeconds", Math.round(cpuSeconds * 1000) / 1000.0);
+            // 负载为压缩前字节数；线路字节数只有NIO聊天服务统计，Servlet端点为0
+            server.put("trafficPayloadSentBytes",
+                    (long) trafficEndSample.get("payloadSentBytes") - (long) trafficStartSample.get("payloadSentBytes"));
+            server.put("trafficWireSentBytes",
+                    (long) trafficEndSample.get("wireSentBytes") - (long) trafficStartSample.get("wireSentBytes"));
+            delivery.put("deliveredPerServerCpuSecond",
+                    cpuSeconds > 0 ? Math.round((long) delivery.get("delivered") / cpuSeconds) : null);
+        }
+        report.put("delivery", delivery);
+        report.put("server", server);
+        if (deflateBomb != null) {
+            report.put("deflateBomb", deflateBomb);
+        }
+
+        Path file = options.getReport();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf("%-26s %8s %6s %9s %8s %8s %8s %8s%n",
+                "endpoint", "count", "errors", "per-sec", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) report.get("endpoints")) {
+            System.out.printf("%-26s %8s %6s %9s %8s %8s %8s %8s%n", endpoint.get("endpoint"),
+                    endpoint.get("requests"), endpoint.get("errors"), endpoint.get("throughputPerSecond"),
+                    endpoint.get("p50Millis"), endpoint.get("p90Millis"), endpoint.get("p99Millis"),
+                    endpoint.get("maxMillis"));
+        }
+        Map<String, Object> delivery = (Map<String, Object>) report.get("delivery");
+        Map<String, Object> server = (Map<String, Object>) report.get("server");
+        Map<String, Object> connections = (Map<String, Object>) report.get("connections");
+        System.out.printf("delivered=%s lost=%s lossRate=%s maxSendBufferBytes=%s receivedBytes=%s wireReceivedBytes=%s%n",
+                delivery.get("delivered"), delivery.get("lost"), delivery.get("lossRate"),
+                server.get("maxSendBufferBytes"), connections.get("receivedBytes"), connections.get("wireReceivedBytes"));
+        System.out.printf("maxSessions=%s maxLiveThreads=%s trafficCpuSeconds=%s deliveredPerServerCpuSecond=%s%n",
+                server.get("maxSessions"), server.get("maxLiveThreads"), server.get("trafficCpuSeconds"),
+                delivery.get("deliveredPerServerCpuSecond"));
+    }
+
+    /**
+     * 客户端令牌
+     *
+     * @param userId 用户ID
+     * @param token 访问令牌
+     */
+    private record Credential(long userId, String token) {
+    }
+
+    /**
+     * 压测群组
+     *
+     * @param groupId 群组ID
+     * @param members 成员在客户端列表中的下标
+     */
+    private record ChatGroupLoad(long groupId, List<Integer> members) {
+
+        /**
+         * 除发送者外当前在线的成员数
+         */
+        int onlineReceivers(List<ChatLoadClient> clients, ChatLoadClient sender) {
+            int online = 0;
+            for (int index : members) {
+                ChatLoadClient member = clients.get(index);
+                if (member != sender && member.isOpen()) {
+                    online++;
+                }
+            }
+            return online;
+        }
+    }
+}
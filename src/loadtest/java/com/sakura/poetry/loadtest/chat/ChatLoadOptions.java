@@ -0,0 +1,273 @@
+package com.sakura.poetry.loadtest.chat;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * 聊天压测参数
+ *
+ * <p>通过命令行 {@code --name=value} 传入，未指定的参数使用默认值。速率均为每个客户端每秒的条数，
+ * 总速率为客户端数与单客户端速率之积。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+public class ChatLoadOptions {
+
+    /**
+     * 被测服务的HTTP地址
+     */
+    private String url = "http://localhost:8080";
+
+    /**
+     * WebSocket端点路径，未指定时为SockJS端点的原生WebSocket地址 {@code /ws/chat/websocket}，
+     * SockJS传输时为SockJS端点 {@code /ws/chat}
+     */
+    private String path;
+
+    /**
+     * 完整的WebSocket地址，设置后忽略 {@code path}，用于连接独立端口上的NIO聊天服务，如 {@code ws://localhost:8091/ws/chat}；
+     * 多个地址以逗号分隔时客户端轮流连接各地址，用于压测集群
+     */
+    private String wsUrl;
+
+    /**
+     * 传输方式：websocket（原生WebSocket），或 sockjs（经SockJS的WebSocket传输连接，
+     * 地址为SockJS端点，客户端按SockJS协议收发帧）
+     */
+    private String transport = "websocket";
+
+    /**
+     * 帧格式：json，或 binary（握手时请求 {@code poetry-chat.bin.v1} 子协议，收发二进制帧）
+     */
+    private String protocol = "json";
+
+    /**
+     * 握手时是否请求 permessage-deflate 压缩，浏览器总会请求
+     */
+    private boolean deflate;
+
+    /**
+     * 大于 0 时在发送结束后以额外的连接发送一条压缩前为该字节数的消息，检查服务端是否按解压后的大小以 1009 关闭连接；
+     * 需要同时开启 {@code deflate}
+     */
+    private int deflateBombBytes;
+
+    /**
+     * 连接数
+     */
+    private int clients = 1000;
+
+    /**
+     * 每秒新建的连接数
+     */
+    private int connectRate = 200;
+
+    /**
+     * 发送流量的持续时间（秒）
+     */
+    private int duration = 60;
+
+    /**
+     * 每个客户端每秒发送的私聊消息数
+     */
+    private double privateRate = 0.2;
+
+    /**
+     * 每个客户端每秒发送的群聊消息数
+     */
+    private double groupRate = 0.02;
+
+    /**
+     * 心跳间隔（秒），0 表示不发送心跳
+     */
+    private int heartbeatInterval = 30;
+
+    /**
+     * 群组数量
+     */
+    private int groups = 20;
+
+    /**
+     * 每个群组的成员数
+     */
+    private int groupSize = 50;
+
+    /**
+     * 登录用户名前缀，第 i 个客户端使用 {@code userPrefix + (userOffset + i)}
+     */
+    private String userPrefix = "loadtest_user_";
+
+    /**
+     * 登录密码
+     */
+    private String password = "loadtest123";
+
+    /**
+     * 用户编号起点
+     */
+    private int userOffset = 1;
+
+    /**
+     * 登录并发数，登录需要校验BCrypt密码，并发过高会拖慢被测服务
+     */
+    private int loginConcurrency = 16;
+
+    /**
+     * WebSocket签名密钥，设置后本地签发握手令牌，只有创建群组时登录一次
+     */
+    private String jwtSecret;
+
+    /**
+     * 本地签发令牌时使用的用户ID起点
+     */
+    private long userIdOffset = 1;
+
+    /**
+     * 发送结束后等待在途消息送达的时间（秒），仍未送达的计为丢失
+     */
+    private int drainTimeout = 15;
+
+    /**
+     * 采集服务端指标和打印进度的间隔（秒）
+     */
+    private int sampleInterval = 5;
+
+    /**
+     * 服务端 Prometheus 指标地址，为空时使用 {@code url} 下的 {@code /actuator/prometheus}；
+     * 业务端口上该端点需要管理员权限，压测实例应指向独立管理端口
+     */
+    private String metricsUrl;
+
+    /**
+     * 报告文件
+     */
+    private Path report = Paths.get("build/reports/chatload/report.json");
+
+    /**
+     * 解析命令行参数
+     *
+     * @param args 命令行参数
+     * @return 聊天压测参数
+     */
+    public static ChatLoadOptions parse(String[] args) {
+        ChatLoadOptions options = new ChatLoadOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为 --name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "url" -> options.setUrl(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "path" -> options.setPath(value);
+                case "ws-url" -> options.setWsUrl(value);
+                case "protocol" -> {
+                    if (!value.equals("json") && !value.equals("binary")) {
+                        throw new IllegalArgumentException("帧格式应为 json 或 binary: " + value);
+                    }
+                    options.setProtocol(value);
+                }
+                case "transport" -> {
+                    if (!value.equals("websocket") && !value.equals("sockjs")) {
+                        throw new IllegalArgumentException("传输方式应为 websocket 或 sockjs: " + value);
+                    }
+                    options.setTransport(value);
+                }
+                case "deflate" -> options.setDeflate(Boolean.parseBoolean(value));
+                case "deflate-bomb-bytes" -> options.setDeflateBombBytes(Integer.parseInt(value));
+                case "clients" -> options.setClients(Integer.parseInt(value));
+                case "connect-rate" -> options.setConnectRate(Integer.parseInt(value));
+                case "duration" -> options.setDuration(Integer.parseInt(value));
+                case "private-rate" -> options.setPrivateRate(Double.parseDouble(value));
+                case "group-rate" -> options.setGroupRate(Double.parseDouble(value));
+                case "heartbeat-interval" -> options.setHeartbeatInterval(Integer.parseInt(value));
+                case "groups" -> options.setGroups(Integer.parseInt(value));
+                case "group-size" -> options.setGroupSize(Integer.parseInt(value));
+                case "user-prefix" -> options.setUserPrefix(value);
+                case "password" -> options.setPassword(value);
+                case "user-offset" -> options.setUserOffset(Integer.parseInt(value));
+                case "login-concurrency" -> options.setLoginConcurrency(Integer.parseInt(value));
+                case "jwt-secret" -> options.setJwtSecret(value);
+                case "user-id-offset" -> options.setUserIdOffset(Long.parseLong(value));
+                case "drain-timeout" -> options.setDrainTimeout(Integer.parseInt(value));
+                case "sample-interval" -> options.setSampleInterval(Integer.parseInt(value));
+                case "metrics-url" -> options.setMetricsUrl(value);
+                case "report" -> options.setReport(Paths.get(value));
+                default -> throw new IllegalArgumentException("未知参数: " + name);
+            }
+        }
+        if (options.getClients() < 2) {
+            throw new IllegalArgumentException("至少需要两个客户端");
+        }
+        if (options.isSockJs() && options.isBinary()) {
+            throw new IllegalArgumentException("SockJS只能收发文本帧，不支持 binary 帧格式");
+        }
+        if (options.getDeflateBombBytes() > 0 && !options.isDeflate()) {
+            throw new IllegalArgumentException("deflate-bomb-bytes 需要同时设置 --deflate=true");
+        }
+        options.setGroupSize(Math.min(options.getGroupSize(), options.getClients()));
+        return options;
+    }
+
+    /**
+     * 是否使用二进制帧
+     *
+     * @return 使用二进制帧时返回 true
+     */
+    public boolean isBinary() {
+        return "binary".equals(protocol);
+    }
+
+    /**
+     * 是否经SockJS传输连接
+     *
+     * @return SockJS传输时返回 true
+     */
+    public boolean isSockJs() {
+        return "sockjs".equals(transport);
+    }
+
+    /**
+     * WebSocket地址，不含令牌，多个地址以逗号分隔；SockJS传输时为SockJS端点地址
+     *
+     * @return WebSocket地址
+     */
+    public String webSocketUrl() {
+        if (wsUrl != null) {
+            return wsUrl;
+        }
+        String endpoint = path != null ? path : isSockJs() ? "/ws/chat" : "/ws/chat/websocket";
+        return url.replaceFirst("^http", "ws") + endpoint;
+    }
+
+    /**
+     * 第 {@code client} 个客户端连接的WebSocket地址，SockJS传输时为 {@code 端点/服务器ID/会话ID/websocket}
+     *
+     * @param client 客户端序号
+     * @return WebSocket地址，不含令牌
+     */
+    public String webSocketUrl(int client) {
+        String[] urls = webSocketUrl().split(",");
+        String endpoint = urls[client % urls.length].trim();
+        if (!isSockJs()) {
+            return endpoint;
+        }
+        return endpoint + "/" + String.format("%03d", client % 1000) + "/" + UUID.randomUUID().toString().replace("-", "")
+                + "/websocket";
+    }
+
+    /**
+     * 服务端 Prometheus 指标地址
+     *
+     * @return 指标地址
+     */
+    public String metricsEndpoint() {
+        return metricsUrl != null ? metricsUrl : url + "/actuator/prometheus";
+    }
+}
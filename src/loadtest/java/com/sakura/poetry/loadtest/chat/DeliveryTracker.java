@@ -0,0 +1,144 @@
+package com.sakura.poetry.loadtest.chat;
+
+import com.sakura.poetry.loadtest.EndpointStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 消息投递跟踪
+ *
+ * <p>每条发出的消息登记一个编号和应收人数，编号写入消息内容 {@code lt:<编号>}。接收端按编号找到发送时刻，
+ * 记录投递延迟并扣减应收人数；应收人数归零后移除登记。压测结束时仍未归零的部分计为丢失。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class DeliveryTracker {
+
+    /**
+     * 消息内容前缀
+     */
+    public static final String CONTENT_PREFIX = "lt:";
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private final EndpointStats privateDelivery = new EndpointStats("WS private delivery");
+
+    private final EndpointStats groupDelivery = new EndpointStats("WS group delivery");
+
+    private final LongAdder privateSent = new LongAdder();
+
+    private final LongAdder groupSent = new LongAdder();
+
+    private final LongAdder expected = new LongAdder();
+
+    private final LongAdder delivered = new LongAdder();
+
+    private final LongAdder unknown = new LongAdder();
+
+    /**
+     * 登记一条待投递消息，发送前调用，避免回环投递早于登记
+     *
+     * @param group 是否为群聊消息
+     * @param receivers 应收人数
+     * @return 消息编号
+     */
+    public long register(boolean group, int receivers) {
+        long id = ids.incrementAndGet();
+        pending.put(id, new Pending(group, System.nanoTime(), new AtomicInteger(receivers)));
+        (group ? groupSent : privateSent).increment();
+        expected.add(receivers);
+        return id;
+    }
+
+    /**
+     * 撤销未能发出的消息
+     *
+     * @param id 消息编号
+     */
+    public void cancel(long id) {
+        Pending message = pending.remove(id);
+        if (message != null) {
+            (message.group() ? groupSent : privateSent).decrement();
+            expected.add(-message.remaining().get());
+        }
+    }
+
+    /**
+     * 记录一次送达
+     *
+     * @param id 消息编号
+     * @param receivedNanos 接收时刻
+     */
+    public void delivered(long id, long receivedNanos) {
+        Pending message = pending.get(id);
+        if (message == null) {
+            // 重复投递或超出应收人数
+            unknown.increment();
+            return;
+        }
+        (message.group() ? groupDelivery : privateDelivery).record(message.sentNanos(), receivedNanos, true);
+        delivered.increment();
+        if (message.remaining().decrementAndGet() <= 0) {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * 在途的应收份数
+     *
+     * @return 在途份数
+     */
+    public long inFlight() {
+        long total = 0;
+        for (Pending message : pending.values()) {
+            total += Math.max(0, message.remaining().get());
+        }
+        return total;
+    }
+
+    public EndpointStats getPrivateDelivery() {
+        return privateDelivery;
+    }
+
+    public EndpointStats getGroupDelivery() {
+        return groupDelivery;
+    }
+
+    /**
+     * 汇总投递结果
+     *
+     * @return 投递结果
+     */
+    public Map<String, Object> summarize() {
+        long expectedCount = expected.sum();
+        long lost = inFlight();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("privateSent", privateSent.sum());
+        summary.put("groupSent", groupSent.sum());
+        summary.put("expectedDeliveries", expectedCount);
+        summary.put("delivered", delivered.sum());
+        summary.put("lost", lost);
+        summary.put("lossRate", expectedCount > 0 ? Math.round(lost * 1e6 / expectedCount) / 1e6 : 0);
+        summary.put("unexpectedDeliveries", unknown.sum());
+        return summary;
+    }
+
+    /**
+     * 待投递消息
+     *
+     * @param group 是否为群聊消息
+     * @param sentNanos 发送时刻
+     * @param remaining 剩余应收人数
+     */
+    private record Pending(boolean group, long sentNanos, AtomicInteger remaining) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.sakura.poetry.loadtest.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 服务端指标采样
+ *
+ * <p>定期读取 {@code /actuator/prometheus}，记录会话数和全部会话发送缓冲中的待写字节数，
+ * 后者反映服务端出站队列的积压程度。接口不可用时只告警一次，压测照常进行。</p>
+ *
+ * <p>同时记录堆内存占用、存活线程数和进程累计CPU时间。两次采样之间的CPU时间用于计算
+ * 每CPU秒可投递的消息数，对比不同聊天端点的处理开销。服务端发出的负载字节数（压缩前）和NIO聊天服务写出的线路字节数
+ * 同样按两次采样的差值统计。堆占用受GC时机影响，只作参考，
+ * 单连接内存开销需在服务端强制GC后测量。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public class ServerMetricsSampler {
+
+    private static final String SESSIONS = "poetry_websocket_sessions";
+
+    private static final String SEND_BUFFER = "poetry_websocket_send_buffer_bytes";
+
+    private static final String MEMORY_USED = "jvm_memory_used_bytes";
+
+    private static final String HEAP_AREA = "area=\"heap\"";
+
+    private static final String LIVE_THREADS = "jvm_threads_live_threads";
+
+    private static final String CPU_TIME = "process_cpu_time_ns_total";
+
+    private static final String PAYLOAD = "poetry_websocket_payload_bytes_total";
+
+    private static final String WIRE = "poetry_websocket_wire_bytes_total";
+
+    private static final String OUTBOUND = "direction=\"out\"";
+
+    private final HttpClient httpClient;
+
+    private final URI endpoint;
+
+    private final long startNanos = System.nanoTime();
+
+    private final List<Map<String, Object>> samples = new ArrayList<>();
+
+    private double maxSessions;
+
+    private double maxSendBufferBytes;
+
+    private double maxHeapUsedBytes;
+
+    private double maxLiveThreads;
+
+    private boolean unavailable;
+
+    public ServerMetricsSampler(HttpClient httpClient, String endpoint) {
+        this.httpClient = httpClient;
+        this.endpoint = URI.create(endpoint);
+    }
+
+    /**
+     * 采样一次
+     *
+     * @param inFlight 客户端统计的在途消息数
+     * @return 本次样本，接口不可用时返回null
+     */
+    public synchronized Map<String, Object> sample(long inFlight) {
+        if (unavailable) {
+            return null;
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("HTTP " + response.statusCode());
+            }
+            String body = response.body();
+            double sessions = sum(body, SESSIONS, null);
+            double sendBuffer = sum(body, SEND_BUFFER, null);
+            double heap = sum(body, MEMORY_USED, HEAP_AREA);
+            double threads = sum(body, LIVE_THREADS, null);
+            maxSessions = Math.max(maxSessions, sessions);
+            maxSendBufferBytes = Math.max(maxSendBufferBytes, sendBuffer);
+            maxHeapUsedBytes = Math.max(maxHeapUsedBytes, heap);
+            maxLiveThreads = Math.max(maxLiveThreads, threads);
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("elapsedSeconds", (System.nanoTime() - startNanos) / 1_000_000_000L);
+            sample.put("sessions", (long) sessions);
+            sample.put("sendBufferBytes", (long) sendBuffer);
+            sample.put("heapUsedBytes", (long) heap);
+            sample.put("liveThreads", (long) threads);
+            sample.put("cpuSeconds", Math.round(sum(body, CPU_TIME, null) / 1e6) / 1e3);
+            sample.put("payloadSentBytes", (long) sum(body, PAYLOAD, OUTBOUND));
+            sample.put("wireSentBytes", (long) sum(body, WIRE, OUTBOUND));
+            sample.put("clientInFlight", inFlight);
+            samples.add(sample);
+            return sample;
+        } catch (InterruptedException e) {
+            // 发送阶段结束时进度任务被中断，不影响后续采样
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            unavailable = true;
+            log.warn("无法读取服务端指标 {}，报告中不含服务端队列积压: {}", endpoint, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 汇总采样结果
+     *
+     * @return 采样结果
+     */
+    public synchronized Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("available", !unavailable);
+        summary.put("maxSessions", (long) maxSessions);
+        summary.put("maxSendBufferBytes", (long) maxSendBufferBytes);
+        summary.put("maxHeapUsedBytes", (long) maxHeapUsedBytes);
+        summary.put("maxLiveThreads", (long) maxLiveThreads);
+        summary.put("samples", samples);
+        return summary;
+    }
+
+    /**
+     * 累加指定指标在各标签组合下的取值
+     *
+     * @param label 只统计包含该标签的行，为 null 时不过滤
+     */
+    private static double sum(String body, String metric, String label) {
+        double total = 0;
+        for (String line : body.split("\n")) {
+            if (line.startsWith(metric) && (line.length() == metric.length()
+                    || line.charAt(metric.length()) == '{' || line.charAt(metric.length()) == ' ')
+                    && (label == null || line.contains(label))) {
+                total += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return total;
+    }
+}
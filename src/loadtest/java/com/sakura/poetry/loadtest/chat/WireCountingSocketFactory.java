@@ -0,0 +1,126 @@
+package com.sakura.poetry.loadtest.chat;
+
+import javax.net.SocketFactory;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计读写字节数的套接字工厂
+ *
+ * <p>交给 Java-WebSocket 客户端后由其创建并连接套接字，握手、帧头和（压缩后的）负载全部计入，即线路上的字节数，
+ * 不含TCP/IP头。全部连接共用一个工厂，字节数累加到同一组计数器。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class WireCountingSocketFactory extends SocketFactory {
+
+    private final LongAdder bytesReceived;
+
+    private final LongAdder bytesSent;
+
+    public WireCountingSocketFactory(LongAdder bytesReceived, LongAdder bytesSent) {
+        this.bytesReceived = bytesReceived;
+        this.bytesSent = bytesSent;
+    }
+
+    /**
+     * 创建未连接的套接字，由客户端自行连接
+     */
+    @Override
+    public Socket createSocket() {
+        return new CountingSocket();
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = createSocket();
+        socket.connect(new InetSocketAddress(host, port));
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        Socket socket = createSocket();
+        socket.bind(new InetSocketAddress(localHost, localPort));
+        socket.connect(new InetSocketAddress(host, port));
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        Socket socket = createSocket();
+        socket.connect(new InetSocketAddress(host, port));
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        Socket socket = createSocket();
+        socket.bind(new InetSocketAddress(localAddress, localPort));
+        socket.connect(new InetSocketAddress(address, port));
+        return socket;
+    }
+
+    private class CountingSocket extends Socket {
+
+        private InputStream input;
+
+        private OutputStream output;
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (input == null) {
+                input = new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = in.read();
+                        if (b >= 0) {
+                            bytesReceived.increment();
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int read = in.read(b, off, len);
+                        if (read > 0) {
+                            bytesReceived.add(read);
+                        }
+                        return read;
+                    }
+                };
+            }
+            return input;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new FilterOutputStream(super.getOutputStream()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        bytesSent.increment();
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        // FilterOutputStream 默认逐字节写出，这里整块写出
+                        out.write(b, off, len);
+                        bytesSent.add(len);
+                    }
+                };
+            }
+            return output;
+        }
+    }
+}
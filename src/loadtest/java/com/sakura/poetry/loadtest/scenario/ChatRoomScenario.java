@@ -0,0 +1,189 @@
+package com.sakura.poetry.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sakura.poetry.loadtest.EndpointStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 聊天室场景
+ * 
+ * <p>建立 {@code chatRooms × chatClients} 个 WebSocket 连接，每个房间内的客户端组成环，
+ * 每个客户端向环上的下一个客户端发送 {@code chatMessages} 条私聊消息。消息内容携带发送时刻的
+ * {@link System#nanoTime()}，接收端据此计算投递延迟；超时仍未收到的消息计为错误。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public class ChatRoomScenario implements Scenario {
+
+    /**
+     * 等待全部消息投递的最长时间（秒）
+     */
+    private static final long DELIVERY_TIMEOUT_SECONDS = 30;
+
+    @Override
+    public String name() {
+        return "chat";
+    }
+
+    @Override
+    public void run(ScenarioContext context) throws Exception {
+        EndpointStats connect = context.getReport().endpoint(name(), "WS /ws/chat connect");
+        EndpointStats delivery = context.getReport().endpoint(name(), "WS /ws/chat private delivery");
+        int rooms = context.getOptions().getChatRooms();
+        int clientsPerRoom = context.getOptions().getChatClients();
+        int messages = context.getOptions().getChatMessages();
+        long expected = (long) rooms * clientsPerRoom * messages;
+        CountDownLatch delivered = new CountDownLatch((int) expected);
+        String wsUrl = context.getBaseUrl().replaceFirst("^http", "ws") + "/ws/chat/websocket?token=";
+
+        List<ChatClient> clients = new ArrayList<>(rooms * clientsPerRoom);
+        for (int index = 1; index <= rooms * clientsPerRoom; index++) {
+            ScenarioContext.LoginUser user = context.login(index);
+            ChatClient client = new ChatClient(context, user, delivery, delivered);
+            long start = System.nanoTime();
+            try {
+                client.webSocket = context.getHttpClient().newWebSocketBuilder()
+                        .header("Authorization", "Bearer " + user.token())
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .buildAsync(URI.create(wsUrl + user.token()), client)
+                        .get(10, TimeUnit.SECONDS);
+                boolean ready = client.connected.await(10, TimeUnit.SECONDS);
+                connect.record(start, System.nanoTime(), ready);
+            } catch (Exception e) {
+                connect.record(start, System.nanoTime(), false);
+                log.warn("WebSocket连接失败: {}", e.getMessage());
+            }
+            clients.add(client);
+        }
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int room = 0; room < rooms; room++) {
+                for (int member = 0; member < clientsPerRoom; member++) {
+                    ChatClient sender = clients.get(room * clientsPerRoom + member);
+                    ChatClient receiver = clients.get(room * clientsPerRoom + (member + 1) % clientsPerRoom);
+                    senders.execute(() -> sender.sendTo(receiver.user.userId(), messages));
+                }
+            }
+        }
+
+        if (!delivered.await(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            long missing = delivered.getCount();
+            log.warn("聊天场景有 {} 条消息未在 {} 秒内送达", missing, DELIVERY_TIMEOUT_SECONDS);
+            long now = System.nanoTime();
+            for (long i = 0; i < missing; i++) {
+                delivery.record(now, now, false);
+            }
+        }
+        for (ChatClient client : clients) {
+            client.close();
+        }
+    }
+
+    /**
+     * 单个聊天客户端
+     */
+    private static final class ChatClient implements WebSocket.Listener {
+
+        private final ScenarioContext context;
+
+        private final ScenarioContext.LoginUser user;
+
+        private final EndpointStats delivery;
+
+        private final CountDownLatch delivered;
+
+        private final CountDownLatch connected = new CountDownLatch(1);
+
+        private final StringBuilder buffer = new StringBuilder();
+
+        private final AtomicLong sent = new AtomicLong();
+
+        private volatile WebSocket webSocket;
+
+        private ChatClient(ScenarioContext context, ScenarioContext.LoginUser user,
+                           EndpointStats delivery, CountDownLatch delivered) {
+            this.context = context;
+            this.user = user;
+            this.delivery = delivery;
+            this.delivered = delivered;
+        }
+
+        /**
+         * 依次发送私聊消息，等待上一帧写出后再发下一帧
+         */
+        private void sendTo(long receiverId, int messages) {
+            if (webSocket == null) {
+                return;
+            }
+            for (int i = 0; i < messages; i++) {
+                String frame = "{\"type\":\"PRIVATE_CHAT\",\"senderId\":" + user.userId()
+                        + ",\"receiverId\":" + receiverId + ",\"content\":\"" + System.nanoTime() + "\"}";
+                try {
+                    webSocket.sendText(frame, true).get(10, TimeUnit.SECONDS);
+                    sent.incrementAndGet();
+                } catch (Exception e) {
+                    log.warn("发送聊天消息失败: {}", e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            if (webSocket == null) {
+                return;
+            }
+            try {
+                webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done").get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                webSocket.abort();
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            long received = System.nanoTime();
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                handle(text, received);
+            }
+            webSocket.request(1);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private void handle(String text, long received) {
+            try {
+                JsonNode message = context.getObjectMapper().readTree(text);
+                switch (message.path("type").asText()) {
+                    case "CONNECT" -> connected.countDown();
+                    case "PRIVATE_CHAT" -> {
+                        long sentAt = Long.parseLong(message.path("content").asText());
+                        delivery.record(sentAt, received, true);
+                        delivered.countDown();
+                    }
+                    default -> {
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("解析聊天消息失败: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sakura.poetry.loadtest.scenario;
+
+import com.sakura.poetry.loadtest.EndpointStats;
+
+import java.net.http.HttpRequest;
+
+/**
+ * 热门/精选列表场景
+ * 
+ * <p>匿名循环请求热门和精选诗词列表，对应首页最常见的读请求。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class HotListScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "hot-list";
+    }
+
+    @Override
+    public void run(ScenarioContext context) throws InterruptedException {
+        EndpointStats hot = context.getReport().endpoint(name(), "GET /api/poetry/hot/20");
+        EndpointStats featured = context.getReport().endpoint(name(), "GET /api/poetry/featured/20");
+        HttpRequest hotRequest = context.request("/api/poetry/hot/20").GET().build();
+        HttpRequest featuredRequest = context.request("/api/poetry/featured/20").GET().build();
+        context.runClosedLoop(worker -> {
+            context.send(hot, hotRequest);
+            context.send(featured, featuredRequest);
+        });
+    }
+}
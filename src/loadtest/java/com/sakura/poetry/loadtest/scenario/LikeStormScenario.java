@@ -0,0 +1,63 @@
+package com.sakura.poetry.loadtest.scenario;
+
+import com.sakura.poetry.loadtest.EndpointStats;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 点赞风暴场景
+ * 
+ * <p>每个并发工作线程对应一个已登录用户，反复对少量热门诗词点赞、取消点赞，
+ * 集中制造同一批目标上的写竞争。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class LikeStormScenario implements Scenario {
+
+    /**
+     * 热点诗词数量
+     */
+    private static final int HOT_TARGETS = 10;
+
+    /**
+     * 点赞目标类型：诗词（请求体按枚举名反序列化，路径参数使用枚举值）
+     */
+    private static final String TARGET_TYPE_NAME = "POETRY";
+
+    private static final int TARGET_TYPE_VALUE = 1;
+
+    @Override
+    public String name() {
+        return "like-storm";
+    }
+
+    @Override
+    public void run(ScenarioContext context) throws InterruptedException {
+        EndpointStats create = context.getReport().endpoint(name(), "POST /api/like/create");
+        EndpointStats delete = context.getReport().endpoint(name(), "DELETE /api/like/user/{userId}/target/{targetType}/{targetId}");
+        int concurrency = context.getOptions().getConcurrency();
+        for (int user = 1; user <= concurrency; user++) {
+            context.login(user);
+        }
+        int targets = Math.min(HOT_TARGETS, context.getOptions().getPoetry());
+        context.runClosedLoop(worker -> {
+            ScenarioContext.LoginUser user = context.login(worker + 1);
+            long targetId = ThreadLocalRandom.current().nextInt(targets) + 1;
+            String body = "{\"userId\":" + user.userId() + ",\"targetType\":\"" + TARGET_TYPE_NAME
+                    + "\",\"targetId\":" + targetId + "}";
+            context.send(create, context.request("/api/like/create")
+                    .header("Authorization", "Bearer " + user.token())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+            context.send(delete, context.request("/api/like/user/" + user.userId() + "/target/"
+                            + TARGET_TYPE_VALUE + "/" + targetId)
+                    .header("Authorization", "Bearer " + user.token())
+                    .DELETE()
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.sakura.poetry.loadtest.scenario;
+
+/**
+ * 压测场景
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface Scenario {
+
+    /**
+     * 场景名，与命令行 {@code --scenarios} 中的名称一致
+     * 
+     * @return 场景名
+     */
+    String name();
+
+    /**
+     * 执行场景，结果记录到上下文的报告中
+     * 
+     * @param context 场景上下文
+     * @throws Exception 场景无法继续执行
+     */
+    void run(ScenarioContext context) throws Exception;
+}
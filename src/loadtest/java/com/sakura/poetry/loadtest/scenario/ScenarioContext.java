@@ -0,0 +1,171 @@
+package com.sakura.poetry.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.loadtest.EndpointStats;
+import com.sakura.poetry.loadtest.LoadTestOptions;
+import com.sakura.poetry.loadtest.LoadTestReport;
+import com.sakura.poetry.loadtest.standin.CorpusSeeder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * 场景上下文
+ * 
+ * <p>持有被测应用地址、共享的 HTTP 客户端和报告，并提供闭环压测、计时请求和登录等公共操作。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Getter
+public class ScenarioContext {
+
+    private final String baseUrl;
+
+    private final LoadTestOptions options;
+
+    private final LoadTestReport report;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    /**
+     * 已登录用户的令牌，key: 用户序号（从1开始）
+     */
+    private final Map<Integer, LoginUser> loginUsers = new ConcurrentHashMap<>();
+
+    /**
+     * 登录用户
+     * 
+     * @param userId 用户ID
+     * @param token 访问令牌
+     */
+    public record LoginUser(long userId, String token) {
+    }
+
+    public ScenarioContext(String baseUrl, LoadTestOptions options, LoadTestReport report) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.report = report;
+    }
+
+    /**
+     * 创建请求构建器
+     * 
+     * @param path 接口路径
+     * @return 请求构建器
+     */
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    /**
+     * 发送请求并计时，HTTP 200 且业务码为 200 视为成功
+     * 
+     * @param stats 接口统计
+     * @param request 请求
+     * @return 响应体JSON，失败时为 null
+     */
+    public JsonNode send(EndpointStats stats, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long end = System.nanoTime();
+            JsonNode body = response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+            boolean success = body != null && body.path("code").asInt() == 200;
+            stats.record(start, end, success);
+            return success ? body : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.record(start, System.nanoTime(), false);
+            return null;
+        } catch (Exception e) {
+            stats.record(start, System.nanoTime(), false);
+            return null;
+        }
+    }
+
+    /**
+     * 闭环压测：{@code concurrency} 个虚拟线程在 {@code duration} 秒内循环执行
+     * 
+     * @param body 单次迭代，参数为工作线程序号
+     * @throws InterruptedException 等待被中断
+     */
+    public void runClosedLoop(IntConsumer body) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getDuration());
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < options.getConcurrency(); worker++) {
+                int index = worker;
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        body.accept(index);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 登录合成用户，已登录的直接返回缓存的令牌
+     * 
+     * @param userIndex 用户序号，从1开始
+     * @return 登录用户
+     */
+    public LoginUser login(int userIndex) {
+        return loginUsers.computeIfAbsent(userIndex, index -> {
+            try {
+                String body = objectMapper.writeValueAsString(Map.of(
+                        "username", CorpusSeeder.USER_PREFIX + index,
+                        "password", CorpusSeeder.USER_PASSWORD));
+                HttpRequest request = request("/api/auth/login")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                JsonNode response = send(report.endpoint("login", "POST /api/auth/login"), request);
+                if (response == null) {
+                    throw new IllegalStateException("登录失败: " + CorpusSeeder.USER_PREFIX + index);
+                }
+                JsonNode data = response.path("data");
+                return new LoginUser(data.path("userId").asLong(), data.path("accessToken").asText());
+            } catch (Exception e) {
+                throw new IllegalStateException("登录失败: " + CorpusSeeder.USER_PREFIX + index, e);
+            }
+        });
+    }
+
+    /**
+     * 按场景名选择场景
+     * 
+     * @param name 场景名
+     * @return 场景
+     */
+    public static Scenario scenario(String name) {
+        for (Scenario scenario : List.of(new HotListScenario(), new SearchScenario(), new LikeStormScenario(),
+                new UploadScenario(), new ChatRoomScenario())) {
+            if (scenario.name().equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("未知场景: " + name);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sakura.poetry.loadtest.scenario;
+
+import com.sakura.poetry.loadtest.EndpointStats;
+import com.sakura.poetry.loadtest.standin.CorpusSeeder;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 标题搜索场景
+ * 
+ * <p>匿名按合成语料的标题用字做模糊搜索。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class SearchScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "search";
+    }
+
+    @Override
+    public void run(ScenarioContext context) throws InterruptedException {
+        EndpointStats stats = context.getReport().endpoint(name(), "GET /api/poetry/title/{title}");
+        context.runClosedLoop(worker -> {
+            String term = CorpusSeeder.TITLE_WORDS[ThreadLocalRandom.current().nextInt(CorpusSeeder.TITLE_WORDS.length)];
+            String path = "/api/poetry/title/" + URLEncoder.encode(term, StandardCharsets.UTF_8);
+            context.send(stats, context.request(path).GET().build());
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.sakura.poetry.loadtest.scenario;
+
+import com.sakura.poetry.loadtest.EndpointStats;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 文件上传场景
+ * 
+ * <p>已登录用户以 multipart 形式上传小文本文件，经应用写入 S3 替身。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class UploadScenario implements Scenario {
+
+    /**
+     * 上传文件大小（字节）
+     */
+    private static final int FILE_SIZE = 4096;
+
+    @Override
+    public String name() {
+        return "upload";
+    }
+
+    @Override
+    public void run(ScenarioContext context) throws InterruptedException {
+        EndpointStats stats = context.getReport().endpoint(name(), "POST /api/minio/upload");
+        ScenarioContext.LoginUser user = context.login(1);
+        byte[] content = "床前明月光，疑是地上霜。\n".repeat(FILE_SIZE / 36 + 1).getBytes(StandardCharsets.UTF_8);
+        context.runClosedLoop(worker -> {
+            String boundary = "----loadtest" + UUID.randomUUID().toString().replace("-", "");
+            context.send(stats, context.request("/api/minio/upload")
+                    .header("Authorization", "Bearer " + user.token())
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, content)))
+                    .build());
+        });
+    }
+
+    /**
+     * 构造只含一个 file 字段的 multipart 请求体
+     */
+    private static byte[] multipart(String boundary, byte[] content) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n";
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+}
@@ -0,0 +1,168 @@
+package com.sakura.poetry.loadtest.standin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 合成语料生成器
+ * 
+ * <p>在 {@code data.sql} 的基础数据之上批量生成诗人、诗词和用户。使用固定随机种子，
+ * 相同参数得到相同的数据，便于多次压测结果对比。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public final class CorpusSeeder {
+
+    /**
+     * 合成用户的统一密码
+     */
+    public static final String USER_PASSWORD = "loadtest123";
+
+    /**
+     * 合成用户名前缀
+     */
+    public static final String USER_PREFIX = "loadtest_user_";
+
+    /**
+     * 标题用字，搜索场景从中取关键字
+     */
+    public static final String[] TITLE_WORDS = {
+            "春", "夏", "秋", "冬", "月", "山", "江", "风", "雪", "花", "柳", "雁", "云", "夜", "舟", "酒"
+    };
+
+    private static final String VERSE_CHARS = "床前明月光疑是地上霜举头望低思故乡白日依山尽黄河入海流欲穷千里目更上一层楼"
+            + "春眠不觉晓处闻啼鸟夜来风雨声花落知多少空见人但语响返景深林复照青苔";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final SplittableRandom random = new SplittableRandom(20250903L);
+
+    private final Connection connection;
+
+    public CorpusSeeder(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * 生成合成语料
+     * 
+     * @param poets 诗人数量
+     * @param poetry 诗词数量
+     * @param users 用户数量
+     * @throws SQLException 写入失败
+     */
+    public void seed(int poets, int poetry, int users) throws SQLException {
+        long start = System.currentTimeMillis();
+        List<Long> dynastyIds = queryIds("SELECT id FROM dynasty");
+        List<Long> categoryIds = queryIds("SELECT id FROM poetry_category");
+        seedPoets(poets, dynastyIds);
+        seedPoetry(poetry, queryIds("SELECT id FROM poet"), dynastyIds, categoryIds);
+        seedUsers(users);
+        log.info("合成语料已生成：诗人 {}，诗词 {}，用户 {}，耗时 {} ms",
+                poets, poetry, users, System.currentTimeMillis() - start);
+    }
+
+    private void seedPoets(int count, List<Long> dynastyIds) throws SQLException {
+        String sql = "INSERT INTO poet (poet_name, dynasty_id, biography, view_count, like_count, status) VALUES (?, ?, ?, ?, ?, 1)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, "合成诗人" + i);
+                statement.setLong(2, pick(dynastyIds));
+                statement.setString(3, "压测合成诗人" + i);
+                statement.setLong(4, random.nextInt(100_000));
+                statement.setLong(5, random.nextInt(10_000));
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedPoetry(int count, List<Long> poetIds, List<Long> dynastyIds, List<Long> categoryIds) throws SQLException {
+        String sql = "INSERT INTO poetry (title, poet_id, dynasty_id, category_id, content, content_format, word_count, "
+                + "verse_count, view_count, like_count, collect_count, comment_count, is_featured, is_hot, status, publish_time) "
+                + "VALUES (?, ?, ?, ?, ?, 1, ?, 4, ?, ?, ?, 0, ?, ?, 1, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                String content = verse() + "，" + verse() + "。" + verse() + "，" + verse() + "。";
+                long views = (long) (Math.pow(random.nextDouble(), 4) * 1_000_000);
+                statement.setString(1, TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]
+                        + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + i);
+                statement.setLong(2, pick(poetIds));
+                statement.setLong(3, pick(dynastyIds));
+                statement.setLong(4, pick(categoryIds));
+                statement.setString(5, content);
+                statement.setInt(6, 20);
+                statement.setLong(7, views);
+                statement.setLong(8, views / 10);
+                statement.setLong(9, views / 50);
+                statement.setInt(10, i % 50 == 0 ? 1 : 0);
+                statement.setInt(11, views > 500_000 ? 1 : 0);
+                statement.setTimestamp(12, now);
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedUsers(int count) throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(USER_PASSWORD);
+        String sql = "INSERT INTO sys_user (username, nickname, password, status) VALUES (?, ?, ?, 1)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, USER_PREFIX + i);
+                statement.setString(2, "压测用户" + i);
+                statement.setString(3, password);
+                addBatch(statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private String verse() {
+        StringBuilder builder = new StringBuilder(5);
+        for (int i = 0; i < 5; i++) {
+            builder.append(VERSE_CHARS.charAt(random.nextInt(VERSE_CHARS.length())));
+        }
+        return builder.toString();
+    }
+
+    private long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static void addBatch(PreparedStatement statement, int index) throws SQLException {
+        statement.addBatch();
+        if (index % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    private List<Long> queryIds(String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new SQLException("基础数据为空: " + sql);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,126 @@
+package com.sakura.poetry.loadtest.standin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 在 H2（MySQL 兼容模式）中执行项目的 MySQL 脚本
+ * 
+ * <p>直接读取 {@code db/schema.sql} 与 {@code db/data.sql}，改写 H2 不支持的 MySQL 语法后执行，
+ * 表结构只维护一份：去掉 {@code USE} 语句、全文索引和表选项；表内索引改为独立的
+ * {@code CREATE INDEX}，索引名加表名前缀，因为 H2 的索引名在整个模式内唯一。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public final class H2ScriptRunner {
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE `(\\w+)`", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern INDEX_LINE = Pattern.compile("^\\s*(UNIQUE\\s+)?KEY\\s+`(\\w+)`\\s*(\\(.*\\))\\s*,?\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern TABLE_OPTIONS = Pattern.compile("\\)\\s*ENGINE\\s*=.*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private H2ScriptRunner() {
+    }
+
+    /**
+     * 执行 classpath 中的脚本
+     * 
+     * @param connection 数据库连接
+     * @param resource 脚本路径，如 {@code db/schema.sql}
+     * @throws IOException 读取脚本失败
+     * @throws SQLException 执行失败
+     */
+    public static void run(Connection connection, String resource) throws IOException, SQLException {
+        String script;
+        try (InputStream in = H2ScriptRunner.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("classpath 中缺少 " + resource);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : adapt(script)) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    throw new SQLException("执行 " + resource + " 失败: " + sql, e);
+                }
+            }
+        }
+        log.info("已在 H2 中执行 {}", resource);
+    }
+
+    /**
+     * 将 MySQL 脚本改写为 H2 可执行的语句列表
+     * 
+     * @param script MySQL 脚本
+     * @return H2 语句列表
+     */
+    static List<String> adapt(String script) {
+        List<String> statements = new ArrayList<>();
+        for (String raw : script.split(";\\s*(\\r?\\n|$)")) {
+            String sql = stripComments(raw).trim();
+            if (sql.isEmpty() || sql.regionMatches(true, 0, "USE ", 0, 4)) {
+                continue;
+            }
+            Matcher table = CREATE_TABLE.matcher(sql);
+            if (!table.find()) {
+                statements.add(sql);
+                continue;
+            }
+            statements.addAll(adaptCreateTable(table.group(1), sql));
+        }
+        return statements;
+    }
+
+    private static List<String> adaptCreateTable(String tableName, String sql) {
+        List<String> indexes = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        for (String line : TABLE_OPTIONS.matcher(sql).replaceFirst(")").split("\\r?\\n")) {
+            if (line.trim().toUpperCase().startsWith("FULLTEXT")) {
+                continue;
+            }
+            Matcher index = INDEX_LINE.matcher(line);
+            if (index.matches()) {
+                String name = tableName + "_" + index.group(2);
+                if (index.group(1) != null) {
+                    lines.add("    CONSTRAINT `" + name + "` UNIQUE " + index.group(3) + ",");
+                } else {
+                    indexes.add("CREATE INDEX `" + name + "` ON `" + tableName + "` " + index.group(3));
+                }
+                continue;
+            }
+            lines.add(line);
+        }
+        String create = String.join("\n", lines).replaceAll(",\\s*\\)\\s*$", "\n)");
+        List<String> result = new ArrayList<>();
+        result.add(create);
+        result.addAll(indexes);
+        return result;
+    }
+
+    private static String stripComments(String sql) {
+        StringBuilder builder = new StringBuilder();
+        for (String line : sql.split("\\r?\\n")) {
+            if (!line.trim().startsWith("--")) {
+                builder.append(line).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+}
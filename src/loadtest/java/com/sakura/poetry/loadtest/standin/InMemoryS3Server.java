@@ -0,0 +1,186 @@
+package com.sakura.poetry.loadtest.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * 进程内 S3/MinIO 替身
+ * 
+ * <p>只实现 MinIO Java 客户端在本项目中用到的接口：查询桶区域、桶存在性、创建桶，
+ * 以及对象的上传、下载、元数据与删除。对象保存在内存中，不校验签名。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public class InMemoryS3Server implements AutoCloseable {
+
+    private static final String S3_NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    private final HttpServer server;
+
+    private final Map<String, Map<String, StoredObject>> buckets = new ConcurrentHashMap<>();
+
+    private record StoredObject(byte[] data, String contentType, String etag, ZonedDateTime lastModified) {
+    }
+
+    public InMemoryS3Server(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * 启动服务
+     */
+    public void start() {
+        server.start();
+        log.info("S3 替身已启动: {}", getEndpoint());
+    }
+
+    /**
+     * 服务地址
+     * 
+     * @return 形如 http://127.0.0.1:port 的地址
+     */
+    public String getEndpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 对象总数
+     * 
+     * @return 对象总数
+     */
+    public int getObjectCount() {
+        return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            String[] parts = path.substring(1).split("/", 2);
+            String bucket = parts[0];
+            String key = parts.length > 1 && !parts[1].isEmpty()
+                    ? java.net.URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : null;
+            String method = exchange.getRequestMethod();
+
+            if (key == null) {
+                handleBucket(exchange, method, bucket, query);
+            } else {
+                handleObject(exchange, method, bucket, key);
+            }
+        }
+    }
+
+    private void handleBucket(HttpExchange exchange, String method, String bucket, String query) throws IOException {
+        if ("GET".equals(method) && query != null && query.contains("location")) {
+            sendXml(exchange, 200, "<LocationConstraint xmlns=\"" + S3_NAMESPACE + "\">us-east-1</LocationConstraint>");
+            return;
+        }
+        switch (method) {
+            case "HEAD" -> sendEmpty(exchange, buckets.containsKey(bucket) ? 200 : 404);
+            case "PUT" -> {
+                buckets.putIfAbsent(bucket, new ConcurrentHashMap<>());
+                sendEmpty(exchange, 200);
+            }
+            default -> sendError(exchange, 501, "NotImplemented", "/" + bucket);
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String method, String bucket, String key) throws IOException {
+        Map<String, StoredObject> objects = buckets.get(bucket);
+        if (objects == null) {
+            sendError(exchange, 404, "NoSuchBucket", "/" + bucket);
+            return;
+        }
+        switch (method) {
+            case "PUT" -> {
+                byte[] data = exchange.getRequestBody().readAllBytes();
+                String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                StoredObject object = new StoredObject(data, contentType != null ? contentType : "application/octet-stream",
+                        md5(data), ZonedDateTime.now(ZoneOffset.UTC));
+                objects.put(key, object);
+                exchange.getResponseHeaders().add("ETag", "\"" + object.etag() + "\"");
+                sendEmpty(exchange, 200);
+            }
+            case "GET", "HEAD" -> {
+                StoredObject object = objects.get(key);
+                if (object == null) {
+                    sendError(exchange, 404, "NoSuchKey", "/" + bucket + "/" + key);
+                    return;
+                }
+                exchange.getResponseHeaders().add("ETag", "\"" + object.etag() + "\"");
+                exchange.getResponseHeaders().add("Content-Type", object.contentType());
+                exchange.getResponseHeaders().add("Last-Modified",
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified()));
+                if ("HEAD".equals(method)) {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.data().length));
+                    exchange.sendResponseHeaders(200, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, object.data().length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(object.data());
+                    }
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(key);
+                sendEmpty(exchange, 204);
+            }
+            default -> sendError(exchange, 501, "NotImplemented", "/" + bucket + "/" + key);
+        }
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String code, String resource) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            sendEmpty(exchange, status);
+            return;
+        }
+        sendXml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message><Resource>"
+                + resource + "</Resource><RequestId>loadtest</RequestId><HostId>loadtest</HostId></Error>");
+    }
+
+    private static void sendXml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String md5(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
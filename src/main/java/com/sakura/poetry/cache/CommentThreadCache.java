@@ -0,0 +1,211 @@
+package com.sakura.poetry.cache;
+
+import com.sakura.poetry.vo.CommentListVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 评论线程缓存
+ * 
+ * <p>按诗词缓存已组装好的评论线程页，缓存内容不包含任何用户相关的标记，可被所有请求共享。</p>
+ * 
+ * <p>失效策略：</p>
+ * <ul>
+ *   <li>新增评论时整首诗词的所有分页失效</li>
+ *   <li>删除、修改、点赞评论时，通过评论ID反查所属诗词并使其失效；
+ *       未出现在任何缓存页中的评论无需处理</li>
+ *   <li>加载期间若发生失效，加载结果将被丢弃，避免回填旧数据</li>
+ * </ul>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class CommentThreadCache {
+
+    /**
+     * 诗词ID -> 该诗词的评论线程分页
+     */
+    private final Map<Long, PoetryThreads> threads = new ConcurrentHashMap<>();
+
+    /**
+     * 评论ID -> 诗词ID，用于按评论失效
+     */
+    private final Map<Long, Long> commentIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存有效期（毫秒）
+     */
+    @Value("${app.comment.thread-cache.ttl-millis:60000}")
+    private long ttlMillis;
+
+    /**
+     * 最多缓存的诗词数量
+     */
+    @Value("${app.comment.thread-cache.max-poetries:2000}")
+    private int maxPoetries;
+
+    /**
+     * 每首诗词最多缓存的页数，只缓存从第一页起按页对齐的分页
+     */
+    @Value("${app.comment.thread-cache.max-pages:5}")
+    private int maxPages;
+
+    /**
+     * 获取加载令牌
+     * 
+     * <p>加载前获取，回填时携带；期间若诗词被失效，回填将被忽略。</p>
+     * 
+     * @param poetryId 诗词ID
+     * @return 加载令牌
+     */
+    public Object loadToken(Long poetryId) {
+        evictIfNecessary();
+        return threads.computeIfAbsent(poetryId, id -> new PoetryThreads());
+    }
+
+    /**
+     * 分页是否可以缓存
+     * 
+     * <p>只缓存前 {@code max-pages} 个按页对齐的分页，任意偏移量的请求不会在缓存中留下新的分页键。</p>
+     * 
+     * @param offset 偏移量
+     * @param limit 限制数量
+     * @return 是否可以缓存
+     */
+    public boolean isCacheable(int offset, int limit) {
+        return limit > 0 && offset % limit == 0 && offset / limit < maxPages;
+    }
+
+    /**
+     * 获取缓存的评论线程页
+     * 
+     * @param poetryId 诗词ID
+     * @param offset 偏移量
+     * @param limit 限制数量
+     * @return 评论线程，未命中或已过期时返回null
+     */
+    public List<CommentListVO> get(Long poetryId, int offset, int limit) {
+        PoetryThreads poetryThreads = threads.get(poetryId);
+        if (poetryThreads == null) {
+            return null;
+        }
+        Page page = poetryThreads.pages.get(pageKey(offset, limit));
+        if (page == null || page.expireAt < System.currentTimeMillis()) {
+            return null;
+        }
+        return page.comments;
+    }
+
+    /**
+     * 回填评论线程页
+     * 
+     * @param token 加载前通过 {@link #loadToken(Long)} 获取的令牌
+     * @param poetryId 诗词ID
+     * @param offset 偏移量
+     * @param limit 限制数量
+     * @param comments 评论线程
+     */
+    public void put(Object token, Long poetryId, int offset, int limit, List<CommentListVO> comments) {
+        if (threads.get(poetryId) != token) {
+            return;
+        }
+        PoetryThreads poetryThreads = (PoetryThreads) token;
+        poetryThreads.pages.put(pageKey(offset, limit), new Page(comments, System.currentTimeMillis() + ttlMillis));
+        for (CommentListVO comment : comments) {
+            index(comment, poetryId);
+        }
+        // 回填期间发生失效时撤销索引，令牌对应的分页已不可达
+        if (threads.get(poetryId) != token) {
+            for (CommentListVO comment : comments) {
+                unindex(comment);
+            }
+        }
+    }
+
+    /**
+     * 使指定诗词的全部评论线程失效
+     * 
+     * @param poetryId 诗词ID
+     */
+    public void invalidate(Long poetryId) {
+        if (poetryId == null) {
+            return;
+        }
+        PoetryThreads removed = threads.remove(poetryId);
+        if (removed != null) {
+            for (Page page : removed.pages.values()) {
+                for (CommentListVO comment : page.comments) {
+                    unindex(comment);
+                }
+            }
+        }
+    }
+
+    /**
+     * 使包含指定评论的诗词评论线程失效
+     * 
+     * @param commentId 评论ID
+     */
+    public void invalidateByComment(Long commentId) {
+        if (commentId == null) {
+            return;
+        }
+        invalidate(commentIndex.get(commentId));
+    }
+
+    private void index(CommentListVO comment, Long poetryId) {
+        commentIndex.put(comment.getId(), poetryId);
+        if (comment.getReplies() != null) {
+            for (CommentListVO reply : comment.getReplies()) {
+                index(reply, poetryId);
+            }
+        }
+    }
+
+    private void unindex(CommentListVO comment) {
+        commentIndex.remove(comment.getId());
+        if (comment.getReplies() != null) {
+            for (CommentListVO reply : comment.getReplies()) {
+                unindex(reply);
+            }
+        }
+    }
+
+    private void evictIfNecessary() {
+        if (threads.size() < maxPoetries) {
+            return;
+        }
+        Iterator<Long> iterator = threads.keySet().iterator();
+        int toEvict = Math.max(1, maxPoetries / 10);
+        while (iterator.hasNext() && toEvict-- > 0) {
+            invalidate(iterator.next());
+        }
+        log.debug("评论线程缓存达到上限，已淘汰部分诗词，当前数量: {}", threads.size());
+    }
+
+    private static String pageKey(int offset, int limit) {
+        return offset + ":" + limit;
+    }
+
+    /**
+     * 单首诗词的缓存分页
+     */
+    private static final class PoetryThreads {
+        private final Map<String, Page> pages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 缓存页
+     */
+    private record Page(List<CommentListVO> comments, long expireAt) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.sakura.poetry.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 公开读接口的响应缓存
+ *
+ * <p>按命名空间（诗词、诗人、朝代、分类）保存已序列化的 {@code Result} 响应体和对应的强ETag，
+ * 命中时只需一次哈希查找，不再访问数据库和重新序列化。</p>
+ *
+ * <p>每个命名空间维护一个代数，写操作通过 {@link #invalidate(String)} 推进代数并清空条目。
+ * 加载前记录代数，回填时代数已变化则丢弃，避免并发写入后缓存旧数据。</p>
+ *
+ * <p>超过 {@code app.response-cache.gzip-min-bytes} 的响应体在回填时同时压缩一份gzip副本，
+ * 支持gzip的客户端命中后直接写出压缩字节，不再重复序列化和压缩。</p>
+ *
+ * <p>浏览、点赞、收藏等计数的自增不触发失效，列表中的计数最多滞后 {@code app.response-cache.ttl-millis}。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * 诗词命名空间，对应 /api/poetry/**
+     */
+    public static final String POETRY = "poetry";
+
+    /**
+     * 诗人命名空间，对应 /api/poet/**
+     */
+    public static final String POET = "poet";
+
+    /**
+     * 朝代命名空间，对应 /api/dynasty/**
+     */
+    public static final String DYNASTY = "dynasty";
+
+    /**
+     * 分类命名空间，对应 /api/category/**
+     */
+    public static final String CATEGORY = "category";
+
+    /**
+     * 命名空间 -> 缓存区
+     */
+    private final Map<String, Region> regions = Map.of(
+            POETRY, new Region(),
+            POET, new Region(),
+            DYNASTY, new Region(),
+            CATEGORY, new Region());
+
+    /**
+     * 缓存有效期（毫秒）
+     */
+    @Value("${app.response-cache.ttl-millis:60000}")
+    private long ttlMillis;
+
+    /**
+     * 每个命名空间最多缓存的响应数量
+     */
+    @Value("${app.response-cache.max-entries:2000}")
+    private int maxEntries;
+
+    /**
+     * 是否预先压缩gzip副本
+     */
+    @Value("${app.response-cache.gzip-enabled:true}")
+    private boolean gzipEnabled;
+
+    /**
+     * 预先压缩的最小响应体字节数，过小的响应压缩收益低于头部开销
+     */
+    @Value("${app.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    /**
+     * 判断命名空间是否受缓存管理
+     *
+     * @param namespace 命名空间
+     * @return 是否受缓存管理
+     */
+    public boolean supports(String namespace) {
+        return namespace != null && regions.containsKey(namespace);
+    }
+
+    /**
+     * 获取命名空间的当前代数，加载响应前调用
+     *
+     * @param namespace 命名空间
+     * @return 当前代数
+     */
+    public long generation(String namespace) {
+        return regions.get(namespace).generation.get();
+    }
+
+    /**
+     * 获取缓存的响应
+     *
+     * @param namespace 命名空间
+     * @param key 请求路径与查询参数
+     * @return 缓存的响应，未命中、已过期或已失效时返回null
+     */
+    public CachedResponse get(String namespace, String key) {
+        Region region = regions.get(namespace);
+        CachedResponse response = region.entries.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.generation() != region.generation.get() || response.expireAt() < System.currentTimeMillis()) {
+            region.entries.remove(key, response);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * 回填响应
+     *
+     * @param namespace 命名空间
+     * @param generation 加载前通过 {@link #generation(String)} 获取的代数
+     * @param key 请求路径与查询参数
+     * @param contentType 响应类型
+     * @param body 响应体
+     * @param etag 强ETag（含引号）
+     * @return 缓存的响应，代数已变化时返回null
+     */
+    public CachedResponse put(String namespace, long generation, String key, String contentType, byte[] body, String etag) {
+        Region region = regions.get(namespace);
+        if (region.generation.get() != generation) {
+            return null;
+        }
+        evictIfNecessary(region);
+        byte[] gzipBody = gzipEnabled && body.length >= gzipMinBytes ? gzip(body) : null;
+        CachedResponse response = new CachedResponse(generation, System.currentTimeMillis() + ttlMillis,
+                contentType, body, etag, gzipBody);
+        region.entries.put(key, response);
+        return response;
+    }
+
+    /**
+     * 使命名空间下的全部响应失效
+     *
+     * @param namespace 命名空间
+     */
+    public void invalidate(String namespace) {
+        Region region = regions.get(namespace);
+        if (region != null) {
+            region.generation.incrementAndGet();
+            region.entries.clear();
+        }
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void evictIfNecessary(Region region) {
+        if (region.entries.size() < maxEntries) {
+            return;
+        }
+        Iterator<String> iterator = region.entries.keySet().iterator();
+        int toEvict = Math.max(1, maxEntries / 10);
+        while (iterator.hasNext() && toEvict-- > 0) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 缓存的响应
+     *
+     * @param generation 写入时的命名空间代数
+     * @param expireAt 过期时间戳（毫秒）
+     * @param contentType 响应类型
+     * @param body 响应体
+     * @param etag 强ETag（含引号）
+     * @param gzipBody gzip压缩后的响应体，未压缩时为null
+     */
+    public record CachedResponse(long generation, long expireAt, String contentType, byte[] body, String etag,
+                                 byte[] gzipBody) {
+
+        /**
+         * gzip副本的强ETag，与原始响应体区分
+         *
+         * @return gzip副本的ETag（含引号）
+         */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    /**
+     * 命名空间缓存区
+     */
+    private static final class Region {
+        private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+    }
+}
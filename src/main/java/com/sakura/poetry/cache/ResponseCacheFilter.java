@@ -0,0 +1,257 @@
+package com.sakura.poetry.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * 公开读接口的响应缓存过滤器
+ *
+ * <p>拦截 {@code /api/poetry/**}、{@code /api/poet/**}、{@code /api/dynasty/**}、{@code /api/category/**} 下的GET请求：</p>
+ * <ul>
+ *   <li>命中缓存时直接写出已序列化的响应体，不进入控制器</li>
+ *   <li>请求携带的 {@code If-None-Match} 与ETag一致时返回304，不写响应体</li>
+ *   <li>未命中时执行请求，HTTP状态和业务码都为200的响应写入 {@link ResponseCache}</li>
+ *   <li>客户端支持gzip且缓存中有压缩副本时，直接写出压缩字节并设置 {@code Content-Encoding: gzip}</li>
+ * </ul>
+ *
+ * <p>JSON、CBOR、Smile三种编码按 {@code Accept} 头分别缓存，互不覆盖。</p>
+ *
+ * <p>过滤器排在Spring Security之后执行，缓存只影响已通过鉴权的请求。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private static final String CBOR = "application/cbor";
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private static final JsonFactory CBOR_FACTORY = new CBORFactory();
+
+    private static final JsonFactory SMILE_FACTORY = new SmileFactory();
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 是否启用响应缓存
+     */
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 响应的Cache-Control头，默认要求客户端每次携带ETag重新验证
+     */
+    @Value("${app.response-cache.cache-control:public, no-cache}")
+    private String cacheControl;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !responseCache.supports(namespace(request));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String namespace = namespace(request);
+        String key = cacheKey(request);
+
+        ResponseCache.CachedResponse cached = responseCache.get(namespace, key);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        long generation = responseCache.generation(namespace);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isSuccessResult(wrapper.getContentType(), body)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        ResponseCache.CachedResponse stored = responseCache.put(namespace, generation, key,
+                wrapper.getContentType(), body, etag);
+        if (stored != null) {
+            // 已缓存的字节与直接写出的一致，包装器中的副本不再复制
+            writeCached(request, response, stored);
+            return;
+        }
+
+        wrapper.setHeader(HttpHeaders.ETAG, etag);
+        wrapper.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            wrapper.resetBuffer();
+            wrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+                             ResponseCache.CachedResponse cached) throws IOException {
+        boolean gzip = cached.gzipBody() != null && acceptsGzip(request);
+        String etag = gzip ? cached.gzipEtag() : cached.etag();
+        byte[] body = gzip ? cached.gzipBody() : cached.body();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (cached.gzipBody() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 判断客户端是否接受gzip，q=0视为不接受
+     */
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断If-None-Match是否包含指定ETag，支持逗号分隔的多个值、弱比较前缀和通配符
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只读取响应体开头的code字段，判断是否为成功的Result
+     */
+    private boolean isSuccessResult(String contentType, byte[] body) {
+        if (body.length == 0) {
+            return false;
+        }
+        try (JsonParser parser = parserFactory(contentType).createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("code".equals(field)) {
+                    return value == JsonToken.VALUE_NUMBER_INT && parser.getIntValue() == 200;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            log.debug("响应体不是JSON，跳过缓存: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private JsonFactory parserFactory(String contentType) {
+        if (contentType != null && contentType.startsWith(CBOR)) {
+            return CBOR_FACTORY;
+        }
+        if (contentType != null && contentType.startsWith(SMILE)) {
+            return SMILE_FACTORY;
+        }
+        return objectMapper.getFactory();
+    }
+
+    /**
+     * 按Accept头区分响应编码，未声明二进制编码时为JSON
+     */
+    private String variant(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(CBOR)) {
+            return "cbor";
+        }
+        if (accept != null && accept.contains(SMILE)) {
+            return "smile";
+        }
+        return "json";
+    }
+
+    /**
+     * 取 /api/ 之后的第一段路径作为命名空间
+     */
+    private String namespace(HttpServletRequest request) {
+        String path = path(request);
+        if (!path.startsWith(API_PREFIX)) {
+            return null;
+        }
+        int end = path.indexOf('/', API_PREFIX.length());
+        return end < 0 ? path.substring(API_PREFIX.length()) : path.substring(API_PREFIX.length(), end);
+    }
+
+    private String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String key = variant(request) + ":" + path(request);
+        return query == null ? key : key + "?" + query;
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,156 @@
+package com.sakura.poetry.cache;
+
+import com.sakura.poetry.entity.CollectionFolder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户收藏夹缓存
+ * 
+ * <p>缓存每个用户的收藏夹列表及诗词数量，“我的收藏”页面只需一次内存读取。</p>
+ * 
+ * <p>收藏、取消收藏时直接在内存中调整对应收藏夹的数量（复制后替换，读者始终看到不可变快照），
+ * 收藏夹本身的增删改则使整个用户的缓存失效。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Component
+public class UserFolderCache {
+
+    /**
+     * 用户ID -> 收藏夹列表快照
+     */
+    private final Map<Long, Entry> folders = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存有效期（毫秒）
+     */
+    @Value("${app.collection.folder-cache.ttl-millis:600000}")
+    private long ttlMillis;
+
+    /**
+     * 最多缓存的用户数量
+     */
+    @Value("${app.collection.folder-cache.max-users:10000}")
+    private int maxUsers;
+
+    /**
+     * 获取加载令牌
+     * 
+     * <p>加载前获取，回填时携带；期间若用户缓存被失效或调整，回填将被忽略。</p>
+     * 
+     * @param userId 用户ID
+     * @return 加载令牌
+     */
+    public Object loadToken(Long userId) {
+        evictIfNecessary();
+        return folders.computeIfAbsent(userId, id -> new Entry(null, 0L));
+    }
+
+    /**
+     * 获取用户的收藏夹列表
+     * 
+     * @param userId 用户ID
+     * @return 收藏夹列表，未命中或已过期时返回null
+     */
+    public List<CollectionFolder> get(Long userId) {
+        Entry entry = folders.get(userId);
+        if (entry == null || entry.folders == null || entry.expireAt < System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.folders;
+    }
+
+    /**
+     * 回填用户的收藏夹列表
+     * 
+     * @param token 加载前通过 {@link #loadToken(Long)} 获取的令牌
+     * @param userId 用户ID
+     * @param userFolders 收藏夹列表
+     */
+    public void put(Object token, Long userId, List<CollectionFolder> userFolders) {
+        Entry loaded = new Entry(Collections.unmodifiableList(new ArrayList<>(userFolders)),
+                System.currentTimeMillis() + ttlMillis);
+        folders.replace(userId, (Entry) token, loaded);
+    }
+
+    /**
+     * 调整缓存中收藏夹的诗词数量
+     * 
+     * @param userId 用户ID
+     * @param folderId 收藏夹ID
+     * @param delta 调整数量
+     */
+    public void adjustPoetryCount(Long userId, Long folderId, int delta) {
+        if (userId == null || folderId == null || delta == 0) {
+            return;
+        }
+        folders.computeIfPresent(userId, (id, entry) -> {
+            if (entry.folders == null) {
+                // 加载中的令牌被替换，丢弃并发加载的结果
+                return null;
+            }
+            List<CollectionFolder> adjusted = new ArrayList<>(entry.folders.size());
+            for (CollectionFolder folder : entry.folders) {
+                if (folderId.equals(folder.getId())) {
+                    CollectionFolder copy = new CollectionFolder();
+                    BeanUtils.copyProperties(folder, copy);
+                    int count = folder.getPoetryCount() == null ? 0 : folder.getPoetryCount();
+                    copy.setPoetryCount(Math.max(0, count + delta));
+                    adjusted.add(copy);
+                } else {
+                    adjusted.add(folder);
+                }
+            }
+            return new Entry(Collections.unmodifiableList(adjusted), entry.expireAt);
+        });
+    }
+
+    /**
+     * 使用户的收藏夹缓存失效
+     * 
+     * @param userId 用户ID
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            folders.remove(userId);
+        }
+    }
+
+    private void evictIfNecessary() {
+        if (folders.size() < maxUsers) {
+            return;
+        }
+        Iterator<Long> iterator = folders.keySet().iterator();
+        int toEvict = Math.max(1, maxUsers / 10);
+        while (iterator.hasNext() && toEvict-- > 0) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 缓存条目，folders为空表示正在加载
+     * 
+     * <p>使用普通类而非record，令牌比较依赖对象标识。</p>
+     */
+    private static final class Entry {
+        private final List<CollectionFolder> folders;
+        private final long expireAt;
+
+        private Entry(List<CollectionFolder> folders, long expireAt) {
+            this.folders = folders;
+            this.expireAt = expireAt;
+        }
+    }
+}
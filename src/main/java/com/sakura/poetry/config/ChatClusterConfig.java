@@ -0,0 +1,99 @@
+package com.sakura.poetry.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.websocket.cluster.ChatClusterTransport;
+import com.sakura.poetry.websocket.cluster.ChatGroupRegistry;
+import com.sakura.poetry.websocket.cluster.ChatPresenceDirectory;
+import com.sakura.poetry.websocket.cluster.LocalChatClusterTransport;
+import com.sakura.poetry.websocket.cluster.LocalChatGroupRegistry;
+import com.sakura.poetry.websocket.cluster.LocalChatPresenceDirectory;
+import com.sakura.poetry.websocket.cluster.RedisChatClusterTransport;
+import com.sakura.poetry.websocket.cluster.RedisChatGroupRegistry;
+import com.sakura.poetry.websocket.cluster.RedisChatPresenceDirectory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 聊天集群配置类
+ *
+ * <p>开启 {@code app.websocket.cluster.enabled} 后，多个节点通过在线位置目录查找用户所在节点，
+ * 并经节点间消息通道转发聊天消息，群组信息和成员表保存在共享的群组注册表中。{@code transport=redis} 使用Redis哈希、集合和发布订阅，
+ * {@code transport=local} 使用进程内实现，便于单进程验证。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.websocket.cluster", name = "enabled", havingValue = "true")
+public class ChatClusterConfig {
+
+    /**
+     * Redis实现
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.websocket.cluster", name = "transport", havingValue = "redis", matchIfMissing = true)
+    static class RedisClusterConfig {
+
+        /**
+         * 集群消息监听容器，单线程分发以保证同一来源节点的消息按序处理
+         *
+         * @param connectionFactory Redis连接工厂
+         * @return 监听容器
+         */
+        @Bean
+        public RedisMessageListenerContainer chatClusterListenerContainer(RedisConnectionFactory connectionFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.setTaskExecutor(Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().name("chat-cluster-").daemon().factory()));
+            return container;
+        }
+
+        @Bean
+        public ChatClusterTransport chatClusterTransport(StringRedisTemplate redisTemplate,
+                                                         RedisMessageListenerContainer chatClusterListenerContainer,
+                                                         ObjectMapper objectMapper) {
+            return new RedisChatClusterTransport(redisTemplate, chatClusterListenerContainer, objectMapper);
+        }
+
+        @Bean
+        public ChatPresenceDirectory chatPresenceDirectory(StringRedisTemplate redisTemplate) {
+            return new RedisChatPresenceDirectory(redisTemplate);
+        }
+
+        @Bean
+        public ChatGroupRegistry chatGroupRegistry(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+            return new RedisChatGroupRegistry(redisTemplate, objectMapper);
+        }
+    }
+
+    /**
+     * 进程内实现
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.websocket.cluster", name = "transport", havingValue = "local")
+    static class LocalClusterConfig {
+
+        @Bean
+        public ChatClusterTransport chatClusterTransport() {
+            return new LocalChatClusterTransport();
+        }
+
+        @Bean
+        public ChatPresenceDirectory chatPresenceDirectory() {
+            return new LocalChatPresenceDirectory();
+        }
+
+        @Bean
+        public ChatGroupRegistry chatGroupRegistry() {
+            return new LocalChatGroupRegistry();
+        }
+    }
+}
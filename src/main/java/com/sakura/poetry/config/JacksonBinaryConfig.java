@@ -0,0 +1,69 @@
+package com.sakura.poetry.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 二进制响应格式配置类
+ *
+ * <p>为移动端提供CBOR（{@code application/cbor}）和Smile（{@code application/x-jackson-smile}）两种二进制编码，
+ * 客户端通过 {@code Accept} 头协商；未声明时仍返回JSON。</p>
+ *
+ * <p>转换器基于Spring Boot配置好的 {@link Jackson2ObjectMapperBuilder} 构建，
+ * 日期格式、时区和模块与JSON输出保持一致。数据格式依赖在classpath上时Spring MVC会自行注册默认的二进制转换器，
+ * 因此这里始终以配置好的转换器替换默认转换器，关闭时在 {@link #extendMessageConverters} 中移除，
+ * 而不是不注册。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Configuration
+public class JacksonBinaryConfig implements WebMvcConfigurer {
+
+    /**
+     * 是否启用二进制响应格式
+     */
+    @Value("${app.binary-formats.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * CBOR消息转换器
+     *
+     * @param builder Spring Boot配置的ObjectMapper构建器
+     * @return CBOR消息转换器
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile消息转换器
+     *
+     * @param builder Spring Boot配置的ObjectMapper构建器
+     * @return Smile消息转换器
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!enabled) {
+            converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                    || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sakura.poetry.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置类
+ * 
+ * <p>为自定义指标限制标签基数：同一指标的某个标签取值超过 {@code app.metrics.max-tag-values} 后，
+ * 新的时间序列不再注册，避免代码变更意外引入高基数标签时拖垮 Prometheus。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 单个标签允许的最大取值数
+     */
+    @Value("${app.metrics.max-tag-values:500}")
+    private int maxTagValues;
+
+    /**
+     * 服务层方法指标的基数限制
+     * 
+     * @return 指标过滤器
+     */
+    @Bean
+    public MeterFilter serviceMethodTagLimit() {
+        return MeterFilter.maximumAllowableTags("poetry.service.calls", "method", maxTagValues, MeterFilter.deny());
+    }
+
+    /**
+     * Mapper语句指标的基数限制
+     * 
+     * @return 指标过滤器
+     */
+    @Bean
+    public MeterFilter mapperStatementTagLimit() {
+        return MeterFilter.maximumAllowableTags("poetry.mapper.statements", "statement", maxTagValues, MeterFilter.deny());
+    }
+
+    /**
+     * 异常类名标签的基数限制
+     * 
+     * @return 指标过滤器
+     */
+    @Bean
+    public MeterFilter exceptionTagLimit() {
+        return MeterFilter.maximumAllowableTags("poetry", "exception", maxTagValues, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,86 @@
+package com.sakura.poetry.config;
+
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.handler.ChatWebSocketHandler;
+import com.sakura.poetry.websocket.nio.ChatDeflateExtension;
+import com.sakura.poetry.websocket.nio.NioChatServer;
+import org.java_websocket.extensions.IExtension;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * 独立NIO聊天服务配置类
+ *
+ * <p>开启后在 {@code app.websocket.nio.port} 上额外提供原生WebSocket聊天端点，
+ * Servlet端点 {@code /ws/chat} 保持不变，客户端可按需选择。
+ * permessage-deflate 与Servlet端点共用 {@code app.websocket.transport.deflate} 配置。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.websocket.nio", name = "enabled", havingValue = "true")
+public class NioChatServerConfig {
+
+    @Value("${app.websocket.nio.host:0.0.0.0}")
+    private String host;
+
+    @Value("${app.websocket.nio.port:8091}")
+    private int port;
+
+    @Value("${app.websocket.nio.path:/ws/chat}")
+    private String path;
+
+    @Value("${app.websocket.nio.decoders:0}")
+    private int decoders;
+
+    @Value("${app.websocket.nio.backlog:1024}")
+    private int backlog;
+
+    @Value("${app.websocket.nio.max-frame-size:65536}")
+    private int maxFrameSize;
+
+    @Value("${app.websocket.nio.connection-lost-timeout-seconds:60}")
+    private int connectionLostTimeout;
+
+    @Value("${app.websocket.nio.shutdown-timeout-millis:2000}")
+    private int shutdownTimeout;
+
+    @Value("${app.websocket.transport.deflate.enabled:true}")
+    private boolean deflateEnabled;
+
+    @Value("${app.websocket.transport.deflate.context-takeover:true}")
+    private boolean deflateContextTakeover;
+
+    @Value("${app.websocket.transport.deflate.threshold:64}")
+    private int deflateThreshold;
+
+    /**
+     * NIO聊天服务，随应用上下文启动和关闭
+     *
+     * @param chatWebSocketHandler 与Servlet端点共用的聊天处理器
+     * @param webSocketMetrics WebSocket指标
+     * @return NIO聊天服务
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public NioChatServer nioChatServer(ChatWebSocketHandler chatWebSocketHandler, WebSocketMetrics webSocketMetrics) {
+        int workers = decoders > 0 ? decoders : Runtime.getRuntime().availableProcessors();
+        List<IExtension> extensions = deflateEnabled
+                ? List.of(new ChatDeflateExtension(deflateThreshold, deflateContextTakeover, maxFrameSize))
+                : List.of();
+        NioChatServer server = new NioChatServer(new InetSocketAddress(host, port), workers, maxFrameSize, extensions,
+                path, chatWebSocketHandler, webSocketMetrics);
+        server.setShutdownTimeoutMillis(shutdownTimeout);
+        server.setMaxPendingConnections(backlog);
+        server.setConnectionLostTimeout(connectionLostTimeout);
+        server.setTcpNoDelay(true);
+        server.setReuseAddr(true);
+        return server;
+    }
+}
@@ -3,7 +3,9 @@ package com.sakura.poetry.config;
 import com.sakura.poetry.security.JwtAccessDeniedHandler;
 import com.sakura.poetry.security.JwtAuthenticationEntryPoint;
 import com.sakura.poetry.security.JwtAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -66,6 +68,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * 独立管理端口，未配置时监控端点与业务接口共用端口
+     */
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     /**
      * 密码编码器
      * 
@@ -157,6 +165,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 
+                // WebSocket握手 - 令牌通过 token 查询参数传递，由握手拦截器校验
+                .requestMatchers("/ws/**").permitAll()
+                
                 // API文档相关 - 开发环境公开
                 .requestMatchers("/doc.html", "/swagger-ui/**", "/v3/api-docs/**", "/webjars/**").permitAll()
                 
@@ -165,6 +176,8 @@ public class SecurityConfig {
                 
                 // 健康检查 - 公开
                 .requestMatchers("/actuator/health").permitAll()
+                // Prometheus 抓取端点 - 仅在独立管理端口上免登录，业务端口上与其他监控端点一样需要管理员权限
+                .requestMatchers(this::isManagementPortScrape).permitAll()
                 .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // 诗词查看相关 - 允许匿名访问
@@ -194,4 +207,15 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * 是否为独立管理端口上的 Prometheus 抓取请求
+     * 
+     * <p>管理端口只在内网开放，抓取程序无需持有令牌；同一端点经业务端口访问时仍需管理员权限，
+     * 避免接口耗时、连接池和会话数等内部指标对外暴露。</p>
+     */
+    private boolean isManagementPortScrape(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
 }
\ No newline at end of file
@@ -1,13 +1,23 @@
 package com.sakura.poetry.config;
 
+import com.sakura.poetry.metrics.WebSocketMetrics;
 import com.sakura.poetry.websocket.handler.ChatWebSocketHandler;
 import com.sakura.poetry.websocket.interceptor.ChatHandshakeInterceptor;
+import com.sakura.poetry.websocket.interceptor.ChatUpgradeStrategy;
+import com.sakura.poetry.websocket.manager.ChatReadStateManager;
+import com.sakura.poetry.websocket.manager.OfflineMessageInbox;
+import com.sakura.poetry.websocket.manager.WebSocketSessionManager;
+import com.sakura.poetry.websocket.service.ChatService;
 import com.sakura.poetry.websocket.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 import jakarta.annotation.PostConstruct;
 
@@ -16,6 +26,10 @@ import jakarta.annotation.PostConstruct;
  * 
  * <p>用于配置WebSocket相关的设置，包括端点注册、拦截器等。</p>
  * 
+ * <p>传输参数取自 {@code app.websocket.transport}：Tomcat为每个会话按消息缓冲区大小预先分配缓冲区，
+ * 缓冲区大小同时是单条入站消息的上限，按实际消息长度设置可以降低每连接内存；permessage-deflate 可以整体关闭，
+ * 见 {@link ChatUpgradeStrategy}。发送超时和发送缓冲上限由 {@link WebSocketSessionManager} 的会话装饰器控制。</p>
+ * 
  * @author Sakura Huang
  * @version 1.0.0
  * @since 2025-09-03
@@ -26,6 +40,33 @@ public class WebSocketConfig implements WebSocketConfigurer {
 
     @Autowired
     private JwtConfig jwtConfig;
+
+    @Autowired
+    private WebSocketSessionManager sessionManager;
+
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    @Autowired
+    private OfflineMessageInbox offlineMessageInbox;
+
+    @Autowired
+    private ChatReadStateManager readStateManager;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Value("${app.websocket.transport.max-text-message-buffer-size:8192}")
+    private int maxTextMessageBufferSize;
+
+    @Value("${app.websocket.transport.max-binary-message-buffer-size:8192}")
+    private int maxBinaryMessageBufferSize;
+
+    @Value("${app.websocket.transport.max-session-idle-timeout-millis:120000}")
+    private long maxSessionIdleTimeout;
+
+    @Value("${app.websocket.transport.deflate.enabled:true}")
+    private boolean deflateEnabled;
     
     /**
      * 初始化JWT配置
@@ -35,6 +76,30 @@ public class WebSocketConfig implements WebSocketConfigurer {
         JwtUtil.setJwtConfig(jwtConfig.getJwtSecret(), jwtConfig.getJwtExpiration());
     }
 
+    /**
+     * 聊天WebSocket处理器，Servlet端点与独立NIO聊天服务共用同一实例，共享聊天记录
+     * 
+     * @return 聊天WebSocket处理器
+     */
+    @Bean
+    public ChatWebSocketHandler chatWebSocketHandler() {
+        return new ChatWebSocketHandler(sessionManager, webSocketMetrics, offlineMessageInbox, readStateManager, chatService);
+    }
+
+    /**
+     * Servlet容器的WebSocket参数
+     * 
+     * @return WebSocket容器配置
+     */
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxTextMessageBufferSize);
+        container.setMaxBinaryMessageBufferSize(maxBinaryMessageBufferSize);
+        container.setMaxSessionIdleTimeout(maxSessionIdleTimeout);
+        return container;
+    }
+
     /**
      * 注册WebSocket处理器
      * 
@@ -43,7 +108,8 @@ public class WebSocketConfig implements WebSocketConfigurer {
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         // 注册聊天WebSocket处理器
-        registry.addHandler(new ChatWebSocketHandler(), "/ws/chat")
+        registry.addHandler(chatWebSocketHandler(), "/ws/chat")
+                .setHandshakeHandler(new DefaultHandshakeHandler(new ChatUpgradeStrategy(deflateEnabled))) // 需在SockJS之前设置，原生WebSocket传输也使用
                 .addInterceptors(new ChatHandshakeInterceptor()) // 添加握手拦截器
                 .setAllowedOrigins("*") // 允许跨域
                 .withSockJS(); // 支持SockJS回退方案
@@ -91,9 +91,9 @@ public class AuthController {
             @ApiResponse(responseCode = "401", description = "用户名或密码错误")
         }
     )
-    public Result<JwtResponseDTO> login(@Valid @RequestBody UserLoginDTO loginDTO) {
+    public Result<JwtResponseDTO> login(@Valid @org.springframework.web.bind.annotation.RequestBody UserLoginDTO loginDTO) {
         try {
-            log.info("用户登录请求: username={}", loginDTO.getUsername());
+            log.debug("用户登录请求: username={}", loginDTO.getUsername());
             
             // 执行认证
             Authentication authentication = authenticationManager.authenticate(
@@ -174,9 +174,9 @@ public class AuthController {
             @ApiResponse(responseCode = "409", description = "用户名或邮箱已存在")
         }
     )
-    public Result<String> register(@Valid @RequestBody UserRegisterDTO registerDTO) {
+    public Result<String> register(@Valid @org.springframework.web.bind.annotation.RequestBody UserRegisterDTO registerDTO) {
         try {
-            log.info("用户注册请求: username={}", registerDTO.getUsername());
+            log.debug("用户注册请求: username={}", registerDTO.getUsername());
             
             // 检查用户名是否已存在
             SysUser existingUser = userService.getUserByUsername(registerDTO.getUsername());
@@ -1,19 +1,22 @@
 package com.sakura.poetry.controller;
 
 import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.utils.SecurityUtil;
 import com.sakura.poetry.websocket.model.ChatGroup;
+import com.sakura.poetry.websocket.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 聊天群组控制器
  * 
- * <p>提供聊天群组管理的HTTP接口。</p>
+ * <p>提供聊天群组管理的HTTP接口。操作者取自当前登录用户：成员增删和解散需要群主身份，
+ * 成员可以移除自己（退出群组）。</p>
  * 
  * @author Sakura Huang
  * @version 1.0.0
@@ -25,8 +28,11 @@ import java.util.List;
 @Tag(name = "聊天群组管理", description = "聊天群组创建、查询、管理相关接口")
 public class ChatGroupController {
 
+    @Autowired
+    private ChatService chatService;
+
     /**
-     * 创建群组
+     * 创建群组，当前用户为群主并自动加入
      * 
      * @param groupName 群组名称
      * @param description 群组描述
@@ -34,25 +40,19 @@ public class ChatGroupController {
      * @return 群组信息
      */
     @PostMapping
-    @Operation(summary = "创建群组", description = "创建一个新的聊天群组")
+    @Operation(summary = "创建群组", description = "创建一个新的聊天群组，当前用户为群主")
     public Result<ChatGroup> createGroup(
             @RequestParam String groupName,
             @RequestParam(required = false) String description,
             @RequestBody List<Long> memberIds) {
+        Long operatorId = SecurityUtil.getCurrentUserId();
+        if (operatorId == null) {
+            return Result.error(401, "未登录");
+        }
         try {
-            // 这里应该实现创建群组的业务逻辑
-            log.info("创建群组: {}, 成员数量: {}", groupName, memberIds.size());
-            
-            ChatGroup group = new ChatGroup();
-            group.setGroupName(groupName);
-            group.setDescription(description);
-            group.setMemberIds(memberIds);
-            group.setMemberCount(memberIds.size());
+            ChatGroup group = chatService.createGroup(groupName, description, operatorId, memberIds);
             
-            // 模拟设置群组ID
-            group.setGroupId(System.currentTimeMillis());
-            
-            log.info("群组创建成功，群组ID: {}", group.getGroupId());
+            log.debug("群组创建成功，群组ID: {}, 群主: {}, 成员数量: {}", group.getGroupId(), operatorId, memberIds.size());
             return Result.success(group);
         } catch (Exception e) {
             log.error("创建群组失败: {}", e.getMessage(), e);
@@ -61,22 +61,23 @@ public class ChatGroupController {
     }
 
     /**
-     * 获取用户加入的群组列表
+     * 获取当前用户加入的群组列表
      * 
-     * @param userId 用户ID
+     * @param userId 用户ID，只能是当前用户
      * @return 群组列表
      */
     @GetMapping("/user/{userId}")
-    @Operation(summary = "获取用户群组列表", description = "获取指定用户加入的所有群组")
+    @Operation(summary = "获取用户群组列表", description = "获取当前用户加入的所有群组")
     public Result<List<ChatGroup>> getUserGroups(@PathVariable Long userId) {
+        if (!userId.equals(SecurityUtil.getCurrentUserId())) {
+            return Result.error(403, "只能查询自己的群组");
+        }
         try {
-            // 这里应该实现查询用户群组的业务逻辑
-            log.info("获取用户 {} 的群组列表", userId);
-            
-            // 模拟返回群组列表
-            List<ChatGroup> groups = new ArrayList<>();
+            List<ChatGroup> groups = chatService.getUserGroups(userId);
             
-            log.info("获取用户群组列表成功，用户ID: {}, 群组数量: {}", userId, groups.size());
+            if (log.isDebugEnabled()) {
+                log.debug("获取用户群组列表成功，用户ID: {}, 群组数量: {}", userId, groups.size());
+            }
             return Result.success(groups);
         } catch (Exception e) {
             log.error("获取用户群组列表失败: {}", e.getMessage(), e);
@@ -85,20 +86,23 @@ public class ChatGroupController {
     }
 
     /**
-     * 添加群组成员
+     * 添加群组成员，仅群主可操作
      * 
      * @param groupId 群组ID
      * @param userId 用户ID
      * @return 操作结果
      */
     @PostMapping("/{groupId}/members/{userId}")
-    @Operation(summary = "添加群组成员", description = "向指定群组添加新成员")
+    @Operation(summary = "添加群组成员", description = "群主向群组添加新成员")
     public Result<String> addGroupMember(@PathVariable Long groupId, @PathVariable Long userId) {
+        Result<String> denied = requireOwner(groupId, "只有群主可以添加成员");
+        if (denied != null) {
+            return denied;
+        }
         try {
-            // 这里应该实现添加群组成员的业务逻辑
-            log.info("向群组 {} 添加成员 {}", groupId, userId);
+            chatService.addGroupMember(groupId, userId);
             
-            log.info("添加群组成员成功，群组ID: {}, 用户ID: {}", groupId, userId);
+            log.debug("添加群组成员成功，群组ID: {}, 用户ID: {}", groupId, userId);
             return Result.success("添加群组成员成功");
         } catch (Exception e) {
             log.error("添加群组成员失败: {}", e.getMessage(), e);
@@ -107,20 +111,31 @@ public class ChatGroupController {
     }
 
     /**
-     * 移除群组成员
+     * 移除群组成员，群主可移除其他成员，成员可移除自己（退出群组）
      * 
      * @param groupId 群组ID
      * @param userId 用户ID
      * @return 操作结果
      */
     @DeleteMapping("/{groupId}/members/{userId}")
-    @Operation(summary = "移除群组成员", description = "从指定群组移除成员")
+    @Operation(summary = "移除群组成员", description = "群主移除成员，或成员退出群组")
     public Result<String> removeGroupMember(@PathVariable Long groupId, @PathVariable Long userId) {
+        Long operatorId = SecurityUtil.getCurrentUserId();
+        ChatGroup group = chatService.getGroup(groupId);
+        if (group == null) {
+            return Result.error(404, "群组不存在");
+        }
+        boolean owner = operatorId != null && operatorId.equals(group.getOwnerId());
+        if (!owner && !userId.equals(operatorId)) {
+            return Result.error(403, "只有群主可以移除其他成员");
+        }
+        if (userId.equals(group.getOwnerId())) {
+            return Result.error(400, "群主不能退出群组，请解散群组");
+        }
         try {
-            // 这里应该实现移除群组成员的业务逻辑
-            log.info("从群组 {} 移除成员 {}", groupId, userId);
+            chatService.removeGroupMember(groupId, userId);
             
-            log.info("移除群组成员成功，群组ID: {}, 用户ID: {}", groupId, userId);
+            log.debug("移除群组成员成功，群组ID: {}, 用户ID: {}", groupId, userId);
             return Result.success("移除群组成员成功");
         } catch (Exception e) {
             log.error("移除群组成员失败: {}", e.getMessage(), e);
@@ -129,23 +144,43 @@ public class ChatGroupController {
     }
 
     /**
-     * 解散群组
+     * 解散群组，仅群主可操作
      * 
      * @param groupId 群组ID
      * @return 操作结果
      */
     @DeleteMapping("/{groupId}")
-    @Operation(summary = "解散群组", description = "解散指定的群组")
+    @Operation(summary = "解散群组", description = "群主解散群组")
     public Result<String> dismissGroup(@PathVariable Long groupId) {
+        Result<String> denied = requireOwner(groupId, "只有群主可以解散群组");
+        if (denied != null) {
+            return denied;
+        }
         try {
-            // 这里应该实现解散群组的业务逻辑
-            log.info("解散群组 {}", groupId);
+            chatService.dismissGroup(groupId);
             
-            log.info("解散群组成功，群组ID: {}", groupId);
+            log.debug("解散群组成功，群组ID: {}", groupId);
             return Result.success("解散群组成功");
         } catch (Exception e) {
             log.error("解散群组失败: {}", e.getMessage(), e);
             return Result.error(500, "解散群组失败");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 校验当前用户是群主
+     * 
+     * @return 校验失败时的响应，通过时返回null
+     */
+    private Result<String> requireOwner(Long groupId, String message) {
+        ChatGroup group = chatService.getGroup(groupId);
+        if (group == null) {
+            return Result.error(404, "群组不存在");
+        }
+        Long operatorId = SecurityUtil.getCurrentUserId();
+        if (operatorId == null || !operatorId.equals(group.getOwnerId())) {
+            return Result.error(403, message);
+        }
+        return null;
+    }
+}
@@ -1,15 +1,21 @@
 package com.sakura.poetry.controller;
 
 import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.websocket.manager.ChatReadStateManager;
 import com.sakura.poetry.websocket.model.ChatMessage;
 import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.utils.SecurityUtil;
+import com.sakura.poetry.websocket.model.UnreadSummary;
+import com.sakura.poetry.websocket.service.ChatService;
+import com.sakura.poetry.websocket.util.MessageIdGenerator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,28 +33,39 @@ import java.util.List;
 @Tag(name = "聊天消息管理", description = "聊天消息查询、历史记录相关接口")
 public class ChatMessageController {
 
+    @Autowired
+    private ChatReadStateManager readStateManager;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private MessageIdGenerator messageIdGenerator;
+
     /**
-     * 获取私聊历史消息
+     * 获取当前用户与好友的私聊历史消息
      * 
-     * @param userId 用户ID
      * @param friendId 好友ID
-     * @param limit 限制数量
+     * @param beforeId 分页游标，只返回ID小于该值的消息
+     * @param limit 限制数量，最多 {@link ChatService#MAX_HISTORY_LIMIT} 条
      * @return 聊天消息列表
      */
     @GetMapping("/private")
-    @Operation(summary = "获取私聊历史消息", description = "获取两个用户之间的私聊历史消息")
+    @Operation(summary = "获取私聊历史消息", description = "获取当前用户与好友之间的私聊历史消息，以上一页第一条消息的ID作为beforeId翻页，每页最多100条")
     public Result<List<ChatMessage>> getPrivateChatHistory(
-            @RequestParam Long userId,
             @RequestParam Long friendId,
+            @RequestParam(required = false) Long beforeId,
             @RequestParam(defaultValue = "20") Integer limit) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return Result.error(401, "未登录");
+        }
         try {
-            // 这里应该实现查询私聊历史消息的业务逻辑
-            log.info("获取用户 {} 和用户 {} 的私聊历史消息，限制数量: {}", userId, friendId, limit);
-            
-            // 模拟返回历史消息
-            List<ChatMessage> messages = new ArrayList<>();
+            List<ChatMessage> messages = chatService.getPrivateChatHistory(userId, friendId, beforeId, limit);
             
-            log.info("获取私聊历史消息成功，用户ID: {}, 好友ID: {}, 消息数量: {}", userId, friendId, messages.size());
+            if (log.isDebugEnabled()) {
+                log.debug("获取私聊历史消息成功，用户ID: {}, 好友ID: {}, 消息数量: {}", userId, friendId, messages.size());
+            }
             return Result.success(messages);
         } catch (Exception e) {
             log.error("获取私聊历史消息失败: {}", e.getMessage(), e);
@@ -57,25 +74,32 @@ public class ChatMessageController {
     }
 
     /**
-     * 获取群聊历史消息
+     * 获取群聊历史消息，只有群组成员可以查询
      * 
      * @param groupId 群组ID
-     * @param limit 限制数量
+     * @param beforeId 分页游标，只返回ID小于该值的消息
+     * @param limit 限制数量，最多 {@link ChatService#MAX_HISTORY_LIMIT} 条
      * @return 聊天消息列表
      */
     @GetMapping("/group/{groupId}")
-    @Operation(summary = "获取群聊历史消息", description = "获取指定群组的历史消息")
+    @Operation(summary = "获取群聊历史消息", description = "获取当前用户所在群组的历史消息，以上一页第一条消息的ID作为beforeId翻页，每页最多100条")
     public Result<List<ChatMessage>> getGroupChatHistory(
             @PathVariable Long groupId,
+            @RequestParam(required = false) Long beforeId,
             @RequestParam(defaultValue = "20") Integer limit) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return Result.error(401, "未登录");
+        }
+        if (!chatService.isGroupMember(groupId, userId)) {
+            return Result.error(403, "不是该群组成员");
+        }
         try {
-            // 这里应该实现查询群聊历史消息的业务逻辑
-            log.info("获取群组 {} 的历史消息，限制数量: {}", groupId, limit);
+            List<ChatMessage> messages = chatService.getGroupChatHistory(groupId, beforeId, limit);
             
-            // 模拟返回历史消息
-            List<ChatMessage> messages = new ArrayList<>();
-            
-            log.info("获取群聊历史消息成功，群组ID: {}, 消息数量: {}", groupId, messages.size());
+            if (log.isDebugEnabled()) {
+                log.debug("获取群聊历史消息成功，群组ID: {}, 消息数量: {}", groupId, messages.size());
+            }
             return Result.success(messages);
         } catch (Exception e) {
             log.error("获取群聊历史消息失败: {}", e.getMessage(), e);
@@ -99,7 +123,7 @@ public class ChatMessageController {
             @RequestParam String content) {
         try {
             // 这里应该实现发送私聊消息的业务逻辑
-            log.info("发送私聊消息: from {} to {}, content: {}", senderId, receiverId, content);
+            log.debug("发送私聊消息: from {} to {}", senderId, receiverId);
             
             // 创建消息对象
             ChatMessage message = new ChatMessage();
@@ -108,9 +132,9 @@ public class ChatMessageController {
             message.setReceiverId(receiverId);
             message.setContent(content);
             message.setTimestamp(LocalDateTime.now());
-            message.setMessageId("http_" + System.currentTimeMillis());
+            message.setMessageId(messageIdGenerator.nextId());
             
-            log.info("私聊消息发送成功，消息ID: {}", message.getMessageId());
+            log.debug("私聊消息发送成功，消息ID: {}", message.getMessageId());
             return Result.success(message);
         } catch (Exception e) {
             log.error("发送私聊消息失败: {}", e.getMessage(), e);
@@ -134,7 +158,7 @@ public class ChatMessageController {
             @RequestParam String content) {
         try {
             // 这里应该实现发送群聊消息的业务逻辑
-            log.info("发送群聊消息: from {}, group {}, content: {}", senderId, groupId, content);
+            log.debug("发送群聊消息: from {}, group {}", senderId, groupId);
             
             // 创建消息对象
             ChatMessage message = new ChatMessage();
@@ -143,9 +167,9 @@ public class ChatMessageController {
             message.setGroupId(groupId);
             message.setContent(content);
             message.setTimestamp(LocalDateTime.now());
-            message.setMessageId("http_" + System.currentTimeMillis());
+            message.setMessageId(messageIdGenerator.nextId());
             
-            log.info("群聊消息发送成功，消息ID: {}", message.getMessageId());
+            log.debug("群聊消息发送成功，消息ID: {}", message.getMessageId());
             return Result.success(message);
         } catch (Exception e) {
             log.error("发送群聊消息失败: {}", e.getMessage(), e);
@@ -154,23 +178,54 @@ public class ChatMessageController {
     }
 
     /**
-     * 标记消息为已读
+     * 按水位标记当前用户的会话已读，私聊时同时确认离线消息并向对方发送已读回执
      * 
-     * @param messageId 消息ID
-     * @return 操作结果
+     * @param conversationType 会话类型：1-私聊，2-群聊
+     * @param conversationId 会话ID，私聊为对方用户ID，群聊为群组ID
+     * @param seq 已读到的会话内序号
+     * @return 推进后的已读水位，水位没有变化时为-1
      */
-    @PutMapping("/{messageId}/read")
-    @Operation(summary = "标记消息为已读", description = "将指定消息标记为已读状态")
-    public Result<String> markMessageAsRead(@PathVariable String messageId) {
+    @PutMapping("/read-up-to")
+    @Operation(summary = "按水位标记会话已读", description = "将当前用户在会话中序号不大于seq的消息全部标记为已读")
+    public Result<Long> markReadUpTo(
+            @RequestParam Integer conversationType,
+            @RequestParam Long conversationId,
+            @RequestParam Long seq) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return Result.error(401, "未登录");
+        }
         try {
-            // 这里应该实现标记消息为已读的业务逻辑
-            log.info("标记消息 {} 为已读", messageId);
+            if (conversationType != ChatReadWatermark.PRIVATE && conversationType != ChatReadWatermark.GROUP) {
+                return Result.error(400, "会话类型不正确");
+            }
+            long read = chatService.markReadUpTo(userId, conversationType, conversationId, seq);
             
-            log.info("标记消息为已读成功，消息ID: {}", messageId);
-            return Result.success("标记消息为已读成功");
+            log.debug("标记会话已读成功，用户ID: {}, 会话: {}:{}, 序号: {}", userId, conversationType, conversationId, read);
+            return Result.success(read);
+        } catch (Exception e) {
+            log.error("标记会话已读失败: {}", e.getMessage(), e);
+            return Result.error(500, "标记会话已读失败");
+        }
+    }
+
+    /**
+     * 获取当前用户的未读消息汇总
+     * 
+     * @return 各会话未读数及总数
+     */
+    @GetMapping("/unread")
+    @Operation(summary = "获取未读消息汇总", description = "获取当前用户各会话的未读消息数及总数")
+    public Result<UnreadSummary> getUnreadSummary() {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return Result.error(401, "未登录");
+        }
+        try {
+            return Result.success(readStateManager.unread(userId));
         } catch (Exception e) {
-            log.error("标记消息为已读失败: {}", e.getMessage(), e);
-            return Result.error(500, "标记消息为已读失败");
+            log.error("获取未读消息汇总失败: {}", e.getMessage(), e);
+            return Result.error(500, "获取未读消息汇总失败");
         }
     }
-}
\ No newline at end of file
+}
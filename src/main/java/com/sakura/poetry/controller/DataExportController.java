@@ -0,0 +1,126 @@
+package com.sakura.poetry.controller;
+
+import com.sakura.poetry.entity.Poet;
+import com.sakura.poetry.entity.Poetry;
+import com.sakura.poetry.entity.SysLog;
+import com.sakura.poetry.exporter.ExportFormat;
+import com.sakura.poetry.service.DataExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 数据导出控制器
+ * 
+ * <p>供数据仓库抽取诗词、诗人和系统日志，仅管理员可用。结果以 NDJSON 或 CSV
+ * 直接写入响应流，默认 gzip 压缩为附件下载。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/export")
+@Tag(name = "数据导出", description = "诗词、诗人、日志数据导出相关的API接口")
+public class DataExportController {
+
+    /**
+     * 响应缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private DataExportService exportService;
+
+    /**
+     * 导出诗词
+     * 
+     * @param query 查询条件，与诗词列表查询一致
+     * @param format 导出格式
+     * @param gzip 是否gzip压缩
+     * @param response HTTP响应
+     * @throws IOException 写入失败
+     */
+    @PostMapping("/poetry")
+    @Operation(summary = "导出诗词")
+    public void exportPoetry(@RequestBody(required = false) Poetry query,
+                             @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                             @RequestParam(defaultValue = "true") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        try (OutputStream out = openResponse(response, "poetry", format, gzip)) {
+            long rows = exportService.exportPoetry(query, format, out);
+            log.info("导出诗词完成，格式: {}, 行数: {}", format, rows);
+        }
+    }
+
+    /**
+     * 导出诗人
+     * 
+     * @param query 查询条件，与诗人列表查询一致
+     * @param format 导出格式
+     * @param gzip 是否gzip压缩
+     * @param response HTTP响应
+     * @throws IOException 写入失败
+     */
+    @PostMapping("/poet")
+    @Operation(summary = "导出诗人")
+    public void exportPoets(@RequestBody(required = false) Poet query,
+                            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                            @RequestParam(defaultValue = "true") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        try (OutputStream out = openResponse(response, "poet", format, gzip)) {
+            long rows = exportService.exportPoets(query, format, out);
+            log.info("导出诗人完成，格式: {}, 行数: {}", format, rows);
+        }
+    }
+
+    /**
+     * 导出系统日志
+     * 
+     * @param query 查询条件，与日志列表查询一致
+     * @param startTime 开始时间（含）
+     * @param endTime 结束时间（不含）
+     * @param format 导出格式
+     * @param gzip 是否gzip压缩
+     * @param response HTTP响应
+     * @throws IOException 写入失败
+     */
+    @PostMapping("/log")
+    @Operation(summary = "导出系统日志")
+    public void exportLogs(@RequestBody(required = false) SysLog query,
+                           @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                           @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+                           @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                           @RequestParam(defaultValue = "true") boolean gzip,
+                           HttpServletResponse response) throws IOException {
+        try (OutputStream out = openResponse(response, "sys_log", format, gzip)) {
+            long rows = exportService.exportLogs(query, startTime, endTime, format, out);
+            log.info("导出系统日志完成，格式: {}, 行数: {}", format, rows);
+        }
+    }
+
+    /**
+     * 设置下载响应头并返回（可能经gzip包装的）输出流
+     */
+    private OutputStream openResponse(HttpServletResponse response, String name,
+                                      ExportFormat format, boolean gzip) throws IOException {
+        String fileName = name + "-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        response.setBufferSize(BUFFER_SIZE);
+        OutputStream out = response.getOutputStream();
+        return gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+}
@@ -57,7 +57,7 @@ public class MinioController {
             }
 
             FileUploadResponseDTO response = minioService.uploadFile(file, objectName);
-            log.info("文件上传成功: originalName={}, objectName={}", file.getOriginalFilename(), objectName);
+            log.debug("文件上传成功: originalName={}, objectName={}", file.getOriginalFilename(), objectName);
             return Result.success(response);
         } catch (Exception e) {
             log.error("文件上传失败: originalName={}", file.getOriginalFilename(), e);
@@ -80,7 +80,7 @@ public class MinioController {
             }
 
             String url = minioService.getFileUrl(objectName);
-            log.info("获取文件下载链接成功: objectName={}", objectName);
+            log.debug("获取文件下载链接成功: objectName={}", objectName);
             return Result.success(url);
         } catch (Exception e) {
             log.error("获取文件下载链接失败: objectName={}", objectName, e);
@@ -122,7 +122,7 @@ public class MinioController {
     public Result<Boolean> fileExists(@RequestParam("objectName") String objectName) {
         try {
             boolean exists = minioService.fileExists(objectName);
-            log.info("检查文件是否存在: objectName={}, exists={}", objectName, exists);
+            log.debug("检查文件是否存在: objectName={}, exists={}", objectName, exists);
             return Result.success(exists);
         } catch (Exception e) {
             log.error("检查文件是否存在失败: objectName={}", objectName, e);
@@ -145,7 +145,7 @@ public class MinioController {
             }
 
             Object info = minioService.getFileInfo(objectName);
-            log.info("获取文件信息成功: objectName={}", objectName);
+            log.debug("获取文件信息成功: objectName={}", objectName);
             return Result.success(info);
         } catch (Exception e) {
             log.error("获取文件信息失败: objectName={}", objectName, e);
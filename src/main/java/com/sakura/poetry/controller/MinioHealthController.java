@@ -46,7 +46,7 @@ public class MinioHealthController {
             // 尝试获取存储桶信息
             minioClient.bucketExists(io.minio.BucketExistsArgs.builder().bucket(bucketName).build());
             
-            log.info("Minio健康检查成功");
+            log.debug("Minio健康检查成功");
             return Result.success("Minio服务正常运行");
         } catch (Exception e) {
             log.error("Minio健康检查失败", e);
@@ -0,0 +1,82 @@
+package com.sakura.poetry.controller;
+
+import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.dto.PoetryImportDTO;
+import com.sakura.poetry.service.PoetryImportService;
+import com.sakura.poetry.vo.PoetryImportStatusVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 诗词批量导入控制器
+ * 
+ * <p>诗词语料批量导入相关的API接口控制器，仅管理员可用。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@RestController
+@RequestMapping("/api/admin/import/poetry")
+@Tag(name = "诗词批量导入", description = "诗词语料批量导入相关的API接口")
+public class PoetryImportController {
+
+    @Autowired
+    private PoetryImportService importService;
+
+    /**
+     * 发起导入任务
+     * 
+     * @param importDTO 导入参数
+     * @return 任务初始进度
+     */
+    @PostMapping("/start")
+    @Operation(summary = "发起诗词导入任务")
+    public Result<PoetryImportStatusVO> startImport(@Valid @RequestBody PoetryImportDTO importDTO) {
+        PoetryImportStatusVO status = importService.startImport(importDTO);
+        return Result.success(status);
+    }
+
+    /**
+     * 查询导入进度
+     * 
+     * @param jobId 任务ID
+     * @return 导入进度
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "查询诗词导入进度")
+    public Result<PoetryImportStatusVO> getImportStatus(@PathVariable String jobId) {
+        PoetryImportStatusVO status = importService.getImportStatus(jobId);
+        return Result.success(status);
+    }
+
+    /**
+     * 查询全部导入任务
+     * 
+     * @return 导入进度列表
+     */
+    @GetMapping("/list")
+    @Operation(summary = "查询全部诗词导入任务")
+    public Result<List<PoetryImportStatusVO>> listImports() {
+        List<PoetryImportStatusVO> statusList = importService.listImports();
+        return Result.success(statusList);
+    }
+
+    /**
+     * 取消导入任务
+     * 
+     * @param jobId 任务ID
+     * @return 是否取消成功
+     */
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "取消诗词导入任务")
+    public Result<Boolean> cancelImport(@PathVariable String jobId) {
+        boolean result = importService.cancelImport(jobId);
+        return Result.success(result);
+    }
+}
@@ -1,10 +1,13 @@
 package com.sakura.poetry.controller;
 
+import com.sakura.poetry.dto.PoetryCollectionDTO;
 import com.sakura.poetry.entity.UserCollection;
 import com.sakura.poetry.service.UserCollectionService;
 import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.vo.CursorPageVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -68,6 +71,38 @@ public class UserCollectionController {
         return Result.success(collectionList);
     }
     
+    /**
+     * 按游标分页查询用户的收藏列表
+     * 
+     * @param userId 用户ID
+     * @param folderId 收藏夹ID（可选）
+     * @param cursor 上一页返回的游标（可选）
+     * @param limit 每页数量
+     * @return 收藏分页
+     */
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "按游标分页查询用户的收藏列表")
+    public Result<CursorPageVO<UserCollection>> getCollectionPage(@PathVariable Long userId,
+                                                                  @RequestParam(required = false) Long folderId,
+                                                                  @RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(defaultValue = "20") int limit) {
+        CursorPageVO<UserCollection> page = collectionService.getCollectionPage(userId, folderId, cursor, limit);
+        return Result.success(page);
+    }
+    
+    /**
+     * 收藏诗词
+     * 
+     * @param collectionDTO 收藏信息
+     * @return 收藏记录
+     */
+    @PostMapping("/collect")
+    @Operation(summary = "收藏诗词")
+    public Result<UserCollection> collectPoetry(@Valid @RequestBody PoetryCollectionDTO collectionDTO) {
+        UserCollection collection = collectionService.collectPoetry(collectionDTO);
+        return Result.success(collection);
+    }
+    
     /**
      * 创建收藏
      * 
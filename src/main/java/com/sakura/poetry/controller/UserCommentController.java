@@ -1,10 +1,15 @@
 package com.sakura.poetry.controller;
 
+import com.sakura.poetry.dto.CommentCreateDTO;
 import com.sakura.poetry.entity.UserComment;
+import com.sakura.poetry.service.CommentThreadService;
 import com.sakura.poetry.service.UserCommentService;
 import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.vo.CommentListVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +32,9 @@ public class UserCommentController {
     @Autowired
     private UserCommentService commentService;
     
+    @Autowired
+    private CommentThreadService threadService;
+    
     /**
      * 根据诗词ID查询评论列表
      * 
@@ -57,6 +65,27 @@ public class UserCommentController {
         return Result.success(commentList);
     }
     
+    /**
+     * 查询评论线程（分页）
+     * 
+     * <p>返回顶级评论及其回复，附带用户昵称与头像。</p>
+     * 
+     * @param poetryId 诗词ID
+     * @param offset 偏移量
+     * @param limit 限制数量
+     * @param userId 当前用户ID（可选，用于填充点赞标记）
+     * @return 评论线程列表
+     */
+    @GetMapping("/thread/{poetryId}")
+    @Operation(summary = "查询评论线程")
+    public Result<List<CommentListVO>> getCommentThreads(@PathVariable Long poetryId,
+                                                         @RequestParam(defaultValue = "0") int offset,
+                                                         @RequestParam(defaultValue = "10") int limit,
+                                                         @RequestParam(required = false) Long userId) {
+        List<CommentListVO> threads = threadService.getCommentThreads(poetryId, offset, limit, userId);
+        return Result.success(threads);
+    }
+    
     /**
      * 根据父评论ID查询回复列表
      * 
@@ -87,15 +116,18 @@ public class UserCommentController {
     /**
      * 增加评论的回复数
      * 
+     * <p>创建回复时服务端已自动累加回复数，该接口仅为兼容旧客户端保留，不再修改数据，否则每条回复会被计数两次。</p>
+     * 
      * @param commentId 评论ID
      * @param count 增加的数量
-     * @return 是否增加成功
+     * @return 始终返回成功
+     * @deprecated 回复数由 {@link #createComment} 维护
      */
+    @Deprecated
     @PutMapping("/reply/{commentId}/{count}")
-    @Operation(summary = "增加评论的回复数")
+    @Operation(summary = "增加评论的回复数（已废弃，不再生效）", deprecated = true)
     public Result<Boolean> incrementReplyCount(@PathVariable Long commentId, @PathVariable int count) {
-        boolean result = commentService.incrementReplyCount(commentId, count);
-        return Result.success(result);
+        return Result.success(true);
     }
     
     /**
@@ -111,6 +143,20 @@ public class UserCommentController {
         return Result.success(result);
     }
     
+    /**
+     * 发布评论或回复
+     * 
+     * @param createDTO 评论创建信息
+     * @param request HTTP请求
+     * @return 已创建的评论
+     */
+    @PostMapping("/publish")
+    @Operation(summary = "发布评论或回复")
+    public Result<UserComment> publishComment(@Valid @RequestBody CommentCreateDTO createDTO, HttpServletRequest request) {
+        UserComment comment = commentService.publishComment(createDTO, request.getRemoteAddr(), request.getHeader("User-Agent"));
+        return Result.success(comment);
+    }
+    
     /**
      * 更新评论信息
      * 
@@ -0,0 +1,43 @@
+package com.sakura.poetry.controller;
+
+import com.sakura.poetry.common.result.Result;
+import com.sakura.poetry.dto.InteractionStatusQueryDTO;
+import com.sakura.poetry.service.UserInteractionService;
+import com.sakura.poetry.vo.InteractionStatusVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 用户交互状态控制器
+ * 
+ * <p>提供列表页批量查询点赞、收藏状态的API接口。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@RestController
+@RequestMapping("/api/interaction")
+@Tag(name = "用户交互状态", description = "批量查询点赞、收藏状态的API接口")
+public class UserInteractionController {
+
+    @Autowired
+    private UserInteractionService interactionService;
+
+    /**
+     * 批量查询用户对目标的点赞、收藏状态
+     * 
+     * @param queryDTO 查询条件
+     * @return 交互状态
+     */
+    @PostMapping("/status")
+    @Operation(summary = "批量查询用户对目标的点赞、收藏状态")
+    public Result<InteractionStatusVO> getInteractionStatus(@Valid @RequestBody InteractionStatusQueryDTO queryDTO) {
+        InteractionStatusVO statusVO = interactionService.getInteractionStatus(
+                queryDTO.getUserId(), queryDTO.getTargetType(), queryDTO.getTargetIds());
+        return Result.success(statusVO);
+    }
+}
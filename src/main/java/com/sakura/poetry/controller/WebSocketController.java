@@ -6,6 +6,7 @@ import com.sakura.poetry.websocket.model.OnlineUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,7 +28,8 @@ import java.util.Collection;
 @Tag(name = "WebSocket管理", description = "WebSocket连接和在线用户管理相关接口")
 public class WebSocketController {
 
-    private final WebSocketSessionManager sessionManager = new WebSocketSessionManager();
+    @Autowired
+    private WebSocketSessionManager sessionManager;
 
     /**
      * 获取在线用户列表
@@ -39,7 +41,9 @@ public class WebSocketController {
     public Result<Collection<OnlineUser>> getOnlineUsers() {
         try {
             Collection<OnlineUser> onlineUsers = sessionManager.getOnlineUsers().values();
-            log.info("获取在线用户列表，当前在线用户数: {}", onlineUsers.size());
+            if (log.isDebugEnabled()) {
+                log.debug("获取在线用户列表，当前在线用户数: {}", onlineUsers.size());
+            }
             return Result.success(onlineUsers);
         } catch (Exception e) {
             log.error("获取在线用户列表失败: {}", e.getMessage(), e);
@@ -57,7 +61,7 @@ public class WebSocketController {
     public Result<Integer> getOnlineUserCount() {
         try {
             int count = sessionManager.getOnlineUserCount();
-            log.info("获取在线用户数量: {}", count);
+            log.debug("获取在线用户数量: {}", count);
             return Result.success(count);
         } catch (Exception e) {
             log.error("获取在线用户数量失败: {}", e.getMessage(), e);
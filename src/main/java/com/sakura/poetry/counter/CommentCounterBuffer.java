@@ -0,0 +1,130 @@
+package com.sakura.poetry.counter;
+
+import com.sakura.poetry.cache.CommentThreadCache;
+import com.sakura.poetry.mapper.PoetryMapper;
+import com.sakura.poetry.mapper.UserCommentMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 评论计数写回缓冲
+ * 
+ * <p>评论写入时不直接更新父评论的 reply_count 与诗词的 comment_count，
+ * 而是把增量合并到内存中，由定时任务按行批量写回。热门诗词在一个刷新周期内
+ * 收到的成千上万条评论只会产生一次 UPDATE，避免父行上的锁竞争。</p>
+ * 
+ * <p>增量通过 {@link ConcurrentHashMap#merge} 累加、{@link ConcurrentHashMap#remove(Object)} 取出，
+ * 二者对同一键是原子的，不会丢失并发写入的增量；写回失败时增量会被合并回缓冲等待下次重试。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class CommentCounterBuffer {
+
+    /**
+     * 父评论ID -> 待写回的回复数增量
+     */
+    private final Map<Long, Integer> replyCountDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 诗词ID -> 待写回的评论数增量
+     */
+    private final Map<Long, Integer> commentCountDeltas = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserCommentMapper commentMapper;
+
+    @Autowired
+    private PoetryMapper poetryMapper;
+
+    @Autowired
+    private CommentThreadCache threadCache;
+
+    /**
+     * 累加父评论的回复数增量
+     * 
+     * @param commentId 父评论ID
+     * @param delta 增量
+     */
+    public void addReplyCount(Long commentId, int delta) {
+        if (commentId != null && commentId > 0 && delta != 0) {
+            replyCountDeltas.merge(commentId, delta, Integer::sum);
+        }
+    }
+
+    /**
+     * 累加诗词的评论数增量
+     * 
+     * @param poetryId 诗词ID
+     * @param delta 增量
+     */
+    public void addCommentCount(Long poetryId, int delta) {
+        if (poetryId != null && delta != 0) {
+            commentCountDeltas.merge(poetryId, delta, Integer::sum);
+        }
+    }
+
+    /**
+     * 定时将缓冲的增量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${app.comment.counter-flush-interval-millis:1000}")
+    public void flush() {
+        int replyRows = drain(replyCountDeltas, (id, delta) -> {
+            commentMapper.incrementReplyCount(id, delta);
+            threadCache.invalidateByComment(id);
+        });
+        int poetryRows = drain(commentCountDeltas, (id, delta) -> poetryMapper.incrementCommentCount(id, delta));
+        if (replyRows > 0 || poetryRows > 0) {
+            log.debug("评论计数写回完成，回复数更新{}行，评论数更新{}行", replyRows, poetryRows);
+        }
+    }
+
+    /**
+     * 停机前写回剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private int drain(Map<Long, Integer> deltas, DeltaWriter writer) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        List<Long> keys = new ArrayList<>(deltas.keySet());
+        int rows = 0;
+        for (Long key : keys) {
+            Integer delta = deltas.remove(key);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            try {
+                writer.write(key, delta);
+                rows++;
+            } catch (Exception e) {
+                deltas.merge(key, delta, Integer::sum);
+                log.error("评论计数写回失败，将在下次刷新时重试，ID: {}, 增量: {}", key, delta, e);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 增量写回操作
+     */
+    @FunctionalInterface
+    private interface DeltaWriter {
+        void write(Long id, int delta);
+    }
+}
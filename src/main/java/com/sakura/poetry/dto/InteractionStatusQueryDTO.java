@@ -0,0 +1,50 @@
+package com.sakura.poetry.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 交互状态批量查询DTO
+ * 
+ * <p>用于列表页批量查询当前用户对多个目标的点赞、收藏状态。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Schema(description = "交互状态批量查询DTO")
+public class InteractionStatusQueryDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    @NotNull(message = "用户ID不能为空")
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    /**
+     * 目标类型（1-诗词，2-评论，3-诗人）
+     */
+    @NotNull(message = "目标类型不能为空")
+    @Schema(description = "目标类型（1-诗词，2-评论，3-诗人）")
+    private Integer targetType;
+
+    /**
+     * 目标ID列表
+     */
+    @NotEmpty(message = "目标ID列表不能为空")
+    @Size(max = 200, message = "单次最多查询200个目标")
+    @Schema(description = "目标ID列表")
+    private List<Long> targetIds;
+}
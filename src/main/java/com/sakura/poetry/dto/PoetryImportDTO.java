@@ -0,0 +1,69 @@
+package com.sakura.poetry.dto;
+
+import com.sakura.poetry.importer.ImportFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 诗词导入DTO
+ * 
+ * <p>用于发起诗词批量导入任务的数据传输对象。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Schema(description = "诗词导入DTO")
+public class PoetryImportDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 导入文件路径
+     */
+    @NotBlank(message = "导入文件路径不能为空")
+    @Schema(description = "导入文件路径，相对于导入目录", example = "tang-poetry.jsonl")
+    private String filePath;
+
+    /**
+     * 文件格式
+     */
+    @Schema(description = "文件格式，为空时按扩展名推断")
+    private ImportFormat format;
+
+    /**
+     * 分块大小
+     */
+    @Min(value = 1, message = "分块大小不能小于1")
+    @Max(value = 5000, message = "分块大小不能大于5000")
+    @Schema(description = "每批写入的记录数", example = "500")
+    private Integer chunkSize;
+
+    /**
+     * 工作线程数
+     */
+    @Min(value = 1, message = "工作线程数不能小于1")
+    @Max(value = 16, message = "工作线程数不能大于16")
+    @Schema(description = "并行写入的工作线程数", example = "4")
+    private Integer workers;
+
+    /**
+     * 是否从断点续传
+     */
+    @Schema(description = "是否从断点续传", example = "true")
+    private Boolean resume;
+
+    /**
+     * 是否自动创建缺失的诗人
+     */
+    @Schema(description = "是否自动创建缺失的诗人", example = "true")
+    private Boolean createMissingPoets;
+}
@@ -0,0 +1,68 @@
+package com.sakura.poetry.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 聊天已读水位实体类
+ *
+ * <p>对应数据库表 chat_read_watermark，以用户、会话类型和会话ID为联合主键，
+ * 记录用户在一个会话中已读到的会话内序号。序号不大于水位的消息均视为已读。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Accessors(chain = true)
+@TableName("chat_read_watermark")
+@Schema(description = "聊天已读水位实体")
+public class ChatReadWatermark implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 会话类型：私聊
+     */
+    public static final int PRIVATE = 1;
+
+    /**
+     * 会话类型：群聊
+     */
+    public static final int GROUP = 2;
+
+    /**
+     * 用户ID
+     */
+    @TableField("user_id")
+    @Schema(description = "用户ID", example = "1")
+    private Long userId;
+
+    /**
+     * 会话类型：1-私聊，2-群聊
+     */
+    @TableField("conversation_type")
+    @Schema(description = "会话类型:1-私聊,2-群聊", example = "1")
+    private Integer conversationType;
+
+    /**
+     * 会话ID，私聊为对方用户ID，群聊为群组ID
+     */
+    @TableField("conversation_id")
+    @Schema(description = "会话ID", example = "2")
+    private Long conversationId;
+
+    /**
+     * 已读到的会话内序号
+     */
+    @TableField("read_seq")
+    @Schema(description = "已读到的会话内序号", example = "42")
+    private Long readSeq;
+}
@@ -0,0 +1,67 @@
+package com.sakura.poetry.exporter;
+
+import cn.hutool.core.text.csv.CsvWriteConfig;
+import cn.hutool.core.text.csv.CsvWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * CSV 行写入器
+ * 
+ * <p>按JSON序列化结果取列，列名与NDJSON字段一致，表头取自第一行。
+ * 嵌套对象以JSON文本写入单元格。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class CsvExportRowWriter implements ExportRowWriter {
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvWriter csvWriter;
+
+    private List<String> columns;
+
+    public CsvExportRowWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.csvWriter = new CsvWriter(writer, CsvWriteConfig.defaultConfig().setLineDelimiter(new char[]{'\n'}));
+    }
+
+    @Override
+    public void write(Object row) throws IOException {
+        JsonNode node = objectMapper.valueToTree(row);
+        if (columns == null) {
+            columns = new ArrayList<>();
+            for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                columns.add(it.next());
+            }
+            csvWriter.writeHeaderLine(columns.toArray(new String[0]));
+        }
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonNode value = node.get(columns.get(i));
+            if (value == null || value.isNull()) {
+                values[i] = "";
+            } else {
+                values[i] = value.isValueNode() ? value.asText() : value.toString();
+            }
+        }
+        csvWriter.writeLine(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        csvWriter.flush();
+    }
+}
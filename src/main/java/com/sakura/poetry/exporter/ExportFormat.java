@@ -0,0 +1,58 @@
+package com.sakura.poetry.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 导出文件格式
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public enum ExportFormat {
+
+    /**
+     * 换行分隔的JSON，每行一个对象
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * 带表头的CSV
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 创建对应格式的行写入器
+     * 
+     * @param out 输出流
+     * @param objectMapper 序列化使用的ObjectMapper
+     * @return 行写入器
+     * @throws IOException 初始化失败
+     */
+    public ExportRowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonExportRowWriter(out, objectMapper);
+            case CSV -> new CsvExportRowWriter(out, objectMapper);
+        };
+    }
+}
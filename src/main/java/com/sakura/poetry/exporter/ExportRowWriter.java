@@ -0,0 +1,30 @@
+package com.sakura.poetry.exporter;
+
+import java.io.IOException;
+
+/**
+ * 导出行写入器
+ * 
+ * <p>逐行写入输出流，不缓存已写出的行。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface ExportRowWriter {
+
+    /**
+     * 写入一行
+     * 
+     * @param row 行对象
+     * @throws IOException 写入失败
+     */
+    void write(Object row) throws IOException;
+
+    /**
+     * 刷出缓冲内容，不关闭底层输出流
+     * 
+     * @throws IOException 写入失败
+     */
+    void finish() throws IOException;
+}
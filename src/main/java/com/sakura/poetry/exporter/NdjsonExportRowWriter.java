@@ -0,0 +1,46 @@
+package com.sakura.poetry.exporter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * NDJSON 行写入器
+ * 
+ * <p>整个导出共用一个 {@link JsonGenerator}，每行之后写入换行符，
+ * 不在每行后刷新输出流。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class NdjsonExportRowWriter implements ExportRowWriter {
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    public NdjsonExportRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.generator = writer.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(Object row) throws IOException {
+        writer.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.sakura.poetry.importer;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.text.csv.CsvParser;
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvRow;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CSV 记录读取器
+ * 
+ * <p>第一行为表头，列名与 {@link PoetryImportRecord} 的JSON字段一致，
+ * 诗人、朝代、分类列也可使用 author、dynasty、category。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class CsvPoetryRecordReader implements PoetryRecordReader {
+
+    private final CsvParser parser;
+
+    public CsvPoetryRecordReader(Reader reader) {
+        CsvReadConfig config = CsvReadConfig.defaultConfig()
+                .setContainsHeader(true)
+                .setSkipEmptyRows(true);
+        this.parser = new CsvParser(reader, config);
+    }
+
+    @Override
+    public PoetryImportRecord next() throws IOException {
+        CsvRow row;
+        try {
+            row = parser.nextRow();
+        } catch (IORuntimeException e) {
+            throw new IOException("CSV读取失败: " + e.getMessage(), e);
+        }
+        if (row == null) {
+            return null;
+        }
+        PoetryImportRecord record = new PoetryImportRecord();
+        record.setLineNumber(row.getOriginalLineNumber() + 1);
+        record.setTitle(field(row, "title"));
+        record.setSubtitle(field(row, "subtitle"));
+        record.setPoetName(field(row, "poetName", "author", "poet"));
+        record.setDynastyName(field(row, "dynastyName", "dynasty"));
+        record.setCategoryName(field(row, "categoryName", "category"));
+        record.setContent(field(row, "content"));
+        record.setTranslation(field(row, "translation"));
+        record.setAnnotation(field(row, "annotation"));
+        record.setAppreciation(field(row, "appreciation"));
+        record.setBackground(field(row, "background"));
+        record.setTagsValue(field(row, "tags"));
+        record.setSource(field(row, "source"));
+        return record;
+    }
+
+    private static String field(CsvRow row, String... names) {
+        for (String name : names) {
+            String value = row.getByName(name);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.sakura.poetry.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 导入断点
+ * 
+ * <p>记录按 {@code chunkSize} 切分的分块中哪些已提交。多个工作线程乱序完成分块，
+ * 因此保存“水位线”（之前的分块均已完成）以及水位线之后零散完成的分块序号。
+ * 续传时以相同的分块大小重新读取，跳过已完成的分块。</p>
+ * 
+ * <p>断点文件先写临时文件再原子替换，进程中途退出不会留下损坏的断点。
+ * 写文件期间持有 {@link ReentrantLock} 而不是对象监视器，虚拟线程等待时不会占住载体线程。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class ImportCheckpoint {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+
+    private final State state;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private ImportCheckpoint(Path file, State state) {
+        this.file = file;
+        this.state = state;
+    }
+
+    /**
+     * 加载断点，不存在或不续传时创建新断点
+     * 
+     * @param file 断点文件
+     * @param chunkSize 分块大小
+     * @param resume 是否续传
+     * @return 导入断点
+     * @throws IOException 读取失败，或分块大小与已有断点不一致
+     */
+    public static ImportCheckpoint load(Path file, int chunkSize, boolean resume) throws IOException {
+        if (resume && Files.exists(file)) {
+            State state = MAPPER.readValue(file.toFile(), State.class);
+            if (state.getChunkSize() != chunkSize) {
+                throw new IOException("断点的分块大小为" + state.getChunkSize() + "，续传时必须保持一致");
+            }
+            return new ImportCheckpoint(file, state);
+        }
+        State state = new State();
+        state.setChunkSize(chunkSize);
+        return new ImportCheckpoint(file, state);
+    }
+
+    /**
+     * 分块是否已完成
+     * 
+     * @param sequence 分块序号
+     * @return 是否已完成
+     */
+    public boolean isDone(long sequence) {
+        lock.lock();
+        try {
+            return sequence < state.getWatermark() || state.getCompleted().contains(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 标记分块已完成并持久化
+     * 
+     * @param sequence 分块序号
+     * @throws IOException 写入失败
+     */
+    public void markDone(long sequence) throws IOException {
+        lock.lock();
+        try {
+            state.getCompleted().add(sequence);
+            while (state.getCompleted().remove(state.getWatermark())) {
+                state.setWatermark(state.getWatermark() + 1);
+            }
+            save();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 水位线，之前的分块均已完成
+     * 
+     * @return 水位线
+     */
+    public long watermark() {
+        lock.lock();
+        try {
+            return state.getWatermark();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 导入全部完成后删除断点文件
+     * 
+     * @throws IOException 删除失败
+     */
+    public void delete() throws IOException {
+        lock.lock();
+        try {
+            Files.deleteIfExists(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        MAPPER.writeValue(temp.toFile(), state);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 断点持久化内容
+     */
+    @Data
+    public static class State {
+
+        /**
+         * 分块大小
+         */
+        private int chunkSize;
+
+        /**
+         * 水位线
+         */
+        private long watermark;
+
+        /**
+         * 水位线之后已完成的分块
+         */
+        private TreeSet<Long> completed = new TreeSet<>();
+    }
+}
@@ -0,0 +1,49 @@
+package com.sakura.poetry.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 导入文件格式
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public enum ImportFormat {
+
+    /**
+     * JSON Lines，每行一个JSON对象
+     */
+    JSONL,
+
+    /**
+     * 带表头的CSV
+     */
+    CSV;
+
+    /**
+     * 创建对应格式的记录读取器
+     * 
+     * @param reader 字符输入流
+     * @return 记录读取器
+     * @throws IOException 初始化失败
+     */
+    public PoetryRecordReader open(Reader reader) throws IOException {
+        return switch (this) {
+            case JSONL -> new JsonLinesPoetryRecordReader(reader);
+            case CSV -> new CsvPoetryRecordReader(reader);
+        };
+    }
+
+    /**
+     * 根据文件扩展名推断格式
+     * 
+     * @param fileName 文件名
+     * @return 导入格式
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".csv") ? CSV : JSONL;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sakura.poetry.importer;
+
+/**
+ * 导入任务状态
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public enum ImportJobState {
+
+    /**
+     * 运行中
+     */
+    RUNNING,
+
+    /**
+     * 已完成
+     */
+    COMPLETED,
+
+    /**
+     * 已失败，可续传
+     */
+    FAILED,
+
+    /**
+     * 已取消，可续传
+     */
+    CANCELLED
+}
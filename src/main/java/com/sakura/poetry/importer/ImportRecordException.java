@@ -0,0 +1,24 @@
+package com.sakura.poetry.importer;
+
+import java.io.IOException;
+import java.io.Serial;
+
+/**
+ * 导入记录解析异常
+ *
+ * <p>某一条记录格式错误，读取器已越过该记录，可以继续读取下一条；
+ * 读取器抛出的其他 {@link IOException} 表示文件本身无法继续读取。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class ImportRecordException extends IOException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ImportRecordException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sakura.poetry.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * JSON Lines 记录读取器
+ * 
+ * <p>按行读取并单独解析，某一行格式错误时只影响该行。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class JsonLinesPoetryRecordReader implements PoetryRecordReader {
+
+    private static final ObjectReader RECORD_READER = new ObjectMapper().readerFor(PoetryImportRecord.class);
+
+    private final BufferedReader reader;
+
+    private long lineNumber;
+
+    public JsonLinesPoetryRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+    }
+
+    @Override
+    public PoetryImportRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            PoetryImportRecord record;
+            try {
+                record = RECORD_READER.readValue(line);
+            } catch (IOException e) {
+                throw new ImportRecordException("第" + lineNumber + "行JSON解析失败: " + e.getMessage(), e);
+            }
+            record.setLineNumber(lineNumber);
+            return record;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
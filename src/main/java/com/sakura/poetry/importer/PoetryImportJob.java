@@ -0,0 +1,146 @@
+package com.sakura.poetry.importer;
+
+import com.sakura.poetry.vo.PoetryImportStatusVO;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 诗词导入任务
+ * 
+ * <p>保存一次导入的运行状态与进度计数，计数在读取线程与工作线程间并发累加。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Getter
+public class PoetryImportJob {
+
+    /**
+     * 保留的错误信息条数上限
+     */
+    private static final int MAX_ERRORS = 50;
+
+    private final String jobId;
+
+    private final Path file;
+
+    private final ImportFormat format;
+
+    private final int chunkSize;
+
+    private final int workers;
+
+    private final LocalDateTime startTime = LocalDateTime.now();
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong recordsRead = new AtomicLong();
+
+    private final AtomicLong recordsImported = new AtomicLong();
+
+    private final AtomicLong recordsSkipped = new AtomicLong();
+
+    private final AtomicLong recordsFailed = new AtomicLong();
+
+    private final AtomicLong chunksCompleted = new AtomicLong();
+
+    private final AtomicLong chunksFailed = new AtomicLong();
+
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile ImportJobState state = ImportJobState.RUNNING;
+
+    private volatile boolean cancelRequested;
+
+    private volatile LocalDateTime endTime;
+
+    private volatile long endNanos;
+
+    private volatile long watermark;
+
+    public PoetryImportJob(String jobId, Path file, ImportFormat format, int chunkSize, int workers) {
+        this.jobId = jobId;
+        this.file = file;
+        this.format = format;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+    }
+
+    /**
+     * 记录一条错误信息，超过上限后只计数不保留
+     * 
+     * @param message 错误信息
+     */
+    public void addError(String message) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+
+    /**
+     * 请求取消，已提交的分块会继续完成
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    /**
+     * 更新断点水位线
+     * 
+     * @param watermark 水位线
+     */
+    public void updateWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * 结束任务
+     * 
+     * @param finalState 最终状态
+     */
+    public void finish(ImportJobState finalState) {
+        this.endNanos = System.nanoTime();
+        this.endTime = LocalDateTime.now();
+        this.state = finalState;
+    }
+
+    /**
+     * 生成进度快照
+     * 
+     * @return 导入进度
+     */
+    public PoetryImportStatusVO toStatusVO() {
+        PoetryImportStatusVO vo = new PoetryImportStatusVO();
+        vo.setJobId(jobId);
+        vo.setFileName(file.getFileName().toString());
+        vo.setFormat(format.name());
+        vo.setState(state.name());
+        vo.setChunkSize(chunkSize);
+        vo.setWorkers(workers);
+        vo.setRecordsRead(recordsRead.get());
+        vo.setRecordsImported(recordsImported.get());
+        vo.setRecordsSkipped(recordsSkipped.get());
+        vo.setRecordsFailed(recordsFailed.get());
+        vo.setChunksCompleted(chunksCompleted.get());
+        vo.setChunksFailed(chunksFailed.get());
+        vo.setCheckpointWatermark(watermark);
+        vo.setStartTime(startTime);
+        vo.setEndTime(endTime);
+        long elapsedNanos = (state == ImportJobState.RUNNING ? System.nanoTime() : endNanos) - startNanos;
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        vo.setElapsedMillis(elapsedMillis);
+        vo.setRecordsPerSecond(elapsedMillis == 0 ? 0 : recordsImported.get() * 1000 / elapsedMillis);
+        synchronized (errors) {
+            vo.setErrors(new ArrayList<>(errors));
+        }
+        return vo;
+    }
+}
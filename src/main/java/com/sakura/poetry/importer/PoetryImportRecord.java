@@ -0,0 +1,117 @@
+package com.sakura.poetry.importer;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 诗词导入记录
+ * 
+ * <p>导入文件中的一行数据。诗人、朝代、分类以名称给出，导入时再解析为ID。
+ * 兼容常见开源古诗词语料的字段命名，如 {@code author}、{@code paragraphs}。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PoetryImportRecord {
+
+    /**
+     * 源文件中的行号
+     */
+    private long lineNumber;
+
+    /**
+     * 诗词标题
+     */
+    private String title;
+
+    /**
+     * 副标题
+     */
+    private String subtitle;
+
+    /**
+     * 诗人名称
+     */
+    @JsonAlias({"author", "poet"})
+    private String poetName;
+
+    /**
+     * 朝代名称
+     */
+    @JsonAlias({"dynasty"})
+    private String dynastyName;
+
+    /**
+     * 分类名称
+     */
+    @JsonAlias({"category"})
+    private String categoryName;
+
+    /**
+     * 诗词内容
+     */
+    private String content;
+
+    /**
+     * 译文
+     */
+    private String translation;
+
+    /**
+     * 注释
+     */
+    private String annotation;
+
+    /**
+     * 赏析
+     */
+    private String appreciation;
+
+    /**
+     * 创作背景
+     */
+    private String background;
+
+    /**
+     * 标签（逗号分隔）
+     */
+    private String tags;
+
+    /**
+     * 来源
+     */
+    private String source;
+
+    /**
+     * 按句给出的内容，逐行拼接为 {@link #content}
+     * 
+     * @param paragraphs 诗句列表
+     */
+    @JsonSetter("paragraphs")
+    public void setParagraphs(List<String> paragraphs) {
+        if (paragraphs != null && !paragraphs.isEmpty()) {
+            this.content = String.join("\n", paragraphs);
+        }
+    }
+
+    /**
+     * 标签既可以是逗号分隔的字符串，也可以是数组
+     * 
+     * @param tags 标签
+     */
+    @JsonSetter("tags")
+    public void setTagsValue(Object tags) {
+        if (tags instanceof List<?> list) {
+            this.tags = String.join(",", list.stream().map(String::valueOf).toList());
+        } else if (tags != null) {
+            this.tags = tags.toString();
+        }
+    }
+}
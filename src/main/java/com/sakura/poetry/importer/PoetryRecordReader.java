@@ -0,0 +1,25 @@
+package com.sakura.poetry.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 诗词导入记录读取器
+ * 
+ * <p>逐条流式读取导入文件，任意时刻只持有当前一条记录。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface PoetryRecordReader extends Closeable {
+
+    /**
+     * 读取下一条记录
+     * 
+     * @return 下一条记录，读取完毕时返回null
+     * @throws ImportRecordException 当前记录解析失败，可继续读取下一条
+     * @throws IOException 文件读取失败，无法继续读取
+     */
+    PoetryImportRecord next() throws IOException;
+}
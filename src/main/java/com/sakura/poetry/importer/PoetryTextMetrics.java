@@ -0,0 +1,70 @@
+package com.sakura.poetry.importer;
+
+/**
+ * 诗词文本统计
+ * 
+ * <p>计算字数与句数：字数只统计文字与数字，不含标点和空白；
+ * 句数按中英文断句标点及换行切分后的非空片段计数。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public final class PoetryTextMetrics {
+
+    private PoetryTextMetrics() {
+    }
+
+    /**
+     * 统计字数
+     * 
+     * @param content 诗词内容
+     * @return 字数
+     */
+    public static int wordCount(String content) {
+        if (content == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                count++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+    /**
+     * 统计句数
+     * 
+     * @param content 诗词内容
+     * @return 句数
+     */
+    public static int verseCount(String content) {
+        if (content == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean inVerse = false;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            if (isVerseBreak(codePoint)) {
+                inVerse = false;
+            } else if (!inVerse && Character.isLetterOrDigit(codePoint)) {
+                inVerse = true;
+                count++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+    private static boolean isVerseBreak(int codePoint) {
+        return switch (codePoint) {
+            case '，', '。', '！', '？', '；', ',', '.', '!', '?', ';', '\n', '\r' -> true;
+            default -> false;
+        };
+    }
+}
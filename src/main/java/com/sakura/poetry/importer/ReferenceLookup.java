@@ -0,0 +1,141 @@
+package com.sakura.poetry.importer;
+
+import com.sakura.poetry.entity.Dynasty;
+import com.sakura.poetry.entity.Poet;
+import com.sakura.poetry.entity.PoetryCategory;
+import com.sakura.poetry.entity.enums.CommonStatusEnum;
+import com.sakura.poetry.mapper.DynastyMapper;
+import com.sakura.poetry.mapper.PoetMapper;
+import com.sakura.poetry.mapper.PoetryCategoryMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 导入名称解析表
+ * 
+ * <p>导入开始时一次性加载朝代、分类、诗人，按名称解析为ID，导入过程中不再逐条查库。
+ * 诗人以“名称 + 朝代”区分同名诗人；缺失的诗人可按需创建并加入解析表。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class ReferenceLookup {
+
+    private final Map<String, Long> dynastyIds = new HashMap<>();
+
+    private final Map<String, Long> categoryIds = new HashMap<>();
+
+    private final Map<String, Long> poetIds = new ConcurrentHashMap<>();
+
+    private final PoetMapper poetMapper;
+
+    private final boolean createMissingPoets;
+
+    /**
+     * 新建诗人锁，插入数据库期间持有，不使用 synchronized 以免虚拟线程占住载体线程
+     */
+    private final ReentrantLock createLock = new ReentrantLock();
+
+    public ReferenceLookup(DynastyMapper dynastyMapper, PoetryCategoryMapper categoryMapper,
+                           PoetMapper poetMapper, boolean createMissingPoets) {
+        this.poetMapper = poetMapper;
+        this.createMissingPoets = createMissingPoets;
+        for (Dynasty dynasty : dynastyMapper.selectList(null)) {
+            putIfPresent(dynastyIds, dynasty.getDynastyName(), dynasty.getId());
+            putIfPresent(dynastyIds, dynasty.getDynastyCode(), dynasty.getId());
+        }
+        for (PoetryCategory category : categoryMapper.selectList(null)) {
+            putIfPresent(categoryIds, category.getCategoryName(), category.getId());
+            putIfPresent(categoryIds, category.getCategoryCode(), category.getId());
+        }
+        List<Poet> poets = poetMapper.selectList(null);
+        for (Poet poet : poets) {
+            poetIds.putIfAbsent(poetKey(poet.getPoetName(), poet.getDynastyId()), poet.getId());
+            poetIds.putIfAbsent(poetKey(poet.getPoetName(), null), poet.getId());
+        }
+    }
+
+    /**
+     * 解析朝代ID
+     * 
+     * @param dynastyName 朝代名称或编码
+     * @return 朝代ID，未知时返回null
+     */
+    public Long dynastyId(String dynastyName) {
+        return dynastyName == null ? null : dynastyIds.get(dynastyName.trim());
+    }
+
+    /**
+     * 解析分类ID
+     * 
+     * @param categoryName 分类名称或编码
+     * @return 分类ID，未知时返回null
+     */
+    public Long categoryId(String categoryName) {
+        return categoryName == null ? null : categoryIds.get(categoryName.trim());
+    }
+
+    /**
+     * 解析诗人ID
+     * 
+     * <p>优先匹配同朝代的诗人，其次匹配同名诗人；均未找到且允许创建时新建诗人。</p>
+     * 
+     * @param poetName 诗人名称
+     * @param dynastyId 朝代ID
+     * @return 诗人ID，未知且不允许创建时返回null
+     */
+    public Long poetId(String poetName, Long dynastyId) {
+        if (poetName == null || poetName.isBlank()) {
+            return null;
+        }
+        String name = poetName.trim();
+        Long poetId = poetIds.get(poetKey(name, dynastyId));
+        if (poetId == null) {
+            poetId = poetIds.get(poetKey(name, null));
+        }
+        if (poetId == null && createMissingPoets) {
+            poetId = createPoet(name, dynastyId);
+        }
+        return poetId;
+    }
+
+    /**
+     * 新建诗人，多个导入线程并发解析同一诗人时只创建一次
+     */
+    private Long createPoet(String name, Long dynastyId) {
+        createLock.lock();
+        try {
+            Long existing = poetIds.get(poetKey(name, dynastyId));
+            if (existing != null) {
+                return existing;
+            }
+            Poet poet = new Poet()
+                    .setPoetName(name)
+                    .setDynastyId(dynastyId)
+                    .setViewCount(0L)
+                    .setLikeCount(0L)
+                    .setStatus(CommonStatusEnum.ENABLED);
+            poetMapper.insert(poet);
+            poetIds.put(poetKey(name, dynastyId), poet.getId());
+            poetIds.putIfAbsent(poetKey(name, null), poet.getId());
+            return poet.getId();
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    private static String poetKey(String name, Long dynastyId) {
+        return dynastyId == null ? name : name + '|' + dynastyId;
+    }
+
+    private static void putIfPresent(Map<String, Long> map, String key, Long id) {
+        if (key != null && !key.isBlank()) {
+            map.putIfAbsent(key.trim(), id);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sakura.poetry.mapper;
+
+import com.sakura.poetry.entity.ChatReadWatermark;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 聊天已读水位Mapper接口
+ *
+ * <p>表以 (user_id, conversation_type, conversation_id) 为联合主键，没有单列主键，因此不继承BaseMapper。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface ChatReadWatermarkMapper {
+
+    /**
+     * 查询用户在全部会话中的已读水位
+     *
+     * @param userId 用户ID
+     * @return 已读水位列表
+     */
+    List<ChatReadWatermark> selectByUserId(@Param("userId") Long userId);
+
+    /**
+     * 查询其他用户在与该用户的私聊中的已读水位，发送者的水位随发送推进，可据此恢复会话的最新序号
+     *
+     * @param userId 用户ID
+     * @return 已读水位列表，userId 为对方用户
+     */
+    List<ChatReadWatermark> selectPeerWatermarks(@Param("userId") Long userId);
+
+    /**
+     * 查询私聊双方在会话中的最大已读水位，可据此恢复私聊会话的最新序号
+     *
+     * @param userId 用户ID
+     * @param peerId 对方用户ID
+     * @return 最大已读水位，没有记录时返回 null
+     */
+    Long selectMaxPrivateSeq(@Param("userId") Long userId, @Param("peerId") Long peerId);
+
+    /**
+     * 查询群组成员的最大已读水位，发送者的水位随发送推进，可据此恢复群组的最新序号
+     *
+     * @param groupId 群组ID
+     * @return 最大已读水位，没有记录时返回 null
+     */
+    Long selectMaxGroupSeq(@Param("groupId") Long groupId);
+
+    /**
+     * 更新已存在的已读水位，只在新水位更大时更新
+     *
+     * @param watermark 已读水位
+     * @return 影响行数
+     */
+    int updateIfGreater(ChatReadWatermark watermark);
+
+    /**
+     * 插入不存在的已读水位
+     *
+     * <p>与 {@link #updateIfGreater} 配合实现只增不减的写入，只用标准SQL，MySQL和H2都能执行，
+     * Druid的SQL统计也能解析。</p>
+     *
+     * @param watermark 已读水位
+     * @return 影响行数
+     */
+    int insertIfAbsent(ChatReadWatermark watermark);
+}
@@ -3,6 +3,7 @@ package com.sakura.poetry.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.Poet;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -34,6 +35,16 @@ public interface PoetMapper extends BaseMapper<Poet> {
      */
     List<Poet> selectPoetList(Poet poet);
     
+    /**
+     * 流式查询待导出的诗人
+     * 
+     * <p>需要在事务内遍历，遍历期间占用一个数据库连接。</p>
+     * 
+     * @param poet 查询条件
+     * @return 诗人游标
+     */
+    Cursor<Poet> selectExportCursor(Poet poet);
+    
     /**
      * 根据朝代ID查询诗人列表
      * 
@@ -3,6 +3,7 @@ package com.sakura.poetry.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.Poetry;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -34,6 +35,16 @@ public interface PoetryMapper extends BaseMapper<Poetry> {
      */
     List<Poetry> selectPoetryList(Poetry poetry);
     
+    /**
+     * 流式查询待导出的诗词
+     * 
+     * <p>需要在事务内遍历，遍历期间占用一个数据库连接。</p>
+     * 
+     * @param poetry 查询条件
+     * @return 诗词游标
+     */
+    Cursor<Poetry> selectExportCursor(Poetry poetry);
+    
     /**
      * 查询热门诗词列表
      * 
@@ -73,4 +84,24 @@ public interface PoetryMapper extends BaseMapper<Poetry> {
      * @return 影响行数
      */
     int incrementCollectCount(@Param("poetryId") Long poetryId);
+    
+    /**
+     * 调整诗词评论次数
+     * 
+     * @param poetryId 诗词ID
+     * @param count 调整的数量，可为负数
+     * @return 影响行数
+     */
+    int incrementCommentCount(@Param("poetryId") Long poetryId, @Param("count") int count);
+    
+    /**
+     * 导入诗词
+     * 
+     * <p>固定列的单行插入，每行生成的SQL完全相同，
+     * 在批处理执行器下可合并为一次JDBC批量提交。</p>
+     * 
+     * @param poetry 诗词信息
+     * @return 影响行数
+     */
+    int insertImported(Poetry poetry);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.sakura.poetry.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.SysLog;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -28,6 +29,20 @@ public interface SysLogMapper extends BaseMapper<SysLog> {
      */
     List<SysLog> selectLogList(@Param("log") SysLog log, @Param("offset") int offset, @Param("limit") int limit);
     
+    /**
+     * 流式查询待导出的日志
+     * 
+     * <p>需要在事务内遍历，遍历期间占用一个数据库连接。</p>
+     * 
+     * @param log 查询条件
+     * @param startTime 开始时间（含），可为空
+     * @param endTime 结束时间（不含），可为空
+     * @return 日志游标
+     */
+    Cursor<SysLog> selectExportCursor(@Param("log") SysLog log,
+                                      @Param("startTime") java.time.LocalDateTime startTime,
+                                      @Param("endTime") java.time.LocalDateTime endTime);
+    
     /**
      * 根据用户ID查询操作日志
      * 
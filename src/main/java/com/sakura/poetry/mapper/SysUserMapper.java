@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.SysUser;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -58,4 +59,14 @@ public interface SysUserMapper extends BaseMapper<SysUser> {
      * @return 影响行数
      */
     int updateLastLoginInfo(@Param("userId") Long userId, @Param("lastLoginIp") String lastLoginIp);
+    
+    /**
+     * 批量查询用户公开资料
+     * 
+     * <p>仅返回ID、用户名、昵称和头像，用于评论等列表的用户信息组装。</p>
+     * 
+     * @param userIds 用户ID列表
+     * @return 用户列表
+     */
+    List<SysUser> selectProfilesByIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
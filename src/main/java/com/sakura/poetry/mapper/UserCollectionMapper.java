@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.UserCollection;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -44,6 +45,20 @@ public interface UserCollectionMapper extends BaseMapper<UserCollection> {
      */
     List<UserCollection> selectByUserAndFolder(@Param("userId") Long userId, @Param("folderId") Long folderId);
     
+    /**
+     * 按游标分页查询用户的收藏列表
+     * 
+     * <p>以收藏ID倒序作为游标，翻页代价与页码无关。</p>
+     * 
+     * @param userId 用户ID
+     * @param folderId 收藏夹ID，为空时查询全部
+     * @param cursor 上一页最后一条收藏ID，为空时从最新开始
+     * @param limit 限制数量
+     * @return 收藏列表
+     */
+    List<UserCollection> selectPageByUser(@Param("userId") Long userId, @Param("folderId") Long folderId,
+                                          @Param("cursor") Long cursor, @Param("limit") int limit);
+    
     /**
      * 删除用户的收藏记录
      * 
@@ -52,4 +67,15 @@ public interface UserCollectionMapper extends BaseMapper<UserCollection> {
      * @return 影响行数
      */
     int deleteByUserAndPoetry(@Param("userId") Long userId, @Param("poetryId") Long poetryId);
+    
+    /**
+     * 批量查询用户已收藏的诗词ID
+     * 
+     * <p>基于唯一索引 uk_user_poetry 的 IN 查询，用于列表页一次性判断多首诗词的收藏状态。</p>
+     * 
+     * @param userId 用户ID
+     * @param poetryIds 诗词ID列表
+     * @return 已收藏的诗词ID列表
+     */
+    List<Long> selectCollectedPoetryIds(@Param("userId") Long userId, @Param("poetryIds") Collection<Long> poetryIds);
 }
\ No newline at end of file
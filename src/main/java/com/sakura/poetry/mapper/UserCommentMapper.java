@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.UserComment;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -44,6 +45,16 @@ public interface UserCommentMapper extends BaseMapper<UserComment> {
      */
     List<UserComment> selectRepliesByParentId(@Param("parentId") Long parentId);
     
+    /**
+     * 批量查询多个父评论下的回复列表
+     * 
+     * <p>按父评论ID、创建时间升序返回，用于一次性组装一页评论线程。</p>
+     * 
+     * @param parentIds 父评论ID列表
+     * @return 回复列表
+     */
+    List<UserComment> selectRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+    
     /**
      * 增加评论的点赞数
      * 
@@ -61,4 +72,12 @@ public interface UserCommentMapper extends BaseMapper<UserComment> {
      * @return 影响行数
      */
     int incrementReplyCount(@Param("commentId") Long commentId, @Param("count") int count);
+    
+    /**
+     * 逻辑删除顶级评论下的全部回复
+     * 
+     * @param parentId 顶级评论ID
+     * @return 删除的回复数
+     */
+    int deleteRepliesByParentId(@Param("parentId") Long parentId);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sakura.poetry.entity.UserLike;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -54,4 +55,16 @@ public interface UserLikeMapper extends BaseMapper<UserLike> {
      * @return 影响行数
      */
     int deleteByUserAndTarget(@Param("userId") Long userId, @Param("targetType") Integer targetType, @Param("targetId") Long targetId);
+    
+    /**
+     * 批量查询用户已点赞的目标ID
+     * 
+     * <p>基于唯一索引 uk_user_target 的 IN 查询，用于列表页一次性判断多个目标的点赞状态。</p>
+     * 
+     * @param userId 用户ID
+     * @param targetType 目标类型
+     * @param targetIds 目标ID列表
+     * @return 已点赞的目标ID列表
+     */
+    List<Long> selectLikedTargetIds(@Param("userId") Long userId, @Param("targetType") Integer targetType, @Param("targetIds") Collection<Long> targetIds);
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.sakura.poetry.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapper语句计时拦截器
+ * 
+ * <p>拦截 {@link Executor} 的查询与更新，按语句记录计时器 {@code poetry.mapper.statements}，
+ * 标签为 statement（去掉包名的语句ID，如 {@code PoetryMapper.selectHotPoetry}）、command（select、insert 等）
+ * 和 exception。语句ID是有限集合，不会产生高基数标签。</p>
+ * 
+ * <p>分页等插件会在拦截链中再次调用 Executor 的查询方法，这里用线程内的嵌套深度只记录最外层的一次调用。
+ * 游标查询只统计打开游标的耗时，逐行读取的时间计入调用方的服务层计时器。
+ * 同一次计时结果也交给 {@link SlowQueryLog} 判断是否记录为慢SQL。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private static final String NO_EXCEPTION = "none";
+
+    /**
+     * 当前线程的拦截嵌套深度
+     */
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    /**
+     * 语句ID -> 成功执行的计时器
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            return invocation.proceed();
+        }
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : null;
+        long start = System.nanoTime();
+        depth[0]++;
+        try {
+            Object result = invocation.proceed();
+            long elapsed = System.nanoTime() - start;
+            timers.computeIfAbsent(statement.getId(), id -> timer(statement, NO_EXCEPTION))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            slowQueryLog.record(statement, args[1], boundSql, elapsed, null);
+            return result;
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            timer(statement, e.getClass().getSimpleName()).record(elapsed, TimeUnit.NANOSECONDS);
+            slowQueryLog.record(statement, args[1], boundSql, elapsed, e);
+            throw e;
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    private Timer timer(MappedStatement statement, String exception) {
+        return Timer.builder("poetry.mapper.statements")
+                .description("Mapper语句执行耗时")
+                .tag("statement", shortId(statement.getId()))
+                .tag("command", statement.getSqlCommandType().name().toLowerCase())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 去掉语句ID中的包名，保留 Mapper 类名与方法名
+     */
+    private static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+}
@@ -0,0 +1,148 @@
+package com.sakura.poetry.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 服务层调用计时切面
+ * 
+ * <p>为所有 {@code *ServiceImpl} 的公共方法、MinIO 调用和 IP 解析记录计时器：</p>
+ * <ul>
+ *   <li>{@code poetry.service.calls} - 标签 class、method、exception</li>
+ *   <li>{@code poetry.minio.calls} - 标签 operation、exception</li>
+ *   <li>{@code poetry.ip.lookups} - 标签 result（hit、miss）</li>
+ * </ul>
+ * 
+ * <p>标签值只取类名、方法名和异常类名，不包含任何请求参数，时间序列数量由代码本身决定。
+ * 成功调用的计时器按目标类与方法缓存，避免每次调用都重新构造指标ID；抛出异常的调用较少，直接注册。
+ * 同一对象内部的自调用不经过代理，不会被计时。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    private static final String NO_EXCEPTION = "none";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 成功调用的计时器缓存
+     */
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private Timer ipHitTimer;
+
+    private Timer ipMissTimer;
+
+    /**
+     * 计时器缓存键
+     * 
+     * @param name 指标名
+     * @param type 目标类
+     * @param method 方法
+     */
+    private record TimerKey(String name, Class<?> type, Method method) {
+    }
+
+    @PostConstruct
+    public void init() {
+        ipHitTimer = ipLookupTimer("hit");
+        ipMissTimer = ipLookupTimer("miss");
+    }
+
+    /**
+     * 服务实现类的公共方法
+     * 
+     * @param joinPoint 连接点
+     * @return 方法返回值
+     * @throws Throwable 方法抛出的异常
+     */
+    @Around("execution(public * com.sakura.poetry.service.impl.*ServiceImpl.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("poetry.service.calls", joinPoint, true);
+    }
+
+    /**
+     * MinIO 对象存储调用
+     * 
+     * @param joinPoint 连接点
+     * @return 方法返回值
+     * @throws Throwable 方法抛出的异常
+     */
+    @Around("execution(public * com.sakura.poetry.service.MinioService.*(..))")
+    public Object timeMinioCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("poetry.minio.calls", joinPoint, false);
+    }
+
+    /**
+     * IP 归属地解析，解析失败时返回 null，因此按结果区分命中与未命中
+     * 
+     * @param joinPoint 连接点
+     * @return 解析结果
+     * @throws Throwable 方法抛出的异常
+     */
+    @Around("execution(public * com.sakura.poetry.utils.Ip2RegionUtil.parseIp(..))")
+    public Object timeIpLookup(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result = joinPoint.proceed();
+        (result != null ? ipHitTimer : ipMissTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Timer ipLookupTimer(String result) {
+        return Timer.builder("poetry.ip.lookups")
+                .description("IP归属地解析耗时")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint, boolean withClass) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Class<?> type = AopUtils.getTargetClass(joinPoint.getTarget());
+            timers.computeIfAbsent(new TimerKey(name, type, method),
+                            key -> timer(name, type, method, NO_EXCEPTION, withClass))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Class<?> type = AopUtils.getTargetClass(joinPoint.getTarget());
+            timer(name, type, method, e.getClass().getSimpleName(), withClass)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(String name, Class<?> type, Method method, String exception, boolean withClass) {
+        Timer.Builder builder = Timer.builder(name).tag("exception", exception);
+        if (withClass) {
+            builder.description("服务层方法耗时")
+                    .tag("class", type.getSimpleName())
+                    .tag("method", method.getName());
+        } else {
+            builder.description("MinIO调用耗时")
+                    .tag("operation", method.getName());
+        }
+        return builder.register(meterRegistry);
+    }
+}
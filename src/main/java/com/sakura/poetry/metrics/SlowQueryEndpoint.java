@@ -0,0 +1,49 @@
+package com.sakura.poetry.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 慢SQL管理端点
+ * 
+ * <p>{@code GET /actuator/slowqueries?limit=20} 返回最近记录的慢SQL中最慢的若干条，
+ * {@code DELETE /actuator/slowqueries} 清空记录。与其他管理端点一样需要管理员权限。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    /**
+     * 查询最慢的语句
+     * 
+     * @param limit 返回条数，默认20
+     * @return 按耗时倒序排列的慢SQL记录
+     */
+    @ReadOperation
+    public List<SlowQueryRecord> top(@Nullable Integer limit) {
+        return slowQueryLog.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    /**
+     * 清空慢SQL记录
+     */
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+}
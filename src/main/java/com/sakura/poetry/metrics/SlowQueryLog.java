@@ -0,0 +1,142 @@
+package com.sakura.poetry.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * 慢SQL日志
+ * 
+ * <p>由 {@link MapperMetricsInterceptor} 在每条语句执行后调用：</p>
+ * <ul>
+ *   <li>耗时超过 {@code app.sql-log.slow-threshold-millis} 的语句写入环形缓冲，并输出到 {@code SLOW_SQL} 日志；</li>
+ *   <li>其余语句按 {@code app.sql-log.sample-rate} 抽样输出到同一日志，便于了解常规语句的形态。</li>
+ * </ul>
+ * 
+ * <p>{@code SLOW_SQL} 日志在 logback-spring.xml 中配置为异步追加器，队列满时丢弃，不阻塞执行SQL的线程。
+ * 记录只包含带占位符的SQL和参数的名称、类型，参数值一律不记录。环形缓冲通过原子下标覆盖最旧的记录，
+ * 写入无锁；{@link #top(int)} 读取快照后排序，供管理端点查询最慢的语句。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("SLOW_SQL");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 慢SQL阈值（毫秒）
+     */
+    @Value("${app.sql-log.slow-threshold-millis:200}")
+    private long slowThresholdMillis;
+
+    /**
+     * 非慢SQL的抽样比例，0 表示不抽样
+     */
+    @Value("${app.sql-log.sample-rate:0.001}")
+    private double sampleRate;
+
+    private final AtomicReferenceArray<SlowQueryRecord> buffer;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    public SlowQueryLog(@Value("${app.sql-log.buffer-size:256}") int bufferSize) {
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    /**
+     * 记录一次语句执行
+     * 
+     * @param statement 语句
+     * @param parameter 语句参数
+     * @param boundSql 已生成的SQL，拦截点没有时为 null
+     * @param elapsedNanos 执行耗时（纳秒）
+     * @param exception 执行失败时的异常，成功为 null
+     */
+    public void record(MappedStatement statement, Object parameter, BoundSql boundSql, long elapsedNanos, Throwable exception) {
+        boolean slow = elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        SlowQueryRecord record;
+        try {
+            BoundSql sql = boundSql != null ? boundSql : statement.getBoundSql(parameter);
+            record = new SlowQueryRecord(statement.getId(), WHITESPACE.matcher(sql.getSql()).replaceAll(" ").trim(),
+                    describe(sql.getParameterMappings()), Math.round(elapsedNanos / 1_000.0) / 1_000.0,
+                    exception != null ? exception.getClass().getSimpleName() : null, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.debug("生成SQL记录失败: {}", statement.getId(), e);
+            return;
+        }
+        if (slow) {
+            buffer.set((int) (cursor.getAndIncrement() % buffer.length()), record);
+            SQL_LOG.warn("slow {}ms {} {} params={}{}", record.getElapsedMillis(), record.getStatement(),
+                    record.getSql(), record.getParameters(), exception != null ? " exception=" + record.getException() : "");
+        } else {
+            SQL_LOG.info("sampled {}ms {} {} params={}", record.getElapsedMillis(), record.getStatement(),
+                    record.getSql(), record.getParameters());
+        }
+    }
+
+    /**
+     * 查询环形缓冲中最慢的语句
+     * 
+     * @param limit 返回条数
+     * @return 按耗时倒序排列的慢SQL记录
+     */
+    public List<SlowQueryRecord> top(int limit) {
+        List<SlowQueryRecord> records = new ArrayList<>(buffer.length());
+        for (int i = 0; i < buffer.length(); i++) {
+            SlowQueryRecord record = buffer.get(i);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records.stream()
+                .sorted(Comparator.comparingDouble(SlowQueryRecord::getElapsedMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 清空环形缓冲
+     */
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    /**
+     * 参数只保留名称与类型，如 {@code limit:Integer}
+     */
+    private static List<String> describe(List<ParameterMapping> mappings) {
+        List<String> parameters = new ArrayList<>(mappings.size());
+        for (ParameterMapping mapping : mappings) {
+            Class<?> type = mapping.getJavaType();
+            parameters.add(mapping.getProperty() + ":" + (Objects.equals(type, Object.class) ? "?" : type.getSimpleName()));
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sakura.poetry.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 慢SQL记录
+ * 
+ * <p>只保存带占位符的SQL与参数的名称和类型，不保存参数值。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@AllArgsConstructor
+public class SlowQueryRecord {
+
+    /**
+     * 语句ID
+     */
+    private String statement;
+
+    /**
+     * 压缩空白后的SQL，参数位置保留为 ?
+     */
+    private String sql;
+
+    /**
+     * 参数描述，形如 {@code title:String}
+     */
+    private List<String> parameters;
+
+    /**
+     * 执行耗时（毫秒）
+     */
+    private double elapsedMillis;
+
+    /**
+     * 执行失败时的异常类名，成功为 null
+     */
+    private String exception;
+
+    /**
+     * 执行完成时间
+     */
+    private LocalDateTime time;
+}
@@ -0,0 +1,288 @@
+package com.sakura.poetry.metrics;
+
+import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.websocket.nio.NioChatSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket指标
+ * 
+ * <ul>
+ *   <li>{@code poetry.websocket.sessions} - 当前会话数</li>
+ *   <li>{@code poetry.websocket.events} - 连接、断开、传输错误、发送失败、空闲超时关闭、集群转发与接收、离线消息保存/丢弃/过期次数，标签 event</li>
+ *   <li>{@code poetry.websocket.offline.users} / {@code poetry.websocket.offline.bytes} - 有离线消息的用户数与离线消息估算字节数</li>
+ *   <li>{@code poetry.websocket.messages} - 入站消息处理耗时，标签 type（消息类型，无法解析时为 invalid）</li>
+ *   <li>{@code poetry.websocket.payload} - 收发的消息负载字节数（压缩前），标签 direction（in/out）、format（json/binary）</li>
+ *   <li>{@code poetry.websocket.wire} - 独立NIO聊天服务在套接字上实际读写的字节数，含握手、帧头和压缩，标签 direction；
+ *       Servlet端点由Tomcat直接读写套接字，不在统计范围内</li>
+ * </ul>
+ * 
+ * <p>全部计数器和计时器在构造时创建，记录时只做一次字段或数组访问。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Component
+public class WebSocketMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter connected;
+
+    private final Counter disconnected;
+
+    private final Counter transportErrors;
+
+    private final Counter sendFailures;
+
+    private final Counter idleCloses;
+
+    private final Counter clusterRelays;
+
+    private final Counter clusterReceives;
+
+    private final Counter offlineStores;
+
+    private final Counter offlineDrops;
+
+    private final Counter offlineExpirations;
+
+    private final Map<MessageType, Timer> messageTimers = new EnumMap<>(MessageType.class);
+
+    private final Timer invalidMessageTimer;
+
+    private final Counter jsonBytesReceived;
+
+    private final Counter binaryBytesReceived;
+
+    private final Counter jsonBytesSent;
+
+    private final Counter binaryBytesSent;
+
+    private final Counter wireBytesReceived;
+
+    private final Counter wireBytesSent;
+
+    public WebSocketMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.connected = eventCounter("connect");
+        this.disconnected = eventCounter("disconnect");
+        this.transportErrors = eventCounter("transport_error");
+        this.sendFailures = eventCounter("send_failure");
+        this.idleCloses = eventCounter("idle_close");
+        this.clusterRelays = eventCounter("cluster_relay");
+        this.clusterReceives = eventCounter("cluster_receive");
+        this.offlineStores = eventCounter("offline_store");
+        this.offlineDrops = eventCounter("offline_drop");
+        this.offlineExpirations = eventCounter("offline_expire");
+        for (MessageType type : MessageType.values()) {
+            messageTimers.put(type, messageTimer(type.getValue()));
+        }
+        this.invalidMessageTimer = messageTimer("invalid");
+        this.jsonBytesReceived = payloadCounter("in", "json");
+        this.binaryBytesReceived = payloadCounter("in", "binary");
+        this.jsonBytesSent = payloadCounter("out", "json");
+        this.binaryBytesSent = payloadCounter("out", "binary");
+        this.wireBytesReceived = wireCounter("in");
+        this.wireBytesSent = wireCounter("out");
+    }
+
+    /**
+     * 注册当前会话数与发送缓冲积压指标
+     * 
+     * @param sessions 会话表，指标只持有其弱引用
+     */
+    public void bindSessions(Map<String, ?> sessions) {
+        Gauge.builder("poetry.websocket.sessions", sessions, Map::size)
+                .description("当前WebSocket会话数")
+                .register(meterRegistry);
+        Gauge.builder("poetry.websocket.send.buffer", sessions, WebSocketMetrics::bufferedBytes)
+                .description("全部会话中等待写出的消息字节数")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 注册离线消息指标
+     * 
+     * @param inboxes 离线收件箱，key 为用户ID
+     * @param totalBytes 离线消息估算字节数
+     */
+    public void bindOfflineInbox(Map<Long, ?> inboxes, AtomicLong totalBytes) {
+        Gauge.builder("poetry.websocket.offline.users", inboxes, Map::size)
+                .description("有离线消息的用户数")
+                .register(meterRegistry);
+        Gauge.builder("poetry.websocket.offline.bytes", totalBytes, AtomicLong::get)
+                .description("离线消息估算占用的字节数")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void connected() {
+        connected.increment();
+    }
+
+    public void disconnected() {
+        disconnected.increment();
+    }
+
+    public void transportError() {
+        transportErrors.increment();
+    }
+
+    public void sendFailed() {
+        sendFailures.increment();
+    }
+
+    /**
+     * 记录一次因空闲超时关闭的会话
+     */
+    public void idleClosed() {
+        idleCloses.increment();
+    }
+
+    /**
+     * 记录一次发往其他节点的转发，群聊消息每个目标节点计一次
+     */
+    public void clusterRelayed() {
+        clusterRelays.increment();
+    }
+
+    /**
+     * 记录一次收到其他节点发来的集群消息
+     */
+    public void clusterReceived() {
+        clusterReceives.increment();
+    }
+
+    public void offlineStored() {
+        offlineStores.increment();
+    }
+
+    /**
+     * 记录一条因收件箱或总量超限而丢弃的离线消息
+     */
+    public void offlineDropped() {
+        offlineDrops.increment();
+    }
+
+    /**
+     * 记录多条因收件箱超限而丢弃的离线消息
+     *
+     * @param count 丢弃的条数
+     */
+    public void offlineDropped(long count) {
+        offlineDrops.increment(count);
+    }
+
+    public void offlineExpired() {
+        offlineExpirations.increment();
+    }
+
+    /**
+     * 记录一条入站消息的处理耗时
+     * 
+     * @param type 消息类型，无法解析时为 null
+     * @param startNanos 开始处理的 {@link System#nanoTime()}
+     */
+    public void messageHandled(MessageType type, long startNanos) {
+        Timer timer = type != null ? messageTimers.get(type) : invalidMessageTimer;
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录收到一条消息的负载字节数
+     * 
+     * @param binary 是否为二进制帧
+     * @param bytes 字节数
+     */
+    public void payloadReceived(boolean binary, int bytes) {
+        (binary ? binaryBytesReceived : jsonBytesReceived).increment(bytes);
+    }
+
+    /**
+     * 记录发出一条消息的负载字节数
+     * 
+     * @param binary 是否为二进制帧
+     * @param bytes 字节数
+     */
+    public void payloadSent(boolean binary, int bytes) {
+        (binary ? binaryBytesSent : jsonBytesSent).increment(bytes);
+    }
+
+    /**
+     * 记录从套接字读取的字节数
+     * 
+     * @param bytes 字节数
+     */
+    public void wireReceived(long bytes) {
+        wireBytesReceived.increment(bytes);
+    }
+
+    /**
+     * 记录写入套接字的字节数
+     * 
+     * @param bytes 字节数
+     */
+    public void wireSent(long bytes) {
+        wireBytesSent.increment(bytes);
+    }
+
+    /**
+     * 汇总各会话发送缓冲中的待写字节数，统计 {@link ConcurrentWebSocketSessionDecorator} 的缓冲
+     * 和 {@link NioChatSession} 的出站队列
+     */
+    private static double bufferedBytes(Map<String, ?> sessions) {
+        long total = 0;
+        for (Object session : sessions.values()) {
+            if (session instanceof ConcurrentWebSocketSessionDecorator decorator) {
+                total += decorator.getBufferSize();
+            } else if (session instanceof NioChatSession nioSession) {
+                total += nioSession.getBufferedBytes();
+            }
+        }
+        return total;
+    }
+
+    private Counter eventCounter(String event) {
+        return Counter.builder("poetry.websocket.events")
+                .description("WebSocket连接事件次数")
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+
+    private Counter payloadCounter(String direction, String format) {
+        return Counter.builder("poetry.websocket.payload")
+                .description("WebSocket消息负载字节数（压缩前）")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    private Counter wireCounter(String direction) {
+        return Counter.builder("poetry.websocket.wire")
+                .description("NIO聊天服务套接字读写字节数")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private Timer messageTimer(String type) {
+        return Timer.builder("poetry.websocket.messages")
+                .description("WebSocket入站消息处理耗时")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
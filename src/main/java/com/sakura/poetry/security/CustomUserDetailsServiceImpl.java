@@ -5,7 +5,6 @@ import com.sakura.poetry.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -66,15 +65,7 @@ public class CustomUserDetailsServiceImpl implements UserDetailsService {
             authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
         }
         
-        // 创建并返回UserDetails对象
-        return User.builder()
-                .username(sysUser.getUsername())
-                .password(sysUser.getPassword())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!enabled)
-                .build();
+        // 创建并返回UserDetails对象，携带用户ID供接口识别当前用户
+        return new LoginUser(sysUser.getId(), sysUser.getUsername(), sysUser.getPassword(), enabled, authorities);
     }
 }
\ No newline at end of file
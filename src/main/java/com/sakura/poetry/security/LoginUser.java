@@ -0,0 +1,43 @@
+package com.sakura.poetry.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * 登录用户
+ * 
+ * <p>在Spring Security用户信息之外携带用户ID，接口通过 {@link com.sakura.poetry.utils.SecurityUtil}
+ * 取得当前用户，不再信任请求参数中的用户ID。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Getter
+public class LoginUser extends User {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param password 密码
+     * @param enabled 是否启用
+     * @param authorities 权限列表
+     */
+    public LoginUser(Long userId, String username, String password, boolean enabled,
+                     Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+    }
+}
@@ -36,6 +36,8 @@ public interface CollectionFolderService extends IService<CollectionFolder> {
     /**
      * 增加收藏夹中的诗词数量
      * 
+     * <p>收藏、取消收藏时数量已由服务端自动维护，此方法仅用于人工校正。</p>
+     * 
      * @param folderId 收藏夹ID
      * @param count 增加的数量
      * @return 是否增加成功
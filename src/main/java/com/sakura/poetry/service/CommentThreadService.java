@@ -0,0 +1,30 @@
+package com.sakura.poetry.service;
+
+import com.sakura.poetry.vo.CommentListVO;
+
+import java.util.List;
+
+/**
+ * 评论线程服务接口
+ * 
+ * <p>将一页顶级评论及其回复组装为 {@link CommentListVO} 线程，并附带用户昵称与头像。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface CommentThreadService {
+
+    /**
+     * 查询诗词的评论线程（分页）
+     * 
+     * <p>固定三次查询：顶级评论、全部回复、用户资料；结果按诗词分页缓存。</p>
+     * 
+     * @param poetryId 诗词ID
+     * @param offset 偏移量
+     * @param limit 限制数量
+     * @param userId 当前用户ID，不为空时填充点赞标记
+     * @return 评论线程列表
+     */
+    List<CommentListVO> getCommentThreads(Long poetryId, int offset, int limit, Long userId);
+}
@@ -0,0 +1,58 @@
+package com.sakura.poetry.service;
+
+import com.sakura.poetry.entity.Poet;
+import com.sakura.poetry.entity.Poetry;
+import com.sakura.poetry.entity.SysLog;
+import com.sakura.poetry.exporter.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * 数据导出服务接口
+ * 
+ * <p>以游标逐行读取数据库并直接写入输出流，内存占用与导出行数无关。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface DataExportService {
+
+    /**
+     * 导出诗词
+     * 
+     * @param query 查询条件
+     * @param format 导出格式
+     * @param out 输出流，调用方负责关闭
+     * @return 导出行数
+     * @throws IOException 写入失败
+     */
+    long exportPoetry(Poetry query, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * 导出诗人
+     * 
+     * @param query 查询条件
+     * @param format 导出格式
+     * @param out 输出流，调用方负责关闭
+     * @return 导出行数
+     * @throws IOException 写入失败
+     */
+    long exportPoets(Poet query, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * 导出系统日志
+     * 
+     * @param query 查询条件
+     * @param startTime 开始时间（含），可为空
+     * @param endTime 结束时间（不含），可为空
+     * @param format 导出格式
+     * @param out 输出流，调用方负责关闭
+     * @return 导出行数
+     * @throws IOException 写入失败
+     */
+    long exportLogs(SysLog query, LocalDateTime startTime, LocalDateTime endTime,
+                    ExportFormat format, OutputStream out) throws IOException;
+}
@@ -58,7 +58,7 @@ public class MinioService {
                             .build()
             );
 
-            log.info("文件上传成功: bucket={}, object={}", bucketName, objectName);
+            log.debug("文件上传成功: bucket={}, object={}", bucketName, objectName);
             
             // 获取文件访问URL
             String url = getFileUrl(objectName);
@@ -108,7 +108,7 @@ public class MinioService {
                             .build()
             );
 
-            log.info("文件上传成功: bucket={}, object={}", bucketName, objectName);
+            log.debug("文件上传成功: bucket={}, object={}", bucketName, objectName);
             
             // 获取文件访问URL
             String url = getFileUrl(objectName);
@@ -144,7 +144,7 @@ public class MinioService {
                             .build()
             );
 
-            log.info("文件下载成功: bucket={}, object={}", bucketName, objectName);
+            log.debug("文件下载成功: bucket={}, object={}", bucketName, objectName);
             return response;
         } catch (Exception e) {
             log.error("文件下载失败: bucket={}, object={}", bucketName, objectName, e);
@@ -167,7 +167,7 @@ public class MinioService {
                             .build()
             );
 
-            log.info("文件删除成功: bucket={}, object={}", bucketName, objectName);
+            log.debug("文件删除成功: bucket={}, object={}", bucketName, objectName);
         } catch (Exception e) {
             log.error("文件删除失败: bucket={}, object={}", bucketName, objectName, e);
             throw e;
@@ -192,7 +192,7 @@ public class MinioService {
                             .build()
             );
 
-            log.info("获取文件URL成功: bucket={}, object={}", bucketName, objectName);
+            log.debug("获取文件URL成功: bucket={}, object={}", bucketName, objectName);
             return url;
         } catch (Exception e) {
             log.error("获取文件URL失败: bucket={}, object={}", bucketName, objectName, e);
@@ -236,7 +236,7 @@ public class MinioService {
                             .build()
             );
 
-            log.info("获取文件信息成功: bucket={}, object={}", bucketName, objectName);
+            log.debug("获取文件信息成功: bucket={}, object={}", bucketName, objectName);
             return stat;
         } catch (Exception e) {
             log.error("获取文件信息失败: bucket={}, object={}", bucketName, objectName, e);
@@ -0,0 +1,51 @@
+package com.sakura.poetry.service;
+
+import com.sakura.poetry.dto.PoetryImportDTO;
+import com.sakura.poetry.vo.PoetryImportStatusVO;
+
+import java.util.List;
+
+/**
+ * 诗词批量导入服务接口
+ * 
+ * <p>流式读取 JSON Lines 或 CSV 语料，按分块并行写入，支持断点续传与进度查询。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface PoetryImportService {
+
+    /**
+     * 发起导入任务
+     * 
+     * @param importDTO 导入参数
+     * @return 任务初始进度
+     */
+    PoetryImportStatusVO startImport(PoetryImportDTO importDTO);
+
+    /**
+     * 查询导入进度
+     * 
+     * @param jobId 任务ID
+     * @return 导入进度
+     */
+    PoetryImportStatusVO getImportStatus(String jobId);
+
+    /**
+     * 查询全部导入任务
+     * 
+     * @return 导入进度列表
+     */
+    List<PoetryImportStatusVO> listImports();
+
+    /**
+     * 取消导入任务
+     * 
+     * <p>已提交的分块会继续完成并记入断点，之后可续传。</p>
+     * 
+     * @param jobId 任务ID
+     * @return 是否取消成功
+     */
+    boolean cancelImport(String jobId);
+}
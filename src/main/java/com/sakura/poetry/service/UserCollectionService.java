@@ -1,9 +1,13 @@
 package com.sakura.poetry.service;
 
+import com.sakura.poetry.dto.PoetryCollectionDTO;
 import com.sakura.poetry.entity.UserCollection;
+import com.sakura.poetry.vo.CursorPageVO;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户收藏服务接口
@@ -43,17 +47,42 @@ public interface UserCollectionService extends IService<UserCollection> {
      */
     List<UserCollection> getCollectionByUserAndFolder(Long userId, Long folderId);
     
+    /**
+     * 按游标分页查询用户的收藏列表
+     * 
+     * @param userId 用户ID
+     * @param folderId 收藏夹ID，为空时查询全部
+     * @param cursor 上一页返回的游标，为空时从最新开始
+     * @param limit 每页数量
+     * @return 收藏分页
+     */
+    CursorPageVO<UserCollection> getCollectionPage(Long userId, Long folderId, Long cursor, int limit);
+    
     /**
      * 创建收藏
      * 
+     * <p>同一事务内累加所在收藏夹的诗词数量；重复收藏返回false。</p>
+     * 
      * @param userCollection 收藏信息
      * @return 是否创建成功
      */
     boolean createCollection(UserCollection userCollection);
     
+    /**
+     * 收藏诗词
+     * 
+     * <p>已收藏时直接返回原有收藏记录。</p>
+     * 
+     * @param collectionDTO 收藏信息
+     * @return 收藏记录
+     */
+    UserCollection collectPoetry(PoetryCollectionDTO collectionDTO);
+    
     /**
      * 删除用户的收藏记录
      * 
+     * <p>同一事务内扣减所在收藏夹的诗词数量。</p>
+     * 
      * @param userId 用户ID
      * @param poetryId 诗词ID
      * @return 是否删除成功
@@ -67,4 +96,13 @@ public interface UserCollectionService extends IService<UserCollection> {
      * @return 是否删除成功
      */
     boolean deleteCollection(Long collectionId);
+    
+    /**
+     * 批量查询用户已收藏的诗词ID
+     * 
+     * @param userId 用户ID
+     * @param poetryIds 诗词ID列表
+     * @return 已收藏的诗词ID集合
+     */
+    Set<Long> getCollectedPoetryIds(Long userId, Collection<Long> poetryIds);
 }
\ No newline at end of file
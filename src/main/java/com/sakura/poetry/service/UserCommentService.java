@@ -1,5 +1,6 @@
 package com.sakura.poetry.service;
 
+import com.sakura.poetry.dto.CommentCreateDTO;
 import com.sakura.poetry.entity.UserComment;
 import com.baomidou.mybatisplus.extension.service.IService;
 
@@ -55,6 +56,8 @@ public interface UserCommentService extends IService<UserComment> {
     /**
      * 增加评论的回复数
      * 
+     * <p>新增、删除评论时回复数已由服务端自动维护，此方法仅用于人工校正。</p>
+     * 
      * @param commentId 评论ID
      * @param count 增加的数量
      * @return 是否增加成功
@@ -64,11 +67,25 @@ public interface UserCommentService extends IService<UserComment> {
     /**
      * 创建评论
      * 
+     * <p>事务提交后自动累加父评论回复数与诗词评论数。</p>
+     * 
      * @param userComment 评论信息
      * @return 是否创建成功
      */
     boolean createComment(UserComment userComment);
     
+    /**
+     * 发布评论或回复
+     * 
+     * <p>校正父评论归属后写入评论，计数增量经写回缓冲合并后批量落库。</p>
+     * 
+     * @param createDTO 评论创建信息
+     * @param ipAddress 客户端IP地址
+     * @param userAgent 客户端用户代理
+     * @return 已创建的评论
+     */
+    UserComment publishComment(CommentCreateDTO createDTO, String ipAddress, String userAgent);
+    
     /**
      * 更新评论信息
      * 
@@ -78,7 +95,7 @@ public interface UserCommentService extends IService<UserComment> {
     boolean updateComment(UserComment userComment);
     
     /**
-     * 删除评论（逻辑删除）
+     * 删除评论（逻辑删除），删除顶级评论时其下的回复一并删除
      * 
      * @param commentId 评论ID
      * @return 是否删除成功
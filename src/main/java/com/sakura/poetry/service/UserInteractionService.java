@@ -0,0 +1,42 @@
+package com.sakura.poetry.service;
+
+import com.sakura.poetry.vo.InteractionFlagAware;
+import com.sakura.poetry.vo.InteractionStatusVO;
+
+import java.util.List;
+
+/**
+ * 用户交互状态服务接口
+ * 
+ * <p>聚合点赞与收藏的批量查询，列表页渲染时以固定次数的 IN 查询
+ * 取代逐条调用 {@link UserLikeService#getLikeByUserAndTarget} 与
+ * {@link UserCollectionService#getCollectionByUserAndPoetry}。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface UserInteractionService {
+
+    /**
+     * 批量查询用户对目标的交互状态
+     * 
+     * @param userId 用户ID
+     * @param targetType 目标类型
+     * @param targetIds 目标ID列表
+     * @return 交互状态
+     */
+    InteractionStatusVO getInteractionStatus(Long userId, Integer targetType, List<Long> targetIds);
+
+    /**
+     * 为列表VO批量填充点赞、收藏标记
+     * 
+     * <p>评论列表会同时填充嵌套回复的标记。</p>
+     * 
+     * @param userId 用户ID，为空时全部标记为未交互
+     * @param targetType 目标类型
+     * @param items 列表VO
+     * @param <T> VO类型
+     */
+    <T extends InteractionFlagAware> void fillInteractionFlags(Long userId, Integer targetType, List<T> items);
+}
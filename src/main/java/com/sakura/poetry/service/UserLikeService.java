@@ -3,7 +3,9 @@ package com.sakura.poetry.service;
 import com.sakura.poetry.entity.UserLike;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户点赞服务接口
@@ -69,4 +71,14 @@ public interface UserLikeService extends IService<UserLike> {
      * @return 是否删除成功
      */
     boolean deleteLike(Long likeId);
+    
+    /**
+     * 批量查询用户已点赞的目标ID
+     * 
+     * @param userId 用户ID
+     * @param targetType 目标类型
+     * @param targetIds 目标ID列表
+     * @return 已点赞的目标ID集合
+     */
+    Set<Long> getLikedTargetIds(Long userId, Integer targetType, Collection<Long> targetIds);
 }
\ No newline at end of file
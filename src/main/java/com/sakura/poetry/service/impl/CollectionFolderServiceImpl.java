@@ -1,8 +1,10 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.UserFolderCache;
 import com.sakura.poetry.entity.CollectionFolder;
 import com.sakura.poetry.mapper.CollectionFolderMapper;
 import com.sakura.poetry.service.CollectionFolderService;
+import com.sakura.poetry.utils.TransactionUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,7 +14,9 @@ import java.util.List;
 /**
  * 收藏夹服务实现类
  * 
- * <p>收藏夹业务逻辑实现类，实现收藏夹相关的业务操作方法。</p>
+ * <p>收藏夹业务逻辑实现类，实现收藏夹相关的业务操作方法。
+ * 用户的收藏夹列表经 {@link UserFolderCache} 缓存，收藏夹增删改在事务提交后失效，
+ * 避免并发读取在提交前把旧数据回填到缓存。</p>
  * 
  * @author Sakura Huang
  * @version 1.0.0
@@ -24,9 +28,18 @@ public class CollectionFolderServiceImpl extends ServiceImpl<CollectionFolderMap
     @Autowired
     private CollectionFolderMapper folderMapper;
     
+    @Autowired
+    private UserFolderCache folderCache;
+    
     @Override
     public List<CollectionFolder> getFolderByUserId(Long userId) {
-        return folderMapper.selectByUserId(userId);
+        List<CollectionFolder> folders = folderCache.get(userId);
+        if (folders == null) {
+            Object token = folderCache.loadToken(userId);
+            folders = folderMapper.selectByUserId(userId);
+            folderCache.put(token, userId, folders);
+        }
+        return folders;
     }
     
     @Override
@@ -36,21 +49,50 @@ public class CollectionFolderServiceImpl extends ServiceImpl<CollectionFolderMap
     
     @Override
     public boolean incrementPoetryCount(Long folderId, int count) {
-        return folderMapper.incrementPoetryCount(folderId, count) > 0;
+        boolean result = folderMapper.incrementPoetryCount(folderId, count) > 0;
+        evictOwner(folderId);
+        return result;
     }
     
     @Override
     public boolean createFolder(CollectionFolder collectionFolder) {
-        return this.save(collectionFolder);
+        boolean result = this.save(collectionFolder);
+        evict(collectionFolder.getUserId());
+        return result;
     }
     
     @Override
     public boolean updateFolder(CollectionFolder collectionFolder) {
-        return this.updateById(collectionFolder);
+        boolean result = this.updateById(collectionFolder);
+        evictOwner(collectionFolder.getId());
+        return result;
     }
     
     @Override
     public boolean deleteFolder(Long folderId) {
-        return this.removeById(folderId);
+        // 逻辑删除后按ID查不到收藏夹，需先取得所属用户
+        CollectionFolder folder = folderMapper.selectById(folderId);
+        boolean result = this.removeById(folderId);
+        if (folder != null) {
+            evict(folder.getUserId());
+        }
+        return result;
+    }
+    
+    /**
+     * 使收藏夹所属用户的缓存失效
+     */
+    private void evictOwner(Long folderId) {
+        CollectionFolder folder = folderMapper.selectById(folderId);
+        if (folder != null) {
+            evict(folder.getUserId());
+        }
+    }
+    
+    /**
+     * 在事务提交后使用户的收藏夹缓存失效
+     */
+    private void evict(Long userId) {
+        TransactionUtil.afterCommit(() -> folderCache.invalidate(userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.sakura.poetry.service.impl;
+
+import com.sakura.poetry.cache.CommentThreadCache;
+import com.sakura.poetry.entity.SysUser;
+import com.sakura.poetry.entity.UserComment;
+import com.sakura.poetry.entity.enums.LikeTargetTypeEnum;
+import com.sakura.poetry.mapper.SysUserMapper;
+import com.sakura.poetry.mapper.UserCommentMapper;
+import com.sakura.poetry.service.CommentThreadService;
+import com.sakura.poetry.service.UserInteractionService;
+import com.sakura.poetry.vo.CommentListVO;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 评论线程服务实现类
+ * 
+ * <p>缓存中只保存与用户无关的线程内容，带用户标记的请求在副本上填充，避免污染共享缓存。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Service
+public class CommentThreadServiceImpl implements CommentThreadService {
+
+    @Autowired
+    private UserCommentMapper commentMapper;
+
+    @Autowired
+    private SysUserMapper userMapper;
+
+    @Autowired
+    private UserInteractionService interactionService;
+
+    @Autowired
+    private CommentThreadCache threadCache;
+
+    /**
+     * 单页最多返回的顶级评论数
+     */
+    @Value("${app.comment.max-page-size:50}")
+    private int maxPageSize;
+
+    @Override
+    public List<CommentListVO> getCommentThreads(Long poetryId, int offset, int limit, Long userId) {
+        offset = Math.max(0, offset);
+        limit = Math.clamp(limit, 1, maxPageSize);
+        List<CommentListVO> threads;
+        if (threadCache.isCacheable(offset, limit)) {
+            threads = threadCache.get(poetryId, offset, limit);
+            if (threads == null) {
+                Object token = threadCache.loadToken(poetryId);
+                threads = assemble(poetryId, offset, limit);
+                threadCache.put(token, poetryId, offset, limit, threads);
+            }
+        } else {
+            threads = assemble(poetryId, offset, limit);
+        }
+        if (userId == null) {
+            return threads;
+        }
+        List<CommentListVO> copies = copyThreads(threads);
+        interactionService.fillInteractionFlags(userId, LikeTargetTypeEnum.COMMENT.getValue(), copies);
+        return copies;
+    }
+
+    /**
+     * 组装评论线程
+     */
+    private List<CommentListVO> assemble(Long poetryId, int offset, int limit) {
+        List<UserComment> roots = commentMapper.selectTopLevelComments(poetryId, offset, limit);
+        if (roots.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, UserComment> rootById = new LinkedHashMap<>(roots.size() * 2);
+        for (UserComment root : roots) {
+            rootById.put(root.getId(), root);
+        }
+        List<UserComment> replies = commentMapper.selectRepliesByParentIds(rootById.keySet());
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        roots.forEach(root -> userIds.add(root.getUserId()));
+        replies.forEach(reply -> userIds.add(reply.getUserId()));
+        Map<Long, SysUser> userById = new HashMap<>(userIds.size() * 2);
+        for (SysUser user : userMapper.selectProfilesByIds(userIds)) {
+            userById.put(user.getId(), user);
+        }
+
+        Map<Long, CommentListVO> threadById = new LinkedHashMap<>(roots.size() * 2);
+        for (UserComment root : roots) {
+            CommentListVO rootVO = toVO(root, userById);
+            rootVO.setReplies(new ArrayList<>());
+            threadById.put(root.getId(), rootVO);
+        }
+        for (UserComment reply : replies) {
+            CommentListVO parentVO = threadById.get(reply.getParentId());
+            if (parentVO == null) {
+                continue;
+            }
+            CommentListVO replyVO = toVO(reply, userById);
+            replyVO.setReplyUserId(parentVO.getUserId());
+            replyVO.setReplyUserNickname(parentVO.getUserNickname());
+            parentVO.getReplies().add(replyVO);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(threadById.values()));
+    }
+
+    private CommentListVO toVO(UserComment comment, Map<Long, SysUser> userById) {
+        CommentListVO vo = new CommentListVO();
+        vo.setId(comment.getId());
+        vo.setUserId(comment.getUserId());
+        vo.setPoetryId(comment.getPoetryId());
+        vo.setParentId(comment.getParentId());
+        vo.setContent(comment.getContent());
+        vo.setLikeCount(comment.getLikeCount());
+        vo.setReplyCount(comment.getReplyCount());
+        vo.setStatus(comment.getStatus());
+        vo.setCreatedTime(comment.getCreatedTime());
+        SysUser user = userById.get(comment.getUserId());
+        if (user != null) {
+            vo.setUserNickname(user.getNickname() != null ? user.getNickname() : user.getUsername());
+            vo.setUserAvatar(user.getAvatar());
+        }
+        return vo;
+    }
+
+    private List<CommentListVO> copyThreads(List<CommentListVO> source) {
+        List<CommentListVO> copies = new ArrayList<>(source.size());
+        for (CommentListVO comment : source) {
+            CommentListVO copy = new CommentListVO();
+            BeanUtils.copyProperties(comment, copy, "replies");
+            if (comment.getReplies() != null) {
+                copy.setReplies(copyThreads(comment.getReplies()));
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+}
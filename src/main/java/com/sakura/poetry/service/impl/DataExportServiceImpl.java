@@ -0,0 +1,87 @@
+package com.sakura.poetry.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.entity.Poet;
+import com.sakura.poetry.entity.Poetry;
+import com.sakura.poetry.entity.SysLog;
+import com.sakura.poetry.exporter.ExportFormat;
+import com.sakura.poetry.exporter.ExportRowWriter;
+import com.sakura.poetry.mapper.PoetMapper;
+import com.sakura.poetry.mapper.PoetryMapper;
+import com.sakura.poetry.mapper.SysLogMapper;
+import com.sakura.poetry.service.DataExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * 数据导出服务实现类
+ * 
+ * <p>导出查询在只读事务中打开 MyBatis {@link Cursor}，映射语句使用
+ * {@code fetchSize=Integer.MIN_VALUE}，MySQL 驱动逐行返回结果而不是整体加载。
+ * 每读出一行即写入输出流，游标随事务结束关闭。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Service
+public class DataExportServiceImpl implements DataExportService {
+
+    @Autowired
+    private PoetryMapper poetryMapper;
+
+    @Autowired
+    private PoetMapper poetMapper;
+
+    @Autowired
+    private SysLogMapper sysLogMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPoetry(Poetry query, ExportFormat format, OutputStream out) throws IOException {
+        Poetry condition = query != null ? query : new Poetry();
+        return writeRows(poetryMapper.selectExportCursor(condition), format, out);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPoets(Poet query, ExportFormat format, OutputStream out) throws IOException {
+        Poet condition = query != null ? query : new Poet();
+        return writeRows(poetMapper.selectExportCursor(condition), format, out);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportLogs(SysLog query, LocalDateTime startTime, LocalDateTime endTime,
+                           ExportFormat format, OutputStream out) throws IOException {
+        SysLog condition = query != null ? query : new SysLog();
+        return writeRows(sysLogMapper.selectExportCursor(condition, startTime, endTime), format, out);
+    }
+
+    /**
+     * 遍历游标写出全部行
+     */
+    private long writeRows(Cursor<?> cursor, ExportFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        try (cursor) {
+            ExportRowWriter writer = format.open(out, objectMapper);
+            for (Object row : cursor) {
+                writer.write(row);
+                rows++;
+            }
+            writer.finish();
+        }
+        return rows;
+    }
+}
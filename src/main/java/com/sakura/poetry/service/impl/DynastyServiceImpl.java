@@ -1,5 +1,6 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.ResponseCache;
 import com.sakura.poetry.entity.Dynasty;
 import com.sakura.poetry.mapper.DynastyMapper;
 import com.sakura.poetry.service.DynastyService;
@@ -24,6 +25,9 @@ public class DynastyServiceImpl extends ServiceImpl<DynastyMapper, Dynasty> impl
     @Autowired
     private DynastyMapper dynastyMapper;
     
+    @Autowired
+    private ResponseCache responseCache;
+    
     @Override
     public Dynasty getDynastyByCode(String dynastyCode) {
         return dynastyMapper.selectByDynastyCode(dynastyCode);
@@ -41,16 +45,22 @@ public class DynastyServiceImpl extends ServiceImpl<DynastyMapper, Dynasty> impl
     
     @Override
     public boolean createDynasty(Dynasty dynasty) {
-        return this.save(dynasty);
+        boolean saved = this.save(dynasty);
+        responseCache.invalidate(ResponseCache.DYNASTY);
+        return saved;
     }
     
     @Override
     public boolean updateDynasty(Dynasty dynasty) {
-        return this.updateById(dynasty);
+        boolean updated = this.updateById(dynasty);
+        responseCache.invalidate(ResponseCache.DYNASTY);
+        return updated;
     }
     
     @Override
     public boolean deleteDynasty(Long dynastyId) {
-        return this.removeById(dynastyId);
+        boolean removed = this.removeById(dynastyId);
+        responseCache.invalidate(ResponseCache.DYNASTY);
+        return removed;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.ResponseCache;
 import com.sakura.poetry.entity.Poet;
 import com.sakura.poetry.mapper.PoetMapper;
 import com.sakura.poetry.service.PoetService;
@@ -24,6 +25,9 @@ public class PoetServiceImpl extends ServiceImpl<PoetMapper, Poet> implements Po
     @Autowired
     private PoetMapper poetMapper;
     
+    @Autowired
+    private ResponseCache responseCache;
+    
     @Override
     public List<Poet> getPoetByPoetName(String poetName) {
         return poetMapper.selectByPoetName(poetName);
@@ -51,16 +55,22 @@ public class PoetServiceImpl extends ServiceImpl<PoetMapper, Poet> implements Po
     
     @Override
     public boolean createPoet(Poet poet) {
-        return this.save(poet);
+        boolean saved = this.save(poet);
+        responseCache.invalidate(ResponseCache.POET);
+        return saved;
     }
     
     @Override
     public boolean updatePoet(Poet poet) {
-        return this.updateById(poet);
+        boolean updated = this.updateById(poet);
+        responseCache.invalidate(ResponseCache.POET);
+        return updated;
     }
     
     @Override
     public boolean deletePoet(Long poetId) {
-        return this.removeById(poetId);
+        boolean removed = this.removeById(poetId);
+        responseCache.invalidate(ResponseCache.POET);
+        return removed;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.ResponseCache;
 import com.sakura.poetry.entity.PoetryCategory;
 import com.sakura.poetry.mapper.PoetryCategoryMapper;
 import com.sakura.poetry.service.PoetryCategoryService;
@@ -24,6 +25,9 @@ public class PoetryCategoryServiceImpl extends ServiceImpl<PoetryCategoryMapper,
     @Autowired
     private PoetryCategoryMapper categoryMapper;
     
+    @Autowired
+    private ResponseCache responseCache;
+    
     @Override
     public PoetryCategory getCategoryByCode(String categoryCode) {
         return categoryMapper.selectByCategoryCode(categoryCode);
@@ -46,16 +50,22 @@ public class PoetryCategoryServiceImpl extends ServiceImpl<PoetryCategoryMapper,
     
     @Override
     public boolean createCategory(PoetryCategory category) {
-        return this.save(category);
+        boolean saved = this.save(category);
+        responseCache.invalidate(ResponseCache.CATEGORY);
+        return saved;
     }
     
     @Override
     public boolean updateCategory(PoetryCategory category) {
-        return this.updateById(category);
+        boolean updated = this.updateById(category);
+        responseCache.invalidate(ResponseCache.CATEGORY);
+        return updated;
     }
     
     @Override
     public boolean deleteCategory(Long categoryId) {
-        return this.removeById(categoryId);
+        boolean removed = this.removeById(categoryId);
+        responseCache.invalidate(ResponseCache.CATEGORY);
+        return removed;
     }
 }
\ No newline at end of file
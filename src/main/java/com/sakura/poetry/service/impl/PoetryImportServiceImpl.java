@@ -0,0 +1,411 @@
+package com.sakura.poetry.service.impl;
+
+import com.sakura.poetry.cache.ResponseCache;
+import com.sakura.poetry.common.exception.BusinessException;
+import com.sakura.poetry.dto.PoetryImportDTO;
+import com.sakura.poetry.entity.Poetry;
+import com.sakura.poetry.entity.enums.ContentFormatEnum;
+import com.sakura.poetry.entity.enums.PoetryStatusEnum;
+import com.sakura.poetry.importer.ImportCheckpoint;
+import com.sakura.poetry.importer.ImportFormat;
+import com.sakura.poetry.importer.ImportJobState;
+import com.sakura.poetry.importer.ImportRecordException;
+import com.sakura.poetry.importer.PoetryImportJob;
+import com.sakura.poetry.importer.PoetryImportRecord;
+import com.sakura.poetry.importer.PoetryRecordReader;
+import com.sakura.poetry.importer.PoetryTextMetrics;
+import com.sakura.poetry.importer.ReferenceLookup;
+import com.sakura.poetry.mapper.DynastyMapper;
+import com.sakura.poetry.mapper.PoetMapper;
+import com.sakura.poetry.mapper.PoetryCategoryMapper;
+import com.sakura.poetry.mapper.PoetryMapper;
+import com.sakura.poetry.service.PoetryImportService;
+import com.sakura.poetry.vo.PoetryImportStatusVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 诗词批量导入服务实现类
+ * 
+ * <p>读取线程流式解析文件并按 {@code chunkSize} 切分，分块交给工作线程池并行写入；
+ * 在途分块数量受信号量限制，内存占用与文件大小无关。每个分块通过批处理执行器
+ * 一次提交，失败时逐条重试以隔离坏数据。分块提交后记入 {@link ImportCheckpoint}，
+ * 失败或取消的任务可使用相同参数续传；有分块整体写入失败时任务以失败结束并保留断点。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Service
+public class PoetryImportServiceImpl implements PoetryImportService {
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private DynastyMapper dynastyMapper;
+
+    @Autowired
+    private PoetryCategoryMapper categoryMapper;
+
+    @Autowired
+    private PoetMapper poetMapper;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    /**
+     * 导入文件所在目录，只允许导入该目录下的文件
+     */
+    @Value("${app.import.base-dir:./imports/}")
+    private String baseDir;
+
+    /**
+     * 断点文件目录
+     */
+    @Value("${app.import.checkpoint-dir:./imports/checkpoints/}")
+    private String checkpointDir;
+
+    /**
+     * 默认分块大小
+     */
+    @Value("${app.import.chunk-size:500}")
+    private int defaultChunkSize;
+
+    /**
+     * 默认工作线程数
+     */
+    @Value("${app.import.workers:4}")
+    private int defaultWorkers;
+
+    /**
+     * 是否启用虚拟线程，启用时读取线程和写入线程均为虚拟线程
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, PoetryImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    private ExecutorService runners;
+
+    /**
+     * 初始化读取线程池
+     */
+    @PostConstruct
+    public void init() {
+        runners = Executors.newCachedThreadPool(threadFactory("poetry-import-"));
+    }
+
+    @Override
+    public PoetryImportStatusVO startImport(PoetryImportDTO importDTO) {
+        Path file = resolveImportFile(importDTO.getFilePath());
+        for (PoetryImportJob job : jobs.values()) {
+            if (job.getState() == ImportJobState.RUNNING && job.getFile().equals(file)) {
+                throw new BusinessException(409, "该文件正在导入中，任务ID: " + job.getJobId());
+            }
+        }
+        ImportFormat format = importDTO.getFormat() != null
+                ? importDTO.getFormat()
+                : ImportFormat.fromFileName(file.getFileName().toString());
+        int chunkSize = importDTO.getChunkSize() != null ? importDTO.getChunkSize() : defaultChunkSize;
+        int workers = importDTO.getWorkers() != null ? importDTO.getWorkers() : defaultWorkers;
+        boolean resume = !Boolean.FALSE.equals(importDTO.getResume());
+        boolean createMissingPoets = !Boolean.FALSE.equals(importDTO.getCreateMissingPoets());
+
+        PoetryImportJob job = new PoetryImportJob(UUID.randomUUID().toString().replace("-", ""),
+                file, format, chunkSize, workers);
+        jobs.put(job.getJobId(), job);
+        runners.execute(() -> run(job, resume, createMissingPoets));
+        log.info("诗词导入任务已启动，任务ID: {}, 文件: {}, 分块大小: {}, 工作线程: {}",
+                job.getJobId(), file, chunkSize, workers);
+        return job.toStatusVO();
+    }
+
+    @Override
+    public PoetryImportStatusVO getImportStatus(String jobId) {
+        PoetryImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException(404, "导入任务不存在");
+        }
+        return job.toStatusVO();
+    }
+
+    @Override
+    public List<PoetryImportStatusVO> listImports() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(PoetryImportJob::getStartTime).reversed())
+                .map(PoetryImportJob::toStatusVO)
+                .toList();
+    }
+
+    @Override
+    public boolean cancelImport(String jobId) {
+        PoetryImportJob job = jobs.get(jobId);
+        if (job == null || job.getState() != ImportJobState.RUNNING) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * 停机时取消运行中的任务，已提交的分块保留在断点中
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(PoetryImportJob::cancel);
+        runners.shutdown();
+    }
+
+    /**
+     * 执行导入任务
+     */
+    private void run(PoetryImportJob job, boolean resume, boolean createMissingPoets) {
+        ExecutorService workerPool = Executors.newFixedThreadPool(job.getWorkers(), threadFactory("poetry-import-worker-"));
+        Semaphore inFlight = new Semaphore(job.getWorkers() * 2);
+        try (Reader fileReader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8);
+             PoetryRecordReader reader = job.getFormat().open(fileReader)) {
+            ImportCheckpoint checkpoint = ImportCheckpoint.load(checkpointFile(job.getFile()), job.getChunkSize(), resume);
+            job.updateWatermark(checkpoint.watermark());
+            ReferenceLookup lookup = new ReferenceLookup(dynastyMapper, categoryMapper, poetMapper, createMissingPoets);
+
+            long sequence = 0;
+            List<PoetryImportRecord> chunk = new ArrayList<>(job.getChunkSize());
+            while (!job.isCancelRequested()) {
+                PoetryImportRecord record;
+                try {
+                    record = reader.next();
+                } catch (ImportRecordException e) {
+                    // 只有单条记录解析失败时继续，文件读取失败由外层结束任务
+                    job.getRecordsFailed().incrementAndGet();
+                    job.addError(e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                job.getRecordsRead().incrementAndGet();
+                chunk.add(record);
+                if (chunk.size() == job.getChunkSize()) {
+                    submitChunk(job, checkpoint, lookup, workerPool, inFlight, sequence++, chunk);
+                    chunk = new ArrayList<>(job.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty() && !job.isCancelRequested()) {
+                submitChunk(job, checkpoint, lookup, workerPool, inFlight, sequence, chunk);
+            }
+
+            workerPool.shutdown();
+            workerPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            job.updateWatermark(checkpoint.watermark());
+            if (job.isCancelRequested()) {
+                job.finish(ImportJobState.CANCELLED);
+            } else if (job.getChunksFailed().get() > 0) {
+                // 失败的分块未记入断点，保留断点使续传只重试这些分块
+                job.addError(job.getChunksFailed().get() + "个分块写入失败，断点已保留，可续传重试");
+                job.finish(ImportJobState.FAILED);
+            } else {
+                checkpoint.delete();
+                job.finish(ImportJobState.COMPLETED);
+            }
+            log.info("诗词导入任务结束，任务ID: {}, 状态: {}, 导入: {}, 跳过: {}, 失败: {}",
+                    job.getJobId(), job.getState(), job.getRecordsImported().get(),
+                    job.getRecordsSkipped().get(), job.getRecordsFailed().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ImportJobState.CANCELLED);
+        } catch (Exception e) {
+            log.error("诗词导入任务失败，任务ID: {}", job.getJobId(), e);
+            job.addError("任务失败: " + e.getMessage());
+            job.finish(ImportJobState.FAILED);
+        } finally {
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * 提交分块，已在断点中完成的分块直接跳过
+     */
+    private void submitChunk(PoetryImportJob job, ImportCheckpoint checkpoint, ReferenceLookup lookup,
+                             ExecutorService workerPool, Semaphore inFlight, long sequence,
+                             List<PoetryImportRecord> chunk) throws InterruptedException {
+        if (checkpoint.isDone(sequence)) {
+            job.getRecordsSkipped().addAndGet(chunk.size());
+            return;
+        }
+        inFlight.acquire();
+        workerPool.execute(() -> {
+            try {
+                importChunk(job, lookup, chunk);
+                checkpoint.markDone(sequence);
+                job.updateWatermark(checkpoint.watermark());
+                job.getChunksCompleted().incrementAndGet();
+            } catch (Exception e) {
+                log.error("诗词导入分块失败，任务ID: {}, 分块: {}", job.getJobId(), sequence, e);
+                job.getRecordsFailed().addAndGet(chunk.size());
+                job.getChunksFailed().incrementAndGet();
+                job.addError("分块" + sequence + "写入失败: " + e.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * 写入一个分块
+     */
+    private void importChunk(PoetryImportJob job, ReferenceLookup lookup, List<PoetryImportRecord> chunk) {
+        List<Poetry> rows = new ArrayList<>(chunk.size());
+        List<Long> lineNumbers = new ArrayList<>(chunk.size());
+        for (PoetryImportRecord record : chunk) {
+            try {
+                rows.add(toPoetry(record, lookup));
+                lineNumbers.add(record.getLineNumber());
+            } catch (IllegalArgumentException e) {
+                job.getRecordsFailed().incrementAndGet();
+                job.addError("第" + record.getLineNumber() + "行: " + e.getMessage());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insertBatch(rows);
+            job.getRecordsImported().addAndGet(rows.size());
+        } catch (Exception batchError) {
+            // 批量提交已整体回滚，逐条写入以定位坏数据
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    insertBatch(List.of(rows.get(i)));
+                    job.getRecordsImported().incrementAndGet();
+                } catch (Exception e) {
+                    job.getRecordsFailed().incrementAndGet();
+                    job.addError("第" + lineNumbers.get(i) + "行写入失败: " + rootMessage(e));
+                }
+            }
+        }
+        // 新诗词与自动创建的诗人对公开列表立即可见
+        responseCache.invalidate(ResponseCache.POETRY);
+        responseCache.invalidate(ResponseCache.POET);
+    }
+
+    /**
+     * 通过批处理执行器写入并提交
+     */
+    private void insertBatch(List<Poetry> rows) {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            PoetryMapper mapper = session.getMapper(PoetryMapper.class);
+            for (Poetry poetry : rows) {
+                mapper.insertImported(poetry);
+            }
+            session.flushStatements();
+            session.commit();
+        }
+    }
+
+    private Poetry toPoetry(PoetryImportRecord record, ReferenceLookup lookup) {
+        if (isBlank(record.getTitle())) {
+            throw new IllegalArgumentException("缺少标题");
+        }
+        if (isBlank(record.getContent())) {
+            throw new IllegalArgumentException("缺少内容");
+        }
+        Long dynastyId = lookup.dynastyId(record.getDynastyName());
+        Long poetId = lookup.poetId(record.getPoetName(), dynastyId);
+        if (poetId == null) {
+            throw new IllegalArgumentException("无法解析诗人: " + record.getPoetName());
+        }
+        String content = record.getContent().trim();
+        return new Poetry()
+                .setTitle(record.getTitle().trim())
+                .setSubtitle(record.getSubtitle())
+                .setPoetId(poetId)
+                .setDynastyId(dynastyId)
+                .setCategoryId(lookup.categoryId(record.getCategoryName()))
+                .setContent(content)
+                .setContentFormat(ContentFormatEnum.ORIGINAL)
+                .setTranslation(record.getTranslation())
+                .setAnnotation(record.getAnnotation())
+                .setAppreciation(record.getAppreciation())
+                .setBackground(record.getBackground())
+                .setTags(record.getTags())
+                .setWordCount(PoetryTextMetrics.wordCount(content))
+                .setVerseCount(PoetryTextMetrics.verseCount(content))
+                .setSource(record.getSource())
+                .setStatus(PoetryStatusEnum.PUBLISHED)
+                .setPublishTime(LocalDateTime.now());
+    }
+
+    /**
+     * 解析导入文件路径，禁止访问导入目录之外的文件
+     */
+    private Path resolveImportFile(String filePath) {
+        Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+        Path file = base.resolve(filePath).normalize();
+        if (!file.startsWith(base)) {
+            throw new BusinessException(400, "只能导入导入目录下的文件");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new BusinessException(404, "导入文件不存在: " + filePath);
+        }
+        return file;
+    }
+
+    private ThreadFactory threadFactory(String prefix) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(prefix, 0).factory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private Path checkpointFile(Path file) {
+        Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+        String name = base.relativize(file).toString().replaceAll("[\\\\/]", "_");
+        return Paths.get(checkpointDir).resolve(name + ".checkpoint.json");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
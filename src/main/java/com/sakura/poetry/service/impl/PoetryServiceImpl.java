@@ -1,5 +1,6 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.ResponseCache;
 import com.sakura.poetry.entity.Poetry;
 import com.sakura.poetry.mapper.PoetryMapper;
 import com.sakura.poetry.service.PoetryService;
@@ -24,6 +25,9 @@ public class PoetryServiceImpl extends ServiceImpl<PoetryMapper, Poetry> impleme
     @Autowired
     private PoetryMapper poetryMapper;
     
+    @Autowired
+    private ResponseCache responseCache;
+    
     @Override
     public List<Poetry> getPoetryByTitle(String title) {
         return poetryMapper.selectByTitle(title);
@@ -61,16 +65,22 @@ public class PoetryServiceImpl extends ServiceImpl<PoetryMapper, Poetry> impleme
     
     @Override
     public boolean createPoetry(Poetry poetry) {
-        return this.save(poetry);
+        boolean saved = this.save(poetry);
+        responseCache.invalidate(ResponseCache.POETRY);
+        return saved;
     }
     
     @Override
     public boolean updatePoetry(Poetry poetry) {
-        return this.updateById(poetry);
+        boolean updated = this.updateById(poetry);
+        responseCache.invalidate(ResponseCache.POETRY);
+        return updated;
     }
     
     @Override
     public boolean deletePoetry(Long poetryId) {
-        return this.removeById(poetryId);
+        boolean removed = this.removeById(poetryId);
+        responseCache.invalidate(ResponseCache.POETRY);
+        return removed;
     }
 }
\ No newline at end of file
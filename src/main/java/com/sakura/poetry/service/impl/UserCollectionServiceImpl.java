@@ -1,18 +1,32 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.UserFolderCache;
+import com.sakura.poetry.common.exception.BusinessException;
+import com.sakura.poetry.dto.PoetryCollectionDTO;
+import com.sakura.poetry.entity.CollectionFolder;
 import com.sakura.poetry.entity.UserCollection;
+import com.sakura.poetry.mapper.CollectionFolderMapper;
 import com.sakura.poetry.mapper.UserCollectionMapper;
 import com.sakura.poetry.service.UserCollectionService;
+import com.sakura.poetry.utils.TransactionUtil;
+import com.sakura.poetry.vo.CursorPageVO;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户收藏服务实现类
  * 
- * <p>用户收藏业务逻辑实现类，实现收藏相关的业务操作方法。</p>
+ * <p>用户收藏业务逻辑实现类，实现收藏相关的业务操作方法。
+ * 收藏与取消收藏在同一事务中原子地调整收藏夹的 poetry_count，
+ * 提交后同步调整 {@link UserFolderCache} 中的数量。</p>
  * 
  * @author Sakura Huang
  * @version 1.0.0
@@ -21,9 +35,20 @@ import java.util.List;
 @Service
 public class UserCollectionServiceImpl extends ServiceImpl<UserCollectionMapper, UserCollection> implements UserCollectionService {
     
+    /**
+     * 游标分页单页最大数量
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private UserCollectionMapper collectionMapper;
     
+    @Autowired
+    private CollectionFolderMapper folderMapper;
+    
+    @Autowired
+    private UserFolderCache folderCache;
+    
     @Override
     public UserCollection getCollectionByUserAndPoetry(Long userId, Long poetryId) {
         return collectionMapper.selectByUserAndPoetry(userId, poetryId);
@@ -40,17 +65,103 @@ public class UserCollectionServiceImpl extends ServiceImpl<UserCollectionMapper,
     }
     
     @Override
+    public CursorPageVO<UserCollection> getCollectionPage(Long userId, Long folderId, Long cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<UserCollection> rows = collectionMapper.selectPageByUser(userId, folderId, cursor, pageSize + 1);
+        return CursorPageVO.of(rows, pageSize, UserCollection::getId);
+    }
+    
+    @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean createCollection(UserCollection userCollection) {
-        return this.save(userCollection);
+        UserCollection existing = collectionMapper.selectByUserAndPoetry(userCollection.getUserId(), userCollection.getPoetryId());
+        if (existing != null) {
+            return false;
+        }
+        Long folderId = userCollection.getCollectionFolderId();
+        checkFolderOwner(userCollection.getUserId(), folderId);
+        boolean result = this.save(userCollection);
+        if (result) {
+            adjustFolderCount(userCollection.getUserId(), folderId, 1);
+        }
+        return result;
+    }
+    
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public UserCollection collectPoetry(PoetryCollectionDTO collectionDTO) {
+        UserCollection existing = collectionMapper.selectByUserAndPoetry(collectionDTO.getUserId(), collectionDTO.getPoetryId());
+        if (existing != null) {
+            return existing;
+        }
+        UserCollection collection = new UserCollection()
+                .setUserId(collectionDTO.getUserId())
+                .setPoetryId(collectionDTO.getPoetryId())
+                .setCollectionFolderId(collectionDTO.getFolderId())
+                .setNotes(collectionDTO.getNotes());
+        if (!createCollection(collection)) {
+            throw new BusinessException("收藏失败");
+        }
+        return collection;
     }
     
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean deleteCollectionByUserAndPoetry(Long userId, Long poetryId) {
-        return collectionMapper.deleteByUserAndPoetry(userId, poetryId) > 0;
+        UserCollection existing = collectionMapper.selectByUserAndPoetry(userId, poetryId);
+        if (existing == null) {
+            return false;
+        }
+        boolean result = collectionMapper.deleteByUserAndPoetry(userId, poetryId) > 0;
+        if (result) {
+            adjustFolderCount(userId, existing.getCollectionFolderId(), -1);
+        }
+        return result;
     }
     
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean deleteCollection(Long collectionId) {
-        return this.removeById(collectionId);
+        UserCollection existing = this.getById(collectionId);
+        if (existing == null) {
+            return false;
+        }
+        boolean result = this.removeById(collectionId);
+        if (result) {
+            adjustFolderCount(existing.getUserId(), existing.getCollectionFolderId(), -1);
+        }
+        return result;
+    }
+    
+    @Override
+    public Set<Long> getCollectedPoetryIds(Long userId, Collection<Long> poetryIds) {
+        if (userId == null || poetryIds == null || poetryIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(collectionMapper.selectCollectedPoetryIds(userId, poetryIds));
+    }
+    
+    /**
+     * 校验收藏夹归属
+     */
+    private void checkFolderOwner(Long userId, Long folderId) {
+        if (folderId == null) {
+            return;
+        }
+        CollectionFolder folder = folderMapper.selectById(folderId);
+        if (folder == null || !folder.getUserId().equals(userId)) {
+            throw new BusinessException(404, "收藏夹不存在");
+        }
+    }
+    
+    /**
+     * 在当前事务中调整收藏夹诗词数量，提交后同步缓存
+     */
+    private void adjustFolderCount(Long userId, Long folderId, int delta) {
+        if (folderId == null) {
+            return;
+        }
+        folderMapper.incrementPoetryCount(folderId, delta);
+        TransactionUtil.afterCommit(() -> folderCache.adjustPoetryCount(userId, folderId, delta));
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,27 @@
 package com.sakura.poetry.service.impl;
 
+import com.sakura.poetry.cache.CommentThreadCache;
+import com.sakura.poetry.common.exception.BusinessException;
+import com.sakura.poetry.counter.CommentCounterBuffer;
+import com.sakura.poetry.dto.CommentCreateDTO;
 import com.sakura.poetry.entity.UserComment;
+import com.sakura.poetry.entity.enums.CommentStatusEnum;
 import com.sakura.poetry.mapper.UserCommentMapper;
 import com.sakura.poetry.service.UserCommentService;
+import com.sakura.poetry.utils.TransactionUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * 用户评论服务实现类
  * 
- * <p>用户评论业务逻辑实现类，实现评论相关的业务操作方法。</p>
+ * <p>用户评论业务逻辑实现类，实现评论相关的业务操作方法。
+ * 评论的新增与删除在事务提交后才把父评论回复数、诗词评论数的增量交给
+ * {@link CommentCounterBuffer} 合并写回，回滚的写入不会影响计数。删除顶级评论时其下的回复一并删除。</p>
  * 
  * @author Sakura Huang
  * @version 1.0.0
@@ -24,6 +33,12 @@ public class UserCommentServiceImpl extends ServiceImpl<UserCommentMapper, UserC
     @Autowired
     private UserCommentMapper commentMapper;
     
+    @Autowired
+    private CommentThreadCache threadCache;
+    
+    @Autowired
+    private CommentCounterBuffer counterBuffer;
+    
     @Override
     public List<UserComment> getCommentByPoetryId(Long poetryId) {
         return commentMapper.selectByPoetryId(poetryId);
@@ -41,26 +56,90 @@ public class UserCommentServiceImpl extends ServiceImpl<UserCommentMapper, UserC
     
     @Override
     public boolean incrementLikeCount(Long commentId, int count) {
-        return commentMapper.incrementLikeCount(commentId, count) > 0;
+        boolean result = commentMapper.incrementLikeCount(commentId, count) > 0;
+        threadCache.invalidateByComment(commentId);
+        return result;
     }
     
     @Override
     public boolean incrementReplyCount(Long commentId, int count) {
-        return commentMapper.incrementReplyCount(commentId, count) > 0;
+        boolean result = commentMapper.incrementReplyCount(commentId, count) > 0;
+        threadCache.invalidateByComment(commentId);
+        return result;
     }
     
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean createComment(UserComment userComment) {
-        return this.save(userComment);
+        boolean result = this.save(userComment);
+        if (result) {
+            TransactionUtil.afterCommit(() -> {
+                counterBuffer.addReplyCount(userComment.getParentId(), 1);
+                counterBuffer.addCommentCount(userComment.getPoetryId(), 1);
+                threadCache.invalidate(userComment.getPoetryId());
+            });
+        }
+        return result;
+    }
+    
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public UserComment publishComment(CommentCreateDTO createDTO, String ipAddress, String userAgent) {
+        Long parentId = createDTO.getParentId();
+        if (parentId != null && parentId > 0) {
+            UserComment parent = this.getById(parentId);
+            if (parent == null || !parent.getPoetryId().equals(createDTO.getPoetryId())) {
+                throw new BusinessException(404, "回复的评论不存在");
+            }
+            // 评论线程只有两层，回复的回复挂到顶级评论下
+            if (parent.getParentId() != null && parent.getParentId() > 0) {
+                parentId = parent.getParentId();
+            }
+        } else {
+            parentId = 0L;
+        }
+        
+        UserComment comment = new UserComment()
+                .setUserId(createDTO.getUserId())
+                .setPoetryId(createDTO.getPoetryId())
+                .setParentId(parentId)
+                .setContent(createDTO.getContent())
+                .setLikeCount(0)
+                .setReplyCount(0)
+                .setStatus(CommentStatusEnum.APPROVED)
+                .setIpAddress(ipAddress)
+                .setUserAgent(userAgent);
+        if (!createComment(comment)) {
+            throw new BusinessException("评论发布失败");
+        }
+        return comment;
     }
     
     @Override
     public boolean updateComment(UserComment userComment) {
-        return this.updateById(userComment);
+        boolean result = this.updateById(userComment);
+        threadCache.invalidateByComment(userComment.getId());
+        return result;
     }
     
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean deleteComment(Long commentId) {
-        return this.removeById(commentId);
+        UserComment comment = this.getById(commentId);
+        if (comment == null) {
+            return false;
+        }
+        boolean result = this.removeById(commentId);
+        if (result) {
+            // 删除顶级评论时一并删除其下的回复，诗词评论数扣除全部删除的条数
+            int replies = comment.getParentId() == null || comment.getParentId() == 0
+                    ? commentMapper.deleteRepliesByParentId(commentId) : 0;
+            TransactionUtil.afterCommit(() -> {
+                counterBuffer.addReplyCount(comment.getParentId(), -1);
+                counterBuffer.addCommentCount(comment.getPoetryId(), -1 - replies);
+                threadCache.invalidate(comment.getPoetryId());
+            });
+        }
+        return result;
     }
 }
\ No newline at end of file
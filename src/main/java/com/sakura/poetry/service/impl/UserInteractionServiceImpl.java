@@ -0,0 +1,100 @@
+package com.sakura.poetry.service.impl;
+
+import com.sakura.poetry.entity.enums.LikeTargetTypeEnum;
+import com.sakura.poetry.service.UserCollectionService;
+import com.sakura.poetry.service.UserInteractionService;
+import com.sakura.poetry.service.UserLikeService;
+import com.sakura.poetry.vo.CommentListVO;
+import com.sakura.poetry.vo.InteractionFlagAware;
+import com.sakura.poetry.vo.InteractionStatusVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户交互状态服务实现类
+ * 
+ * <p>每次调用最多发出两条 IN 查询（点赞、收藏各一条），与列表长度无关。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Service
+public class UserInteractionServiceImpl implements UserInteractionService {
+
+    @Autowired
+    private UserLikeService likeService;
+
+    @Autowired
+    private UserCollectionService collectionService;
+
+    @Override
+    public InteractionStatusVO getInteractionStatus(Long userId, Integer targetType, List<Long> targetIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(targetIds);
+        Set<Long> likedIds = likeService.getLikedTargetIds(userId, targetType, distinctIds);
+        Set<Long> collectedIds = isPoetry(targetType)
+                ? collectionService.getCollectedPoetryIds(userId, distinctIds)
+                : Collections.emptySet();
+
+        List<Boolean> liked = new ArrayList<>(targetIds.size());
+        List<Boolean> collected = new ArrayList<>(targetIds.size());
+        for (Long targetId : targetIds) {
+            liked.add(likedIds.contains(targetId));
+            collected.add(collectedIds.contains(targetId));
+        }
+
+        InteractionStatusVO statusVO = new InteractionStatusVO();
+        statusVO.setTargetType(targetType);
+        statusVO.setTargetIds(targetIds);
+        statusVO.setLiked(liked);
+        statusVO.setCollected(collected);
+        return statusVO;
+    }
+
+    @Override
+    public <T extends InteractionFlagAware> void fillInteractionFlags(Long userId, Integer targetType, List<T> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        List<InteractionFlagAware> flattened = new ArrayList<>(items.size());
+        flatten(items, flattened);
+
+        Set<Long> targetIds = new LinkedHashSet<>(flattened.size());
+        for (InteractionFlagAware item : flattened) {
+            if (item.getId() != null) {
+                targetIds.add(item.getId());
+            }
+        }
+        Set<Long> likedIds = likeService.getLikedTargetIds(userId, targetType, targetIds);
+        Set<Long> collectedIds = isPoetry(targetType)
+                ? collectionService.getCollectedPoetryIds(userId, targetIds)
+                : Collections.emptySet();
+
+        for (InteractionFlagAware item : flattened) {
+            item.setLiked(likedIds.contains(item.getId()));
+            item.setCollected(collectedIds.contains(item.getId()));
+        }
+    }
+
+    /**
+     * 展开评论的嵌套回复，使其与顶级评论共用同一次批量查询
+     */
+    private void flatten(List<? extends InteractionFlagAware> items, List<InteractionFlagAware> target) {
+        for (InteractionFlagAware item : items) {
+            target.add(item);
+            if (item instanceof CommentListVO comment && comment.getReplies() != null) {
+                flatten(comment.getReplies(), target);
+            }
+        }
+    }
+
+    private boolean isPoetry(Integer targetType) {
+        return LikeTargetTypeEnum.POETRY.getValue().equals(targetType);
+    }
+}
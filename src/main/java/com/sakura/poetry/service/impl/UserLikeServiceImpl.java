@@ -7,7 +7,11 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户点赞服务实现类
@@ -53,4 +57,12 @@ public class UserLikeServiceImpl extends ServiceImpl<UserLikeMapper, UserLike> i
     public boolean deleteLike(Long likeId) {
         return this.removeById(likeId);
     }
+    
+    @Override
+    public Set<Long> getLikedTargetIds(Long userId, Integer targetType, Collection<Long> targetIds) {
+        if (userId == null || targetIds == null || targetIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(likeMapper.selectLikedTargetIds(userId, targetType, targetIds));
+    }
 }
\ No newline at end of file
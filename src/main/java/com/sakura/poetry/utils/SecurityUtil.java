@@ -0,0 +1,33 @@
+package com.sakura.poetry.utils;
+
+import com.sakura.poetry.security.LoginUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 安全工具类
+ * 
+ * <p>从安全上下文中读取当前登录用户。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public final class SecurityUtil {
+
+    private SecurityUtil() {
+    }
+
+    /**
+     * 获取当前登录用户的ID
+     * 
+     * @return 用户ID，未登录时返回null
+     */
+    public static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUser user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+}
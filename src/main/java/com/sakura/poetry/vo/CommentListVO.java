@@ -20,7 +20,7 @@ import java.util.List;
  */
 @Data
 @Schema(description = "评论列表VO")
-public class CommentListVO implements Serializable {
+public class CommentListVO implements Serializable, InteractionFlagAware {
 
     @Serial
     private static final long serialVersionUID = 1L;
@@ -108,4 +108,10 @@ public class CommentListVO implements Serializable {
      */
     @Schema(description = "回复列表")
     private List<CommentListVO> replies;
+
+    /**
+     * 当前用户是否已点赞
+     */
+    @Schema(description = "当前用户是否已点赞")
+    private Boolean liked;
 }
\ No newline at end of file
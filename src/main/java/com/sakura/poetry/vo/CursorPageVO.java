@@ -0,0 +1,67 @@
+package com.sakura.poetry.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页VO
+ * 
+ * <p>基于键值游标的分页结果，下一页请求携带 {@code nextCursor} 即可，
+ * 不依赖偏移量，深翻页与首页代价一致。</p>
+ * 
+ * @param <T> 记录类型
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Schema(description = "游标分页VO")
+public class CursorPageVO<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页记录
+     */
+    @Schema(description = "当前页记录")
+    private List<T> records;
+
+    /**
+     * 下一页游标
+     */
+    @Schema(description = "下一页游标，为空表示没有更多数据")
+    private Long nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    @Schema(description = "是否还有更多数据")
+    private Boolean hasMore;
+
+    /**
+     * 根据多查询一条的结果构建分页
+     * 
+     * <p>调用方按 {@code limit + 1} 查询，多出的一条仅用于判断是否还有下一页。</p>
+     * 
+     * @param rows 查询结果
+     * @param limit 每页数量
+     * @param cursorOf 游标提取函数
+     * @param <T> 记录类型
+     * @return 游标分页
+     */
+    public static <T> CursorPageVO<T> of(List<T> rows, int limit, Function<T, Long> cursorOf) {
+        CursorPageVO<T> page = new CursorPageVO<>();
+        boolean hasMore = rows.size() > limit;
+        List<T> records = hasMore ? rows.subList(0, limit) : rows;
+        page.setRecords(records);
+        page.setHasMore(hasMore);
+        page.setNextCursor(hasMore && !records.isEmpty() ? cursorOf.apply(records.get(records.size() - 1)) : null);
+        return page;
+    }
+}
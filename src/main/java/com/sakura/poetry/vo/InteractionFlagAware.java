@@ -0,0 +1,38 @@
+package com.sakura.poetry.vo;
+
+/**
+ * 交互状态可嵌入接口
+ * 
+ * <p>列表类VO实现该接口后，可由 {@link com.sakura.poetry.service.UserInteractionService}
+ * 一次性批量填充当前用户的点赞、收藏标记，避免逐条查询。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface InteractionFlagAware {
+
+    /**
+     * 获取交互目标ID
+     * 
+     * @return 目标ID
+     */
+    Long getId();
+
+    /**
+     * 设置是否已点赞
+     * 
+     * @param liked 是否已点赞
+     */
+    void setLiked(Boolean liked);
+
+    /**
+     * 设置是否已收藏
+     * 
+     * <p>仅诗词支持收藏，其他目标类型默认忽略。</p>
+     * 
+     * @param collected 是否已收藏
+     */
+    default void setCollected(Boolean collected) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.sakura.poetry.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 交互状态VO
+ * 
+ * <p>批量返回当前用户对多个目标的点赞、收藏标记，
+ * {@code liked} 与 {@code collected} 按下标与 {@code targetIds} 一一对应。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Schema(description = "交互状态VO")
+public class InteractionStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 目标类型
+     */
+    @Schema(description = "目标类型")
+    private Integer targetType;
+
+    /**
+     * 目标ID列表
+     */
+    @Schema(description = "目标ID列表")
+    private List<Long> targetIds;
+
+    /**
+     * 点赞标记
+     */
+    @Schema(description = "点赞标记，与targetIds按下标对应")
+    private List<Boolean> liked;
+
+    /**
+     * 收藏标记
+     */
+    @Schema(description = "收藏标记，与targetIds按下标对应（仅诗词有效）")
+    private List<Boolean> collected;
+}
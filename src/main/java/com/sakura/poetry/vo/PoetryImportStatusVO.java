@@ -0,0 +1,134 @@
+package com.sakura.poetry.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 诗词导入进度VO
+ * 
+ * <p>用于向前端返回批量导入任务的进度信息。</p>
+ * 
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Schema(description = "诗词导入进度VO")
+public class PoetryImportStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务ID
+     */
+    @Schema(description = "任务ID")
+    private String jobId;
+
+    /**
+     * 文件名
+     */
+    @Schema(description = "文件名")
+    private String fileName;
+
+    /**
+     * 文件格式
+     */
+    @Schema(description = "文件格式（JSONL/CSV）")
+    private String format;
+
+    /**
+     * 任务状态
+     */
+    @Schema(description = "任务状态（RUNNING/COMPLETED/FAILED/CANCELLED）")
+    private String state;
+
+    /**
+     * 分块大小
+     */
+    @Schema(description = "分块大小")
+    private Integer chunkSize;
+
+    /**
+     * 工作线程数
+     */
+    @Schema(description = "工作线程数")
+    private Integer workers;
+
+    /**
+     * 已读取记录数
+     */
+    @Schema(description = "已读取记录数")
+    private Long recordsRead;
+
+    /**
+     * 已导入记录数
+     */
+    @Schema(description = "已导入记录数")
+    private Long recordsImported;
+
+    /**
+     * 续传跳过的记录数
+     */
+    @Schema(description = "续传跳过的记录数")
+    private Long recordsSkipped;
+
+    /**
+     * 失败记录数
+     */
+    @Schema(description = "失败记录数")
+    private Long recordsFailed;
+
+    /**
+     * 已完成分块数
+     */
+    @Schema(description = "已完成分块数")
+    private Long chunksCompleted;
+
+    /**
+     * 整体写入失败的分块数，大于0时断点保留，可续传重试
+     */
+    @Schema(description = "整体写入失败的分块数")
+    private Long chunksFailed;
+
+    /**
+     * 断点水位线
+     */
+    @Schema(description = "断点水位线，之前的分块均已提交")
+    private Long checkpointWatermark;
+
+    /**
+     * 开始时间
+     */
+    @Schema(description = "开始时间")
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @Schema(description = "结束时间")
+    private LocalDateTime endTime;
+
+    /**
+     * 已耗时（毫秒）
+     */
+    @Schema(description = "已耗时（毫秒）")
+    private Long elapsedMillis;
+
+    /**
+     * 导入速率
+     */
+    @Schema(description = "导入速率（条/秒）")
+    private Long recordsPerSecond;
+
+    /**
+     * 错误信息
+     */
+    @Schema(description = "错误信息（最多保留50条）")
+    private List<String> errors;
+}
@@ -0,0 +1,389 @@
+package com.sakura.poetry.websocket.cluster;
+
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.model.ChatGroup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 聊天集群路由器
+ *
+ * <p>在线位置目录记录每个用户连接的节点，本节点找不到接收者时按目录把消息转发到接收者所在节点。
+ * 群聊消息先按目标节点分组，每个节点只转发一次，由目标节点向其本地成员群发。
+ * 群组成员变更先写入 {@link ChatGroupRegistry} 再广播到所有节点，各节点维护完整的成员表副本；
+ * 节点启动时从注册表加载成员表，之后定期对账，补上新节点加入前和广播丢失的变更。</p>
+ *
+ * <p>节点ID在每次启动时附加随机后缀，重启的节点不会继承上次启动遗留的在线登记，
+ * 旧登记随上次启动的节点续约过期而清除。</p>
+ *
+ * <p>作为 {@link SmartLifecycle} 在Web服务器停止、会话关闭之后，Redis连接工厂（阶段0）停止之前注销本节点。</p>
+ *
+ * <p>未开启 {@code app.websocket.cluster.enabled} 时不创建通道和目录，全部方法退化为空操作。
+ * 目录或通道访问失败只记录日志，不影响本节点内的投递。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class ChatClusterRouter implements SmartLifecycle {
+
+    /**
+     * 生命周期阶段：晚于Web服务器（{@code DEFAULT_PHASE - 2048}）停止，早于Redis连接工厂（阶段0）停止
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /**
+     * 本节点ID前缀，未配置时使用 主机名-进程号，启动时再附加随机后缀
+     */
+    @Value("${app.websocket.cluster.node-id:}")
+    private String configuredNodeId;
+
+    /**
+     * 节点续约有效期（秒），超过此时间未续约的节点视为下线
+     */
+    @Value("${app.websocket.cluster.node-ttl-seconds:15}")
+    private long nodeTtlSeconds;
+
+    @Autowired(required = false)
+    private ChatClusterTransport transport;
+
+    @Autowired(required = false)
+    private ChatPresenceDirectory directory;
+
+    @Autowired(required = false)
+    private ChatGroupRegistry groupRegistry;
+
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    private volatile String nodeId;
+
+    private volatile boolean running;
+
+    private Consumer<ClusterEnvelope> receiver;
+
+    private Runnable groupSync;
+
+    private Supplier<Collection<Long>> localUsers;
+
+    /**
+     * 最近读取的存活节点，遇到不在其中的目标节点时重新读取，使新加入的节点无需等到下次续约即可路由
+     */
+    private volatile Set<String> liveNodes = Set.of();
+
+    /**
+     * 是否已开启集群路由
+     *
+     * @return 开启时返回 true
+     */
+    public boolean isEnabled() {
+        return transport != null && directory != null && groupRegistry != null;
+    }
+
+    /**
+     * 本节点ID
+     *
+     * @return 节点ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 设置其他节点消息和成员表对账的处理器，须在生命周期启动前调用
+     *
+     * @param receiver 消息处理器，自身发出的广播不会交给处理器
+     * @param groupSync 成员表对账处理器，经 {@link #loadMemberships()} 读取注册表
+     * @param localUsers 本节点已连接的用户，启动时补登记路由启动前建立的连接
+     */
+    public void bind(Consumer<ClusterEnvelope> receiver, Runnable groupSync, Supplier<Collection<Long>> localUsers) {
+        this.receiver = receiver;
+        this.groupSync = groupSync;
+        this.localUsers = localUsers;
+    }
+
+    /**
+     * 注册本节点、开始接收其他节点转发的消息，并从注册表加载成员表
+     */
+    @Override
+    public void start() {
+        if (!isEnabled() || receiver == null) {
+            return;
+        }
+        String prefix = StringUtils.hasText(configuredNodeId) ? configuredNodeId : defaultNodeId();
+        String id = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        nodeId = id;
+        transport.start(id, envelope -> {
+            if (id.equals(envelope.sourceNode())) {
+                return;
+            }
+            webSocketMetrics.clusterReceived();
+            receiver.accept(envelope);
+        });
+        running = true;
+        // 首次续约返回 false，同时补登记路由启动前建立的连接
+        heartbeat();
+        groupSync.run();
+        log.info("聊天集群路由已启动，节点ID: {}", id);
+    }
+
+    /**
+     * 注销本节点、清除本节点的在线登记并停止接收
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            transport.stop();
+            directory.removeNode(nodeId);
+        } catch (RuntimeException e) {
+            log.warn("注销集群节点失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 续约本节点并刷新存活节点；续约曾经中断超过有效期时，本节点的登记可能已被其他节点清除，重新登记本节点的用户
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.cluster.heartbeat-interval-millis:5000}")
+    public void heartbeat() {
+        if (!running) {
+            return;
+        }
+        try {
+            boolean renewed = directory.heartbeat(nodeId, nodeTtlSeconds * 1000);
+            liveNodes = directory.liveNodes();
+            if (!renewed) {
+                localUsers.get().forEach(this::userOnline);
+            }
+        } catch (RuntimeException e) {
+            log.warn("集群节点续约失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 登记用户连接在本节点
+     *
+     * @param userId 用户ID
+     */
+    public void userOnline(Long userId) {
+        if (!running) {
+            return;
+        }
+        try {
+            directory.register(userId, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("登记用户 {} 在线位置失败: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 注销用户在本节点的登记，用户已在其他节点重新连接时保留其新登记
+     *
+     * @param userId 用户ID
+     */
+    public void userOffline(Long userId) {
+        if (!running) {
+            return;
+        }
+        try {
+            directory.unregister(userId, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("注销用户 {} 在线位置失败: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 把消息转发到接收者所在节点
+     *
+     * @param userId 接收者ID
+     * @param payload 已序列化的聊天消息
+     * @return 接收者在其他存活节点上在线并已转发时返回 true
+     */
+    public boolean relayToUser(Long userId, String payload) {
+        return !relayToUsers(List.of(userId), payload).isEmpty();
+    }
+
+    /**
+     * 按接收者所在节点分组转发，每个目标节点只发送一条消息
+     *
+     * @param userIds 不在本节点的接收者ID
+     * @param payload 已序列化的聊天消息
+     * @return 已转发的接收者ID
+     */
+    public List<Long> relayToUsers(Collection<Long> userIds, String payload) {
+        if (!running || userIds.isEmpty()) {
+            return List.of();
+        }
+        try {
+            Map<String, List<Long>> byNode = new HashMap<>();
+            for (Map.Entry<Long, String> entry : directory.locate(userIds).entrySet()) {
+                if (!nodeId.equals(entry.getValue())) {
+                    byNode.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+            if (!liveNodes.containsAll(byNode.keySet())) {
+                liveNodes = directory.liveNodes();
+            }
+            List<Long> relayed = new ArrayList<>();
+            for (Map.Entry<String, List<Long>> entry : byNode.entrySet()) {
+                if (!liveNodes.contains(entry.getKey())) {
+                    continue;
+                }
+                transport.send(entry.getKey(),
+                        new ClusterEnvelope(ClusterEnvelope.Kind.DELIVER, nodeId, null, entry.getValue(), payload));
+                webSocketMetrics.clusterRelayed();
+                relayed.addAll(entry.getValue());
+            }
+            return relayed;
+        } catch (RuntimeException e) {
+            log.warn("集群转发失败，接收者数量: {}, 原因: {}", userIds.size(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 保存群组信息，供其他节点查询群主等信息
+     *
+     * @param group 群组信息
+     */
+    public void saveGroup(ChatGroup group) {
+        if (!running) {
+            return;
+        }
+        try {
+            groupRegistry.saveGroup(group);
+        } catch (RuntimeException e) {
+            log.warn("保存群组 {} 信息失败: {}", group.getGroupId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 查询在任一节点创建的群组信息
+     *
+     * @param groupId 群组ID
+     * @return 群组信息，不含成员；未开启集群路由或群组不存在时返回 null
+     */
+    public ChatGroup findGroup(Long groupId) {
+        if (!running) {
+            return null;
+        }
+        try {
+            return groupRegistry.findGroup(groupId);
+        } catch (RuntimeException e) {
+            log.warn("查询群组 {} 信息失败: {}", groupId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 把群组成员变更写入注册表，调用方在本地生效后再调用 {@link #publishGroupChange} 广播
+     *
+     * @param kind 变更类型
+     * @param groupId 群组ID
+     * @param userIds 变更的成员ID，解散群组时为空
+     */
+    public void recordGroupChange(ClusterEnvelope.Kind kind, Long groupId, List<Long> userIds) {
+        if (!running) {
+            return;
+        }
+        try {
+            switch (kind) {
+                case GROUP_MEMBERS_ADDED -> groupRegistry.addMembers(groupId, userIds);
+                case GROUP_MEMBERS_REMOVED -> groupRegistry.removeMembers(groupId, userIds);
+                case GROUP_REMOVED -> groupRegistry.removeGroup(groupId);
+                default -> throw new IllegalArgumentException("不是群组成员变更: " + kind);
+            }
+        } catch (RuntimeException e) {
+            log.warn("记录群组 {} 成员变更失败: {}", groupId, e.getMessage());
+        }
+    }
+
+    /**
+     * 向所有节点广播群组成员变更
+     *
+     * @param kind 变更类型
+     * @param groupId 群组ID
+     * @param userIds 变更的成员ID，解散群组时为空
+     */
+    public void publishGroupChange(ClusterEnvelope.Kind kind, Long groupId, List<Long> userIds) {
+        if (!running) {
+            return;
+        }
+        try {
+            transport.broadcast(new ClusterEnvelope(kind, nodeId, groupId, userIds, null));
+        } catch (RuntimeException e) {
+            log.warn("广播群组 {} 成员变更失败: {}", groupId, e.getMessage());
+        }
+    }
+
+    /**
+     * 定期触发成员表对账
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.cluster.group-sync-interval-millis:60000}",
+            initialDelayString = "${app.websocket.cluster.group-sync-interval-millis:60000}")
+    public void syncGroups() {
+        if (running) {
+            groupSync.run();
+        }
+    }
+
+    /**
+     * 读取注册表中全部群组的成员
+     *
+     * @return 群组ID到成员ID的映射；未开启集群路由或读取失败时返回 null
+     */
+    public Map<Long, Set<Long>> loadMemberships() {
+        if (!running) {
+            return null;
+        }
+        try {
+            return groupRegistry.memberships();
+        } catch (RuntimeException e) {
+            log.warn("读取群组成员表失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+}
@@ -0,0 +1,43 @@
+package com.sakura.poetry.websocket.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 节点间消息通道
+ *
+ * <p>每个节点订阅发往自己的消息和广播消息。同一发出节点发往同一目标节点的消息按发送顺序到达。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface ChatClusterTransport {
+
+    /**
+     * 开始接收发往本节点的消息和广播消息
+     *
+     * @param nodeId 本节点ID
+     * @param receiver 消息处理器
+     */
+    void start(String nodeId, Consumer<ClusterEnvelope> receiver);
+
+    /**
+     * 发送给指定节点
+     *
+     * @param nodeId 目标节点ID
+     * @param envelope 消息
+     */
+    void send(String nodeId, ClusterEnvelope envelope);
+
+    /**
+     * 广播给所有节点，发出节点自己也会收到
+     *
+     * @param envelope 消息
+     */
+    void broadcast(ClusterEnvelope envelope);
+
+    /**
+     * 停止接收
+     */
+    void stop();
+}
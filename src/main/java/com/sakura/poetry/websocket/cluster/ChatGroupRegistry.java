@@ -0,0 +1,66 @@
+package com.sakura.poetry.websocket.cluster;
+
+import com.sakura.poetry.websocket.model.ChatGroup;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 群组注册表
+ *
+ * <p>集群中所有节点共享的群组信息和成员表。成员变更先写入注册表再广播，
+ * 新加入的节点启动时从注册表加载全部成员，之后定期与注册表对账，
+ * 丢失的变更广播不会让节点的成员表副本一直不一致。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface ChatGroupRegistry {
+
+    /**
+     * 保存群组信息，不含成员
+     *
+     * @param group 群组信息
+     */
+    void saveGroup(ChatGroup group);
+
+    /**
+     * 查询群组信息
+     *
+     * @param groupId 群组ID
+     * @return 群组信息，不含成员；群组不存在时返回 null
+     */
+    ChatGroup findGroup(Long groupId);
+
+    /**
+     * 添加群组成员
+     *
+     * @param groupId 群组ID
+     * @param userIds 用户ID
+     */
+    void addMembers(Long groupId, Collection<Long> userIds);
+
+    /**
+     * 移除群组成员
+     *
+     * @param groupId 群组ID
+     * @param userIds 用户ID
+     */
+    void removeMembers(Long groupId, Collection<Long> userIds);
+
+    /**
+     * 移除群组信息及其成员
+     *
+     * @param groupId 群组ID
+     */
+    void removeGroup(Long groupId);
+
+    /**
+     * 读取全部群组的成员
+     *
+     * @return 群组ID到成员ID的映射，只含已保存群组信息的群组
+     */
+    Map<Long, Set<Long>> memberships();
+}
@@ -0,0 +1,65 @@
+package com.sakura.poetry.websocket.cluster;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 在线位置目录
+ *
+ * <p>记录每个在线用户所连接的节点，以及仍在续约的节点。用户条目归属于登记它的节点，随节点的续约一同有效：
+ * 节点宕机后其名下的条目在续约过期后由任一存活节点续约时清除，清除前路由需结合 {@link #liveNodes()} 判断目标节点是否存活。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface ChatPresenceDirectory {
+
+    /**
+     * 登记用户所在节点，覆盖之前的登记
+     *
+     * @param userId 用户ID
+     * @param nodeId 节点ID
+     */
+    void register(Long userId, String nodeId);
+
+    /**
+     * 注销用户，仅当用户仍登记在该节点时生效，避免覆盖用户在其他节点上的新连接
+     *
+     * @param userId 用户ID
+     * @param nodeId 节点ID
+     */
+    void unregister(Long userId, String nodeId);
+
+    /**
+     * 批量查询用户所在节点
+     *
+     * @param userIds 用户ID
+     * @return 用户ID到节点ID的映射，不含未登记的用户
+     */
+    Map<Long, String> locate(Collection<Long> userIds);
+
+    /**
+     * 节点续约，同时清除续约已过期的节点及其名下的用户条目
+     *
+     * @param nodeId 节点ID
+     * @param ttlMillis 续约有效期（毫秒）
+     * @return 续约前节点仍然存活时返回 true；返回 false 时节点名下的条目可能已被清除，需要重新登记
+     */
+    boolean heartbeat(String nodeId, long ttlMillis);
+
+    /**
+     * 注销节点并清除其名下的用户条目
+     *
+     * @param nodeId 节点ID
+     */
+    void removeNode(String nodeId);
+
+    /**
+     * 续约未过期的节点
+     *
+     * @return 存活节点ID
+     */
+    Set<String> liveNodes();
+}
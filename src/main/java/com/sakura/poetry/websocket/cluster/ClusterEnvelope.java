@@ -0,0 +1,48 @@
+package com.sakura.poetry.websocket.cluster;
+
+import java.util.List;
+
+/**
+ * 节点间转发的消息
+ *
+ * <p>{@link Kind#DELIVER} 携带已序列化的聊天消息和目标节点上的全部接收者，一条群聊消息对每个目标节点只转发一次；
+ * 其余类型用于向所有节点同步群组成员变更。</p>
+ *
+ * @param kind 消息类型
+ * @param sourceNode 发出节点ID
+ * @param groupId 群组ID，仅成员变更时使用
+ * @param userIds 接收者或变更的成员用户ID
+ * @param payload 已序列化的聊天消息，仅投递时使用
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public record ClusterEnvelope(Kind kind, String sourceNode, Long groupId, List<Long> userIds, String payload) {
+
+    /**
+     * 消息类型
+     */
+    public enum Kind {
+
+        /**
+         * 投递给目标节点上的指定用户
+         */
+        DELIVER,
+
+        /**
+         * 群组新增成员
+         */
+        GROUP_MEMBERS_ADDED,
+
+        /**
+         * 群组移除成员
+         */
+        GROUP_MEMBERS_REMOVED,
+
+        /**
+         * 群组解散
+         */
+        GROUP_REMOVED
+    }
+}
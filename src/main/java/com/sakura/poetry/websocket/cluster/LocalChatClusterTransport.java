@@ -0,0 +1,48 @@
+package com.sakura.poetry.websocket.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 进程内消息通道
+ *
+ * <p>同一JVM内的多个应用上下文共享一张静态路由表，消息在发送线程上同步交给目标节点处理，
+ * 用于在单进程内验证集群路由而无需外部Redis。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class LocalChatClusterTransport implements ChatClusterTransport {
+
+    private static final Map<String, Consumer<ClusterEnvelope>> RECEIVERS = new ConcurrentHashMap<>();
+
+    private String nodeId;
+
+    @Override
+    public void start(String nodeId, Consumer<ClusterEnvelope> receiver) {
+        this.nodeId = nodeId;
+        RECEIVERS.put(nodeId, receiver);
+    }
+
+    @Override
+    public void send(String nodeId, ClusterEnvelope envelope) {
+        Consumer<ClusterEnvelope> receiver = RECEIVERS.get(nodeId);
+        if (receiver != null) {
+            receiver.accept(envelope);
+        }
+    }
+
+    @Override
+    public void broadcast(ClusterEnvelope envelope) {
+        RECEIVERS.values().forEach(receiver -> receiver.accept(envelope));
+    }
+
+    @Override
+    public void stop() {
+        if (nodeId != null) {
+            RECEIVERS.remove(nodeId);
+        }
+    }
+}
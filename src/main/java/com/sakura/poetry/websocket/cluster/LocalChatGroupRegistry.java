@@ -0,0 +1,70 @@
+package com.sakura.poetry.websocket.cluster;
+
+import com.sakura.poetry.websocket.model.ChatGroup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内群组注册表，与 {@link LocalChatClusterTransport} 配合使用
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class LocalChatGroupRegistry implements ChatGroupRegistry {
+
+    private static final Map<Long, ChatGroup> GROUPS = new ConcurrentHashMap<>();
+
+    private static final Map<Long, Set<Long>> MEMBERS = new ConcurrentHashMap<>();
+
+    @Override
+    public void saveGroup(ChatGroup group) {
+        GROUPS.put(group.getGroupId(), copy(group));
+    }
+
+    @Override
+    public ChatGroup findGroup(Long groupId) {
+        ChatGroup group = GROUPS.get(groupId);
+        return group != null ? copy(group) : null;
+    }
+
+    @Override
+    public void addMembers(Long groupId, Collection<Long> userIds) {
+        MEMBERS.computeIfAbsent(groupId, k -> ConcurrentHashMap.newKeySet()).addAll(userIds);
+    }
+
+    @Override
+    public void removeMembers(Long groupId, Collection<Long> userIds) {
+        MEMBERS.computeIfPresent(groupId, (k, members) -> {
+            members.removeAll(userIds);
+            return members;
+        });
+    }
+
+    @Override
+    public void removeGroup(Long groupId) {
+        GROUPS.remove(groupId);
+        MEMBERS.remove(groupId);
+    }
+
+    @Override
+    public Map<Long, Set<Long>> memberships() {
+        Map<Long, Set<Long>> memberships = new HashMap<>();
+        for (Long groupId : GROUPS.keySet()) {
+            Set<Long> members = MEMBERS.get(groupId);
+            memberships.put(groupId, members != null ? Set.copyOf(members) : Set.of());
+        }
+        return memberships;
+    }
+
+    private static ChatGroup copy(ChatGroup group) {
+        ChatGroup copy = new ChatGroup();
+        BeanUtils.copyProperties(group, copy, "memberIds");
+        return copy;
+    }
+}
@@ -0,0 +1,72 @@
+package com.sakura.poetry.websocket.cluster;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 进程内在线位置目录，与 {@link LocalChatClusterTransport} 配合使用
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class LocalChatPresenceDirectory implements ChatPresenceDirectory {
+
+    private static final Map<Long, String> PRESENCE = new ConcurrentHashMap<>();
+
+    private static final Map<String, Long> NODES = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(Long userId, String nodeId) {
+        PRESENCE.put(userId, nodeId);
+    }
+
+    @Override
+    public void unregister(Long userId, String nodeId) {
+        PRESENCE.remove(userId, nodeId);
+    }
+
+    @Override
+    public Map<Long, String> locate(Collection<Long> userIds) {
+        Map<Long, String> located = new HashMap<>();
+        for (Long userId : userIds) {
+            String nodeId = PRESENCE.get(userId);
+            if (nodeId != null) {
+                located.put(userId, nodeId);
+            }
+        }
+        return located;
+    }
+
+    @Override
+    public boolean heartbeat(String nodeId, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Long previous = NODES.get(nodeId);
+        NODES.forEach((node, expireAt) -> {
+            if (expireAt < now) {
+                removeNode(node);
+            }
+        });
+        NODES.put(nodeId, now + ttlMillis);
+        return previous != null && previous >= now;
+    }
+
+    @Override
+    public void removeNode(String nodeId) {
+        NODES.remove(nodeId);
+        PRESENCE.values().removeIf(nodeId::equals);
+    }
+
+    @Override
+    public Set<String> liveNodes() {
+        long now = System.currentTimeMillis();
+        return NODES.entrySet().stream()
+                .filter(entry -> entry.getValue() >= now)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+}
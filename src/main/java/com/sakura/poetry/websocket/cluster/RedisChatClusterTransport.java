@@ -0,0 +1,84 @@
+package com.sakura.poetry.websocket.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 基于Redis发布订阅的节点间消息通道
+ *
+ * <p>每个节点订阅 {@code poetry:chat:node:<节点ID>} 和 {@code poetry:chat:broadcast} 两个频道，
+ * 消息体为 {@link ClusterEnvelope} 的JSON。发布订阅不做持久化，目标节点未订阅时消息直接丢弃。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public class RedisChatClusterTransport implements ChatClusterTransport {
+
+    private static final String NODE_CHANNEL_PREFIX = "poetry:chat:node:";
+
+    private static final String BROADCAST_CHANNEL = "poetry:chat:broadcast";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper;
+
+    private MessageListener listener;
+
+    public RedisChatClusterTransport(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                                     ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void start(String nodeId, Consumer<ClusterEnvelope> receiver) {
+        listener = (message, pattern) -> {
+            try {
+                receiver.accept(objectMapper.readValue(message.getBody(), ClusterEnvelope.class));
+            } catch (IOException e) {
+                log.warn("无法解析集群消息: {}", e.getMessage());
+            }
+        };
+        listenerContainer.addMessageListener(listener,
+                List.of(new ChannelTopic(NODE_CHANNEL_PREFIX + nodeId), new ChannelTopic(BROADCAST_CHANNEL)));
+    }
+
+    @Override
+    public void send(String nodeId, ClusterEnvelope envelope) {
+        redisTemplate.convertAndSend(NODE_CHANNEL_PREFIX + nodeId, write(envelope));
+    }
+
+    @Override
+    public void broadcast(ClusterEnvelope envelope) {
+        redisTemplate.convertAndSend(BROADCAST_CHANNEL, write(envelope));
+    }
+
+    @Override
+    public void stop() {
+        if (listener != null) {
+            listenerContainer.removeMessageListener(listener);
+        }
+    }
+
+    private String write(ClusterEnvelope envelope) {
+        try {
+            return objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("集群消息序列化失败", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.sakura.poetry.websocket.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.websocket.model.ChatGroup;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于Redis的群组注册表
+ *
+ * <ul>
+ *   <li>{@code poetry:chat:groups} - 哈希，field 为群组ID，value 为不含成员的群组信息JSON</li>
+ *   <li>{@code poetry:chat:group:members:<群组ID>} - 集合，群组成员ID</li>
+ * </ul>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class RedisChatGroupRegistry implements ChatGroupRegistry {
+
+    private static final String GROUPS_KEY = "poetry:chat:groups";
+
+    private static final String MEMBERS_KEY_PREFIX = "poetry:chat:group:members:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    public RedisChatGroupRegistry(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void saveGroup(ChatGroup group) {
+        ChatGroup info = new ChatGroup();
+        BeanUtils.copyProperties(group, info, "memberIds");
+        try {
+            redisTemplate.opsForHash().put(GROUPS_KEY, group.getGroupId().toString(), objectMapper.writeValueAsString(info));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("群组信息序列化失败", e);
+        }
+    }
+
+    @Override
+    public ChatGroup findGroup(Long groupId) {
+        Object json = redisTemplate.opsForHash().get(GROUPS_KEY, groupId.toString());
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json.toString(), ChatGroup.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("群组信息解析失败: " + groupId, e);
+        }
+    }
+
+    @Override
+    public void addMembers(Long groupId, Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().add(MEMBERS_KEY_PREFIX + groupId, toStrings(userIds));
+        }
+    }
+
+    @Override
+    public void removeMembers(Long groupId, Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().remove(MEMBERS_KEY_PREFIX + groupId, (Object[]) toStrings(userIds));
+        }
+    }
+
+    @Override
+    public void removeGroup(Long groupId) {
+        redisTemplate.opsForHash().delete(GROUPS_KEY, groupId.toString());
+        redisTemplate.delete(MEMBERS_KEY_PREFIX + groupId);
+    }
+
+    @Override
+    public Map<Long, Set<Long>> memberships() {
+        List<Long> groupIds = new ArrayList<>();
+        for (Object field : redisTemplate.opsForHash().keys(GROUPS_KEY)) {
+            groupIds.add(Long.valueOf(field.toString()));
+        }
+        // 一次往返读取全部群组的成员
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long groupId : groupIds) {
+                connection.setCommands().sMembers((MEMBERS_KEY_PREFIX + groupId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        Map<Long, Set<Long>> memberships = new HashMap<>();
+        for (int i = 0; i < groupIds.size(); i++) {
+            Set<Long> members = new HashSet<>();
+            if (results.get(i) instanceof Collection<?> values) {
+                for (Object value : values) {
+                    members.add(Long.valueOf(value.toString()));
+                }
+            }
+            memberships.put(groupIds.get(i), members);
+        }
+        return memberships;
+    }
+
+    private static String[] toStrings(Collection<Long> userIds) {
+        String[] values = new String[userIds.size()];
+        int i = 0;
+        for (Long userId : userIds) {
+            values[i++] = userId.toString();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sakura.poetry.websocket.cluster;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于Redis的在线位置目录
+ *
+ * <ul>
+ *   <li>{@code poetry:chat:presence} - 哈希，field 为用户ID，value 为节点ID</li>
+ *   <li>{@code poetry:chat:presence:node:<节点ID>} - 集合，登记在该节点的用户ID，用于清除宕机节点的条目</li>
+ *   <li>{@code poetry:chat:nodes} - 有序集合，score 为节点续约的到期时间（毫秒）</li>
+ * </ul>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class RedisChatPresenceDirectory implements ChatPresenceDirectory {
+
+    private static final String PRESENCE_KEY = "poetry:chat:presence";
+
+    private static final String NODE_USERS_KEY_PREFIX = "poetry:chat:presence:node:";
+
+    private static final String NODES_KEY = "poetry:chat:nodes";
+
+    /**
+     * 仅当用户仍登记在指定节点时删除
+     */
+    private static final RedisScript<Long> UNREGISTER = new DefaultRedisScript<>(
+            "redis.call('SREM', KEYS[2], ARGV[1]) "
+                    + "if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then return redis.call('HDEL', KEYS[1], ARGV[1]) end return 0",
+            Long.class);
+
+    /**
+     * 清除节点名下仍登记在该节点的用户条目，并注销节点
+     */
+    private static final RedisScript<Long> REMOVE_NODE = new DefaultRedisScript<>(
+            "local users = redis.call('SMEMBERS', KEYS[2]) "
+                    + "for _, user in ipairs(users) do "
+                    + "if redis.call('HGET', KEYS[1], user) == ARGV[1] then redis.call('HDEL', KEYS[1], user) end "
+                    + "end "
+                    + "redis.call('DEL', KEYS[2]) "
+                    + "redis.call('ZREM', KEYS[3], ARGV[1]) "
+                    + "return #users",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisChatPresenceDirectory(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void register(Long userId, String nodeId) {
+        redisTemplate.opsForSet().add(NODE_USERS_KEY_PREFIX + nodeId, userId.toString());
+        redisTemplate.opsForHash().put(PRESENCE_KEY, userId.toString(), nodeId);
+    }
+
+    @Override
+    public void unregister(Long userId, String nodeId) {
+        redisTemplate.execute(UNREGISTER, List.of(PRESENCE_KEY, NODE_USERS_KEY_PREFIX + nodeId), userId.toString(), nodeId);
+    }
+
+    @Override
+    public Map<Long, String> locate(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        List<Object> fields = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            fields.add(userId.toString());
+        }
+        List<Object> nodes = redisTemplate.opsForHash().multiGet(PRESENCE_KEY, fields);
+        Map<Long, String> located = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object node = nodes.get(i);
+            if (node != null) {
+                located.put(ids.get(i), node.toString());
+            }
+        }
+        return located;
+    }
+
+    @Override
+    public boolean heartbeat(String nodeId, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Double expireAt = redisTemplate.opsForZSet().score(NODES_KEY, nodeId);
+        Set<String> expired = redisTemplate.opsForZSet().rangeByScore(NODES_KEY, 0, now);
+        if (expired != null) {
+            expired.forEach(this::removeNode);
+        }
+        redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now + ttlMillis);
+        return expireAt != null && expireAt >= now;
+    }
+
+    @Override
+    public void removeNode(String nodeId) {
+        redisTemplate.execute(REMOVE_NODE, List.of(PRESENCE_KEY, NODE_USERS_KEY_PREFIX + nodeId, NODES_KEY), nodeId);
+    }
+
+    @Override
+    public Set<String> liveNodes() {
+        Set<String> nodes = redisTemplate.opsForZSet().rangeByScore(NODES_KEY, System.currentTimeMillis(), Double.MAX_VALUE);
+        return nodes != null ? nodes : Set.of();
+    }
+}
@@ -1,18 +1,31 @@
 package com.sakura.poetry.websocket.handler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.manager.ChatReadStateManager;
+import com.sakura.poetry.websocket.manager.OfflineMessageInbox;
 import com.sakura.poetry.websocket.manager.WebSocketSessionManager;
 import com.sakura.poetry.websocket.model.ChatMessage;
 import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.websocket.protocol.BinaryChatCodec;
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+import com.sakura.poetry.websocket.protocol.ChatProtocol;
 import com.sakura.poetry.websocket.service.ChatService;
 import com.sakura.poetry.websocket.util.JwtUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,16 +34,27 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * <p>处理WebSocket连接、消息接收和断开连接等事件。</p>
  * 
+ * <p>握手时按 {@link ChatProtocol} 协商帧格式：二进制会话的入站帧由 {@link BinaryChatCodec} 解码，
+ * 心跳、确认和已读等不保留的控制帧解码到会话自带的消息对象中，不为每帧创建对象；回复按会话的帧格式编码。</p>
+ * 
  * @author Sakura Huang
  * @version 1.0.0
  * @since 2025-09-03
  */
 @Slf4j
-public class ChatWebSocketHandler extends TextWebSocketHandler {
+public class ChatWebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
+
+    /**
+     * 会话属性：二进制会话解码控制帧时重复使用的消息对象，同一会话的入站消息依次处理
+     */
+    private static final String SCRATCH_MESSAGE = ChatWebSocketHandler.class.getName() + ".scratchMessage";
 
-    private final WebSocketSessionManager sessionManager = new WebSocketSessionManager();
-    private final ChatService chatService = new ChatService();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebSocketSessionManager sessionManager;
+    private final WebSocketMetrics webSocketMetrics;
+    private final OfflineMessageInbox offlineMessageInbox;
+    private final ChatReadStateManager readStateManager;
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     
     /**
      * 存储会话认证信息的映射表
@@ -38,6 +62,26 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
      */
     private final Map<String, Long> sessionAuthMap = new ConcurrentHashMap<>();
 
+    public ChatWebSocketHandler(WebSocketSessionManager sessionManager, WebSocketMetrics webSocketMetrics,
+                                OfflineMessageInbox offlineMessageInbox, ChatReadStateManager readStateManager,
+                                ChatService chatService) {
+        this.sessionManager = sessionManager;
+        this.webSocketMetrics = webSocketMetrics;
+        this.offlineMessageInbox = offlineMessageInbox;
+        this.readStateManager = readStateManager;
+        this.chatService = chatService;
+    }
+
+    /**
+     * 支持的子协议，客户端未请求时使用JSON
+     * 
+     * @return 子协议名称
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return ChatProtocol.SUB_PROTOCOLS;
+    }
+
     /**
      * 建立WebSocket连接后触发
      * 
@@ -46,7 +90,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
      */
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        log.info("WebSocket连接已建立，会话ID: {}", session.getId());
+        log.debug("WebSocket连接已建立，会话ID: {}", session.getId());
         
         // 从握手属性中获取用户信息
         Long userId = (Long) session.getAttributes().get("userId");
@@ -58,6 +102,9 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             
             // 将认证信息存储到会话映射中
             sessionAuthMap.put(session.getId(), userId);
+            if (ChatProtocol.of(session) == ChatProtocol.BINARY) {
+                session.getAttributes().put(SCRATCH_MESSAGE, new ChatMessage());
+            }
             
             // 发送连接成功消息
             ChatMessage connectMessage = new ChatMessage();
@@ -65,9 +112,12 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             connectMessage.setContent("连接成功，认证信息已验证");
             connectMessage.setTimestamp(LocalDateTime.now());
             
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(connectMessage)));
+            sessionManager.sendMessageToSession(session.getId(), ChatFrame.of(connectMessage));
+            
+            // 下发离线期间收到的私聊消息
+            syncOfflineMessages(session.getId(), userId);
             
-            log.info("WebSocket连接建立成功，用户ID: {}, 用户名: {}", userId, username);
+            log.debug("WebSocket连接建立成功，用户ID: {}, 用户名: {}", userId, username);
         } else {
             // 发送认证失败消息
             ChatMessage errorMessage = new ChatMessage();
@@ -75,7 +125,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             errorMessage.setContent("认证失败，请提供有效的JWT令牌");
             errorMessage.setTimestamp(LocalDateTime.now());
             
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMessage)));
+            session.sendMessage(ChatFrame.of(errorMessage).toMessage(ChatProtocol.of(session)));
             
             // 关闭连接
             session.close();
@@ -93,59 +143,137 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
      */
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        long start = System.nanoTime();
+        sessionManager.touch(session.getId());
         String payload = message.getPayload();
-        log.info("接收到消息: {}", payload);
+        webSocketMetrics.payloadReceived(false, ChatFrame.utf8Length(payload));
+        if (log.isDebugEnabled()) {
+            log.debug("接收到消息，会话ID: {}, 长度: {}", session.getId(), payload.length());
+        }
         
+        MessageType messageType = null;
         try {
             // 解析消息
             ChatMessage chatMessage = objectMapper.readValue(payload, ChatMessage.class);
-            
-            // 检查会话是否已认证
-            if (!sessionAuthMap.containsKey(session.getId())) {
-                // 发送未认证错误消息
-                ChatMessage errorMessage = new ChatMessage();
-                errorMessage.setType(MessageType.ERROR);
-                errorMessage.setContent("会话未认证，请重新连接");
-                errorMessage.setTimestamp(LocalDateTime.now());
-                
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMessage)));
-                return;
-            }
-            
-            // 根据消息类型处理
-            switch (chatMessage.getType()) {
-                case HEARTBEAT:
-                    handleHeartbeat(session, chatMessage);
-                    break;
-                case PRIVATE_CHAT:
-                    handlePrivateChat(session, chatMessage);
-                    break;
-                case GROUP_CHAT:
-                    handleGroupChat(session, chatMessage);
-                    break;
-                default:
-                    log.warn("未知的消息类型: {}", chatMessage.getType());
-                    break;
+            messageType = chatMessage.getType();
+            dispatch(session, chatMessage);
+        } catch (Exception e) {
+            replyError(session, e);
+        } finally {
+            webSocketMetrics.messageHandled(messageType, start);
+        }
+    }
+
+    /**
+     * 接收二进制消息后触发，私聊和群聊消息会被保存，解码到新对象，其余消息解码到会话的消息对象
+     * 
+     * @param session WebSocket会话
+     * @param message 二进制消息
+     */
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        long start = System.nanoTime();
+        sessionManager.touch(session.getId());
+        ByteBuffer payload = message.getPayload();
+        webSocketMetrics.payloadReceived(true, payload.remaining());
+        if (log.isDebugEnabled()) {
+            log.debug("接收到二进制消息，会话ID: {}, 长度: {}", session.getId(), payload.remaining());
+        }
+        
+        MessageType messageType = null;
+        try {
+            messageType = BinaryChatCodec.peekType(payload);
+            ChatMessage target = null;
+            if (messageType != MessageType.PRIVATE_CHAT && messageType != MessageType.GROUP_CHAT) {
+                target = (ChatMessage) session.getAttributes().get(SCRATCH_MESSAGE);
             }
+            dispatch(session, BinaryChatCodec.decode(payload, target != null ? target : new ChatMessage()));
         } catch (Exception e) {
-            log.error("处理消息时发生错误: {}", e.getMessage(), e);
-            
-            // 发送错误消息
+            replyError(session, e);
+        } finally {
+            webSocketMetrics.messageHandled(messageType, start);
+        }
+    }
+
+    /**
+     * 按消息类型处理已解码的消息
+     * 
+     * @param session WebSocket会话
+     * @param chatMessage 聊天消息
+     */
+    private void dispatch(WebSocketSession session, ChatMessage chatMessage) throws Exception {
+        // 检查会话是否已认证
+        if (!sessionAuthMap.containsKey(session.getId())) {
+            // 发送未认证错误消息
             ChatMessage errorMessage = new ChatMessage();
             errorMessage.setType(MessageType.ERROR);
-            errorMessage.setContent("消息处理失败: " + e.getMessage());
+            errorMessage.setContent("会话未认证，请重新连接");
             errorMessage.setTimestamp(LocalDateTime.now());
             
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMessage)));
+            session.sendMessage(ChatFrame.of(errorMessage).toMessage(ChatProtocol.of(session)));
+            return;
+        }
+        
+        // 根据消息类型处理
+        switch (chatMessage.getType()) {
+            case HEARTBEAT:
+                handleHeartbeat(session, chatMessage);
+                break;
+            case PRIVATE_CHAT:
+                handlePrivateChat(session, chatMessage);
+                break;
+            case GROUP_CHAT:
+                handleGroupChat(session, chatMessage);
+                break;
+            case ACK:
+                handleAck(session, chatMessage);
+                break;
+            case READ_UP_TO:
+                handleReadUpTo(session, chatMessage);
+                break;
+            default:
+                log.warn("未知的消息类型: {}", chatMessage.getType());
+                break;
         }
     }
 
     /**
-     * 处理心跳消息
+     * 回复消息处理失败
      * 
      * @param session WebSocket会话
-     * @param message 聊天消息
+     * @param e 异常
      */
+    private void replyError(WebSocketSession session, Exception e) {
+        log.error("处理消息时发生错误: {}", e.getMessage(), e);
+        sendError(session, "消息处理失败: " + e.getMessage());
+    }
+
+    /**
+     * 发送错误消息
+     * 
+     * @param session WebSocket会话
+     * @param content 错误说明
+     */
+    private void sendError(WebSocketSession session, String content) {
+        ChatMessage errorMessage = new ChatMessage();
+        errorMessage.setType(MessageType.ERROR);
+        errorMessage.setContent(content);
+        errorMessage.setTimestamp(LocalDateTime.now());
+        
+        sessionManager.sendMessageToSession(session.getId(), ChatFrame.of(errorMessage));
+    }
+
+    /**
+     * 收到服务端Ping的回复，计为会话活动
+     * 
+     * @param session WebSocket会话
+     * @param message Pong消息
+     */
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        sessionManager.touch(session.getId());
+    }
+
     /**
      * 处理心跳消息
      * 
@@ -160,10 +288,10 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             heartbeatReply.setContent("pong");
             heartbeatReply.setTimestamp(LocalDateTime.now());
             
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(heartbeatReply)));
+            sessionManager.sendMessageToSession(session.getId(), ChatFrame.of(heartbeatReply));
             
             // 更新用户最后活跃时间
-            Long userId = sessionManager.getUserIdBySessionId(session.getId());
+            Long userId = sessionAuthMap.get(session.getId());
             if (userId != null) {
                 sessionManager.updateLastActiveTime(userId);
             }
@@ -173,44 +301,109 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * 处理私聊消息
+     * 处理私聊消息，发送者以会话的认证用户为准
      * 
      * @param session WebSocket会话
      * @param message 聊天消息
      */
     private void handlePrivateChat(WebSocketSession session, ChatMessage message) {
+        message.setSenderId(sessionAuthMap.get(session.getId()));
+        if (message.getReceiverId() == null) {
+            sendError(session, "私聊消息缺少接收者");
+            return;
+        }
         try {
-            // 保存消息到数据库
+            // 分配会话内序号并保存消息到数据库
+            message.setSeq(readStateManager.nextPrivateSeq(message.getSenderId(), message.getReceiverId()));
             chatService.savePrivateMessage(message);
             
-            // 发送给接收者
-            WebSocketSession receiverSession = sessionManager.getSessionByUserId(message.getReceiverId());
-            if (receiverSession != null && receiverSession.isOpen()) {
-                receiverSession.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
-            } else {
-                log.warn("接收者不在线，用户ID: {}", message.getReceiverId());
-                // 可以在这里实现离线消息存储逻辑
+            // 发送给接收者，接收者连接在其他节点时由集群路由转发，不在线时存入离线收件箱
+            ChatFrame frame = ChatFrame.of(message);
+            Long receiverId = message.getReceiverId();
+            if (!sessionManager.sendMessageToUser(receiverId, frame)) {
+                log.debug("接收者不在线，存入离线消息，用户ID: {}", receiverId);
+                offlineMessageInbox.store(receiverId, message.getSenderId(), message.getSeq(), frame.json());
+                // 接收者恰好在存入前完成连接和同步时直接补发这一条，重复收到的消息由客户端按序号去重
+                WebSocketSession receiverSession = sessionManager.getSessionByUserId(receiverId);
+                if (receiverSession != null) {
+                    sessionManager.sendMessageToSession(receiverSession.getId(), frame);
+                }
             }
         } catch (Exception e) {
             log.error("处理私聊消息时发生错误: {}", e.getMessage(), e);
+            sendError(session, "消息发送失败，请稍后重试");
         }
     }
 
     /**
-     * 处理群聊消息
+     * 处理离线消息确认，移除该会话中序号不大于确认水位的离线消息
+     * 
+     * @param session WebSocket会话
+     * @param message 确认消息，senderId 为会话另一方，seq 为已收到的最大序号
+     */
+    private void handleAck(WebSocketSession session, ChatMessage message) {
+        Long userId = sessionAuthMap.get(session.getId());
+        if (userId == null || message.getSenderId() == null || message.getSeq() == null) {
+            log.warn("离线消息确认缺少 senderId 或 seq，会话ID: {}", session.getId());
+            return;
+        }
+        offlineMessageInbox.acknowledge(userId, message.getSenderId(), message.getSeq());
+    }
+
+    /**
+     * 处理已读水位，私聊时同时确认离线消息并通知对方
+     * 
+     * @param session WebSocket会话
+     * @param message 已读消息，receiverId 为私聊对方或 groupId 为群组，seq 为已读到的序号
+     */
+    private void handleReadUpTo(WebSocketSession session, ChatMessage message) {
+        Long userId = sessionAuthMap.get(session.getId());
+        if (userId == null || message.getSeq() == null || (message.getGroupId() == null && message.getReceiverId() == null)) {
+            log.warn("已读消息缺少会话或 seq，会话ID: {}", session.getId());
+            return;
+        }
+        if (message.getGroupId() != null) {
+            chatService.markReadUpTo(userId, ChatReadWatermark.GROUP, message.getGroupId(), message.getSeq());
+        } else {
+            chatService.markReadUpTo(userId, ChatReadWatermark.PRIVATE, message.getReceiverId(), message.getSeq());
+        }
+    }
+
+    /**
+     * 按批下发离线消息，客户端确认前保留在收件箱中
+     * 
+     * @param sessionId 会话ID
+     * @param userId 用户ID
+     */
+    private void syncOfflineMessages(String sessionId, Long userId) {
+        for (ChatFrame frame : offlineMessageInbox.batches(userId)) {
+            sessionManager.sendMessageToSession(sessionId, frame);
+        }
+    }
+
+    /**
+     * 处理群聊消息，发送者以会话的认证用户为准，只有群组成员可以发送
      * 
      * @param session WebSocket会话
      * @param message 聊天消息
      */
     private void handleGroupChat(WebSocketSession session, ChatMessage message) {
+        Long senderId = sessionAuthMap.get(session.getId());
+        message.setSenderId(senderId);
+        if (message.getGroupId() == null || !chatService.isGroupMember(message.getGroupId(), senderId)) {
+            sendError(session, "不是该群组成员，不能发送群聊消息");
+            return;
+        }
         try {
-            // 保存消息到数据库
+            // 分配群内序号并保存消息到数据库
+            message.setSeq(readStateManager.nextGroupSeq(message.getGroupId(), message.getSenderId()));
             chatService.saveGroupMessage(message);
             
             // 发送给群组成员
-            sessionManager.sendMessageToGroup(message.getGroupId(), objectMapper.writeValueAsString(message));
+            sessionManager.sendMessageToGroup(message.getGroupId(), ChatFrame.of(message));
         } catch (Exception e) {
             log.error("处理群聊消息时发生错误: {}", e.getMessage(), e);
+            sendError(session, "消息发送失败，请稍后重试");
         }
     }
 
@@ -223,7 +416,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
      */
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        log.info("WebSocket连接已关闭，会话ID: {}, 状态: {}", session.getId(), status);
+        log.debug("WebSocket连接已关闭，会话ID: {}, 状态: {}", session.getId(), status);
         
         // 从会话管理器中移除会话
         sessionManager.removeSession(session.getId());
@@ -242,6 +435,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         log.error("WebSocket传输错误，会话ID: {}", session.getId(), exception);
+        webSocketMetrics.transportError();
         
         // 从会话管理器中移除会话
         sessionManager.removeSession(session.getId());
@@ -35,7 +35,9 @@ public class ChatHandshakeInterceptor implements HandshakeInterceptor {
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, 
                                   WebSocketHandler wsHandler, Map<String, Object> attributes) throws Exception {
-        log.info("WebSocket握手开始: {}", request.getURI());
+        if (log.isDebugEnabled()) {
+            log.debug("WebSocket握手开始: {}", request.getURI().getPath());
+        }
         
         // 从请求参数中获取JWT令牌
         String token = null;
@@ -45,6 +47,25 @@ public class ChatHandshakeInterceptor implements HandshakeInterceptor {
         }
         
         // 验证令牌
+        if (authenticate(token, attributes)) {
+            return true;
+        } else {
+            // 可以设置响应状态码
+            response.setStatusCode(org.springframework.http.HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    /**
+     * 校验握手令牌，通过后将用户信息写入会话属性
+     * 
+     * <p>Servlet端点与独立NIO聊天服务共用此校验。</p>
+     * 
+     * @param token JWT令牌，可为 null
+     * @param attributes 会话属性
+     * @return 是否通过校验
+     */
+    public static boolean authenticate(String token, Map<String, Object> attributes) {
         if (token != null && JwtUtil.validateToken(token) && !JwtUtil.isTokenExpired(token)) {
             Long userId = JwtUtil.getUserIdFromToken(token);
             String username = JwtUtil.getUsernameFromToken(token);
@@ -53,14 +74,11 @@ public class ChatHandshakeInterceptor implements HandshakeInterceptor {
             attributes.put("userId", userId);
             attributes.put("username", username);
             
-            log.info("WebSocket握手认证成功: 用户ID={}, 用户名={}", userId, username);
+            log.debug("WebSocket握手认证成功: 用户ID={}, 用户名={}", userId, username);
             return true;
-        } else {
-            log.warn("WebSocket握手认证失败: 令牌无效或已过期");
-            // 可以设置响应状态码
-            response.setStatusCode(org.springframework.http.HttpStatus.UNAUTHORIZED);
-            return false;
         }
+        log.warn("WebSocket握手认证失败: 令牌无效或已过期");
+        return false;
     }
 
     /**
@@ -74,6 +92,8 @@ public class ChatHandshakeInterceptor implements HandshakeInterceptor {
     @Override
     public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, 
                               WebSocketHandler wsHandler, Exception exception) {
-        log.info("WebSocket握手完成: {}", request.getURI());
+        if (log.isDebugEnabled()) {
+            log.debug("WebSocket握手完成: {}", request.getURI().getPath());
+        }
     }
 }
\ No newline at end of file
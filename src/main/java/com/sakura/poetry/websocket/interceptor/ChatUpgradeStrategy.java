@@ -0,0 +1,74 @@
+package com.sakura.poetry.websocket.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.standard.StandardWebSocketUpgradeStrategy;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servlet端点的WebSocket升级策略
+ *
+ * <p>Tomcat 在升级时自行读取 {@code Sec-WebSocket-Extensions} 请求头，只要客户端请求（浏览器总会请求）
+ * 就启用 permessage-deflate，并为每个连接常驻一对压缩器和解压器。关闭压缩时在升级前对Tomcat隐藏该请求头，
+ * 连接不再协商任何扩展；开启时与默认策略相同。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class ChatUpgradeStrategy extends StandardWebSocketUpgradeStrategy {
+
+    private final boolean deflateEnabled;
+
+    /**
+     * @param deflateEnabled 是否允许协商 permessage-deflate
+     */
+    public ChatUpgradeStrategy(boolean deflateEnabled) {
+        this.deflateEnabled = deflateEnabled;
+    }
+
+    @Override
+    public List<WebSocketExtension> getSupportedExtensions(ServerHttpRequest request) {
+        return deflateEnabled ? super.getSupportedExtensions(request) : List.of();
+    }
+
+    @Override
+    protected void upgradeHttpToWebSocket(HttpServletRequest request, HttpServletResponse response,
+                                          ServerEndpointConfig endpointConfig, Map<String, String> pathParams) throws Exception {
+        super.upgradeHttpToWebSocket(deflateEnabled ? request : new WithoutExtensions(request), response,
+                endpointConfig, pathParams);
+    }
+
+    /**
+     * 不含 {@code Sec-WebSocket-Extensions} 请求头的请求
+     */
+    private static class WithoutExtensions extends HttpServletRequestWrapper {
+
+        WithoutExtensions(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isExtensions(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isExtensions(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        private static boolean isExtensions(String name) {
+            return WebSocketHttpHeaders.SEC_WEBSOCKET_EXTENSIONS.equalsIgnoreCase(name);
+        }
+    }
+}
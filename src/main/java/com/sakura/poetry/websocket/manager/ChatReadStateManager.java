@@ -0,0 +1,84 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.websocket.model.UnreadSummary;
+
+import java.util.Collection;
+
+/**
+ * 聊天已读状态管理器
+ *
+ * <p>分配私聊和群聊的会话内序号，维护每个用户在每个会话中的已读水位：序号不大于水位的消息均为已读，
+ * 会话的未读数即会话最新序号与水位之差。发送消息时发送者的水位随之推进到该消息。</p>
+ *
+ * <p>由 {@code app.websocket.cluster.enabled} 选择实现：未开启集群路由时为 {@link MemoryChatReadStateManager}，
+ * 序号和未读数保存在本节点内存中；开启时为 {@link RedisChatReadStateManager}，集群中的所有节点共享序号和水位，
+ * 同一会话不会在不同节点上分配出相同的序号。两种实现都经 {@link ChatReadWatermarkWriter} 把水位写回数据库。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface ChatReadStateManager {
+
+    /**
+     * 为私聊消息分配会话内序号，发送者的水位推进到该序号，接收者的未读数加一
+     *
+     * @param senderId 发送者ID
+     * @param receiverId 接收者ID
+     * @return 会话内序号
+     */
+    long nextPrivateSeq(Long senderId, Long receiverId);
+
+    /**
+     * 为群聊消息分配群内序号，发送者的水位推进到该序号，其他成员不逐个更新
+     *
+     * @param groupId 群组ID
+     * @param senderId 发送者ID
+     * @return 群内序号
+     */
+    long nextGroupSeq(Long groupId, Long senderId);
+
+    /**
+     * 成员入群，入群前的消息不计入未读；群内还没有消息时无需记录。
+     * 入群序号同时作为水位写回，重启后仍然有效
+     *
+     * @param groupId 群组ID
+     * @param userIds 新成员ID
+     */
+    void joinGroup(Long groupId, Collection<Long> userIds);
+
+    /**
+     * 成员退群，清除入群序号和群聊水位
+     *
+     * @param groupId 群组ID
+     * @param userIds 退出的成员ID
+     */
+    void leaveGroup(Long groupId, Collection<Long> userIds);
+
+    /**
+     * 群组解散，成员状态中残留的水位在查询时忽略
+     *
+     * @param groupId 群组ID
+     */
+    void removeGroup(Long groupId);
+
+    /**
+     * 把用户在一个会话中的已读水位推进到指定序号，超过会话最新序号的部分按最新序号处理
+     *
+     * @param userId 用户ID
+     * @param conversationType 会话类型，{@link ChatReadWatermark#PRIVATE} 或 {@link ChatReadWatermark#GROUP}
+     * @param conversationId 私聊为对方用户ID，群聊为群组ID
+     * @param seq 已读到的序号
+     * @return 推进后的水位，水位没有变化时返回 -1
+     */
+    long markRead(Long userId, int conversationType, Long conversationId, long seq);
+
+    /**
+     * 查询用户的未读消息
+     *
+     * @param userId 用户ID
+     * @return 未读汇总
+     */
+    UnreadSummary unread(Long userId);
+}
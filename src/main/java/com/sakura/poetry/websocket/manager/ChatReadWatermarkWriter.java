@@ -0,0 +1,177 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.mapper.ChatReadWatermarkMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已读水位写回器
+ *
+ * <p>水位变化先合并在内存中，由定时任务批量写回 chat_read_watermark，同一会话在一个周期内的多次推进只写一行。
+ * 写入成功后才从待写回中移除，加载已读状态时可以读到尚未写回的水位。两种 {@link ChatReadStateManager} 实现共用。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class ChatReadWatermarkWriter {
+
+    /**
+     * 每批写回的最大行数
+     */
+    @Value("${app.websocket.read-state.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    /**
+     * 待写回的已读水位，同一会话的多次推进只保留最大值
+     */
+    private final Map<WatermarkKey, Long> pendingWatermarks = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 登记待写回的水位，与已登记的取较大者
+     *
+     * @param userId 用户ID
+     * @param conversationType 会话类型
+     * @param conversationId 会话ID
+     * @param seq 已读水位
+     */
+    public void markPending(Long userId, int conversationType, Long conversationId, long seq) {
+        pendingWatermarks.merge(new WatermarkKey(userId, conversationType, conversationId), seq, Math::max);
+    }
+
+    /**
+     * 查询尚未写回的、与用户有关的水位：本人在各会话中的水位，以及私聊对方在与该用户的会话中的水位
+     *
+     * @param userId 用户ID
+     * @return 水位列表，userId 不是该用户的为私聊对方的水位
+     */
+    public List<ChatReadWatermark> pendingOf(long userId) {
+        List<ChatReadWatermark> watermarks = new ArrayList<>();
+        for (Map.Entry<WatermarkKey, Long> entry : pendingWatermarks.entrySet()) {
+            WatermarkKey key = entry.getKey();
+            if (key.userId() == userId
+                    || (key.conversationType() == ChatReadWatermark.PRIVATE && key.conversationId() == userId)) {
+                watermarks.add(key.toWatermark(entry.getValue()));
+            }
+        }
+        return watermarks;
+    }
+
+    /**
+     * 查询尚未写回的、群组成员的最大水位
+     *
+     * @param groupId 群组ID
+     * @return 最大水位，没有时返回 0
+     */
+    public long pendingMaxGroupSeq(long groupId) {
+        long latest = 0;
+        for (Map.Entry<WatermarkKey, Long> entry : pendingWatermarks.entrySet()) {
+            WatermarkKey key = entry.getKey();
+            if (key.conversationType() == ChatReadWatermark.GROUP && key.conversationId() == groupId) {
+                latest = Math.max(latest, entry.getValue());
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * 查询尚未写回的、私聊双方在会话中的较大水位
+     *
+     * @param userId 用户ID
+     * @param peerId 对方用户ID
+     * @return 较大水位，没有时返回 0
+     */
+    public long pendingPrivateSeq(long userId, long peerId) {
+        return Math.max(pendingWatermarks.getOrDefault(new WatermarkKey(userId, ChatReadWatermark.PRIVATE, peerId), 0L),
+                pendingWatermarks.getOrDefault(new WatermarkKey(peerId, ChatReadWatermark.PRIVATE, userId), 0L));
+    }
+
+    /**
+     * 定时批量写回已读水位
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.read-state.flush-interval-millis:2000}")
+    public void flush() {
+        if (pendingWatermarks.isEmpty()) {
+            return;
+        }
+        List<ChatReadWatermark> batch = new ArrayList<>(Math.min(flushBatchSize, pendingWatermarks.size()));
+        int rows = 0;
+        for (Map.Entry<WatermarkKey, Long> entry : pendingWatermarks.entrySet()) {
+            batch.add(entry.getKey().toWatermark(entry.getValue()));
+            if (batch.size() == flushBatchSize) {
+                rows += write(batch);
+                batch.clear();
+            }
+        }
+        rows += write(batch);
+        if (rows > 0) {
+            log.debug("已读水位写回完成，共 {} 行", rows);
+        }
+    }
+
+    /**
+     * 停机前写回剩余水位
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 通过批处理执行器先更新已存在的行，再插入不存在的行；写入成功的水位从待写回中移除，
+     * 写入期间又被推进的水位保留到下次刷新，写入失败时全部保留
+     */
+    private int write(List<ChatReadWatermark> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            ChatReadWatermarkMapper mapper = session.getMapper(ChatReadWatermarkMapper.class);
+            for (ChatReadWatermark watermark : batch) {
+                mapper.updateIfGreater(watermark);
+            }
+            for (ChatReadWatermark watermark : batch) {
+                mapper.insertIfAbsent(watermark);
+            }
+            session.flushStatements();
+            session.commit();
+        } catch (Exception e) {
+            log.error("已读水位写回失败，将在下次刷新时重试，行数: {}", batch.size(), e);
+            return 0;
+        }
+        for (ChatReadWatermark watermark : batch) {
+            pendingWatermarks.remove(new WatermarkKey(watermark.getUserId(), watermark.getConversationType(),
+                    watermark.getConversationId()), watermark.getReadSeq());
+        }
+        return batch.size();
+    }
+
+    /**
+     * 待写回水位的键
+     */
+    private record WatermarkKey(long userId, int conversationType, long conversationId) {
+
+        private ChatReadWatermark toWatermark(long readSeq) {
+            return new ChatReadWatermark().setUserId(userId).setConversationType(conversationType)
+                    .setConversationId(conversationId).setReadSeq(readSeq);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.sakura.poetry.websocket.manager;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 群组成员索引
+ *
+ * <p>同时维护群组→成员和用户→群组两个索引，集合为 {@link LongOpenHashSet}，不装箱、不重复，
+ * 十万成员的群组增删成员为常数时间。同一群组或同一用户的修改在映射表条目上串行执行，
+ * 读取在集合自身上加锁；两个索引分别更新，短暂不一致时以群组→成员为准。</p>
+ *
+ * <p>群发时遍历的是成员快照数组，快照在首次读取时生成，成员变化后失效，
+ * 因此发送过程不持有锁，频繁群发的群组也不会每次复制成员集合。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Component
+public class GroupMembershipIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    /**
+     * key: groupId, value: 成员ID集合
+     */
+    private final Map<Long, LongSet> groupMembers = new ConcurrentHashMap<>();
+
+    /**
+     * key: userId, value: 所在群组ID集合，用户退出全部群组后移除
+     */
+    private final Map<Long, LongSet> userGroups = new ConcurrentHashMap<>();
+
+    /**
+     * 添加群组成员，已在群内的用户忽略
+     *
+     * @param groupId 群组ID
+     * @param userIds 用户ID
+     * @return 本次新加入的用户ID
+     */
+    public List<Long> addMembers(Long groupId, Collection<Long> userIds) {
+        LongArrayList added = new LongArrayList(userIds.size());
+        groupMembers.compute(groupId, (k, members) -> {
+            LongSet target = members != null ? members : new LongSet();
+            synchronized (target) {
+                for (Long userId : userIds) {
+                    if (userId != null && target.add(userId.longValue())) {
+                        added.add(userId.longValue());
+                    }
+                }
+            }
+            return target;
+        });
+        for (int i = 0; i < added.size(); i++) {
+            join(added.getLong(i), groupId);
+        }
+        return added;
+    }
+
+    /**
+     * 移除群组成员，不在群内的用户忽略
+     *
+     * @param groupId 群组ID
+     * @param userIds 用户ID
+     * @return 本次移除的用户ID
+     */
+    public List<Long> removeMembers(Long groupId, Collection<Long> userIds) {
+        LongArrayList removed = new LongArrayList(userIds.size());
+        groupMembers.computeIfPresent(groupId, (k, members) -> {
+            synchronized (members) {
+                for (Long userId : userIds) {
+                    if (userId != null && members.remove(userId.longValue())) {
+                        removed.add(userId.longValue());
+                    }
+                }
+            }
+            return members;
+        });
+        for (int i = 0; i < removed.size(); i++) {
+            leave(removed.getLong(i), groupId);
+        }
+        return removed;
+    }
+
+    /**
+     * 移除群组，并从全部成员的群组索引中删除该群
+     *
+     * @param groupId 群组ID
+     * @return 群组原有的成员ID
+     */
+    public long[] removeGroup(Long groupId) {
+        LongSet members = groupMembers.remove(groupId);
+        if (members == null) {
+            return EMPTY;
+        }
+        long[] removed = members.snapshot();
+        for (long userId : removed) {
+            leave(userId, groupId);
+        }
+        return removed;
+    }
+
+    /**
+     * 获取群组成员快照，调用方不得修改返回的数组
+     *
+     * @param groupId 群组ID
+     * @return 成员ID，群组不存在时为空数组
+     */
+    public long[] members(Long groupId) {
+        LongSet members = groupMembers.get(groupId);
+        return members != null ? members.snapshot() : EMPTY;
+    }
+
+    /**
+     * 获取全部群组ID
+     *
+     * @return 群组ID的副本
+     */
+    public Set<Long> groupIds() {
+        return Set.copyOf(groupMembers.keySet());
+    }
+
+    /**
+     * 获取用户所在群组的快照，调用方不得修改返回的数组
+     *
+     * @param userId 用户ID
+     * @return 群组ID，用户不在任何群组时为空数组
+     */
+    public long[] groupsOf(Long userId) {
+        LongSet groups = userGroups.get(userId);
+        return groups != null ? groups.snapshot() : EMPTY;
+    }
+
+    /**
+     * 判断用户是否为群组成员
+     *
+     * @param groupId 群组ID
+     * @param userId 用户ID
+     * @return 是成员时返回 true
+     */
+    public boolean isMember(Long groupId, Long userId) {
+        LongSet members = groupMembers.get(groupId);
+        if (members == null) {
+            return false;
+        }
+        synchronized (members) {
+            return members.contains(userId.longValue());
+        }
+    }
+
+    /**
+     * 获取群组成员数量
+     *
+     * @param groupId 群组ID
+     * @return 成员数量，群组不存在时为 0
+     */
+    public int memberCount(Long groupId) {
+        LongSet members = groupMembers.get(groupId);
+        if (members == null) {
+            return 0;
+        }
+        synchronized (members) {
+            return members.size();
+        }
+    }
+
+    /**
+     * 把群组加入用户的群组索引
+     */
+    private void join(long userId, Long groupId) {
+        userGroups.compute(userId, (k, groups) -> {
+            LongSet target = groups != null ? groups : new LongSet();
+            synchronized (target) {
+                target.add(groupId.longValue());
+            }
+            return target;
+        });
+    }
+
+    /**
+     * 从用户的群组索引中删除群组，用户不再属于任何群组时移除整个条目
+     */
+    private void leave(long userId, Long groupId) {
+        userGroups.computeIfPresent(userId, (k, groups) -> {
+            synchronized (groups) {
+                groups.remove(groupId.longValue());
+                return groups.isEmpty() ? null : groups;
+            }
+        });
+    }
+
+    /**
+     * 带快照的长整型集合，读写都须在集合上加锁
+     */
+    private static final class LongSet extends LongOpenHashSet {
+
+        /**
+         * 成员快照，修改后置空，下次读取时重新生成
+         */
+        private volatile long[] snapshot;
+
+        @Override
+        public boolean add(long k) {
+            if (super.add(k)) {
+                snapshot = null;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(long k) {
+            if (super.remove(k)) {
+                snapshot = null;
+                return true;
+            }
+            return false;
+        }
+
+        long[] snapshot() {
+            long[] current = snapshot;
+            if (current == null) {
+                synchronized (this) {
+                    current = snapshot;
+                    if (current == null) {
+                        current = toLongArray();
+                        snapshot = current;
+                    }
+                }
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.sakura.poetry.websocket.manager;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 空闲会话回收器
+ *
+ * <p>以哈希时间轮跟踪每个会话的截止时刻：轮上有 {@code wheel-size} 个槽，每 {@code tick-millis} 前进一格，
+ * 会话按截止时刻落入对应的槽，超过一圈的截止时刻在经过时留在原槽等待下一圈。</p>
+ *
+ * <ul>
+ *   <li>收到消息时只写入会话的最后活跃时刻（{@link System#nanoTime()}），不移动时间轮上的条目，也不分配对象</li>
+ *   <li>槽到期时才检查会话：期间有过活动的按新的截止时刻重新放入时间轮；空闲达到 {@code ping-after-millis}
+ *       时由服务端发送一次 Ping，客户端（浏览器自动）回复的 Pong 计为活动；空闲达到 {@code timeout-millis} 的会话被关闭并清理</li>
+ *   <li>时间轮只由定时任务线程修改，新会话先进入并发队列，下一次推进时放入时间轮，槽本身不需要加锁</li>
+ *   <li>会话断开时只打上取消标记，条目在所在槽到期时丢弃</li>
+ * </ul>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class IdleSessionReaper {
+
+    /**
+     * 是否启用
+     */
+    @Value("${app.websocket.idle.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 空闲多久后由服务端发送Ping（毫秒）
+     */
+    @Value("${app.websocket.idle.ping-after-millis:30000}")
+    private long pingAfterMillis;
+
+    /**
+     * 空闲多久后关闭会话（毫秒）
+     */
+    @Value("${app.websocket.idle.timeout-millis:90000}")
+    private long timeoutMillis;
+
+    /**
+     * 时间轮每格的时长（毫秒）
+     */
+    @Value("${app.websocket.idle.tick-millis:1000}")
+    private long tickMillis;
+
+    /**
+     * 时间轮槽数，向上取整为2的幂
+     */
+    @Value("${app.websocket.idle.wheel-size:512}")
+    private int wheelSize;
+
+    /**
+     * 正在跟踪的会话，key: sessionId
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 等待放入时间轮的新会话
+     */
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+
+    private ArrayDeque<Entry>[] wheel;
+
+    private int mask;
+
+    private long tickNanos;
+
+    private long pingAfterNanos;
+
+    private long timeoutNanos;
+
+    /**
+     * 时间轮零点
+     */
+    private long startNanos;
+
+    /**
+     * 已处理到的格数，只由定时任务线程读写
+     */
+    private long currentTick;
+
+    /**
+     * 向空闲会话发送Ping
+     */
+    private volatile Consumer<String> pinger;
+
+    /**
+     * 关闭并清理超时会话
+     */
+    private volatile Consumer<String> expirer;
+
+    /**
+     * 创建时间轮
+     */
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void init() {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        wheel = (ArrayDeque<Entry>[]) new ArrayDeque<?>[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        mask = size - 1;
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        pingAfterNanos = TimeUnit.MILLISECONDS.toNanos(pingAfterMillis);
+        timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * 开始回收空闲会话
+     *
+     * @param pinger 向空闲会话发送Ping，参数为会话ID
+     * @param expirer 关闭并清理超时会话，参数为会话ID
+     */
+    public void start(Consumer<String> pinger, Consumer<String> expirer) {
+        this.pinger = pinger;
+        this.expirer = expirer;
+    }
+
+    /**
+     * 开始跟踪会话
+     *
+     * @param sessionId 会话ID
+     */
+    public void track(String sessionId) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(sessionId, System.nanoTime());
+        Entry previous = entries.put(sessionId, entry);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * 记录会话活动，在收到任何消息（包括Pong）时调用
+     *
+     * @param sessionId 会话ID
+     */
+    public void touch(String sessionId) {
+        Entry entry = entries.get(sessionId);
+        if (entry != null) {
+            entry.lastActive = System.nanoTime();
+        }
+    }
+
+    /**
+     * 停止跟踪会话
+     *
+     * @param sessionId 会话ID
+     */
+    public void untrack(String sessionId) {
+        Entry entry = entries.remove(sessionId);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    /**
+     * 推进时间轮，处理所有已到期的槽
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.idle.tick-millis:1000}")
+    public void advance() {
+        if (!enabled || expirer == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long targetTick = (now - startNanos) / tickNanos;
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            if (!entry.cancelled) {
+                schedule(entry, entry.lastActive + pingAfterNanos);
+            }
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            expireBucket(wheel[(int) (currentTick & mask)], now);
+        }
+    }
+
+    /**
+     * 当前跟踪的会话数
+     *
+     * @return 会话数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void expireBucket(ArrayDeque<Entry> bucket, long now) {
+        for (int remaining = bucket.size(); remaining > 0; remaining--) {
+            Entry entry = bucket.poll();
+            if (entry.cancelled) {
+                continue;
+            }
+            if (entry.deadlineTick > currentTick) {
+                // 截止时刻在之后的圈次
+                bucket.add(entry);
+                continue;
+            }
+            long lastActive = entry.lastActive;
+            long idle = now - lastActive;
+            if (idle >= timeoutNanos) {
+                entries.remove(entry.sessionId, entry);
+                entry.cancelled = true;
+                log.debug("会话空闲超时，关闭会话: {}", entry.sessionId);
+                invoke(expirer, entry.sessionId);
+            } else if (idle >= pingAfterNanos) {
+                if (entry.pingedAt != lastActive) {
+                    entry.pingedAt = lastActive;
+                    invoke(pinger, entry.sessionId);
+                }
+                schedule(entry, lastActive + timeoutNanos);
+            } else {
+                schedule(entry, lastActive + pingAfterNanos);
+            }
+        }
+    }
+
+    /**
+     * 按截止时刻放入时间轮，至少放在下一格
+     */
+    private void schedule(Entry entry, long deadlineNanos) {
+        long tick = Math.max(currentTick + 1, (deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+        entry.deadlineTick = tick;
+        wheel[(int) (tick & mask)].add(entry);
+    }
+
+    private void invoke(Consumer<String> action, String sessionId) {
+        try {
+            action.accept(sessionId);
+        } catch (Exception e) {
+            log.warn("处理空闲会话失败，会话ID: {}", sessionId, e);
+        }
+    }
+
+    /**
+     * 时间轮上的会话条目
+     */
+    private static final class Entry {
+
+        private final String sessionId;
+
+        /**
+         * 最后活跃时刻，由收消息的线程写入
+         */
+        private volatile long lastActive;
+
+        private volatile boolean cancelled;
+
+        /**
+         * 所在槽的截止格数，只由定时任务线程读写
+         */
+        private long deadlineTick;
+
+        /**
+         * 已为哪一次活动发送过Ping，避免同一段空闲期重复发送
+         */
+        private long pingedAt;
+
+        private Entry(String sessionId, long lastActive) {
+            this.sessionId = sessionId;
+            this.lastActive = lastActive;
+            this.pingedAt = Long.MIN_VALUE;
+        }
+    }
+}
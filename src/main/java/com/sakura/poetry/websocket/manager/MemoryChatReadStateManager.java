@@ -0,0 +1,446 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.mapper.ChatReadWatermarkMapper;
+import com.sakura.poetry.websocket.model.UnreadSummary;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于内存的聊天已读状态管理器
+ *
+ * <p>已读状态以每个用户在每个会话中的已读水位表示：序号不大于水位的消息均为已读，
+ * 会话的未读数即会话最新序号与水位之差。发送消息时发送者的水位随之推进到该消息，
+ * 因此水位之后的消息都来自其他人，差值即为准确的未读数。</p>
+ *
+ * <ul>
+ *   <li>私聊会话的序号在这里分配，两个参与者的状态在同一把锁下更新，私聊未读总数随每条消息增量维护</li>
+ *   <li>群聊每个群组只维护一个最新序号，发送群聊消息不逐个更新成员，成员的群聊未读数在查询时按差值计算；
+ *       用户所在的群组取自 {@link GroupMembershipIndex}，入群不加载成员状态，只在群内已有消息时记录入群时的序号</li>
+ *   <li>一次 {@code READ_UP_TO} 把水位推进到指定序号，无论确认多少条消息都只改一个数</li>
+ *   <li>水位变化交给 {@link ChatReadWatermarkWriter} 合并后批量写回 chat_read_watermark</li>
+ *   <li>用户状态在一段时间内未被用到时移出内存，再次用到时重新加载</li>
+ * </ul>
+ *
+ * <p>序号不单独持久化，而是由水位恢复：发送者的水位随每条消息推进到该消息的序号，会话中各参与者水位的最大值即为会话最新序号。
+ * 用户状态在首次用到时加载本人的水位和私聊对方的水位，私聊的最新序号和未读数随之恢复；群组状态在首次用到时以成员水位的最大值作为最新序号。
+ * 尚未写回的水位在加载时一并合并，重启后序号不会回退，未读数不会清零（进程崩溃时最后一个写回周期内的变化除外）。</p>
+ *
+ * <p>序号和未读数只在本节点内存中，开启集群路由时由 {@link RedisChatReadStateManager} 代替。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.websocket.cluster", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class MemoryChatReadStateManager implements ChatReadStateManager {
+
+    /**
+     * 用户状态的空闲保留时间（分钟），超过后移出内存
+     */
+    @Value("${app.websocket.read-state.idle-evict-minutes:30}")
+    private long idleEvictMinutes;
+
+    /**
+     * 用户已读状态，key: 用户ID
+     */
+    private final Map<Long, UserReadState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 群组序号状态，key: 群组ID
+     */
+    private final Map<Long, GroupState> groupStates = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ChatReadWatermarkMapper watermarkMapper;
+
+    @Autowired
+    private ChatReadWatermarkWriter watermarkWriter;
+
+    @Autowired
+    private GroupMembershipIndex membershipIndex;
+
+    @Override
+    public long nextPrivateSeq(Long senderId, Long receiverId) {
+        while (true) {
+            UserReadState sender = state(senderId);
+            UserReadState receiver = state(receiverId);
+            if (sender == receiver) {
+                synchronized (sender) {
+                    if (sender.evicted) {
+                        continue;
+                    }
+                    Conversation self = sender.privateConversation(senderId);
+                    long seq = self.latest + 1;
+                    sender.advance(self, seq, seq);
+                    markPending(senderId, ChatReadWatermark.PRIVATE, senderId, seq);
+                    return seq;
+                }
+            }
+            // 按用户ID顺序加锁，避免双方同时互发消息时死锁
+            UserReadState first = senderId < receiverId ? sender : receiver;
+            UserReadState second = first == sender ? receiver : sender;
+            synchronized (first) {
+                synchronized (second) {
+                    if (sender.evicted || receiver.evicted) {
+                        continue;
+                    }
+                    Conversation outgoing = sender.privateConversation(receiverId);
+                    Conversation incoming = receiver.privateConversation(senderId);
+                    long seq = Math.max(Math.max(outgoing.latest, incoming.latest), Math.max(outgoing.read, incoming.read)) + 1;
+                    sender.advance(outgoing, seq, seq);
+                    receiver.advance(incoming, seq, incoming.read);
+                    markPending(senderId, ChatReadWatermark.PRIVATE, receiverId, seq);
+                    return seq;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long nextGroupSeq(Long groupId, Long senderId) {
+        long seq = groupState(groupId).sequence.incrementAndGet();
+        while (true) {
+            UserReadState sender = state(senderId);
+            synchronized (sender) {
+                if (sender.evicted) {
+                    continue;
+                }
+                if (sender.groupReads.merge(groupId, seq, Math::max) == seq) {
+                    markPending(senderId, ChatReadWatermark.GROUP, groupId, seq);
+                }
+                return seq;
+            }
+        }
+    }
+
+    @Override
+    public void joinGroup(Long groupId, Collection<Long> userIds) {
+        GroupState group = groupState(groupId);
+        long latest = group.sequence.get();
+        if (latest == 0) {
+            return;
+        }
+        synchronized (group) {
+            for (Long userId : userIds) {
+                group.joinSeqs.putIfAbsent(userId.longValue(), latest);
+            }
+        }
+        for (Long userId : userIds) {
+            markPending(userId, ChatReadWatermark.GROUP, groupId, latest);
+        }
+    }
+
+    @Override
+    public void leaveGroup(Long groupId, Collection<Long> userIds) {
+        GroupState group = groupStates.get(groupId);
+        if (group != null) {
+            synchronized (group) {
+                for (Long userId : userIds) {
+                    group.joinSeqs.remove(userId.longValue());
+                }
+            }
+        }
+        for (Long userId : userIds) {
+            UserReadState state = states.get(userId);
+            if (state != null) {
+                synchronized (state) {
+                    state.groupReads.remove(groupId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void removeGroup(Long groupId) {
+        groupStates.remove(groupId);
+    }
+
+    @Override
+    public long markRead(Long userId, int conversationType, Long conversationId, long seq) {
+        GroupState group = null;
+        if (conversationType != ChatReadWatermark.PRIVATE) {
+            if (!membershipIndex.isMember(conversationId, userId)) {
+                return -1;
+            }
+            // 群组状态可能需要查库，在持有用户状态的锁之前取得
+            group = groupState(conversationId);
+        }
+        while (true) {
+            UserReadState state = state(userId);
+            synchronized (state) {
+                if (state.evicted) {
+                    continue;
+                }
+                return advanceRead(state, userId, conversationType, conversationId, group, seq);
+            }
+        }
+    }
+
+    /**
+     * 推进水位，调用方持有用户状态的锁；写回在锁内登记，状态移出前写回的水位一定包含这次推进
+     */
+    private long advanceRead(UserReadState state, Long userId, int conversationType, Long conversationId,
+                             GroupState group, long seq) {
+        long read;
+        if (group == null) {
+            Conversation conversation = state.privates.get(conversationId);
+            if (conversation == null || Math.min(seq, conversation.latest) <= conversation.read) {
+                return -1;
+            }
+            read = Math.min(seq, conversation.latest);
+            state.advance(conversation, conversation.latest, read);
+        } else {
+            long latest = group.sequence.get();
+            if (Math.min(seq, latest) <= group.readSeq(state, userId, conversationId)) {
+                return -1;
+            }
+            read = Math.min(seq, latest);
+            state.groupReads.put(conversationId, read);
+        }
+        markPending(userId, conversationType, conversationId, read);
+        return read;
+    }
+
+    @Override
+    public UnreadSummary unread(Long userId) {
+        UnreadSummary summary = new UnreadSummary();
+        // 群组状态可能需要查库，在持有用户状态的锁之前取得
+        long[] groupIds = membershipIndex.groupsOf(userId);
+        GroupState[] groups = new GroupState[groupIds.length];
+        for (int i = 0; i < groupIds.length; i++) {
+            groups[i] = groupState(groupIds[i]);
+        }
+        UserReadState state = state(userId);
+        long total;
+        synchronized (state) {
+            total = state.privateUnread;
+            for (Map.Entry<Long, Conversation> entry : state.privates.entrySet()) {
+                Conversation conversation = entry.getValue();
+                if (conversation.latest > conversation.read) {
+                    summary.getConversations().add(new UnreadSummary.Conversation(ChatReadWatermark.PRIVATE,
+                            entry.getKey(), conversation.read, conversation.latest, conversation.latest - conversation.read));
+                }
+            }
+            for (int i = 0; i < groupIds.length; i++) {
+                long groupId = groupIds[i];
+                GroupState group = groups[i];
+                long latest = group.sequence.get();
+                long read = group.readSeq(state, userId, groupId);
+                if (latest > read) {
+                    total += latest - read;
+                    summary.getConversations().add(new UnreadSummary.Conversation(ChatReadWatermark.GROUP,
+                            groupId, read, latest, latest - read));
+                }
+            }
+        }
+        summary.setTotal(total);
+        return summary;
+    }
+
+    /**
+     * 定时移出空闲的用户状态，移出前先写回水位，再次加载时不会读到旧值。
+     * 移出在用户状态的锁内标记，已经取得该状态的线程加锁后发现已移出时重新获取，不会在移出的状态上分配序号
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.read-state.evict-interval-millis:60000}")
+    public void evictIdle() {
+        watermarkWriter.flush();
+        long deadline = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleEvictMinutes);
+        int evicted = 0;
+        for (Map.Entry<Long, UserReadState> entry : states.entrySet()) {
+            UserReadState state = entry.getValue();
+            if (state.lastAccess - deadline >= 0) {
+                continue;
+            }
+            synchronized (state) {
+                if (state.lastAccess - deadline < 0 && states.remove(entry.getKey(), state)) {
+                    state.evicted = true;
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("已移出 {} 个空闲的用户已读状态，剩余 {} 个", evicted, states.size());
+        }
+    }
+
+    private void markPending(Long userId, int conversationType, Long conversationId, long seq) {
+        watermarkWriter.markPending(userId, conversationType, conversationId, seq);
+    }
+
+    /**
+     * 获取用户状态，首次用到时从数据库加载本人和私聊对方的已读水位，并合并尚未写回的水位。
+     *
+     * <p>先读待写回的水位再查库：写回先写库再移出待写回，两处总有一处能读到。
+     * 加载失败时抛出异常而不缓存空状态，否则会话序号会从1重新分配，客户端按序号确认时会删掉未读的离线消息。</p>
+     */
+    private UserReadState state(Long userId) {
+        UserReadState state = states.get(userId);
+        if (state != null) {
+            state.lastAccess = System.nanoTime();
+            return state;
+        }
+        UserReadState loaded = new UserReadState();
+        for (ChatReadWatermark watermark : watermarkWriter.pendingOf(userId)) {
+            if (watermark.getUserId().equals(userId)) {
+                loaded.restoreOwn(watermark.getConversationType(), watermark.getConversationId(), watermark.getReadSeq());
+            } else {
+                loaded.restorePeer(watermark.getUserId(), watermark.getReadSeq());
+            }
+        }
+        try {
+            for (ChatReadWatermark watermark : watermarkMapper.selectByUserId(userId)) {
+                loaded.restoreOwn(watermark.getConversationType(), watermark.getConversationId(), watermark.getReadSeq());
+            }
+            for (ChatReadWatermark watermark : watermarkMapper.selectPeerWatermarks(userId)) {
+                loaded.restorePeer(watermark.getUserId(), watermark.getReadSeq());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("加载用户 " + userId + " 的已读水位失败", e);
+        }
+        loaded.recountPrivateUnread();
+        state = states.putIfAbsent(userId, loaded);
+        return state != null ? state : loaded;
+    }
+
+    /**
+     * 获取群组状态，首次用到时以成员已读水位的最大值作为最新序号；与用户状态一样先读待写回的水位，加载失败时不缓存
+     */
+    private GroupState groupState(Long groupId) {
+        GroupState group = groupStates.get(groupId);
+        if (group != null) {
+            return group;
+        }
+        long latest = watermarkWriter.pendingMaxGroupSeq(groupId);
+        try {
+            Long max = watermarkMapper.selectMaxGroupSeq(groupId);
+            latest = Math.max(latest, max != null ? max : 0);
+        } catch (Exception e) {
+            throw new IllegalStateException("加载群组 " + groupId + " 的最新序号失败", e);
+        }
+        GroupState loaded = new GroupState();
+        loaded.sequence.set(latest);
+        group = groupStates.putIfAbsent(groupId, loaded);
+        return group != null ? group : loaded;
+    }
+
+    /**
+     * 私聊会话的最新序号与已读水位
+     */
+    private static final class Conversation {
+
+        private long latest;
+
+        private long read;
+    }
+
+    /**
+     * 群组的最新序号与成员入群序号
+     */
+    private static final class GroupState {
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        /**
+         * 群内已有消息后入群的成员，key: 用户ID，value: 入群时的群组序号；读写时以群组状态加锁
+         */
+        private final Long2LongOpenHashMap joinSeqs = new Long2LongOpenHashMap();
+
+        /**
+         * 成员的有效水位，取已读水位与入群序号中的较大者，调用方持有用户状态的锁
+         */
+        private long readSeq(UserReadState state, long userId, long groupId) {
+            long joined;
+            synchronized (this) {
+                joined = joinSeqs.get(userId);
+            }
+            return Math.max(state.groupReads.getOrDefault(groupId, 0L), joined);
+        }
+    }
+
+    /**
+     * 单个用户的已读状态，读写时以对象本身加锁；需要查库的用户状态和群组状态都在加锁之前取得，锁内不访问数据库
+     */
+    private static final class UserReadState {
+
+        /**
+         * 私聊会话，key: 对方用户ID
+         */
+        private final Map<Long, Conversation> privates = new HashMap<>();
+
+        /**
+         * 群聊已读水位，key: 群组ID
+         */
+        private final Map<Long, Long> groupReads = new HashMap<>();
+
+        /**
+         * 全部私聊会话的未读数之和
+         */
+        private long privateUnread;
+
+        /**
+         * 最近一次用到的时间（{@link System#nanoTime()}），用于移出空闲状态
+         */
+        private volatile long lastAccess = System.nanoTime();
+
+        /**
+         * 已移出状态表，在锁内设置；持有该对象的线程加锁后发现已移出时应重新获取
+         */
+        private boolean evicted;
+
+        private Conversation privateConversation(Long peerId) {
+            return privates.computeIfAbsent(peerId, k -> new Conversation());
+        }
+
+        /**
+         * 加载时恢复本人的水位，私聊会话的最新序号至少为本人的水位
+         */
+        private void restoreOwn(int conversationType, Long conversationId, long read) {
+            if (conversationType == ChatReadWatermark.PRIVATE) {
+                Conversation conversation = privateConversation(conversationId);
+                conversation.read = Math.max(conversation.read, read);
+                conversation.latest = Math.max(conversation.latest, conversation.read);
+            } else {
+                groupReads.merge(conversationId, read, Math::max);
+            }
+        }
+
+        /**
+         * 加载时恢复私聊对方的水位，对方发出的消息使其水位推进到该消息，会话的最新序号至少为对方的水位
+         */
+        private void restorePeer(Long peerId, long peerRead) {
+            Conversation conversation = privateConversation(peerId);
+            conversation.latest = Math.max(conversation.latest, peerRead);
+        }
+
+        private void recountPrivateUnread() {
+            privateUnread = 0;
+            for (Conversation conversation : privates.values()) {
+                privateUnread += conversation.latest - conversation.read;
+            }
+        }
+
+        /**
+         * 更新会话的最新序号和水位，同步调整私聊未读总数
+         */
+        private void advance(Conversation conversation, long latest, long read) {
+            privateUnread += (latest - read) - (conversation.latest - conversation.read);
+            conversation.latest = latest;
+            conversation.read = read;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 内存离线消息收件箱
+ *
+ * <p>接收者不在线的私聊消息按到达顺序追加到接收者的收件箱，只保存已序列化的JSON和定位所需的发送者ID、会话序号。
+ * 接收者重连后按批下发，一帧包含多条消息，二进制会话收到的批量帧在下发时由JSON转换；消息在客户端按会话确认序号水位之前一直保留，重连时会再次下发。</p>
+ *
+ * <p>内存有上限：单个收件箱超过条数或字节数上限时丢弃最早的消息，单条消息超过每用户字节数上限时直接拒绝，
+ * 全部收件箱超过总字节数上限时不再接收新消息，超过保留时间的消息由定时任务清除，清空的收件箱随之移除，长期不上线的用户不会一直占用内存。</p>
+ *
+ * <p>收件箱只在本节点内存中，集群部署时用户重连到其他节点收不到本节点保存的消息，应配置
+ * {@code app.websocket.offline.store=redis} 使用 {@link RedisOfflineMessageInbox}。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.websocket.offline", name = "store", havingValue = "memory", matchIfMissing = true)
+public class MemoryOfflineMessageInbox implements OfflineMessageInbox {
+
+    /**
+     * 每条消息除JSON外的估算开销（字节）：条目对象、字符串头和队列槽位
+     */
+    private static final long ENTRY_OVERHEAD = 80;
+
+    /**
+     * 每个用户最多保留的离线消息数
+     */
+    @Value("${app.websocket.offline.max-messages-per-user:1000}")
+    private int maxMessagesPerUser;
+
+    /**
+     * 每个用户离线消息的字节数上限
+     */
+    @Value("${app.websocket.offline.max-bytes-per-user:524288}")
+    private long maxBytesPerUser;
+
+    /**
+     * 全部离线消息的字节数上限
+     */
+    @Value("${app.websocket.offline.max-total-bytes:67108864}")
+    private long maxTotalBytes;
+
+    /**
+     * 离线消息保留时间（小时）
+     */
+    @Value("${app.websocket.offline.ttl-hours:168}")
+    private long ttlHours;
+
+    /**
+     * 每帧最多包含的消息数
+     */
+    @Value("${app.websocket.offline.batch-max-messages:100}")
+    private int batchMaxMessages;
+
+    /**
+     * 每帧JSON的字符数上限，单条消息超过时单独成帧
+     */
+    @Value("${app.websocket.offline.batch-max-chars:32768}")
+    private int batchMaxChars;
+
+    /**
+     * 是否开启集群路由，开启时提示收件箱只在本节点内有效
+     */
+    @Value("${app.websocket.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    /**
+     * 离线收件箱，key: 接收者ID；条目的增删都在 {@link ConcurrentHashMap#compute} 内完成，与收件箱的移除互斥
+     */
+    private final Map<Long, Inbox> inboxes = new ConcurrentHashMap<>();
+
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    /**
+     * 注册离线消息指标
+     */
+    @PostConstruct
+    public void init() {
+        webSocketMetrics.bindOfflineInbox(inboxes, totalBytes);
+        if (clusterEnabled) {
+            log.warn("已开启集群路由但离线消息只保存在本节点内存中，用户重连到其他节点时收不到，请配置 app.websocket.offline.store=redis");
+        }
+    }
+
+    @Override
+    public boolean store(Long receiverId, Long senderId, long seq, String json) {
+        long size = sizeOf(json);
+        if (size > maxBytesPerUser) {
+            webSocketMetrics.offlineDropped();
+            log.warn("离线消息超过单个用户的字节数上限，丢弃发给用户 {} 的消息，大小: {}", receiverId, size);
+            return false;
+        }
+        if (totalBytes.get() + size > maxTotalBytes) {
+            webSocketMetrics.offlineDropped();
+            log.warn("离线消息总量超过上限，丢弃发给用户 {} 的消息", receiverId);
+            return false;
+        }
+        Entry entry = new Entry(senderId, seq, System.currentTimeMillis(), json);
+        inboxes.compute(receiverId, (userId, inbox) -> {
+            if (inbox == null) {
+                inbox = new Inbox();
+            }
+            inbox.add(entry, size);
+            while (inbox.entries.size() > maxMessagesPerUser || inbox.bytes > maxBytesPerUser) {
+                inbox.removeFirst();
+                webSocketMetrics.offlineDropped();
+            }
+            return inbox;
+        });
+        webSocketMetrics.offlineStored();
+        return true;
+    }
+
+    @Override
+    public void acknowledge(Long userId, Long senderId, long seq) {
+        inboxes.computeIfPresent(userId, (key, inbox) -> {
+            inbox.removeIf(entry -> entry.senderId == senderId && entry.seq <= seq);
+            return inbox.entries.isEmpty() ? null : inbox;
+        });
+    }
+
+    @Override
+    public List<ChatFrame> batches(Long userId) {
+        List<String> messages = new ArrayList<>();
+        inboxes.computeIfPresent(userId, (key, inbox) -> {
+            for (Entry entry : inbox.entries) {
+                messages.add(entry.json);
+            }
+            return inbox;
+        });
+        return OfflineMessageInbox.toBatches(messages, batchMaxMessages, batchMaxChars);
+    }
+
+    /**
+     * 清除超过保留时间的离线消息，移除清空的收件箱
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.offline.sweep-interval-millis:60000}")
+    public void expire() {
+        long deadline = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(ttlHours);
+        for (Long userId : inboxes.keySet()) {
+            inboxes.computeIfPresent(userId, (key, inbox) -> {
+                while (!inbox.entries.isEmpty() && inbox.entries.peekFirst().createdAt < deadline) {
+                    inbox.removeFirst();
+                    webSocketMetrics.offlineExpired();
+                }
+                return inbox.entries.isEmpty() ? null : inbox;
+            });
+        }
+    }
+
+    private static long sizeOf(String json) {
+        return ENTRY_OVERHEAD + 2L * json.length();
+    }
+
+    /**
+     * 离线消息条目
+     */
+    private record Entry(long senderId, long seq, long createdAt, String json) {
+    }
+
+    /**
+     * 单个用户的收件箱，按到达顺序追加，只在 {@link ConcurrentHashMap#compute} 内访问
+     */
+    private final class Inbox {
+
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+        private long bytes;
+
+        private void add(Entry entry, long size) {
+            entries.addLast(entry);
+            bytes += size;
+            totalBytes.addAndGet(size);
+        }
+
+        private void removeFirst() {
+            release(entries.removeFirst());
+        }
+
+        private void removeIf(Predicate<Entry> filter) {
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (filter.test(entry)) {
+                    iterator.remove();
+                    release(entry);
+                }
+            }
+        }
+
+        private void release(Entry entry) {
+            long size = sizeOf(entry.json);
+            bytes -= size;
+            totalBytes.addAndGet(-size);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 离线消息收件箱
+ *
+ * <p>接收者不在线的私聊消息按到达顺序追加到接收者的收件箱，接收者重连后按批下发，
+ * 消息在客户端按会话确认序号水位之前一直保留，重连时会再次下发。</p>
+ *
+ * <p>由 {@code app.websocket.offline.store} 选择实现：{@code memory}（默认）为 {@link MemoryOfflineMessageInbox}，
+ * 只在本节点内有效；{@code redis} 为 {@link RedisOfflineMessageInbox}，集群中的所有节点共享。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public interface OfflineMessageInbox {
+
+    /**
+     * 追加一条离线消息
+     *
+     * @param receiverId 接收者ID
+     * @param senderId 发送者ID
+     * @param seq 会话内序号
+     * @param json 已序列化的聊天消息
+     * @return 已保存时返回 true；单条消息超过每用户字节数上限或总量超过上限时返回 false
+     */
+    boolean store(Long receiverId, Long senderId, long seq, String json);
+
+    /**
+     * 确认某个会话中序号不大于水位的消息，并从收件箱中移除
+     *
+     * @param userId 接收者ID
+     * @param senderId 会话另一方的用户ID
+     * @param seq 已收到的最大序号
+     */
+    void acknowledge(Long userId, Long senderId, long seq);
+
+    /**
+     * 按批组装待下发的离线消息帧，不移除消息
+     *
+     * @param userId 接收者ID
+     * @return {@code OFFLINE_BATCH} 帧，没有离线消息时为空列表
+     */
+    List<ChatFrame> batches(Long userId);
+
+    /**
+     * 把按到达顺序排列的消息JSON组装为 {@code OFFLINE_BATCH} 帧，单条消息超过字符数上限时单独成帧
+     *
+     * @param messages 消息JSON
+     * @param maxMessages 每帧最多包含的消息数
+     * @param maxChars 每帧JSON的字符数上限
+     * @return 批量帧
+     */
+    static List<ChatFrame> toBatches(List<String> messages, int maxMessages, int maxChars) {
+        String prefix = "{\"type\":\"OFFLINE_BATCH\",\"messages\":[";
+        String suffix = "]}";
+        List<ChatFrame> frames = new ArrayList<>();
+        StringBuilder frame = null;
+        int first = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            String message = messages.get(i);
+            if (frame != null && (i - first == maxMessages || frame.length() + message.length() + 1 > maxChars)) {
+                frames.add(ChatFrame.ofBatch(frame.append(suffix).toString(), messages.subList(first, i)));
+                frame = null;
+            }
+            if (frame == null) {
+                frame = new StringBuilder(Math.min(maxChars, prefix.length() + message.length() * 2)).append(prefix);
+                first = i;
+            } else {
+                frame.append(',');
+            }
+            frame.append(message);
+        }
+        if (frame != null) {
+            frames.add(ChatFrame.ofBatch(frame.append(suffix).toString(), messages.subList(first, messages.size())));
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,402 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.mapper.ChatReadWatermarkMapper;
+import com.sakura.poetry.websocket.model.UnreadSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Redis的聊天已读状态管理器
+ *
+ * <ul>
+ *   <li>{@code poetry:chat:seq:private:<较小用户ID>:<较大用户ID>} - 私聊会话的最新序号</li>
+ *   <li>{@code poetry:chat:seq:group:<群组ID>} - 群组的最新序号</li>
+ *   <li>{@code poetry:chat:read:<用户ID>} - 哈希，{@code p:<对方用户ID>} 和 {@code g:<群组ID>} 为用户在各会话中的已读水位，
+ *       私聊会话的字段同时作为会话列表；{@code loaded} 表示已从数据库加载</li>
+ * </ul>
+ *
+ * <p>开启集群路由时，私聊双方、群组成员可能连接在不同节点上，序号以 {@code INCR} 在Redis中分配，
+ * 同一会话在任何节点上都不会分配出相同的序号，离线收件箱按序号确认时不会误删其他节点发出的消息；
+ * 已读水位同样保存在Redis中，用户在任一节点查询的未读数都相同。分配序号和推进水位都在Lua脚本中完成，
+ * 未读数在查询时按最新序号与水位之差计算。</p>
+ *
+ * <p>键在每次用到时续期 {@code idle-evict-minutes}，过期后与内存实现移出的状态一样从数据库恢复：
+ * 用户哈希首次用到时合并本人和私聊对方的水位，序号键不存在时以会话参与者水位的最大值为起点。
+ * 水位仍经 {@link ChatReadWatermarkWriter} 写回数据库，Redis数据丢失后可以恢复。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.websocket.cluster", name = "enabled", havingValue = "true")
+public class RedisChatReadStateManager implements ChatReadStateManager {
+
+    private static final String PRIVATE_SEQ_KEY_PREFIX = "poetry:chat:seq:private:";
+
+    private static final String GROUP_SEQ_KEY_PREFIX = "poetry:chat:seq:group:";
+
+    private static final String READ_KEY_PREFIX = "poetry:chat:read:";
+
+    private static final String PRIVATE_FIELD_PREFIX = "p:";
+
+    private static final String GROUP_FIELD_PREFIX = "g:";
+
+    private static final String LOADED_FIELD = "loaded";
+
+    /**
+     * 用户哈希尚未从数据库加载
+     */
+    private static final long NOT_LOADED = -2;
+
+    /**
+     * 分配序号：序号键不存在且没有给出起点时返回 nil；发送者的水位推进到该序号，私聊时为接收者登记会话
+     */
+    private static final RedisScript<Long> NEXT_SEQ = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then "
+                    + "if ARGV[2] == '' then return false end "
+                    + "redis.call('SET', KEYS[1], ARGV[2]) "
+                    + "end "
+                    + "local seq = redis.call('INCR', KEYS[1]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[1]) "
+                    + "redis.call('HSET', KEYS[2], ARGV[3], seq) "
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[1]) "
+                    + "if KEYS[3] then "
+                    + "redis.call('HSETNX', KEYS[3], ARGV[4], 0) "
+                    + "redis.call('PEXPIRE', KEYS[3], ARGV[1]) "
+                    + "end "
+                    + "return seq",
+            Long.class);
+
+    /**
+     * 推进水位，超过最新序号的部分按最新序号处理；用户哈希未加载时返回 -2，序号键不存在时返回 nil，水位没有变化时返回 -1
+     */
+    private static final RedisScript<Long> MARK_READ = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[2], 'loaded') == 0 then return -2 end "
+                    + "local latest = redis.call('GET', KEYS[1]) "
+                    + "if not latest then return false end "
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[1]) "
+                    + "local read = math.min(tonumber(ARGV[2]), tonumber(latest)) "
+                    + "local current = tonumber(redis.call('HGET', KEYS[2], ARGV[3]) or '0') "
+                    + "if read <= current then return -1 end "
+                    + "redis.call('HSET', KEYS[2], ARGV[3], read) "
+                    + "return read",
+            Long.class);
+
+    /**
+     * 新成员的水位推进到群组最新序号；序号键不存在时返回 nil，否则返回最新序号
+     */
+    private static final RedisScript<Long> JOIN = new DefaultRedisScript<>(
+            "local latest = redis.call('GET', KEYS[1]) "
+                    + "if not latest then return false end "
+                    + "latest = tonumber(latest) "
+                    + "for i = 2, #KEYS do "
+                    + "local current = tonumber(redis.call('HGET', KEYS[i], ARGV[1]) or '0') "
+                    + "if latest > current then redis.call('HSET', KEYS[i], ARGV[1], latest) end "
+                    + "redis.call('PEXPIRE', KEYS[i], ARGV[2]) "
+                    + "end "
+                    + "return latest",
+            Long.class);
+
+    /**
+     * 合并从数据库加载的水位（取较大者），为私聊会话补上序号键，并标记用户哈希已加载
+     */
+    private static final RedisScript<Long> LOAD = new DefaultRedisScript<>(
+            "local m = tonumber(ARGV[2]) "
+                    + "for i = 1, m do "
+                    + "local field = ARGV[1 + i * 2] "
+                    + "local value = tonumber(ARGV[2 + i * 2]) "
+                    + "local current = tonumber(redis.call('HGET', KEYS[1], field) or '-1') "
+                    + "if value > current then redis.call('HSET', KEYS[1], field, value) end "
+                    + "end "
+                    + "for i = 2, #KEYS do "
+                    + "redis.call('SET', KEYS[i], ARGV[1 + m * 2 + i], 'NX', 'PX', ARGV[1]) "
+                    + "end "
+                    + "redis.call('HSET', KEYS[1], 'loaded', 1) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[1]) "
+                    + "return m",
+            Long.class);
+
+    /**
+     * 键的空闲保留时间（分钟），与内存实现移出用户状态的时间相同
+     */
+    @Value("${app.websocket.read-state.idle-evict-minutes:30}")
+    private long idleEvictMinutes;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ChatReadWatermarkMapper watermarkMapper;
+
+    @Autowired
+    private ChatReadWatermarkWriter watermarkWriter;
+
+    @Autowired
+    private GroupMembershipIndex membershipIndex;
+
+    @Override
+    public long nextPrivateSeq(Long senderId, Long receiverId) {
+        List<String> keys = List.of(privateSeqKey(senderId, receiverId), readKey(senderId), readKey(receiverId));
+        String senderField = PRIVATE_FIELD_PREFIX + receiverId;
+        String receiverField = PRIVATE_FIELD_PREFIX + senderId;
+        Long seq = redisTemplate.execute(NEXT_SEQ, keys, ttlMillis(), "", senderField, receiverField);
+        if (seq == null) {
+            seq = redisTemplate.execute(NEXT_SEQ, keys, ttlMillis(), String.valueOf(privateSeed(senderId, receiverId)),
+                    senderField, receiverField);
+        }
+        watermarkWriter.markPending(senderId, ChatReadWatermark.PRIVATE, receiverId, seq);
+        return seq;
+    }
+
+    @Override
+    public long nextGroupSeq(Long groupId, Long senderId) {
+        List<String> keys = List.of(groupSeqKey(groupId), readKey(senderId));
+        String field = GROUP_FIELD_PREFIX + groupId;
+        Long seq = redisTemplate.execute(NEXT_SEQ, keys, ttlMillis(), "", field);
+        if (seq == null) {
+            seq = redisTemplate.execute(NEXT_SEQ, keys, ttlMillis(), String.valueOf(groupSeed(groupId)), field);
+        }
+        watermarkWriter.markPending(senderId, ChatReadWatermark.GROUP, groupId, seq);
+        return seq;
+    }
+
+    @Override
+    public void joinGroup(Long groupId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String seqKey = groupSeqKey(groupId);
+        List<String> keys = new ArrayList<>(userIds.size() + 1);
+        keys.add(seqKey);
+        for (Long userId : userIds) {
+            keys.add(readKey(userId));
+        }
+        String field = GROUP_FIELD_PREFIX + groupId;
+        Long latest = redisTemplate.execute(JOIN, keys, field, ttlMillis());
+        if (latest == null) {
+            if (seedLatest(seqKey, groupSeed(groupId)) == 0) {
+                return;
+            }
+            latest = redisTemplate.execute(JOIN, keys, field, ttlMillis());
+        }
+        if (latest == null || latest == 0) {
+            return;
+        }
+        for (Long userId : userIds) {
+            watermarkWriter.markPending(userId, ChatReadWatermark.GROUP, groupId, latest);
+        }
+    }
+
+    @Override
+    public void leaveGroup(Long groupId, Collection<Long> userIds) {
+        byte[] field = (GROUP_FIELD_PREFIX + groupId).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                connection.hashCommands().hDel(readKey(userId).getBytes(StandardCharsets.UTF_8), field);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void removeGroup(Long groupId) {
+        redisTemplate.delete(groupSeqKey(groupId));
+    }
+
+    @Override
+    public long markRead(Long userId, int conversationType, Long conversationId, long seq) {
+        boolean group = conversationType != ChatReadWatermark.PRIVATE;
+        if (group && !membershipIndex.isMember(conversationId, userId)) {
+            return -1;
+        }
+        String seqKey = group ? groupSeqKey(conversationId) : privateSeqKey(userId, conversationId);
+        List<String> keys = List.of(seqKey, readKey(userId));
+        String field = (group ? GROUP_FIELD_PREFIX : PRIVATE_FIELD_PREFIX) + conversationId;
+        Long read = redisTemplate.execute(MARK_READ, keys, ttlMillis(), String.valueOf(seq), field);
+        if (read != null && read == NOT_LOADED) {
+            load(userId);
+            read = redisTemplate.execute(MARK_READ, keys, ttlMillis(), String.valueOf(seq), field);
+        }
+        if (read == null) {
+            long seed = group ? groupSeed(conversationId) : privateSeed(userId, conversationId);
+            if (seedLatest(seqKey, seed) == 0) {
+                return -1;
+            }
+            read = redisTemplate.execute(MARK_READ, keys, ttlMillis(), String.valueOf(seq), field);
+        }
+        if (read == null || read < 0) {
+            return -1;
+        }
+        watermarkWriter.markPending(userId, conversationType, conversationId, read);
+        return read;
+    }
+
+    @Override
+    public UnreadSummary unread(Long userId) {
+        String readKey = readKey(userId);
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(readKey);
+        if (!fields.containsKey(LOADED_FIELD)) {
+            load(userId);
+            fields = redisTemplate.opsForHash().entries(readKey);
+        }
+        redisTemplate.expire(readKey, Duration.ofMinutes(idleEvictMinutes));
+
+        List<Long> conversationIds = new ArrayList<>();
+        List<Long> reads = new ArrayList<>();
+        List<String> seqKeys = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            String field = entry.getKey().toString();
+            if (field.startsWith(PRIVATE_FIELD_PREFIX)) {
+                long peerId = Long.parseLong(field.substring(PRIVATE_FIELD_PREFIX.length()));
+                conversationIds.add(peerId);
+                reads.add(Long.parseLong(entry.getValue().toString()));
+                seqKeys.add(privateSeqKey(userId, peerId));
+            }
+        }
+        int privates = conversationIds.size();
+        for (long groupId : membershipIndex.groupsOf(userId)) {
+            Object read = fields.get(GROUP_FIELD_PREFIX + groupId);
+            conversationIds.add(groupId);
+            reads.add(read != null ? Long.parseLong(read.toString()) : 0);
+            seqKeys.add(groupSeqKey(groupId));
+        }
+
+        UnreadSummary summary = new UnreadSummary();
+        long total = 0;
+        List<String> latests = seqKeys.isEmpty() ? List.of() : redisTemplate.opsForValue().multiGet(seqKeys);
+        for (int i = 0; i < seqKeys.size(); i++) {
+            boolean group = i >= privates;
+            long conversationId = conversationIds.get(i);
+            String value = latests != null ? latests.get(i) : null;
+            long latest = value != null ? Long.parseLong(value)
+                    : seedLatest(seqKeys.get(i), group ? groupSeed(conversationId) : privateSeed(userId, conversationId));
+            long read = reads.get(i);
+            if (latest > read) {
+                total += latest - read;
+                summary.getConversations().add(new UnreadSummary.Conversation(
+                        group ? ChatReadWatermark.GROUP : ChatReadWatermark.PRIVATE, conversationId, read, latest, latest - read));
+            }
+        }
+        summary.setTotal(total);
+        return summary;
+    }
+
+    /**
+     * 从数据库和尚未写回的水位加载用户哈希：本人在各会话中的水位，以及私聊对方在与该用户的会话中的水位。
+     * 加载失败时抛出异常，不标记为已加载
+     */
+    private void load(Long userId) {
+        Map<String, Long> reads = new HashMap<>();
+        Map<Long, Long> privateSeeds = new HashMap<>();
+        List<ChatReadWatermark> watermarks = new ArrayList<>(watermarkWriter.pendingOf(userId));
+        try {
+            watermarks.addAll(watermarkMapper.selectByUserId(userId));
+            watermarks.addAll(watermarkMapper.selectPeerWatermarks(userId));
+        } catch (Exception e) {
+            throw new IllegalStateException("加载用户 " + userId + " 的已读水位失败", e);
+        }
+        for (ChatReadWatermark watermark : watermarks) {
+            if (!watermark.getUserId().equals(userId)) {
+                // 私聊对方的水位：会话存在，最新序号至少为对方的水位
+                reads.merge(PRIVATE_FIELD_PREFIX + watermark.getUserId(), 0L, Math::max);
+                privateSeeds.merge(watermark.getUserId(), watermark.getReadSeq(), Math::max);
+            } else if (watermark.getConversationType() == ChatReadWatermark.PRIVATE) {
+                reads.merge(PRIVATE_FIELD_PREFIX + watermark.getConversationId(), watermark.getReadSeq(), Math::max);
+                privateSeeds.merge(watermark.getConversationId(), watermark.getReadSeq(), Math::max);
+            } else {
+                reads.merge(GROUP_FIELD_PREFIX + watermark.getConversationId(), watermark.getReadSeq(), Math::max);
+            }
+        }
+        List<String> keys = new ArrayList<>(privateSeeds.size() + 1);
+        List<String> args = new ArrayList<>(reads.size() * 2 + privateSeeds.size() + 2);
+        keys.add(readKey(userId));
+        args.add(ttlMillis());
+        args.add(String.valueOf(reads.size()));
+        for (Map.Entry<String, Long> entry : reads.entrySet()) {
+            args.add(entry.getKey());
+            args.add(entry.getValue().toString());
+        }
+        for (Map.Entry<Long, Long> entry : privateSeeds.entrySet()) {
+            keys.add(privateSeqKey(userId, entry.getKey()));
+            args.add(entry.getValue().toString());
+        }
+        redisTemplate.execute(LOAD, keys, args.toArray());
+        log.debug("已加载用户 {} 的已读水位，会话数: {}", userId, reads.size());
+    }
+
+    /**
+     * 序号键不存在时以给定起点创建，已被其他节点创建时读取现值
+     *
+     * @return 最新序号，起点为 0 时不创建键并返回 0
+     */
+    private long seedLatest(String seqKey, long seed) {
+        if (seed == 0) {
+            return 0;
+        }
+        Boolean created = redisTemplate.opsForValue().setIfAbsent(seqKey, String.valueOf(seed), Duration.ofMinutes(idleEvictMinutes));
+        if (Boolean.TRUE.equals(created)) {
+            return seed;
+        }
+        String latest = redisTemplate.opsForValue().get(seqKey);
+        return latest != null ? Long.parseLong(latest) : seed;
+    }
+
+    /**
+     * 私聊会话的序号起点：双方在会话中水位的最大值
+     */
+    private long privateSeed(Long userId, Long peerId) {
+        try {
+            Long max = watermarkMapper.selectMaxPrivateSeq(userId, peerId);
+            return Math.max(max != null ? max : 0, watermarkWriter.pendingPrivateSeq(userId, peerId));
+        } catch (Exception e) {
+            throw new IllegalStateException("加载私聊会话 " + userId + "-" + peerId + " 的最新序号失败", e);
+        }
+    }
+
+    /**
+     * 群组的序号起点：成员水位的最大值
+     */
+    private long groupSeed(Long groupId) {
+        try {
+            Long max = watermarkMapper.selectMaxGroupSeq(groupId);
+            return Math.max(max != null ? max : 0, watermarkWriter.pendingMaxGroupSeq(groupId));
+        } catch (Exception e) {
+            throw new IllegalStateException("加载群组 " + groupId + " 的最新序号失败", e);
+        }
+    }
+
+    private String ttlMillis() {
+        return String.valueOf(TimeUnit.MINUTES.toMillis(idleEvictMinutes));
+    }
+
+    private static String privateSeqKey(Long userId, Long peerId) {
+        return userId <= peerId ? PRIVATE_SEQ_KEY_PREFIX + userId + ":" + peerId : PRIVATE_SEQ_KEY_PREFIX + peerId + ":" + userId;
+    }
+
+    private static String groupSeqKey(Long groupId) {
+        return GROUP_SEQ_KEY_PREFIX + groupId;
+    }
+
+    private static String readKey(Long userId) {
+        return READ_KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,177 @@
+package com.sakura.poetry.websocket.manager;
+
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Redis的离线消息收件箱
+ *
+ * <ul>
+ *   <li>{@code poetry:chat:offline:<用户ID>} - 列表，按到达顺序保存 {@code 发送者ID:序号:保存时间:消息JSON}</li>
+ *   <li>{@code poetry:chat:offline:bytes:<用户ID>} - 列表中条目的总字节数</li>
+ * </ul>
+ *
+ * <p>集群中的所有节点共享收件箱，用户重连到任一节点都能收到离线消息。追加、裁剪和确认都在Lua脚本中完成，
+ * 超过每用户条数或字节数上限时丢弃最早的消息，单条消息超过字节数上限时直接拒绝。
+ * 两个键在每次追加时续期到保留时间，下发时跳过保存时间超过保留时间的条目；总量由Redis的 {@code maxmemory} 控制，
+ * 不使用 {@code max-total-bytes}。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.websocket.offline", name = "store", havingValue = "redis")
+public class RedisOfflineMessageInbox implements OfflineMessageInbox {
+
+    private static final String INBOX_KEY_PREFIX = "poetry:chat:offline:";
+
+    private static final String BYTES_KEY_PREFIX = "poetry:chat:offline:bytes:";
+
+    /**
+     * 追加一条消息，超过条数或字节数上限时从头部丢弃，返回丢弃的条数
+     */
+    private static final RedisScript<Long> STORE = new DefaultRedisScript<>(
+            "redis.call('RPUSH', KEYS[1], ARGV[1]) "
+                    + "local bytes = redis.call('INCRBY', KEYS[2], string.len(ARGV[1])) "
+                    + "local count = redis.call('LLEN', KEYS[1]) "
+                    + "local dropped = 0 "
+                    + "while count > tonumber(ARGV[2]) or bytes > tonumber(ARGV[3]) do "
+                    + "local entry = redis.call('LPOP', KEYS[1]) "
+                    + "if not entry then break end "
+                    + "bytes = redis.call('DECRBY', KEYS[2], string.len(entry)) "
+                    + "count = count - 1 "
+                    + "dropped = dropped + 1 "
+                    + "end "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[4]) "
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[4]) "
+                    + "return dropped",
+            Long.class);
+
+    /**
+     * 移除指定发送者序号不大于水位的条目，收件箱清空时删除字节数
+     */
+    private static final RedisScript<Long> ACKNOWLEDGE = new DefaultRedisScript<>(
+            "local removed = 0 "
+                    + "for _, entry in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do "
+                    + "local sender, seq = string.match(entry, '^(%d+):(%d+):') "
+                    + "if sender == ARGV[1] and tonumber(seq) <= tonumber(ARGV[2]) then "
+                    + "redis.call('LREM', KEYS[1], 1, entry) "
+                    + "redis.call('DECRBY', KEYS[2], string.len(entry)) "
+                    + "removed = removed + 1 "
+                    + "end "
+                    + "end "
+                    + "if redis.call('LLEN', KEYS[1]) == 0 then redis.call('DEL', KEYS[2]) end "
+                    + "return removed",
+            Long.class);
+
+    /**
+     * 每个用户最多保留的离线消息数
+     */
+    @Value("${app.websocket.offline.max-messages-per-user:1000}")
+    private int maxMessagesPerUser;
+
+    /**
+     * 每个用户离线消息的字节数上限
+     */
+    @Value("${app.websocket.offline.max-bytes-per-user:524288}")
+    private long maxBytesPerUser;
+
+    /**
+     * 离线消息保留时间（小时）
+     */
+    @Value("${app.websocket.offline.ttl-hours:168}")
+    private long ttlHours;
+
+    /**
+     * 每帧最多包含的消息数
+     */
+    @Value("${app.websocket.offline.batch-max-messages:100}")
+    private int batchMaxMessages;
+
+    /**
+     * 每帧JSON的字符数上限，单条消息超过时单独成帧
+     */
+    @Value("${app.websocket.offline.batch-max-chars:32768}")
+    private int batchMaxChars;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    @Override
+    public boolean store(Long receiverId, Long senderId, long seq, String json) {
+        String entry = senderId + ":" + seq + ":" + System.currentTimeMillis() + ":" + json;
+        int size = entry.getBytes(StandardCharsets.UTF_8).length;
+        if (size > maxBytesPerUser) {
+            webSocketMetrics.offlineDropped();
+            log.warn("离线消息超过单个用户的字节数上限，丢弃发给用户 {} 的消息，大小: {}", receiverId, size);
+            return false;
+        }
+        try {
+            Long dropped = redisTemplate.execute(STORE, List.of(INBOX_KEY_PREFIX + receiverId, BYTES_KEY_PREFIX + receiverId),
+                    entry, String.valueOf(maxMessagesPerUser), String.valueOf(maxBytesPerUser),
+                    String.valueOf(TimeUnit.HOURS.toMillis(ttlHours)));
+            if (dropped != null && dropped > 0) {
+                webSocketMetrics.offlineDropped(dropped);
+            }
+        } catch (RuntimeException e) {
+            webSocketMetrics.offlineDropped();
+            log.warn("保存发给用户 {} 的离线消息失败: {}", receiverId, e.getMessage());
+            return false;
+        }
+        webSocketMetrics.offlineStored();
+        return true;
+    }
+
+    @Override
+    public void acknowledge(Long userId, Long senderId, long seq) {
+        try {
+            redisTemplate.execute(ACKNOWLEDGE, List.of(INBOX_KEY_PREFIX + userId, BYTES_KEY_PREFIX + userId),
+                    senderId.toString(), String.valueOf(seq));
+        } catch (RuntimeException e) {
+            log.warn("确认用户 {} 的离线消息失败: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public List<ChatFrame> batches(Long userId) {
+        List<String> entries;
+        try {
+            entries = redisTemplate.opsForList().range(INBOX_KEY_PREFIX + userId, 0, -1);
+        } catch (RuntimeException e) {
+            log.warn("读取用户 {} 的离线消息失败: {}", userId, e.getMessage());
+            return List.of();
+        }
+        if (entries == null || entries.isEmpty()) {
+            return List.of();
+        }
+        long deadline = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(ttlHours);
+        List<String> messages = new ArrayList<>(entries.size());
+        for (String entry : entries) {
+            int senderEnd = entry.indexOf(':');
+            int seqEnd = entry.indexOf(':', senderEnd + 1);
+            int createdEnd = entry.indexOf(':', seqEnd + 1);
+            if (Long.parseLong(entry, seqEnd + 1, createdEnd, 10) >= deadline) {
+                messages.add(entry.substring(createdEnd + 1));
+            }
+        }
+        return OfflineMessageInbox.toBatches(messages, batchMaxMessages, batchMaxChars);
+    }
+}
@@ -1,21 +1,65 @@
 package com.sakura.poetry.websocket.manager;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.cluster.ChatClusterRouter;
+import com.sakura.poetry.websocket.cluster.ClusterEnvelope;
+import com.sakura.poetry.websocket.model.MessageType;
 import com.sakura.poetry.websocket.model.OnlineUser;
+import com.sakura.poetry.websocket.nio.NioChatSession;
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+import com.sakura.poetry.websocket.protocol.ChatProtocol;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * WebSocket会话管理器
  * 
  * <p>用于管理所有WebSocket连接的会话和在线用户信息。</p>
  * 
+ * <p>会话以 {@link ConcurrentWebSocketSessionDecorator} 包装后保存，多个线程可同时向同一会话发送，
+ * 发送方不会因慢速客户端长时间阻塞。独立NIO聊天服务的 {@link NioChatSession} 发送本身不阻塞，
+ * 不再包装，只设置出站队列上限。启用虚拟线程时，群发和广播为每个接收者启动一个虚拟线程，
+ * 否则在调用线程上依次发送。</p>
+ * 
+ * <p>开启集群路由后，不在本节点的接收者经 {@link ChatClusterRouter} 转发到其所在节点，
+ * 群聊消息对每个目标节点只转发一次；转发到达时接收者已断开的私聊消息存入离线收件箱。
+ * 群组成员变更写入群组注册表后同步到所有节点，收到的变更只在本地生效，不再转发；
+ * 本地成员表定期与注册表对账，对账期间有变更的群组留到下一轮。</p>
+ * 
+ * <p>群组成员保存在 {@link GroupMembershipIndex} 中，群发遍历成员快照，不复制成员集合。</p>
+ * 
+ * <p>会话由 {@link IdleSessionReaper} 跟踪空闲时间：空闲一段时间后服务端发送Ping，超时未响应的会话被关闭并清理，
+ * 半开的TCP连接不会一直留在会话表和在线用户表中。</p>
+ * 
+ * <p>发送以 {@link ChatFrame} 为单位，按会话握手时协商的 {@link ChatProtocol} 发送JSON文本帧或二进制帧，
+ * 群发时同一帧的每种编码只生成一次。</p>
+ * 
  * @author Sakura Huang
  * @version 1.0.0
  * @since 2025-09-03
@@ -41,12 +85,85 @@ public class WebSocketSessionManager {
      * key: userId, value: sessionId
      */
     private final Map<Long, String> userSessionMap = new ConcurrentHashMap<>();
-    
+
     /**
-     * 存储群组成员的映射表
-     * key: groupId, value: List<userId>
+     * 协商使用二进制帧的会话ID
      */
-    private final Map<Long, List<Long>> groupMembers = new ConcurrentHashMap<>();
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 成员最近变更的时间（{@link System#nanoTime()}），对账时跳过读取注册表之后变更的群组
+     * key: groupId, value: 变更时间
+     */
+    private final Map<Long, Long> groupChangedAt = new ConcurrentHashMap<>();
+
+    /**
+     * 是否启用虚拟线程
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * 单次发送允许的最长时间（毫秒），超时的会话将被关闭
+     */
+    @Value("${app.websocket.send-time-limit-millis:10000}")
+    private int sendTimeLimit;
+
+    /**
+     * 每个会话待发送消息的缓冲上限（字节），超出的会话将被关闭
+     */
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    /**
+     * 群发执行器，仅在虚拟线程模式下创建
+     */
+    private ExecutorService fanOutExecutor;
+
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    @Autowired
+    private ChatClusterRouter clusterRouter;
+
+    @Autowired
+    private ChatReadStateManager readStateManager;
+
+    @Autowired
+    private GroupMembershipIndex membershipIndex;
+
+    @Autowired
+    private IdleSessionReaper idleSessionReaper;
+
+    @Autowired
+    private OfflineMessageInbox offlineMessageInbox;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 初始化群发执行器、注册会话数指标，绑定集群消息处理器，开始回收空闲会话
+     */
+    @PostConstruct
+    public void init() {
+        webSocketMetrics.bindSessions(sessions);
+        if (virtualThreads) {
+            fanOutExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("ws-send-", 0).factory());
+        }
+        clusterRouter.bind(this::onClusterEnvelope, this::syncGroups, onlineUsers::keySet);
+        idleSessionReaper.start(this::pingSession, this::closeIdleSession);
+    }
+
+    /**
+     * 关闭群发执行器
+     */
+    @PreDestroy
+    public void destroy() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
 
     /**
      * 添加WebSocket会话
@@ -57,14 +174,28 @@ public class WebSocketSessionManager {
      * @param nickname 用户昵称
      */
     public void addSession(WebSocketSession session, Long userId, String username, String nickname) {
-        sessions.put(session.getId(), session);
+        if (session instanceof NioChatSession nioSession) {
+            nioSession.setSendBufferSizeLimit(sendBufferSizeLimit);
+            sessions.put(session.getId(), session);
+        } else {
+            sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, sendBufferSizeLimit));
+        }
+        if (ChatProtocol.of(session) == ChatProtocol.BINARY) {
+            binarySessions.add(session.getId());
+        }
         
         OnlineUser onlineUser = new OnlineUser(userId, username, nickname);
         onlineUser.setSessionId(session.getId());
         onlineUsers.put(userId, onlineUser);
         userSessionMap.put(userId, session.getId());
+        clusterRouter.userOnline(userId);
+        if (!(session instanceof SockJsSession)) {
+            // SockJS会话不能发送Ping，由SockJS自身的心跳帧和断开检测维持，不参与空闲回收
+            idleSessionReaper.track(session.getId());
+        }
+        webSocketMetrics.connected();
         
-        log.info("用户 {} 已连接，会话ID: {}", userId, session.getId());
+        log.debug("用户 {} 已连接，会话ID: {}", userId, session.getId());
     }
 
     /**
@@ -79,9 +210,13 @@ public class WebSocketSessionManager {
             if (userId != null) {
                 onlineUsers.remove(userId);
                 userSessionMap.remove(userId);
+                clusterRouter.userOffline(userId);
             }
             sessions.remove(sessionId);
-            log.info("会话 {} 已断开连接", sessionId);
+            binarySessions.remove(sessionId);
+            idleSessionReaper.untrack(sessionId);
+            webSocketMetrics.disconnected();
+            log.debug("会话 {} 已断开连接", sessionId);
         }
     }
 
@@ -89,7 +224,7 @@ public class WebSocketSessionManager {
      * 根据会话ID获取WebSocket会话
      * 
      * @param sessionId 会话ID
-     * @return WebSocket会话
+     * @return 线程安全的WebSocket会话
      */
     public WebSocketSession getSession(String sessionId) {
         return sessions.get(sessionId);
@@ -152,27 +287,115 @@ public class WebSocketSessionManager {
      * @param message 消息内容
      */
     public void sendMessageToSession(String sessionId, String message) {
+        sendMessageToSession(sessionId, ChatFrame.ofJson(message));
+    }
+
+    /**
+     * 按会话的帧格式发送消息
+     * 
+     * @param sessionId 会话ID
+     * @param frame 聊天帧
+     */
+    public void sendMessageToSession(String sessionId, ChatFrame frame) {
         WebSocketSession session = sessions.get(sessionId);
         if (session != null && session.isOpen()) {
             try {
-                session.sendMessage(new TextMessage(message));
+                send(session, frame);
             } catch (IOException e) {
+                webSocketMetrics.sendFailed();
                 log.error("发送消息失败，会话ID: {}", sessionId, e);
             }
         }
     }
 
     /**
-     * 发送消息给指定用户
+     * 按会话的帧格式发送并记录负载字节数
+     */
+    private void send(WebSocketSession session, ChatFrame frame) throws IOException {
+        WebSocketMessage<?> message = frame.toMessage(protocolOf(session.getId()));
+        boolean binary = message instanceof BinaryMessage;
+        // 发送会移动二进制消息的读取位置，先取长度；文本消息取长度需要重新编码，使用帧缓存的字节数
+        int bytes = binary ? message.getPayloadLength() : frame.jsonLength();
+        session.sendMessage(message);
+        webSocketMetrics.payloadSent(binary, bytes);
+    }
+
+    /**
+     * 会话协商的帧格式
+     * 
+     * @param sessionId 会话ID
+     * @return 帧格式
+     */
+    public ChatProtocol protocolOf(String sessionId) {
+        return !binarySessions.isEmpty() && binarySessions.contains(sessionId) ? ChatProtocol.BINARY : ChatProtocol.JSON;
+    }
+
+    /**
+     * 记录会话活动，收到任何消息时调用
+     * 
+     * @param sessionId 会话ID
+     */
+    public void touch(String sessionId) {
+        idleSessionReaper.touch(sessionId);
+    }
+
+    /**
+     * 向空闲会话发送Ping，客户端回复的Pong计为活动
+     */
+    private void pingSession(String sessionId) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session != null && session.isOpen()) {
+            try {
+                session.sendMessage(new PingMessage());
+            } catch (IOException e) {
+                webSocketMetrics.sendFailed();
+                log.debug("发送Ping失败，会话ID: {}", sessionId, e);
+            }
+        }
+    }
+
+    /**
+     * 关闭空闲超时的会话；半开连接可能收不到关闭回调，先在本地清理
+     */
+    private void closeIdleSession(String sessionId) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        removeSession(sessionId);
+        webSocketMetrics.idleClosed();
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("关闭空闲会话失败，会话ID: {}", sessionId, e);
+        }
+    }
+
+    /**
+     * 发送消息给指定用户，用户不在本节点时转发到其所在节点
      * 
      * @param userId 用户ID
      * @param message 消息内容
+     * @return 用户在线（本节点或其他节点）时返回 true
+     */
+    public boolean sendMessageToUser(Long userId, String message) {
+        return sendMessageToUser(userId, ChatFrame.ofJson(message));
+    }
+
+    /**
+     * 发送聊天帧给指定用户，用户不在本节点时以JSON转发到其所在节点
+     * 
+     * @param userId 用户ID
+     * @param frame 聊天帧
+     * @return 用户在线（本节点或其他节点）时返回 true
      */
-    public void sendMessageToUser(Long userId, String message) {
+    public boolean sendMessageToUser(Long userId, ChatFrame frame) {
         String sessionId = userSessionMap.get(userId);
         if (sessionId != null) {
-            sendMessageToSession(sessionId, message);
+            sendMessageToSession(sessionId, frame);
+            return true;
         }
+        return clusterRouter.isEnabled() && clusterRouter.relayToUser(userId, frame.json());
     }
 
     /**
@@ -181,13 +404,17 @@ public class WebSocketSessionManager {
      * @param message 消息内容
      */
     public void broadcastMessage(String message) {
+        ChatFrame frame = ChatFrame.ofJson(message);
         for (WebSocketSession session : sessions.values()) {
             if (session.isOpen()) {
-                try {
-                    session.sendMessage(new TextMessage(message));
-                } catch (IOException e) {
-                    log.error("广播消息失败，会话ID: {}", session.getId(), e);
-                }
+                fanOut(() -> {
+                    try {
+                        send(session, frame);
+                    } catch (IOException e) {
+                        webSocketMetrics.sendFailed();
+                        log.error("广播消息失败，会话ID: {}", session.getId(), e);
+                    }
+                });
             }
         }
     }
@@ -199,11 +426,155 @@ public class WebSocketSessionManager {
      * @param message 消息内容
      */
     public void sendMessageToGroup(Long groupId, String message) {
-        List<Long> members = groupMembers.get(groupId);
-        if (members != null) {
-            for (Long userId : members) {
-                sendMessageToUser(userId, message);
+        sendMessageToGroup(groupId, ChatFrame.ofJson(message));
+    }
+
+    /**
+     * 发送聊天帧给群组成员，其他节点上的成员以JSON转发
+     * 
+     * @param groupId 群组ID
+     * @param frame 聊天帧
+     */
+    public void sendMessageToGroup(Long groupId, ChatFrame frame) {
+        List<Long> remoteMembers = null;
+        for (long userId : membershipIndex.members(groupId)) {
+            String sessionId = userSessionMap.get(userId);
+            if (sessionId != null) {
+                fanOut(() -> sendMessageToSession(sessionId, frame));
+            } else if (clusterRouter.isEnabled()) {
+                if (remoteMembers == null) {
+                    remoteMembers = new ArrayList<>();
+                }
+                remoteMembers.add(userId);
+            }
+        }
+        if (remoteMembers != null) {
+            clusterRouter.relayToUsers(remoteMembers, frame.json());
+        }
+    }
+
+    /**
+     * 处理其他节点发来的集群消息
+     * 
+     * @param envelope 集群消息
+     */
+    private void onClusterEnvelope(ClusterEnvelope envelope) {
+        switch (envelope.kind()) {
+            case DELIVER -> {
+                ChatFrame frame = ChatFrame.ofJson(envelope.payload());
+                List<Long> missed = null;
+                for (Long userId : envelope.userIds()) {
+                    String sessionId = userSessionMap.get(userId);
+                    if (sessionId != null) {
+                        fanOut(() -> sendMessageToSession(sessionId, frame));
+                    } else {
+                        if (missed == null) {
+                            missed = new ArrayList<>();
+                        }
+                        missed.add(userId);
+                    }
+                }
+                if (missed != null) {
+                    storeUndelivered(frame, missed);
+                }
+            }
+            case GROUP_MEMBERS_ADDED -> applyMembersAdded(envelope.groupId(), envelope.userIds());
+            case GROUP_MEMBERS_REMOVED -> applyMembersRemoved(envelope.groupId(), envelope.userIds());
+            case GROUP_REMOVED -> applyGroupRemoved(envelope.groupId());
+        }
+    }
+
+    /**
+     * 转发到达前接收者已从本节点断开：私聊消息存入离线收件箱，重连后下发；群聊等其他消息由客户端从历史消息补齐
+     */
+    private void storeUndelivered(ChatFrame frame, List<Long> userIds) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(frame.json());
+        } catch (JsonProcessingException e) {
+            log.warn("无法解析转发的消息: {}", e.getMessage());
+            return;
+        }
+        if (!MessageType.PRIVATE_CHAT.name().equals(message.path("type").asText())
+                || !message.hasNonNull("senderId") || !message.hasNonNull("seq")) {
+            return;
+        }
+        long senderId = message.get("senderId").asLong();
+        long seq = message.get("seq").asLong();
+        for (Long userId : userIds) {
+            log.debug("转发到达时接收者已断开，存入离线消息，用户ID: {}", userId);
+            offlineMessageInbox.store(userId, senderId, seq, frame.json());
+            // 接收者恰好在存入前重新连接到本节点时直接补发，重复收到的消息由客户端按序号去重
+            String sessionId = userSessionMap.get(userId);
+            if (sessionId != null) {
+                sendMessageToSession(sessionId, frame);
+            }
+        }
+    }
+
+    /**
+     * 与群组注册表对账：补上缺少的成员、移除多余的成员和已解散的群组，读取注册表之后本地有变更的群组跳过
+     */
+    private void syncGroups() {
+        long startedAt = System.nanoTime();
+        Map<Long, Set<Long>> memberships = clusterRouter.loadMemberships();
+        if (memberships == null) {
+            return;
+        }
+        int corrected = 0;
+        for (Map.Entry<Long, Set<Long>> entry : memberships.entrySet()) {
+            Long groupId = entry.getKey();
+            if (changedSince(groupId, startedAt)) {
+                continue;
             }
+            Set<Long> expected = entry.getValue();
+            List<Long> missing = new ArrayList<>();
+            List<Long> extra = new ArrayList<>();
+            Set<Long> local = new HashSet<>();
+            for (long userId : membershipIndex.members(groupId)) {
+                local.add(userId);
+                if (!expected.contains(userId)) {
+                    extra.add(userId);
+                }
+            }
+            for (Long userId : expected) {
+                if (!local.contains(userId)) {
+                    missing.add(userId);
+                }
+            }
+            if (!missing.isEmpty()) {
+                applyMembersAdded(groupId, missing);
+            }
+            if (!extra.isEmpty()) {
+                applyMembersRemoved(groupId, extra);
+            }
+            corrected += missing.size() + extra.size();
+        }
+        for (Long groupId : membershipIndex.groupIds()) {
+            if (!memberships.containsKey(groupId) && !changedSince(groupId, startedAt)) {
+                applyGroupRemoved(groupId);
+                corrected++;
+            }
+        }
+        groupChangedAt.values().removeIf(changedAt -> changedAt - startedAt < 0);
+        if (corrected > 0) {
+            log.info("群组成员表对账完成，群组数量: {}, 修正条目: {}", memberships.size(), corrected);
+        }
+    }
+
+    private boolean changedSince(Long groupId, long startedAt) {
+        Long changedAt = groupChangedAt.get(groupId);
+        return changedAt != null && changedAt - startedAt >= 0;
+    }
+
+    /**
+     * 执行群发中的单次发送
+     */
+    private void fanOut(Runnable send) {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.execute(send);
+        } else {
+            send.run();
         }
     }
     
@@ -214,7 +585,20 @@ public class WebSocketSessionManager {
      * @param userId 用户ID
      */
     public void addGroupMember(Long groupId, Long userId) {
-        groupMembers.computeIfAbsent(groupId, k -> new java.util.ArrayList<>()).add(userId);
+        addGroupMembers(groupId, List.of(userId));
+    }
+
+    /**
+     * 批量添加群组成员
+     * 
+     * @param groupId 群组ID
+     * @param userIds 用户ID
+     */
+    public void addGroupMembers(Long groupId, Collection<Long> userIds) {
+        List<Long> added = List.copyOf(userIds);
+        clusterRouter.recordGroupChange(ClusterEnvelope.Kind.GROUP_MEMBERS_ADDED, groupId, added);
+        applyMembersAdded(groupId, added);
+        clusterRouter.publishGroupChange(ClusterEnvelope.Kind.GROUP_MEMBERS_ADDED, groupId, added);
     }
     
     /**
@@ -224,9 +608,52 @@ public class WebSocketSessionManager {
      * @param userId 用户ID
      */
     public void removeGroupMember(Long groupId, Long userId) {
-        List<Long> members = groupMembers.get(groupId);
-        if (members != null) {
-            members.remove(userId);
+        List<Long> removed = List.of(userId);
+        clusterRouter.recordGroupChange(ClusterEnvelope.Kind.GROUP_MEMBERS_REMOVED, groupId, removed);
+        applyMembersRemoved(groupId, removed);
+        clusterRouter.publishGroupChange(ClusterEnvelope.Kind.GROUP_MEMBERS_REMOVED, groupId, removed);
+    }
+
+    /**
+     * 移除群组及其全部成员
+     * 
+     * @param groupId 群组ID
+     */
+    public void removeGroup(Long groupId) {
+        clusterRouter.recordGroupChange(ClusterEnvelope.Kind.GROUP_REMOVED, groupId, List.of());
+        applyGroupRemoved(groupId);
+        clusterRouter.publishGroupChange(ClusterEnvelope.Kind.GROUP_REMOVED, groupId, List.of());
+    }
+
+    private void applyMembersAdded(Long groupId, List<Long> userIds) {
+        List<Long> added = membershipIndex.addMembers(groupId, userIds);
+        if (!added.isEmpty()) {
+            readStateManager.joinGroup(groupId, added);
+        }
+        markChanged(groupId);
+    }
+
+    private void applyMembersRemoved(Long groupId, List<Long> userIds) {
+        List<Long> removed = membershipIndex.removeMembers(groupId, userIds);
+        if (!removed.isEmpty()) {
+            readStateManager.leaveGroup(groupId, removed);
+        }
+        markChanged(groupId);
+    }
+
+    private void applyGroupRemoved(Long groupId) {
+        long[] members = membershipIndex.removeGroup(groupId);
+        readStateManager.leaveGroup(groupId, LongArrayList.wrap(members));
+        readStateManager.removeGroup(groupId);
+        markChanged(groupId);
+    }
+
+    /**
+     * 记录群组成员变更时间，只在集群模式下需要
+     */
+    private void markChanged(Long groupId) {
+        if (clusterRouter.isEnabled()) {
+            groupChangedAt.put(groupId, System.nanoTime());
         }
     }
 
@@ -238,7 +665,7 @@ public class WebSocketSessionManager {
     public void updateLastActiveTime(Long userId) {
         OnlineUser onlineUser = onlineUsers.get(userId);
         if (onlineUser != null) {
-            onlineUser.setLastActiveTime(java.time.LocalDateTime.now());
+            onlineUser.touch();
         }
     }
 }
\ No newline at end of file
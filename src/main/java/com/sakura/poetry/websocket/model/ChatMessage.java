@@ -1,6 +1,8 @@
 package com.sakura.poetry.websocket.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -25,10 +27,11 @@ public class ChatMessage implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * 消息ID
+     * 消息ID，按生成时间递增，可作为分页游标；JSON中以字符串表示，避免JavaScript丢失精度
      */
-    @Schema(description = "消息ID")
-    private String messageId;
+    @Schema(description = "消息ID", type = "string", example = "123456789012345678")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long messageId;
 
     /**
      * 消息类型
@@ -60,6 +63,12 @@ public class ChatMessage implements Serializable {
     @Schema(description = "群组ID（群聊时使用）")
     private Long groupId;
 
+    /**
+     * 会话内序号，私聊在同一对用户之间、群聊在同一群组内从1开始递增；确认和已读消息中表示水位
+     */
+    @Schema(description = "会话内序号")
+    private Long seq;
+
     /**
      * 消息内容
      */
@@ -41,6 +41,22 @@ public enum MessageType {
      */
     GROUP_CHAT("group_chat"),
     
+    /**
+     * 离线消息批量同步，重连后服务端下发，一帧包含多条私聊消息
+     */
+    OFFLINE_BATCH("offline_batch"),
+    
+    /**
+     * 离线消息确认，客户端以 senderId 和 seq 确认该会话中序号不大于 seq 的消息
+     */
+    ACK("ack"),
+    
+    /**
+     * 已读水位，客户端以 receiverId（私聊对方）或 groupId 和 seq 标记该会话中序号不大于 seq 的消息已读；
+     * 私聊时服务端再以同一类型通知对方
+     */
+    READ_UP_TO("read_up_to"),
+    
     /**
      * 系统消息
      */
@@ -1,7 +1,10 @@
 package com.sakura.poetry.websocket.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -48,10 +51,18 @@ public class OnlineUser implements Serializable {
     private LocalDateTime connectTime;
 
     /**
-     * 最后活跃时间
+     * 连接时刻（{@link System#nanoTime()}），与 {@link #connectTime} 一起换算最后活跃时间
      */
-    @Schema(description = "最后活跃时间")
-    private LocalDateTime lastActiveTime;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final transient long connectNanos;
+
+    /**
+     * 最后活跃时刻（{@link System#nanoTime()}），心跳时只写入这个数，不创建时间对象
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile long lastActiveNanos;
 
     /**
      * 连接的WebSocket会话ID
@@ -64,7 +75,8 @@ public class OnlineUser implements Serializable {
      */
     public OnlineUser() {
         this.connectTime = LocalDateTime.now();
-        this.lastActiveTime = LocalDateTime.now();
+        this.connectNanos = System.nanoTime();
+        this.lastActiveNanos = connectNanos;
     }
 
     /**
@@ -80,4 +92,21 @@ public class OnlineUser implements Serializable {
         this.username = username;
         this.nickname = nickname;
     }
-}
\ No newline at end of file
+
+    /**
+     * 记录一次活动
+     */
+    public void touch() {
+        lastActiveNanos = System.nanoTime();
+    }
+
+    /**
+     * 最后活跃时间，读取时由连接时间和单调时钟差值换算
+     * 
+     * @return 最后活跃时间
+     */
+    @Schema(description = "最后活跃时间")
+    public LocalDateTime getLastActiveTime() {
+        return connectTime.plusNanos(lastActiveNanos - connectNanos);
+    }
+}
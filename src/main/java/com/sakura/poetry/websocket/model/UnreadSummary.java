@@ -0,0 +1,83 @@
+package com.sakura.poetry.websocket.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 未读消息汇总
+ *
+ * <p>每个会话的未读数为会话最新序号与用户已读水位之差，只列出有未读消息的会话。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Data
+@Schema(description = "未读消息汇总")
+public class UnreadSummary implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 全部会话的未读消息数
+     */
+    @Schema(description = "全部会话的未读消息数")
+    private long total;
+
+    /**
+     * 有未读消息的会话
+     */
+    @Schema(description = "有未读消息的会话")
+    private List<Conversation> conversations = new ArrayList<>();
+
+    /**
+     * 单个会话的未读信息
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "会话未读信息")
+    public static class Conversation implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 会话类型：1-私聊，2-群聊
+         */
+        @Schema(description = "会话类型:1-私聊,2-群聊")
+        private int conversationType;
+
+        /**
+         * 会话ID，私聊为对方用户ID，群聊为群组ID
+         */
+        @Schema(description = "会话ID")
+        private long conversationId;
+
+        /**
+         * 已读到的会话内序号
+         */
+        @Schema(description = "已读到的会话内序号")
+        private long readSeq;
+
+        /**
+         * 会话最新序号
+         */
+        @Schema(description = "会话最新序号")
+        private long latestSeq;
+
+        /**
+         * 未读消息数
+         */
+        @Schema(description = "未读消息数")
+        private long unread;
+    }
+}
@@ -0,0 +1,175 @@
+package com.sakura.poetry.websocket.nio;
+
+import org.java_websocket.enums.Opcode;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.exceptions.LimitExceededException;
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.DataFrame;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.framing.FramedataImpl1;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 可配置的 permessage-deflate 扩展
+ *
+ * <p>Java-WebSocket 为每个连接调用 {@link #copyInstance()} 复制扩展，自带实现复制时丢弃压缩阈值和上下文设置，
+ * 握手响应也固定声明 {@code server_no_context_takeover}，这里在副本上保留配置，并按实际设置生成响应。</p>
+ *
+ * <p>自带实现默认不保留上下文，每条消息都新建压缩器并从空字典开始，几百字节的聊天消息只能压缩一成左右，
+ * 还要为每条消息分配压缩器。保留上下文时连续消息共用字典，重复的字段名和相近内容压缩到几十字节，
+ * 代价是每个连接常驻一个压缩器。</p>
+ *
+ * <p>解压始终保留上下文：发送方不保留上下文时照样能解压，而 Java-WebSocket 客户端声明了
+ * {@code client_no_context_takeover} 实际仍保留上下文，按声明重置解压器会导致解压失败。
+ * 作为客户端（压测工具）时与浏览器一样只请求压缩，双方都保留上下文。</p>
+ *
+ * <p>自带实现把整条消息解压到不限大小的缓冲区，{@code max-frame-size} 只限制压缩后的字节数，
+ * 几十KB的压缩帧就能解压出上GB的数据。这里自行解压并累计一条消息（含后续分片）解压后的字节数，
+ * 超过 {@code maxMessageSize} 时立即停止，以 1009 关闭连接。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public final class ChatDeflateExtension extends PerMessageDeflateExtension {
+
+    private static final String EXTENSION_NAME = "permessage-deflate";
+
+    /**
+     * 发送方压缩时去掉的结尾，解压整条消息的最后一帧后补上
+     */
+    private static final byte[] TAIL_BYTES = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final int threshold;
+
+    private final boolean contextTakeover;
+
+    private final int maxMessageSize;
+
+    private final Inflater inflater = new Inflater(true);
+
+    /**
+     * 当前消息是否压缩，决定后续分片是否需要解压
+     */
+    private boolean inflating;
+
+    /**
+     * 当前消息已解压的字节数
+     */
+    private long inflatedBytes;
+
+    /**
+     * @param threshold 小于该字节数的消息不压缩
+     * @param contextTakeover 是否在消息之间保留压缩上下文
+     * @param maxMessageSize 一条消息解压后的最大字节数，超出时以 1009 关闭连接
+     */
+    public ChatDeflateExtension(int threshold, boolean contextTakeover, int maxMessageSize) {
+        this.threshold = threshold;
+        this.contextTakeover = contextTakeover;
+        this.maxMessageSize = maxMessageSize;
+        setThreshold(threshold);
+        setServerNoContextTakeover(!contextTakeover);
+    }
+
+    /**
+     * 客户端要求 {@code server_no_context_takeover} 时照做，否则客户端每条消息重置解压字典，无法解压
+     */
+    @Override
+    public boolean acceptProvidedExtensionAsServer(String inputExtension) {
+        if (!super.acceptProvidedExtensionAsServer(inputExtension)) {
+            return false;
+        }
+        if (inputExtension.contains("server_no_context_takeover")) {
+            setServerNoContextTakeover(true);
+        }
+        setClientNoContextTakeover(false);
+        return true;
+    }
+
+    /**
+     * 解压压缩消息的数据帧，解压后的字节数超过上限时抛出 {@link LimitExceededException}
+     */
+    @Override
+    public void decodeFrame(Framedata inputFrame) throws InvalidDataException {
+        if (!(inputFrame instanceof DataFrame)) {
+            return;
+        }
+        if (inputFrame.getOpcode() == Opcode.CONTINUOUS) {
+            if (inputFrame.isRSV1()) {
+                throw new InvalidDataException(CloseFrame.POLICY_VALIDATION, "RSV1 bit can only be set for the first frame.");
+            }
+            if (!inflating) {
+                return;
+            }
+        } else {
+            inflating = inputFrame.isRSV1();
+            inflatedBytes = 0;
+            if (!inflating) {
+                return;
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            inflate(inputFrame.getPayloadData(), output);
+            if (inputFrame.isFin()) {
+                inflate(ByteBuffer.wrap(TAIL_BYTES), output);
+                inflating = false;
+            }
+        } catch (DataFormatException e) {
+            throw new InvalidDataException(CloseFrame.POLICY_VALIDATION, e.getMessage());
+        }
+        ((FramedataImpl1) inputFrame).setPayload(ByteBuffer.wrap(output.toByteArray(), 0, output.size()));
+    }
+
+    private void inflate(ByteBuffer input, ByteArrayOutputStream output) throws DataFormatException, LimitExceededException {
+        inflater.setInput(input);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (true) {
+            int length = inflater.inflate(buffer);
+            if (length > 0) {
+                inflatedBytes += length;
+                if (inflatedBytes > maxMessageSize) {
+                    inflating = false;
+                    inflater.reset();
+                    throw new LimitExceededException("解压后的消息超过 " + maxMessageSize + " 字节", maxMessageSize);
+                }
+                output.write(buffer, 0, length);
+            } else if (inflater.finished() && input.hasRemaining()) {
+                // 发送方以最终块结束了压缩流，剩余数据属于新的压缩流
+                inflater.reset();
+                inflater.setInput(input);
+            } else {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String getProvidedExtensionAsServer() {
+        return isServerNoContextTakeover() ? EXTENSION_NAME + "; server_no_context_takeover" : EXTENSION_NAME;
+    }
+
+    @Override
+    public String getProvidedExtensionAsClient() {
+        return EXTENSION_NAME + "; client_max_window_bits";
+    }
+
+    @Override
+    public IExtension copyInstance() {
+        return new ChatDeflateExtension(threshold, contextTakeover, maxMessageSize);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatDeflateExtension{threshold=" + threshold + ", contextTakeover=" + contextTakeover
+                + ", maxMessageSize=" + maxMessageSize + "}";
+    }
+}
@@ -0,0 +1,298 @@
+package com.sakura.poetry.websocket.nio;
+
+import com.sakura.poetry.metrics.WebSocketMetrics;
+import com.sakura.poetry.websocket.handler.ChatWebSocketHandler;
+import com.sakura.poetry.websocket.interceptor.ChatHandshakeInterceptor;
+import com.sakura.poetry.websocket.protocol.ChatProtocol;
+import lombok.extern.slf4j.Slf4j;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketAdapter;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.WebSocketServerFactory;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
+import org.java_websocket.protocols.IProtocol;
+import org.java_websocket.protocols.Protocol;
+import org.java_websocket.server.WebSocketServer;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 独立NIO聊天服务
+ *
+ * <p>基于 Java-WebSocket 在单独端口上运行聊天端点：一个选择器线程负责全部连接的读写，
+ * {@code decoders} 个工作线程负责解帧并调用 {@link ChatWebSocketHandler}，
+ * 消息不经过 Servlet 过滤器链，也不占用 Tomcat 工作线程。</p>
+ *
+ * <p>握手时按 {@code token} 查询参数校验JWT，校验逻辑与Servlet端点相同，未通过时以 1008 关闭。
+ * 连接以 {@link NioChatSession} 适配后交给与Servlet端点共用的处理器，因此两类连接共享在线用户、群组和聊天记录。</p>
+ *
+ * <p>子协议按 {@link ChatProtocol#SUB_PROTOCOLS} 的顺序协商，客户端未请求子协议时使用JSON文本帧。
+ * 配置了 {@link ChatDeflateExtension} 时与请求压缩的客户端协商 permessage-deflate。</p>
+ *
+ * <p>连接的套接字通道包装为 {@link WireCountingChannel}，实际读写的字节数（含帧头和压缩后的负载）
+ * 计入 {@code poetry.websocket.wire}，与压缩前的负载字节数对比即为压缩效果。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+public final class NioChatServer extends WebSocketServer {
+
+    private final String path;
+
+    private final ChatWebSocketHandler handler;
+
+    private final WebSocketMetrics webSocketMetrics;
+
+    /**
+     * 关闭时等待连接完成关闭握手的时间（毫秒）
+     */
+    private int shutdownTimeoutMillis = 2000;
+
+    /**
+     * @param address 监听地址
+     * @param decoders 解帧工作线程数
+     * @param maxFrameSize 单帧最大字节数，超出时以 1009 关闭连接
+     * @param extensions 可协商的扩展，为空时不压缩
+     * @param path 端点路径
+     * @param handler 聊天处理器
+     * @param webSocketMetrics WebSocket指标
+     */
+    public NioChatServer(InetSocketAddress address, int decoders, int maxFrameSize, List<IExtension> extensions,
+                         String path, ChatWebSocketHandler handler, WebSocketMetrics webSocketMetrics) {
+        super(address, decoders, List.<Draft>of(new Draft_6455(extensions, subProtocols(), maxFrameSize)));
+        this.path = path;
+        this.handler = handler;
+        this.webSocketMetrics = webSocketMetrics;
+        setWebSocketFactory(new WireCountingFactory(webSocketMetrics));
+    }
+
+    /**
+     * 校验路径和令牌，通过后为连接创建会话
+     */
+    @Override
+    public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(WebSocket conn, Draft draft,
+                                                                       ClientHandshake request) throws InvalidDataException {
+        ServerHandshakeBuilder builder = super.onWebsocketHandshakeReceivedAsServer(conn, draft, request);
+        String descriptor = request.getResourceDescriptor();
+        int queryStart = descriptor.indexOf('?');
+        String requestPath = queryStart >= 0 ? descriptor.substring(0, queryStart) : descriptor;
+        if (!path.equals(requestPath)) {
+            throw new InvalidDataException(CloseFrame.POLICY_VALIDATION, "未知的端点: " + requestPath);
+        }
+
+        NioChatSession session = new NioChatSession(conn, request);
+        String token = queryStart >= 0 ? queryParameter(descriptor.substring(queryStart + 1), "token") : null;
+        if (!ChatHandshakeInterceptor.authenticate(token, session.getAttributes())) {
+            throw new InvalidDataException(CloseFrame.POLICY_VALIDATION, "令牌无效或已过期");
+        }
+        conn.setAttachment(session);
+        return builder;
+    }
+
+    @Override
+    public void onOpen(WebSocket conn, ClientHandshake handshake) {
+        NioChatSession session = conn.getAttachment();
+        try {
+            handler.afterConnectionEstablished(session);
+        } catch (Exception e) {
+            log.error("NIO聊天连接初始化失败，会话ID: {}", session.getId(), e);
+            conn.close(CloseFrame.UNEXPECTED_CONDITION);
+        }
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, String message) {
+        NioChatSession session = conn.getAttachment();
+        try {
+            handler.handleMessage(session, new TextMessage(message));
+        } catch (Exception e) {
+            log.error("NIO聊天消息处理失败，会话ID: {}", session.getId(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, ByteBuffer message) {
+        NioChatSession session = conn.getAttachment();
+        try {
+            handler.handleMessage(session, new BinaryMessage(message));
+        } catch (Exception e) {
+            log.error("NIO聊天消息处理失败，会话ID: {}", session.getId(), e);
+        }
+    }
+
+    /**
+     * 客户端对Ping的回复交给处理器，计为会话活动
+     */
+    @Override
+    public void onWebsocketPong(WebSocket conn, Framedata f) {
+        super.onWebsocketPong(conn, f);
+        NioChatSession session = conn.getAttachment();
+        if (session != null) {
+            try {
+                handler.handleMessage(session, new PongMessage());
+            } catch (Exception e) {
+                log.debug("NIO聊天Pong处理失败，会话ID: {}", session.getId(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        NioChatSession session = conn.getAttachment();
+        if (session == null) {
+            // 握手未通过的连接
+            return;
+        }
+        try {
+            handler.afterConnectionClosed(session, new CloseStatus(code, reason));
+        } catch (Exception e) {
+            log.error("NIO聊天连接关闭处理失败，会话ID: {}", session.getId(), e);
+        }
+    }
+
+    @Override
+    public void onError(WebSocket conn, Exception ex) {
+        if (conn == null) {
+            // 监听端口失败等服务级错误
+            log.error("NIO聊天服务异常", ex);
+            return;
+        }
+        NioChatSession session = conn.getAttachment();
+        if (session == null) {
+            webSocketMetrics.transportError();
+            log.debug("NIO聊天握手阶段出错: {}", ex.getMessage());
+            return;
+        }
+        try {
+            handler.handleTransportError(session, ex);
+        } catch (Exception e) {
+            log.error("NIO聊天传输错误处理失败，会话ID: {}", session.getId(), e);
+        }
+    }
+
+    @Override
+    public void onStart() {
+        log.info("NIO聊天服务已启动，端口: {}，路径: {}", getPort(), path);
+    }
+
+    public void setShutdownTimeoutMillis(int shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * 停止服务，等待已有连接完成关闭握手
+     */
+    public void shutdown() {
+        try {
+            stop(shutdownTimeoutMillis, "服务关闭");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 可协商的子协议，末尾的空协议接受未请求子协议的客户端
+     */
+    private static List<IProtocol> subProtocols() {
+        List<IProtocol> protocols = new ArrayList<>();
+        for (String subProtocol : ChatProtocol.SUB_PROTOCOLS) {
+            protocols.add(new Protocol(subProtocol));
+        }
+        protocols.add(new Protocol(""));
+        return protocols;
+    }
+
+    /**
+     * 为每个连接包装统计读写字节数的通道
+     */
+    private record WireCountingFactory(WebSocketMetrics webSocketMetrics) implements WebSocketServerFactory {
+
+        @Override
+        public WebSocketImpl createWebSocket(WebSocketAdapter adapter, Draft draft) {
+            return new WebSocketImpl(adapter, draft);
+        }
+
+        @Override
+        public WebSocketImpl createWebSocket(WebSocketAdapter adapter, List<Draft> drafts) {
+            return new WebSocketImpl(adapter, drafts);
+        }
+
+        @Override
+        public ByteChannel wrapChannel(SocketChannel channel, SelectionKey key) {
+            return new WireCountingChannel(channel, webSocketMetrics);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 统计读写字节数的套接字通道，只在选择器线程上读写
+     */
+    private record WireCountingChannel(SocketChannel channel, WebSocketMetrics webSocketMetrics) implements ByteChannel {
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int read = channel.read(dst);
+            if (read > 0) {
+                webSocketMetrics.wireReceived(read);
+            }
+            return read;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int written = channel.write(src);
+            if (written > 0) {
+                webSocketMetrics.wireSent(written);
+            }
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * 读取查询串中的参数值
+     */
+    private static String queryParameter(String query, String name) {
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,231 @@
+package com.sakura.poetry.websocket.nio;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.protocols.IProtocol;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NIO聊天连接的会话适配
+ *
+ * <p>将 Java-WebSocket 的连接包装为 Spring 的 {@link WebSocketSession}，使独立聊天服务上的连接
+ * 与 Servlet 端点的连接一样交给 {@code ChatWebSocketHandler} 和 {@code WebSocketSessionManager} 处理，
+ * 两种连接之间可以互相收发消息。</p>
+ *
+ * <p>{@link WebSocket#send(String)} 只把帧放入连接的出站队列并唤醒选择器线程，不会阻塞调用方，
+ * 因此不需要 {@code ConcurrentWebSocketSessionDecorator} 包装。出站队列超过 {@code sendBufferSizeLimit}
+ * 时关闭连接，避免慢速客户端无限占用内存。协商了 permessage-deflate 的连接压缩和入队需要按顺序进行，
+ * 发送时持有会话自己的锁。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public class NioChatSession implements WebSocketSession {
+
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    private final String id = "nio-" + Long.toHexString(ID_GENERATOR.incrementAndGet());
+
+    private final WebSocket connection;
+
+    private final URI uri;
+
+    private final HttpHeaders handshakeHeaders = new HttpHeaders();
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    /**
+     * 压缩连接的发送锁：Java-WebSocket 在入队前压缩，压缩器带有上下文，并发发送会打乱压缩流的顺序
+     */
+    private final Object sendLock = new Object();
+
+    private int textMessageSizeLimit;
+
+    private int binaryMessageSizeLimit;
+
+    /**
+     * 出站队列上限（字节），0 表示不限制
+     */
+    private volatile int sendBufferSizeLimit;
+
+    public NioChatSession(WebSocket connection, ClientHandshake handshake) {
+        this.connection = connection;
+        this.uri = URI.create(handshake.getResourceDescriptor());
+        for (Iterator<String> names = handshake.iterateHttpFields(); names.hasNext(); ) {
+            String name = names.next();
+            handshakeHeaders.add(name, handshake.getFieldValue(name));
+        }
+    }
+
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    /**
+     * 出站队列中尚未写出的字节数
+     *
+     * @return 待写字节数
+     */
+    public long getBufferedBytes() {
+        if (!(connection instanceof WebSocketImpl impl)) {
+            return 0;
+        }
+        long total = 0;
+        for (ByteBuffer buffer : impl.outQueue) {
+            total += buffer.remaining();
+        }
+        return total;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return handshakeHeaders;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return connection.getLocalSocketAddress();
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return connection.getRemoteSocketAddress();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        IProtocol protocol = connection.getProtocol();
+        if (protocol == null || protocol.getProvidedProtocol().isEmpty()) {
+            return null;
+        }
+        return protocol.getProvidedProtocol();
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+        this.textMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return textMessageSizeLimit;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        this.binaryMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return binaryMessageSizeLimit;
+    }
+
+    /**
+     * 握手时协商的扩展，只有 permessage-deflate 一种
+     */
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        if (isCompressed()) {
+            return List.of(new WebSocketExtension("permessage-deflate"));
+        }
+        return List.of();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (sendBufferSizeLimit > 0 && getBufferedBytes() > sendBufferSizeLimit) {
+            // 关闭帧会排在积压的数据之后，直接断开连接以便立即释放出站队列
+            connection.closeConnection(CloseStatus.SESSION_NOT_RELIABLE.getCode(), "发送缓冲超出上限");
+            throw new IOException("发送缓冲超出上限，已关闭连接: " + id);
+        }
+        try {
+            if (isCompressed()) {
+                synchronized (sendLock) {
+                    send(message);
+                }
+            } else {
+                send(message);
+            }
+        } catch (WebsocketNotConnectedException e) {
+            throw new IOException("连接已关闭: " + id, e);
+        }
+    }
+
+    private void send(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            connection.send(text.getPayload());
+        } else if (message instanceof BinaryMessage binary) {
+            connection.send(binary.getPayload().duplicate());
+        } else if (message instanceof PingMessage) {
+            connection.sendPing();
+        } else {
+            throw new IllegalArgumentException("不支持的消息类型: " + message.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 是否协商了 permessage-deflate
+     */
+    private boolean isCompressed() {
+        return connection.getDraft() instanceof Draft_6455 draft && draft.getExtension() instanceof PerMessageDeflateExtension;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return connection.isOpen();
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        connection.close(status.getCode(), status.getReason());
+    }
+}
@@ -0,0 +1,315 @@
+package com.sakura.poetry.websocket.protocol;
+
+import com.sakura.poetry.websocket.model.ChatMessage;
+import com.sakura.poetry.websocket.model.MessageStatus;
+import com.sakura.poetry.websocket.model.MessageType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 聊天消息二进制编解码
+ *
+ * <p>帧格式（{@code poetry-chat.bin.v1}）：</p>
+ *
+ * <pre>
+ * | 1字节 头部：低5位 消息类型序号，高3位 消息状态序号+1（0 表示无状态） |
+ * | 1字节 字段掩码 | 按掩码位从低到高依次排列的字段 |
+ * </pre>
+ *
+ * <ul>
+ *   <li>位0 messageId、位1 senderId、位2 receiverId、位3 groupId、位4 seq：无符号 varint（每字节7位，低位在前）</li>
+ *   <li>位5 timestamp：varint，epoch毫秒，按服务器时区与 {@link LocalDateTime} 换算</li>
+ *   <li>位6 content、位7 senderName：varint 字节长度 + UTF-8 字节</li>
+ * </ul>
+ *
+ * <p>离线消息批量帧的头部类型为 {@link MessageType#OFFLINE_BATCH}、掩码为0，随后是 varint 消息数和逐条编码的消息。
+ * 枚举按序号传输，只能在末尾追加新值。</p>
+ *
+ * <p>解码直接读取 {@link ByteBuffer} 并写入调用方提供的消息对象，除字符串内容和时间外不分配对象，
+ * 心跳、确认等控制帧可以重复使用同一个消息对象解码。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public final class BinaryChatCodec {
+
+    private static final int MESSAGE_ID = 1;
+
+    private static final int SENDER_ID = 1 << 1;
+
+    private static final int RECEIVER_ID = 1 << 2;
+
+    private static final int GROUP_ID = 1 << 3;
+
+    private static final int SEQ = 1 << 4;
+
+    private static final int TIMESTAMP = 1 << 5;
+
+    private static final int CONTENT = 1 << 6;
+
+    private static final int SENDER_NAME = 1 << 7;
+
+    private static final int TYPE_MASK = 0x1F;
+
+    private static final int STATUS_SHIFT = 5;
+
+    private static final MessageType[] TYPES = MessageType.values();
+
+    private static final MessageStatus[] STATUSES = MessageStatus.values();
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private BinaryChatCodec() {
+    }
+
+    /**
+     * 编码单条消息
+     *
+     * @param message 聊天消息
+     * @return 二进制帧
+     */
+    public static byte[] encode(ChatMessage message) {
+        if (message.getType() == null) {
+            throw new IllegalArgumentException("消息类型为空");
+        }
+        byte[] content = utf8(message.getContent());
+        byte[] senderName = utf8(message.getSenderName());
+        long timestamp = message.getTimestamp() != null ? epochMillis(message.getTimestamp()) : 0;
+        byte[] frame = new byte[sizeOf(message, content, senderName, timestamp)];
+        write(message, content, senderName, timestamp, frame, 0);
+        return frame;
+    }
+
+    /**
+     * 编码离线消息批量帧
+     *
+     * @param messages 聊天消息
+     * @return 二进制帧
+     */
+    public static byte[] encodeBatch(List<ChatMessage> messages) {
+        byte[][] encoded = new byte[messages.size()][];
+        int size = 2 + varintSize(messages.size());
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(messages.get(i));
+            size += encoded[i].length;
+        }
+        byte[] frame = new byte[size];
+        frame[0] = (byte) MessageType.OFFLINE_BATCH.ordinal();
+        frame[1] = 0;
+        int position = writeVarint(frame, 2, messages.size());
+        for (byte[] message : encoded) {
+            System.arraycopy(message, 0, frame, position, message.length);
+            position += message.length;
+        }
+        return frame;
+    }
+
+    /**
+     * 读取帧的消息类型，不移动读取位置
+     *
+     * @param frame 二进制帧
+     * @return 消息类型
+     */
+    public static MessageType peekType(ByteBuffer frame) {
+        if (!frame.hasRemaining()) {
+            throw new IllegalArgumentException("二进制消息为空");
+        }
+        return typeOf(frame.get(frame.position()));
+    }
+
+    /**
+     * 从当前位置解码一条消息，帧中没有的字段置为 null
+     *
+     * @param frame 二进制帧，读取位置移到消息末尾
+     * @param target 写入的消息对象
+     * @return 写入后的消息对象
+     */
+    public static ChatMessage decode(ByteBuffer frame, ChatMessage target) {
+        try {
+            int header = frame.get();
+            int mask = frame.get() & 0xFF;
+            int status = (header & 0xFF) >>> STATUS_SHIFT;
+            if (status > STATUSES.length) {
+                throw new IllegalArgumentException("未知的消息状态: " + (status - 1));
+            }
+            target.setType(typeOf(header));
+            target.setStatus(status == 0 ? null : STATUSES[status - 1]);
+            target.setMessageId((mask & MESSAGE_ID) != 0 ? readVarint(frame) : null);
+            target.setSenderId((mask & SENDER_ID) != 0 ? readVarint(frame) : null);
+            target.setReceiverId((mask & RECEIVER_ID) != 0 ? readVarint(frame) : null);
+            target.setGroupId((mask & GROUP_ID) != 0 ? readVarint(frame) : null);
+            target.setSeq((mask & SEQ) != 0 ? readVarint(frame) : null);
+            target.setTimestamp((mask & TIMESTAMP) != 0
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(readVarint(frame)), ZONE) : null);
+            target.setContent((mask & CONTENT) != 0 ? readString(frame) : null);
+            target.setSenderName((mask & SENDER_NAME) != 0 ? readString(frame) : null);
+            return target;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("二进制消息不完整");
+        }
+    }
+
+    /**
+     * 解码离线消息批量帧
+     *
+     * @param frame 二进制帧
+     * @return 聊天消息
+     */
+    public static List<ChatMessage> decodeBatch(ByteBuffer frame) {
+        try {
+            if (typeOf(frame.get()) != MessageType.OFFLINE_BATCH) {
+                throw new IllegalArgumentException("不是离线消息批量帧");
+            }
+            frame.get();
+            long count = readVarint(frame);
+            if (count < 0 || count > frame.remaining() / 2) {
+                throw new IllegalArgumentException("离线消息数无效或超出帧长度: " + count);
+            }
+            List<ChatMessage> messages = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                messages.add(decode(frame, new ChatMessage()));
+            }
+            return messages;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("二进制消息不完整");
+        }
+    }
+
+    private static int sizeOf(ChatMessage message, byte[] content, byte[] senderName, long timestamp) {
+        int size = 2;
+        size += optionalVarintSize(message.getMessageId());
+        size += optionalVarintSize(message.getSenderId());
+        size += optionalVarintSize(message.getReceiverId());
+        size += optionalVarintSize(message.getGroupId());
+        size += optionalVarintSize(message.getSeq());
+        if (message.getTimestamp() != null) {
+            size += varintSize(timestamp);
+        }
+        if (content != null) {
+            size += varintSize(content.length) + content.length;
+        }
+        if (senderName != null) {
+            size += varintSize(senderName.length) + senderName.length;
+        }
+        return size;
+    }
+
+    private static void write(ChatMessage message, byte[] content, byte[] senderName, long timestamp,
+                              byte[] frame, int position) {
+        int status = message.getStatus() == null ? 0 : message.getStatus().ordinal() + 1;
+        frame[position++] = (byte) (message.getType().ordinal() | status << STATUS_SHIFT);
+        int maskPosition = position++;
+        int mask = 0;
+        if (message.getMessageId() != null) {
+            mask |= MESSAGE_ID;
+            position = writeVarint(frame, position, message.getMessageId());
+        }
+        if (message.getSenderId() != null) {
+            mask |= SENDER_ID;
+            position = writeVarint(frame, position, message.getSenderId());
+        }
+        if (message.getReceiverId() != null) {
+            mask |= RECEIVER_ID;
+            position = writeVarint(frame, position, message.getReceiverId());
+        }
+        if (message.getGroupId() != null) {
+            mask |= GROUP_ID;
+            position = writeVarint(frame, position, message.getGroupId());
+        }
+        if (message.getSeq() != null) {
+            mask |= SEQ;
+            position = writeVarint(frame, position, message.getSeq());
+        }
+        if (message.getTimestamp() != null) {
+            mask |= TIMESTAMP;
+            position = writeVarint(frame, position, timestamp);
+        }
+        if (content != null) {
+            mask |= CONTENT;
+            position = writeBytes(frame, position, content);
+        }
+        if (senderName != null) {
+            mask |= SENDER_NAME;
+            writeBytes(frame, position, senderName);
+        }
+        frame[maskPosition] = (byte) mask;
+    }
+
+    private static MessageType typeOf(int header) {
+        int ordinal = header & TYPE_MASK;
+        if (ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("未知的消息类型: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.toInstant(ZONE.getRules().getOffset(time)).toEpochMilli();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int optionalVarintSize(Long value) {
+        return value != null ? varintSize(value) : 0;
+    }
+
+    private static int varintSize(long value) {
+        // 每字节7位，0 也占1字节
+        return Math.max(1, (63 - Long.numberOfLeadingZeros(value)) / 7 + 1);
+    }
+
+    private static int writeVarint(byte[] frame, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            frame[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        frame[position++] = (byte) value;
+        return position;
+    }
+
+    private static int writeBytes(byte[] frame, int position, byte[] bytes) {
+        position = writeVarint(frame, position, bytes.length);
+        System.arraycopy(bytes, 0, frame, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private static long readVarint(ByteBuffer frame) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = frame.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 超过64位");
+    }
+
+    private static String readString(ByteBuffer frame) {
+        long length = readVarint(frame);
+        if (length < 0 || length > frame.remaining()) {
+            throw new IllegalArgumentException("字符串长度无效或超出帧长度: " + length);
+        }
+        int size = (int) length;
+        String value;
+        if (frame.hasArray()) {
+            value = new String(frame.array(), frame.arrayOffset() + frame.position(), size, StandardCharsets.UTF_8);
+            frame.position(frame.position() + size);
+        } else {
+            byte[] bytes = new byte[size];
+            frame.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,189 @@
+package com.sakura.poetry.websocket.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sakura.poetry.websocket.model.ChatMessage;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 待发送的聊天帧
+ *
+ * <p>同一条消息发给多个会话时共用一个实例：JSON和二进制编码都在第一次需要时生成并缓存，
+ * 全部接收者都使用JSON时不做二进制编码，反之亦然。集群转发和离线收件箱始终使用JSON。</p>
+ *
+ * <p>由JSON创建的帧在需要二进制编码时先解析为 {@link ChatMessage}；不是聊天消息的JSON无法编码，
+ * 对二进制会话仍以文本帧发送。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+public final class ChatFrame {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /**
+     * 二进制编码失败的标记
+     */
+    private static final byte[] NOT_ENCODABLE = new byte[0];
+
+    private final ChatMessage message;
+
+    /**
+     * 离线消息批量帧中每条消息的JSON
+     */
+    private final List<String> batch;
+
+    private volatile String json;
+
+    private volatile byte[] binary;
+
+    /**
+     * JSON文本的UTF-8字节数，-1 表示尚未计算
+     */
+    private volatile int jsonLength = -1;
+
+    private ChatFrame(ChatMessage message, List<String> batch, String json) {
+        this.message = message;
+        this.batch = batch;
+        this.json = json;
+    }
+
+    /**
+     * 由聊天消息创建，发送前不应再修改消息
+     *
+     * @param message 聊天消息
+     * @return 聊天帧
+     */
+    public static ChatFrame of(ChatMessage message) {
+        return new ChatFrame(message, null, null);
+    }
+
+    /**
+     * 由已序列化的JSON创建
+     *
+     * @param json JSON文本
+     * @return 聊天帧
+     */
+    public static ChatFrame ofJson(String json) {
+        return new ChatFrame(null, null, json);
+    }
+
+    /**
+     * 创建离线消息批量帧
+     *
+     * @param json 批量帧的JSON文本
+     * @param messages 其中每条消息的JSON
+     * @return 聊天帧
+     */
+    public static ChatFrame ofBatch(String json, List<String> messages) {
+        return new ChatFrame(null, messages, json);
+    }
+
+    /**
+     * JSON文本
+     *
+     * @return JSON文本
+     */
+    public String json() {
+        String result = json;
+        if (result == null) {
+            try {
+                result = OBJECT_MAPPER.writeValueAsString(message);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("聊天消息序列化失败", e);
+            }
+            json = result;
+        }
+        return result;
+    }
+
+    /**
+     * JSON文本的UTF-8字节数，用于统计发送字节数，不生成字节数组
+     *
+     * @return 字节数
+     */
+    public int jsonLength() {
+        int result = jsonLength;
+        if (result < 0) {
+            result = utf8Length(json());
+            jsonLength = result;
+        }
+        return result;
+    }
+
+    /**
+     * 二进制编码
+     *
+     * @return 二进制帧，无法编码时为 null
+     */
+    public byte[] binary() {
+        byte[] result = binary;
+        if (result == null) {
+            result = encodeBinary();
+            binary = result;
+        }
+        return result == NOT_ENCODABLE ? null : result;
+    }
+
+    /**
+     * 按会话的帧格式生成WebSocket消息
+     *
+     * @param protocol 帧格式
+     * @return WebSocket消息
+     */
+    public WebSocketMessage<?> toMessage(ChatProtocol protocol) {
+        if (protocol == ChatProtocol.BINARY) {
+            byte[] bytes = binary();
+            if (bytes != null) {
+                // 每次发送包装新的缓冲区，发送过程会移动读取位置
+                return new BinaryMessage(bytes);
+            }
+        }
+        return new TextMessage(json());
+    }
+
+    /**
+     * 文本按UTF-8编码后的字节数
+     *
+     * @param text 文本
+     * @return 字节数
+     */
+    public static int utf8Length(String text) {
+        int length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800 && !Character.isSurrogate(c)) {
+                length += 2;
+            } else if (c >= 0x80) {
+                // 代理对的两个字符各计1字节，合计4字节
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    private byte[] encodeBinary() {
+        try {
+            if (message != null) {
+                return BinaryChatCodec.encode(message);
+            }
+            if (batch != null) {
+                List<ChatMessage> messages = new ArrayList<>(batch.size());
+                for (String item : batch) {
+                    messages.add(OBJECT_MAPPER.readValue(item, ChatMessage.class));
+                }
+                return BinaryChatCodec.encodeBatch(messages);
+            }
+            return BinaryChatCodec.encode(OBJECT_MAPPER.readValue(json, ChatMessage.class));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return NOT_ENCODABLE;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sakura.poetry.websocket.protocol;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.util.List;
+
+/**
+ * 聊天帧格式
+ *
+ * <p>客户端在握手时通过 {@code Sec-WebSocket-Protocol} 选择帧格式：请求 {@code poetry-chat.bin.v1} 的连接收发
+ * {@link BinaryChatCodec} 定义的二进制帧，其余连接（包括不带子协议的浏览器客户端和SockJS连接）使用JSON文本帧。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Getter
+@AllArgsConstructor
+public enum ChatProtocol {
+
+    /**
+     * JSON文本帧
+     */
+    JSON("poetry-chat.json"),
+
+    /**
+     * 二进制帧
+     */
+    BINARY("poetry-chat.bin.v1");
+
+    /**
+     * 服务端支持的子协议，按优先顺序排列
+     */
+    public static final List<String> SUB_PROTOCOLS = List.of(BINARY.subProtocol, JSON.subProtocol);
+
+    /**
+     * 子协议名称
+     */
+    private final String subProtocol;
+
+    /**
+     * 会话协商的帧格式，SockJS会话只能发送文本帧，始终使用JSON
+     *
+     * @param session WebSocket会话
+     * @return 帧格式
+     */
+    public static ChatProtocol of(WebSocketSession session) {
+        if (BINARY.subProtocol.equals(session.getAcceptedProtocol()) && !(session instanceof SockJsSession)) {
+            return BINARY;
+        }
+        return JSON;
+    }
+}
@@ -1,45 +1,84 @@
 package com.sakura.poetry.websocket.service;
 
+import com.sakura.poetry.entity.ChatReadWatermark;
+import com.sakura.poetry.websocket.cluster.ChatClusterRouter;
 import com.sakura.poetry.websocket.model.ChatGroup;
 import com.sakura.poetry.websocket.model.ChatMessage;
 import com.sakura.poetry.websocket.model.MessageStatus;
+import com.sakura.poetry.websocket.model.MessageType;
+import com.sakura.poetry.websocket.manager.ChatReadStateManager;
+import com.sakura.poetry.websocket.manager.GroupMembershipIndex;
+import com.sakura.poetry.websocket.manager.OfflineMessageInbox;
+import com.sakura.poetry.websocket.manager.WebSocketSessionManager;
+import com.sakura.poetry.websocket.protocol.ChatFrame;
+import com.sakura.poetry.websocket.util.MessageIdGenerator;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * 聊天服务类
  * 
- * <p>提供聊天相关的业务逻辑处理。</p>
+ * <p>提供聊天相关的业务逻辑处理。群组只保存名称、群主等信息，成员由 {@link GroupMembershipIndex} 维护，
+ * 成员变更经 {@link WebSocketSessionManager} 同步到集群中的其他节点。群组ID由 {@link MessageIdGenerator} 生成，
+ * 不同节点创建的群组不会冲突；集群模式下群组信息同时保存到群组注册表，其他节点按需读取并缓存。
+ * 群主不能退出群组，成员数为0的群组视为已解散。</p>
  * 
  * @author Sakura Huang
  * @version 1.0.0
  * @since 2025-09-03
  */
 @Slf4j
+@Service
 public class ChatService {
+
+    @Autowired
+    private WebSocketSessionManager sessionManager;
+
+    @Autowired
+    private GroupMembershipIndex membershipIndex;
+
+    @Autowired
+    private MessageIdGenerator messageIdGenerator;
+
+    @Autowired
+    private ChatClusterRouter clusterRouter;
+
+    @Autowired
+    private ChatReadStateManager readStateManager;
+
+    @Autowired
+    private OfflineMessageInbox offlineMessageInbox;
+    
+    /**
+     * 历史消息每页的最大条数
+     */
+    public static final int MAX_HISTORY_LIMIT = 100;
     
-    // 模拟数据库存储
-    private final ConcurrentHashMap<String, ChatMessage> privateMessages = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, ChatMessage> groupMessages = new ConcurrentHashMap<>();
+    // 模拟数据库存储，按会话分开保存，会话内的消息按ID（即生成时间）排序
+    private final ConcurrentHashMap<PrivateConversation, ConcurrentSkipListMap<Long, ChatMessage>> privateMessages = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentSkipListMap<Long, ChatMessage>> groupMessages = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Long, ChatGroup> groups = new ConcurrentHashMap<>();
-    private final AtomicLong messageIdGenerator = new AtomicLong(System.currentTimeMillis());
-    private final AtomicLong groupIdGenerator = new AtomicLong(System.currentTimeMillis());
 
     /**
-     * 保存私聊消息
+     * 保存私聊消息，消息ID始终由服务端生成，客户端传入的ID会被覆盖
      * 
      * @param message 聊天消息
      */
     public void savePrivateMessage(ChatMessage message) {
         // 生成消息ID
-        if (message.getMessageId() == null || message.getMessageId().isEmpty()) {
-            message.setMessageId("private_" + messageIdGenerator.incrementAndGet());
-        }
+        message.setMessageId(messageIdGenerator.nextId());
         
         // 设置时间戳
         if (message.getTimestamp() == null) {
@@ -52,22 +91,23 @@ public class ChatService {
         }
         
         // 保存到存储中
-        privateMessages.put(message.getMessageId(), message);
+        privateMessages.computeIfAbsent(PrivateConversation.of(message.getSenderId(), message.getReceiverId()),
+                k -> new ConcurrentSkipListMap<>()).put(message.getMessageId(), message);
         
-        log.info("保存私聊消息: from {} to {}, content: {}", 
-                message.getSenderId(), message.getReceiverId(), message.getContent());
+        if (log.isDebugEnabled()) {
+            log.debug("保存私聊消息: from {} to {}, messageId: {}",
+                    message.getSenderId(), message.getReceiverId(), message.getMessageId());
+        }
     }
 
     /**
-     * 保存群聊消息
+     * 保存群聊消息，消息ID始终由服务端生成，客户端传入的ID会被覆盖
      * 
      * @param message 聊天消息
      */
     public void saveGroupMessage(ChatMessage message) {
         // 生成消息ID
-        if (message.getMessageId() == null || message.getMessageId().isEmpty()) {
-            message.setMessageId("group_" + messageIdGenerator.incrementAndGet());
-        }
+        message.setMessageId(messageIdGenerator.nextId());
         
         // 设置时间戳
         if (message.getTimestamp() == null) {
@@ -80,10 +120,13 @@ public class ChatService {
         }
         
         // 保存到存储中
-        groupMessages.put(message.getMessageId(), message);
+        groupMessages.computeIfAbsent(message.getGroupId(), k -> new ConcurrentSkipListMap<>())
+                .put(message.getMessageId(), message);
         
-        log.info("保存群聊消息: from {}, group {}, content: {}", 
-                message.getSenderId(), message.getGroupId(), message.getContent());
+        if (log.isDebugEnabled()) {
+            log.debug("保存群聊消息: from {}, group {}, messageId: {}",
+                    message.getSenderId(), message.getGroupId(), message.getMessageId());
+        }
     }
 
     /**
@@ -91,120 +134,155 @@ public class ChatService {
      * 
      * @param userId 用户ID
      * @param friendId 好友ID
-     * @param limit 限制数量
-     * @return 聊天消息列表
+     * @param beforeId 分页游标，只返回ID小于该值的消息，为空时从最新消息开始
+     * @param limit 限制数量，超过 {@link #MAX_HISTORY_LIMIT} 时按上限处理
+     * @return 聊天消息列表，按时间顺序排列；下一页以第一条消息的ID为游标
      */
-    public List<ChatMessage> getPrivateChatHistory(Long userId, Long friendId, int limit) {
-        log.info("获取用户 {} 和用户 {} 的私聊历史消息，限制数量: {}", userId, friendId, limit);
-        
-        List<ChatMessage> messages = new ArrayList<>();
-        
-        // 筛选相关的私聊消息
-        for (ChatMessage message : privateMessages.values()) {
-            if ((message.getSenderId().equals(userId) && message.getReceiverId().equals(friendId)) ||
-                (message.getSenderId().equals(friendId) && message.getReceiverId().equals(userId))) {
-                messages.add(message);
-            }
-        }
-        
-        // 按时间排序并限制数量
-        messages.sort((m1, m2) -> m2.getTimestamp().compareTo(m1.getTimestamp()));
-        if (messages.size() > limit) {
-            messages = messages.subList(0, limit);
+    public List<ChatMessage> getPrivateChatHistory(Long userId, Long friendId, Long beforeId, int limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("获取用户 {} 和用户 {} 的私聊历史消息，游标: {}, 限制数量: {}", userId, friendId, beforeId, limit);
         }
         
-        // 反转列表以按时间顺序排列
-        java.util.Collections.reverse(messages);
-        
-        return messages;
+        return page(privateMessages.get(PrivateConversation.of(userId, friendId)), beforeId, limit);
     }
 
     /**
      * 获取群组的历史消息
      * 
      * @param groupId 群组ID
-     * @param limit 限制数量
-     * @return 聊天消息列表
+     * @param beforeId 分页游标，只返回ID小于该值的消息，为空时从最新消息开始
+     * @param limit 限制数量，超过 {@link #MAX_HISTORY_LIMIT} 时按上限处理
+     * @return 聊天消息列表，按时间顺序排列；下一页以第一条消息的ID为游标
      */
-    public List<ChatMessage> getGroupChatHistory(Long groupId, int limit) {
-        log.info("获取群组 {} 的历史消息，限制数量: {}", groupId, limit);
-        
-        List<ChatMessage> messages = new ArrayList<>();
+    public List<ChatMessage> getGroupChatHistory(Long groupId, Long beforeId, int limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("获取群组 {} 的历史消息，游标: {}, 限制数量: {}", groupId, beforeId, limit);
+        }
         
-        // 筛选相关的群聊消息
-        for (ChatMessage message : groupMessages.values()) {
-            if (message.getGroupId() != null && message.getGroupId().equals(groupId)) {
-                messages.add(message);
+        return page(groupMessages.get(groupId), beforeId, limit);
+    }
+
+    /**
+     * 从游标处按ID倒序取出会话中的消息，再反转为时间顺序；只访问返回的消息，与其他会话的消息量无关
+     */
+    private List<ChatMessage> page(ConcurrentNavigableMap<Long, ChatMessage> messages, Long beforeId, int limit) {
+        if (messages == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int size = Math.min(limit, MAX_HISTORY_LIMIT);
+        NavigableMap<Long, ChatMessage> range = beforeId != null ? messages.headMap(beforeId, false) : messages;
+        List<ChatMessage> page = new ArrayList<>(size);
+        for (ChatMessage message : range.descendingMap().values()) {
+            if (page.size() >= size) {
+                break;
             }
+            page.add(message);
         }
-        
-        // 按时间排序并限制数量
-        messages.sort((m1, m2) -> m2.getTimestamp().compareTo(m1.getTimestamp()));
-        if (messages.size() > limit) {
-            messages = messages.subList(0, limit);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * 把用户在一个会话中的已读水位推进到指定序号，私聊时同时确认离线收件箱中该会话的消息，并向对方发送已读回执
+     * 
+     * <p>HTTP接口和WebSocket的 {@code READ_UP_TO} 帧都经由此方法处理。</p>
+     * 
+     * @param userId 用户ID
+     * @param conversationType 会话类型，{@link ChatReadWatermark#PRIVATE} 或 {@link ChatReadWatermark#GROUP}
+     * @param conversationId 私聊为对方用户ID，群聊为群组ID
+     * @param seq 已读到的序号
+     * @return 推进后的水位，水位没有变化时返回 -1
+     */
+    public long markReadUpTo(Long userId, int conversationType, Long conversationId, long seq) {
+        long read = readStateManager.markRead(userId, conversationType, conversationId, seq);
+        if (read < 0 || conversationType != ChatReadWatermark.PRIVATE) {
+            return read;
         }
+        offlineMessageInbox.acknowledge(userId, conversationId, read);
         
-        // 反转列表以按时间顺序排列
-        java.util.Collections.reverse(messages);
-        
-        return messages;
+        // 已读回执：告知对方本方已读到的序号
+        ChatMessage receipt = new ChatMessage();
+        receipt.setType(MessageType.READ_UP_TO);
+        receipt.setSenderId(userId);
+        receipt.setReceiverId(conversationId);
+        receipt.setSeq(read);
+        sessionManager.sendMessageToUser(conversationId, ChatFrame.of(receipt));
+        return read;
     }
 
     /**
-     * 创建群组
+     * 判断用户是否为群组成员
+     * 
+     * @param groupId 群组ID
+     * @param userId 用户ID
+     * @return 是否为成员
+     */
+    public boolean isGroupMember(Long groupId, Long userId) {
+        return membershipIndex.isMember(groupId, userId);
+    }
+
+    /**
+     * 创建群组并登记成员，创建者自动加入
      * 
      * @param groupName 群组名称
-     * @param creatorId 创建者ID
+     * @param description 群组描述
+     * @param creatorId 创建者ID，即群主
      * @param memberIds 成员ID列表
      * @return 群组信息
      */
-    public ChatGroup createGroup(String groupName, Long creatorId, List<Long> memberIds) {
-        log.info("创建群组: {}, 创建者: {}, 成员数量: {}", groupName, creatorId, memberIds.size());
+    public ChatGroup createGroup(String groupName, String description, Long creatorId, List<Long> memberIds) {
+        log.debug("创建群组: {}, 创建者: {}, 成员数量: {}", groupName, creatorId, memberIds.size());
         
-        // 创建群组对象
+        // 创建群组对象，成员只保存在成员索引中
         ChatGroup group = new ChatGroup();
-        group.setGroupId(groupIdGenerator.incrementAndGet());
+        group.setGroupId(messageIdGenerator.nextId());
         group.setGroupName(groupName);
+        group.setDescription(description);
         group.setOwnerId(creatorId);
-        group.setMemberIds(new ArrayList<>(memberIds));
-        group.setMemberCount(memberIds.size());
-        group.setCreatedTime(LocalDateTime.now());
-        group.setUpdatedTime(LocalDateTime.now());
         
-        // 保存到存储中
+        // 保存到存储中，集群模式下先于成员写入注册表，其他节点收到成员变更时即可查到群主
         groups.put(group.getGroupId(), group);
+        clusterRouter.saveGroup(group);
         
-        return group;
+        // 登记群成员，群聊消息按此投递
+        List<Long> members = new ArrayList<>(memberIds);
+        members.add(creatorId);
+        sessionManager.addGroupMembers(group.getGroupId(), members);
+        
+        ChatGroup created = view(group.getGroupId());
+        created.setMemberIds(LongArrayList.wrap(membershipIndex.members(group.getGroupId())));
+        return created;
     }
     
     /**
      * 获取群组信息
      * 
      * @param groupId 群组ID
-     * @return 群组信息
+     * @return 群组信息，不含成员列表；群组不存在时返回 null
      */
     public ChatGroup getGroup(Long groupId) {
-        return groups.get(groupId);
+        if (membershipIndex.memberCount(groupId) == 0) {
+            // 在其他节点解散的群组只同步了成员，本地缓存的群组信息在此清除
+            groups.remove(groupId);
+            return null;
+        }
+        return view(groupId);
     }
 
     /**
      * 获取用户加入的群组列表
      * 
      * @param userId 用户ID
-     * @return 群组列表
+     * @return 群组列表，不含成员列表
      */
     public List<ChatGroup> getUserGroups(Long userId) {
-        log.info("获取用户 {} 的群组列表", userId);
-        
-        List<ChatGroup> userGroups = new ArrayList<>();
+        log.debug("获取用户 {} 的群组列表", userId);
         
-        // 筛选用户加入的群组
-        for (ChatGroup group : groups.values()) {
-            if (group.getMemberIds().contains(userId)) {
-                userGroups.add(group);
-            }
+        long[] groupIds = membershipIndex.groupsOf(userId);
+        List<ChatGroup> userGroups = new ArrayList<>(groupIds.length);
+        for (long groupId : groupIds) {
+            userGroups.add(view(groupId));
         }
-        
         return userGroups;
     }
 
@@ -215,14 +293,10 @@ public class ChatService {
      * @param userId 用户ID
      */
     public void addGroupMember(Long groupId, Long userId) {
-        log.info("添加用户 {} 到群组 {}", userId, groupId);
+        log.debug("添加用户 {} 到群组 {}", userId, groupId);
         
-        ChatGroup group = groups.get(groupId);
-        if (group != null && !group.getMemberIds().contains(userId)) {
-            group.getMemberIds().add(userId);
-            group.setMemberCount(group.getMemberIds().size());
-            group.setUpdatedTime(LocalDateTime.now());
-        }
+        sessionManager.addGroupMember(groupId, userId);
+        touch(groupId);
     }
 
     /**
@@ -232,14 +306,10 @@ public class ChatService {
      * @param userId 用户ID
      */
     public void removeGroupMember(Long groupId, Long userId) {
-        log.info("从群组 {} 移除用户 {}", groupId, userId);
+        log.debug("从群组 {} 移除用户 {}", groupId, userId);
         
-        ChatGroup group = groups.get(groupId);
-        if (group != null && group.getMemberIds().contains(userId)) {
-            group.getMemberIds().remove(userId);
-            group.setMemberCount(group.getMemberIds().size());
-            group.setUpdatedTime(LocalDateTime.now());
-        }
+        sessionManager.removeGroupMember(groupId, userId);
+        touch(groupId);
     }
 
     /**
@@ -248,28 +318,46 @@ public class ChatService {
      * @param groupId 群组ID
      */
     public void dismissGroup(Long groupId) {
-        log.info("解散群组 {}", groupId);
+        log.debug("解散群组 {}", groupId);
         
         groups.remove(groupId);
+        sessionManager.removeGroup(groupId);
     }
 
     /**
-     * 标记消息为已读
-     * 
-     * @param messageId 消息ID
+     * 组装群组信息，成员数取自成员索引；在其他节点创建的群组从注册表读取群组信息并缓存，读取不到时只返回ID和成员数
      */
-    public void markMessageAsRead(String messageId) {
-        log.info("标记消息 {} 为已读", messageId);
-        
-        ChatMessage message = privateMessages.get(messageId);
-        if (message != null) {
-            message.setStatus(MessageStatus.READ);
-            return;
+    private ChatGroup view(long groupId) {
+        ChatGroup view = new ChatGroup();
+        ChatGroup group = groups.get(groupId);
+        if (group == null) {
+            group = clusterRouter.findGroup(groupId);
+            if (group != null) {
+                groups.putIfAbsent(groupId, group);
+            }
         }
-        
-        message = groupMessages.get(messageId);
-        if (message != null) {
-            message.setStatus(MessageStatus.READ);
+        if (group != null) {
+            BeanUtils.copyProperties(group, view);
+        }
+        view.setGroupId(groupId);
+        view.setMemberCount(membershipIndex.memberCount(groupId));
+        return view;
+    }
+
+    private void touch(Long groupId) {
+        ChatGroup group = groups.get(groupId);
+        if (group != null) {
+            group.setUpdatedTime(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 私聊会话的键，两个用户ID按大小排列，双方发出的消息落在同一会话
+     */
+    private record PrivateConversation(long lowUserId, long highUserId) {
+
+        private static PrivateConversation of(long userId, long peerId) {
+            return userId <= peerId ? new PrivateConversation(userId, peerId) : new PrivateConversation(peerId, userId);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.sakura.poetry.websocket.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 聊天消息ID生成器
+ *
+ * <p>生成按时间递增的64位ID，结构与Snowflake相同：</p>
+ *
+ * <pre>
+ * | 1位符号 0 | 41位毫秒时间戳（自 2025-09-03 起，约69年） | 10位节点ID | 12位毫秒内序号 |
+ * </pre>
+ *
+ * <p>时间戳和毫秒内序号合并保存在一个 {@link AtomicLong} 中，生成时只做一次CAS，不加锁；
+ * 每个节点每毫秒可生成4096个ID。同一毫秒内序号用完时借用之后的毫秒，最多借用 {@value #MAX_BORROW_MILLIS} 毫秒，
+ * 再用完时自旋等待时钟前进一毫秒；时钟回拨时不等待，沿用已生成的最大值继续递增。
+ * 因此同一节点生成的ID始终严格递增，不同节点按节点ID区分。
+ * ID按生成时间排序，可直接作为分页游标。</p>
+ *
+ * @author Sakura Huang
+ * @version 1.0.0
+ * @since 2025-09-03
+ */
+@Slf4j
+@Component
+public class MessageIdGenerator {
+
+    /**
+     * 时间戳起点：2025-09-03T00:00:00Z
+     */
+    public static final long EPOCH_MILLIS = 1756857600000L;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final int NODE_BITS = 10;
+
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * 允许借用的未来毫秒数，吸收短时突发，ID中的时间与实际时间最多相差这么多
+     */
+    private static final long MAX_BORROW_MILLIS = 5;
+
+    /**
+     * 最大节点ID
+     */
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    /**
+     * 节点ID，0-1023；小于0时由主机名和进程号推导，开启集群路由时必须为每个节点单独配置
+     */
+    @Value("${app.websocket.message-id.node-id:-1}")
+    private int configuredNodeId;
+
+    /**
+     * 是否开启集群路由，开启时推导出的节点ID可能与其他节点冲突，不允许使用
+     */
+    @Value("${app.websocket.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    private long nodeBits;
+
+    /**
+     * 已分配的最大值：高位为相对 {@link #EPOCH_MILLIS} 的毫秒数，低12位为该毫秒内的序号
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * 确定节点ID
+     */
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId < 0 && clusterEnabled) {
+            throw new IllegalStateException("已开启集群路由，请为每个节点配置不同的 app.websocket.message-id.node-id");
+        }
+        int nodeId = configuredNodeId >= 0 ? configuredNodeId : defaultNodeId();
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("消息ID节点ID超出范围 0-" + MAX_NODE_ID + ": " + nodeId);
+        }
+        nodeBits = (long) nodeId << SEQUENCE_BITS;
+        log.info("消息ID生成器节点ID: {}{}", nodeId, configuredNodeId >= 0 ? "" : "（自动推导）");
+    }
+
+    /**
+     * 生成下一个ID
+     *
+     * @return 消息ID
+     */
+    public long nextId() {
+        while (true) {
+            long nowMillis = System.currentTimeMillis() - EPOCH_MILLIS;
+            long current = state.get();
+            // 进入新的毫秒时序号从0开始，否则在已分配的最大值上加一（序号用完时自然进位到下一毫秒）
+            long next = Math.max(current + 1, nowMillis << SEQUENCE_BITS);
+            if ((next >>> SEQUENCE_BITS) - nowMillis > MAX_BORROW_MILLIS
+                    && (current >>> SEQUENCE_BITS) - nowMillis <= MAX_BORROW_MILLIS) {
+                // 借用的毫秒也已用完，等待时钟前进一毫秒；已分配的最大值本身超出借用范围说明时钟回拨，不等待
+                Thread.onSpinWait();
+                continue;
+            }
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 从ID中取出生成时间
+     *
+     * @param id 消息ID
+     * @return 生成时间的毫秒时间戳
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    /**
+     * 从ID中取出节点ID
+     *
+     * @param id 消息ID
+     * @return 节点ID
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * 指定时间点生成的最小ID，用于按时间定位分页游标
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 不大于该时间点任何ID的最小值
+     */
+    public static long minIdAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH_MILLIS) << TIMESTAMP_SHIFT;
+    }
+
+    /**
+     * 由主机名和进程号的哈希推导节点ID，只有1024个取值，节点较多时可能冲突
+     */
+    private static int defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        String identity = host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+        return (identity.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+    }
+}
@@ -330,6 +330,21 @@ CREATE TABLE `user_comment`
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_unicode_ci COMMENT ='用户评论表';
 
+-- 聊天已读水位表
+DROP TABLE IF EXISTS `chat_read_watermark`;
+CREATE TABLE `chat_read_watermark`
+(
+    `user_id`           BIGINT   NOT NULL COMMENT '用户ID',
+    `conversation_type` TINYINT  NOT NULL COMMENT '会话类型:1-私聊,2-群聊',
+    `conversation_id`   BIGINT   NOT NULL COMMENT '会话ID:私聊为对方用户ID,群聊为群组ID',
+    `read_seq`          BIGINT   NOT NULL DEFAULT 0 COMMENT '已读到的会话内序号',
+    `updated_time`      DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`user_id`, `conversation_type`, `conversation_id`),
+    KEY `idx_conversation` (`conversation_type`, `conversation_id`, `read_seq`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci COMMENT ='聊天已读水位表';
+
 -- ========================================
 -- 4. 系统管理模块
 -- ========================================